@@ -13,7 +13,7 @@ import com.fasterxml.jackson.databind.ser.std.StdSerializer;
     simpleFields = {"id", "username", "email", "firstName", "lastName"},
     serializedFields = {"password", "createdAt"},
     serializers = {"com.fasterxml.jackson.databind.ser.std.StdSerializer", "com.fasterxml.jackson.databind.ser.std.StdSerializer"},
-    name = "UserDTO", module = "Main"
+    name = "UserDTO", module = "Main", jackson = true
 )
 public class User {
     private Long id;
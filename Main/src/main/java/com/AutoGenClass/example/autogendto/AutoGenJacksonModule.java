@@ -0,0 +1,18 @@
+package com.AutoGenClass.example.autogendto;
+
+import com.fasterxml.jackson.databind.module.SimpleModule;
+
+/**
+ * Auto-generated Jackson module registering the serializers and deserializers of the DTOs in com.AutoGenClass.example.autogendto
+ */
+public final class AutoGenJacksonModule extends SimpleModule {
+    private static final long serialVersionUID = 1L;
+
+    public AutoGenJacksonModule() {
+        super("com.AutoGenClass.example.autogendto.AutoGenJacksonModule");
+        addSerializer(EnhancedUserDTO.class, new EnhancedUserDTO.JacksonSerializer());
+        addDeserializer(EnhancedUserDTO.class, new EnhancedUserDTO.JacksonDeserializer());
+        addSerializer(UserDTO.class, new UserDTO.JacksonSerializer());
+        addDeserializer(UserDTO.class, new UserDTO.JacksonDeserializer());
+    }
+}
@@ -4,16 +4,48 @@ import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.databind.annotation.JsonSerialize;
 import java.io.Serializable;
 import java.util.Objects;
+import com.AutoGenClass.example.EnhancedUser;
+import com.AutoGenClass.example.UserProfile;
+import com.AutoGenClass.runtime.JsonInput;
+import com.AutoGenClass.runtime.JsonOutput;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.deser.ResolvableDeserializer;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import com.fasterxml.jackson.databind.util.ObjectBuffer;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import java.util.RandomAccess;
 import java.util.Set;
-import com.AutoGenClass.example.UserProfile;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
 
 /**
  * Auto-generated DTO class for com.AutoGenClass.example.EnhancedUser
  */
 public class EnhancedUserDTO implements Serializable {
+    private static final long serialVersionUID = -2258804134730785623L;
+
     @JsonProperty("id")
     private Long id;
 
@@ -30,15 +62,12 @@ public class EnhancedUserDTO implements Serializable {
     private String lastName;
 
     @JsonProperty("roles")
-    @JsonSerialize(contentUsing = StdSerializer.class)
     private List<String> roles;
 
     @JsonProperty("preferences")
-    @JsonSerialize(contentUsing = StdSerializer.class)
     private Set<String> preferences;
 
     @JsonProperty("addresses")
-    @JsonSerialize(contentUsing = StdSerializer.class)
     private Map<String, String> addresses;
 
     @JsonProperty("password")
@@ -82,6 +111,66 @@ public class EnhancedUserDTO implements Serializable {
         this.userProfile = userProfile;
     }
 
+    public static EnhancedUserDTO from(EnhancedUser entity) {
+        if (entity == null) {
+            return null;
+        }
+        EnhancedUserDTO dto = new EnhancedUserDTO();
+        dto.id = entity.getId();
+        dto.username = entity.getUsername();
+        dto.email = entity.getEmail();
+        dto.firstName = entity.getFirstName();
+        dto.lastName = entity.getLastName();
+        dto.roles = entity.getRoles();
+        dto.preferences = entity.getPreferences();
+        dto.addresses = entity.getAddresses();
+        dto.password = entity.getPassword();
+        dto.createdAt = entity.getCreatedAt();
+        dto.userProfile = entity.getUserProfile();
+        return dto;
+    }
+
+    public static List<EnhancedUserDTO> fromAll(List<EnhancedUser> entities) {
+        return fromAll(entities, 10000);
+    }
+
+    public static List<EnhancedUserDTO> fromAll(List<EnhancedUser> entities, int parallelThreshold) {
+        if (entities == null) {
+            return null;
+        }
+        int size = entities.size();
+        if (size >= parallelThreshold && entities instanceof RandomAccess) {
+            EnhancedUserDTO[] dtos = new EnhancedUserDTO[size];
+            IntStream.range(0, size).parallel().forEach(i -> dtos[i] = from(entities.get(i)));
+            return new ArrayList<>(Arrays.asList(dtos));
+        }
+        List<EnhancedUserDTO> dtos = new ArrayList<>(size);
+        for (EnhancedUser entity : entities) {
+            dtos.add(from(entity));
+        }
+        return dtos;
+    }
+
+    public static List<EnhancedUserDTO> fromAll(Stream<EnhancedUser> entities) {
+        return entities.map(EnhancedUserDTO::from).collect(Collectors.toCollection(ArrayList::new));
+    }
+
+    public EnhancedUser toEntity() {
+        EnhancedUser entity = new EnhancedUser();
+        entity.setId(this.id);
+        entity.setUsername(this.username);
+        entity.setEmail(this.email);
+        entity.setFirstName(this.firstName);
+        entity.setLastName(this.lastName);
+        entity.setRoles(this.roles);
+        entity.setPreferences(this.preferences);
+        entity.setAddresses(this.addresses);
+        entity.setPassword(this.password);
+        entity.setCreatedAt(this.createdAt);
+        entity.setUserProfile(this.userProfile);
+        return entity;
+    }
+
     public Long getId() {
         return id;
     }
@@ -181,29 +270,29 @@ public class EnhancedUserDTO implements Serializable {
                 Objects.equals(email, that.email) &&
                 Objects.equals(firstName, that.firstName) &&
                 Objects.equals(lastName, that.lastName) &&
-                Objects.equals(roles, that.roles) &&
-                Objects.equals(preferences, that.preferences) &&
-                Objects.equals(addresses, that.addresses) &&
                 Objects.equals(password, that.password) &&
                 Objects.equals(createdAt, that.createdAt) &&
-                Objects.equals(userProfile, that.userProfile);
+                Objects.equals(userProfile, that.userProfile) &&
+                Objects.equals(roles, that.roles) &&
+                Objects.equals(preferences, that.preferences) &&
+                Objects.equals(addresses, that.addresses);
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(
-            id,
-            username,
-            email,
-            firstName,
-            lastName,
-            roles,
-            preferences,
-            addresses,
-            password,
-            createdAt,
-            userProfile
-        );
+        int result = 1;
+        result = 31 * result + (id == null ? 0 : id.hashCode());
+        result = 31 * result + (username == null ? 0 : username.hashCode());
+        result = 31 * result + (email == null ? 0 : email.hashCode());
+        result = 31 * result + (firstName == null ? 0 : firstName.hashCode());
+        result = 31 * result + (lastName == null ? 0 : lastName.hashCode());
+        result = 31 * result + (roles == null ? 0 : roles.hashCode());
+        result = 31 * result + (preferences == null ? 0 : preferences.hashCode());
+        result = 31 * result + (addresses == null ? 0 : addresses.hashCode());
+        result = 31 * result + (password == null ? 0 : password.hashCode());
+        result = 31 * result + (createdAt == null ? 0 : createdAt.hashCode());
+        result = 31 * result + (userProfile == null ? 0 : userProfile.hashCode());
+        return result;
     }
 
     @Override
@@ -222,4 +311,661 @@ public class EnhancedUserDTO implements Serializable {
                 "userProfile=" + userProfile +
                 '}';
     }
+
+    private static final byte[] JSON_id = "{\"id\":".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] JSON_username = ",\"username\":".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] JSON_email = ",\"email\":".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] JSON_firstName = ",\"firstName\":".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] JSON_lastName = ",\"lastName\":".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] JSON_roles = ",\"roles\":".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] JSON_preferences = ",\"preferences\":".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] JSON_addresses = ",\"addresses\":".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] JSON_password = ",\"password\":".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] JSON_createdAt = ",\"createdAt\":".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] JSON_userProfile = ",\"userProfile\":".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] JSON_UserProfile_id = "{\"id\":".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] JSON_UserProfile_name = ",\"name\":".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] JSON_UserProfile_bio = ",\"bio\":".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] JSON_UserProfile_interests = ",\"interests\":".getBytes(StandardCharsets.UTF_8);
+
+    public byte[] toJson() {
+        JsonOutput out = new JsonOutput(new byte[416], 0, 416, null, true);
+        writeJson(out);
+        return out.toByteArray();
+    }
+
+    public int writeJson(byte[] dst, int off) {
+        if (off < 0 || off > dst.length) {
+            throw new IndexOutOfBoundsException("Offset " + off + " out of bounds for length " + dst.length);
+        }
+        JsonOutput out = new JsonOutput(dst, off, dst.length, null, false);
+        writeJson(out);
+        return out.position() - off;
+    }
+
+    public void writeJson(ByteBuffer dst) {
+        if (!dst.hasArray()) {
+            dst.put(toJson());
+            return;
+        }
+        JsonOutput out = new JsonOutput(dst.array(), dst.arrayOffset() + dst.position(), dst.arrayOffset() + dst.limit(), null, false);
+        writeJson(out);
+        dst.position(out.position() - dst.arrayOffset());
+    }
+
+    public void writeJson(OutputStream stream) throws IOException {
+        JsonOutput out = new JsonOutput(new byte[8192], 0, 8192, stream, true);
+        try {
+            writeJson(out);
+            out.flush();
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    private void writeJson(JsonOutput out) {
+        out.bytes(JSON_id);
+        if (id == null) {
+            out.nullValue();
+        } else {
+            out.number(id);
+        }
+        out.bytes(JSON_username);
+        if (username == null) {
+            out.nullValue();
+        } else {
+            out.string(username);
+        }
+        out.bytes(JSON_email);
+        if (email == null) {
+            out.nullValue();
+        } else {
+            out.string(email);
+        }
+        out.bytes(JSON_firstName);
+        if (firstName == null) {
+            out.nullValue();
+        } else {
+            out.string(firstName);
+        }
+        out.bytes(JSON_lastName);
+        if (lastName == null) {
+            out.nullValue();
+        } else {
+            out.string(lastName);
+        }
+        out.bytes(JSON_roles);
+        if (roles == null) {
+            out.nullValue();
+        } else {
+            out.ascii('[');
+            int i0 = 0;
+            for (String e1 : roles) {
+                if (i0++ != 0) {
+                    out.ascii(',');
+                }
+                if (e1 == null) {
+                    out.nullValue();
+                } else {
+                    out.string(e1);
+                }
+            }
+            out.ascii(']');
+        }
+        out.bytes(JSON_preferences);
+        if (preferences == null) {
+            out.nullValue();
+        } else {
+            out.ascii('[');
+            int i2 = 0;
+            for (String e3 : preferences) {
+                if (i2++ != 0) {
+                    out.ascii(',');
+                }
+                if (e3 == null) {
+                    out.nullValue();
+                } else {
+                    out.string(e3);
+                }
+            }
+            out.ascii(']');
+        }
+        out.bytes(JSON_addresses);
+        if (addresses == null) {
+            out.nullValue();
+        } else {
+            out.ascii('{');
+            int i4 = 0;
+            for (Map.Entry<String, String> e5 : addresses.entrySet()) {
+                if (i4++ != 0) {
+                    out.ascii(',');
+                }
+                out.key(e5.getKey());
+                out.ascii(':');
+                String v6 = e5.getValue();
+                if (v6 == null) {
+                    out.nullValue();
+                } else {
+                    out.string(v6);
+                }
+            }
+            out.ascii('}');
+        }
+        out.bytes(JSON_password);
+        if (password == null) {
+            out.nullValue();
+        } else {
+            out.string(password);
+        }
+        out.bytes(JSON_createdAt);
+        if (createdAt == null) {
+            out.nullValue();
+        } else {
+            out.string(createdAt);
+        }
+        out.bytes(JSON_userProfile);
+        if (userProfile == null) {
+            out.nullValue();
+        } else {
+            writeUserProfile(out, userProfile);
+        }
+        out.ascii('}');
+    }
+
+    private static void writeUserProfile(JsonOutput out, UserProfile value) {
+        out.bytes(JSON_UserProfile_id);
+        Long v0 = value.getId();
+        if (v0 == null) {
+            out.nullValue();
+        } else {
+            out.number(v0);
+        }
+        out.bytes(JSON_UserProfile_name);
+        String v1 = value.getName();
+        if (v1 == null) {
+            out.nullValue();
+        } else {
+            out.string(v1);
+        }
+        out.bytes(JSON_UserProfile_bio);
+        String v2 = value.getBio();
+        if (v2 == null) {
+            out.nullValue();
+        } else {
+            out.string(v2);
+        }
+        out.bytes(JSON_UserProfile_interests);
+        List<String> v3 = value.getInterests();
+        if (v3 == null) {
+            out.nullValue();
+        } else {
+            out.ascii('[');
+            int i4 = 0;
+            for (String e5 : v3) {
+                if (i4++ != 0) {
+                    out.ascii(',');
+                }
+                if (e5 == null) {
+                    out.nullValue();
+                } else {
+                    out.string(e5);
+                }
+            }
+            out.ascii(']');
+        }
+        out.ascii('}');
+    }
+
+    private static final byte[] JSON_NAME_id = "id".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] JSON_NAME_username = "username".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] JSON_NAME_email = "email".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] JSON_NAME_firstName = "firstName".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] JSON_NAME_lastName = "lastName".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] JSON_NAME_roles = "roles".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] JSON_NAME_preferences = "preferences".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] JSON_NAME_addresses = "addresses".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] JSON_NAME_password = "password".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] JSON_NAME_createdAt = "createdAt".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] JSON_NAME_userProfile = "userProfile".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] JSON_NAME_UserProfile_id = "id".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] JSON_NAME_UserProfile_name = "name".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] JSON_NAME_UserProfile_bio = "bio".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] JSON_NAME_UserProfile_interests = "interests".getBytes(StandardCharsets.UTF_8);
+
+    public static EnhancedUserDTO readJson(byte[] src) {
+        return readJson(src, 0, src.length);
+    }
+
+    public static EnhancedUserDTO readJson(byte[] src, int off, int len) {
+        Objects.checkFromIndexSize(off, len, src.length);
+        JsonInput in = new JsonInput(src, off, off + len);
+        EnhancedUserDTO dto = null;
+        if (!in.nullValue()) {
+            dto = new EnhancedUserDTO();
+            for (boolean more = in.startObject(); more; more = in.nextField()) {
+                switch (in.name()) {
+                    case 2:
+                        if (in.nameEquals(JSON_NAME_id)) {
+                            dto.id = in.nullValue() ? null : in.readLong();
+                            continue;
+                        }
+                        break;
+                    case 5:
+                        if (in.nameEquals(JSON_NAME_email)) {
+                            dto.email = in.nullValue() ? null : in.readString();
+                            continue;
+                        }
+                        if (in.nameEquals(JSON_NAME_roles)) {
+                            List<String> v0 = null;
+                            if (!in.nullValue()) {
+                                v0 = new ArrayList<>();
+                                for (boolean m1 = in.startArray(); m1; m1 = in.nextElement()) {
+                                    v0.add(in.nullValue() ? null : in.readString());
+                                }
+                            }
+                            dto.roles = v0;
+                            continue;
+                        }
+                        break;
+                    case 8:
+                        if (in.nameEquals(JSON_NAME_username)) {
+                            dto.username = in.nullValue() ? null : in.readString();
+                            continue;
+                        }
+                        if (in.nameEquals(JSON_NAME_lastName)) {
+                            dto.lastName = in.nullValue() ? null : in.readString();
+                            continue;
+                        }
+                        if (in.nameEquals(JSON_NAME_password)) {
+                            dto.password = in.nullValue() ? null : in.readString();
+                            continue;
+                        }
+                        break;
+                    case 9:
+                        if (in.nameEquals(JSON_NAME_firstName)) {
+                            dto.firstName = in.nullValue() ? null : in.readString();
+                            continue;
+                        }
+                        if (in.nameEquals(JSON_NAME_addresses)) {
+                            Map<String, String> v2 = null;
+                            if (!in.nullValue()) {
+                                v2 = new LinkedHashMap<>();
+                                for (boolean m3 = in.startObject(); m3; m3 = in.nextField()) {
+                                    in.name();
+                                    String k4 = in.nameString();
+                                    v2.put(k4, in.nullValue() ? null : in.readString());
+                                }
+                            }
+                            dto.addresses = v2;
+                            continue;
+                        }
+                        if (in.nameEquals(JSON_NAME_createdAt)) {
+                            dto.createdAt = in.nullValue() ? null : in.readString();
+                            continue;
+                        }
+                        break;
+                    case 11:
+                        if (in.nameEquals(JSON_NAME_preferences)) {
+                            Set<String> v5 = null;
+                            if (!in.nullValue()) {
+                                v5 = new HashSet<>();
+                                for (boolean m6 = in.startArray(); m6; m6 = in.nextElement()) {
+                                    v5.add(in.nullValue() ? null : in.readString());
+                                }
+                            }
+                            dto.preferences = v5;
+                            continue;
+                        }
+                        if (in.nameEquals(JSON_NAME_userProfile)) {
+                            dto.userProfile = in.nullValue() ? null : readUserProfile(in);
+                            continue;
+                        }
+                        break;
+                    default:
+                        break;
+                }
+                in.skipValue();
+            }
+        }
+        in.end();
+        return dto;
+    }
+
+    public static EnhancedUserDTO readJson(ByteBuffer src) {
+        if (!src.hasArray()) {
+            byte[] bytes = new byte[src.remaining()];
+            src.get(bytes);
+            return readJson(bytes, 0, bytes.length);
+        }
+        EnhancedUserDTO dto = readJson(src.array(), src.arrayOffset() + src.position(), src.remaining());
+        src.position(src.limit());
+        return dto;
+    }
+
+    public static EnhancedUserDTO readJson(InputStream stream) throws IOException {
+        byte[] bytes = stream.readAllBytes();
+        return readJson(bytes, 0, bytes.length);
+    }
+
+    private static UserProfile readUserProfile(JsonInput in) {
+        UserProfile value = new UserProfile();
+        for (boolean more = in.startObject(); more; more = in.nextField()) {
+            switch (in.name()) {
+                case 2:
+                    if (in.nameEquals(JSON_NAME_UserProfile_id)) {
+                        value.setId(in.nullValue() ? null : in.readLong());
+                        continue;
+                    }
+                    break;
+                case 3:
+                    if (in.nameEquals(JSON_NAME_UserProfile_bio)) {
+                        value.setBio(in.nullValue() ? null : in.readString());
+                        continue;
+                    }
+                    break;
+                case 4:
+                    if (in.nameEquals(JSON_NAME_UserProfile_name)) {
+                        value.setName(in.nullValue() ? null : in.readString());
+                        continue;
+                    }
+                    break;
+                case 9:
+                    if (in.nameEquals(JSON_NAME_UserProfile_interests)) {
+                        List<String> v0 = null;
+                        if (!in.nullValue()) {
+                            v0 = new ArrayList<>();
+                            for (boolean m1 = in.startArray(); m1; m1 = in.nextElement()) {
+                                v0.add(in.nullValue() ? null : in.readString());
+                            }
+                        }
+                        value.setInterests(v0);
+                        continue;
+                    }
+                    break;
+                default:
+                    break;
+            }
+            in.skipValue();
+        }
+        return value;
+    }
+
+    public static final class JacksonSerializer extends StdSerializer<EnhancedUserDTO> {
+        private static final long serialVersionUID = 1L;
+        private static final SerializedString NAME_id = new SerializedString("id");
+        private static final SerializedString NAME_username = new SerializedString("username");
+        private static final SerializedString NAME_email = new SerializedString("email");
+        private static final SerializedString NAME_firstName = new SerializedString("firstName");
+        private static final SerializedString NAME_lastName = new SerializedString("lastName");
+        private static final SerializedString NAME_roles = new SerializedString("roles");
+        private static final SerializedString NAME_preferences = new SerializedString("preferences");
+        private static final SerializedString NAME_addresses = new SerializedString("addresses");
+        private static final SerializedString NAME_password = new SerializedString("password");
+        private static final SerializedString NAME_createdAt = new SerializedString("createdAt");
+        private static final SerializedString NAME_userProfile = new SerializedString("userProfile");
+
+        public JacksonSerializer() {
+            super(EnhancedUserDTO.class);
+        }
+
+        @Override
+        public void serialize(EnhancedUserDTO value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            gen.writeStartObject(value);
+            gen.writeFieldName(NAME_id);
+            if (value.id == null) {
+                gen.writeNull();
+            } else {
+                gen.writeNumber(value.id);
+            }
+            gen.writeFieldName(NAME_username);
+            if (value.username == null) {
+                gen.writeNull();
+            } else {
+                gen.writeString(value.username);
+            }
+            gen.writeFieldName(NAME_email);
+            if (value.email == null) {
+                gen.writeNull();
+            } else {
+                gen.writeString(value.email);
+            }
+            gen.writeFieldName(NAME_firstName);
+            if (value.firstName == null) {
+                gen.writeNull();
+            } else {
+                gen.writeString(value.firstName);
+            }
+            gen.writeFieldName(NAME_lastName);
+            if (value.lastName == null) {
+                gen.writeNull();
+            } else {
+                gen.writeString(value.lastName);
+            }
+            gen.writeFieldName(NAME_roles);
+            if (value.roles == null) {
+                gen.writeNull();
+            } else {
+                gen.writeStartArray(value.roles, value.roles.size());
+                for (String element : value.roles) {
+                    if (element == null) {
+                        gen.writeNull();
+                    } else {
+                        gen.writeString(element);
+                    }
+                }
+                gen.writeEndArray();
+            }
+            gen.writeFieldName(NAME_preferences);
+            if (value.preferences == null) {
+                gen.writeNull();
+            } else {
+                gen.writeStartArray(value.preferences, value.preferences.size());
+                for (String element : value.preferences) {
+                    if (element == null) {
+                        gen.writeNull();
+                    } else {
+                        gen.writeString(element);
+                    }
+                }
+                gen.writeEndArray();
+            }
+            gen.writeFieldName(NAME_addresses);
+            if (value.addresses == null) {
+                gen.writeNull();
+            } else {
+                gen.writeStartObject(value.addresses, value.addresses.size());
+                for (Map.Entry<String, String> entry : value.addresses.entrySet()) {
+                    if (entry.getKey() == null) {
+                        provider.findNullKeySerializer(provider.constructType(String.class), null).serialize(null, gen, provider);
+                    } else {
+                        gen.writeFieldName(entry.getKey());
+                    }
+                    if (entry.getValue() == null) {
+                        gen.writeNull();
+                    } else {
+                        gen.writeString(entry.getValue());
+                    }
+                }
+                gen.writeEndObject();
+            }
+            gen.writeFieldName(NAME_password);
+            if (value.password == null) {
+                gen.writeNull();
+            } else {
+                gen.writeString(value.password);
+            }
+            gen.writeFieldName(NAME_createdAt);
+            if (value.createdAt == null) {
+                gen.writeNull();
+            } else {
+                gen.writeString(value.createdAt);
+            }
+            gen.writeFieldName(NAME_userProfile);
+            provider.defaultSerializeValue(value.userProfile, gen);
+            gen.writeEndObject();
+        }
+    }
+
+    public static final class JacksonDeserializer extends StdDeserializer<EnhancedUserDTO> implements ResolvableDeserializer {
+        private static final long serialVersionUID = 1L;
+        private transient JsonDeserializer<Object> rolesDeserializer;
+        private transient JsonDeserializer<Object> preferencesDeserializer;
+        private transient JsonDeserializer<Object> addressesDeserializer;
+        private transient JsonDeserializer<Object> userProfileDeserializer;
+
+        public JacksonDeserializer() {
+            super(EnhancedUserDTO.class);
+        }
+
+        @Override
+        public void resolve(DeserializationContext ctxt) throws JsonMappingException {
+            rolesDeserializer = ctxt.findRootValueDeserializer(ctxt.getTypeFactory().constructType(new TypeReference<List<String>>() { }));
+            preferencesDeserializer = ctxt.findRootValueDeserializer(ctxt.getTypeFactory().constructType(new TypeReference<Set<String>>() { }));
+            addressesDeserializer = ctxt.findRootValueDeserializer(ctxt.getTypeFactory().constructType(new TypeReference<Map<String, String>>() { }));
+            userProfileDeserializer = ctxt.findRootValueDeserializer(ctxt.constructType(UserProfile.class));
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public EnhancedUserDTO deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+            String fieldName;
+            if (p.isExpectedStartObjectToken()) {
+                fieldName = p.nextFieldName();
+            } else if (p.hasToken(JsonToken.FIELD_NAME)) {
+                fieldName = p.currentName();
+            } else if (p.hasToken(JsonToken.END_OBJECT)) {
+                fieldName = null;
+            } else {
+                return (EnhancedUserDTO) ctxt.handleUnexpectedToken(EnhancedUserDTO.class, p);
+            }
+
+            Long idValue = null;
+            String usernameValue = null;
+            String emailValue = null;
+            String firstNameValue = null;
+            String lastNameValue = null;
+            List<String> rolesValue = null;
+            Set<String> preferencesValue = null;
+            Map<String, String> addressesValue = null;
+            String passwordValue = null;
+            String createdAtValue = null;
+            UserProfile userProfileValue = null;
+            for (; fieldName != null; fieldName = p.nextFieldName()) {
+                p.nextToken();
+                switch (fieldName) {
+                    case "id":
+                        idValue = _parseLong(p, ctxt, Long.class);
+                        break;
+                    case "username":
+                        usernameValue = (p.hasToken(JsonToken.VALUE_NULL) ? null : _parseString(p, ctxt, this));
+                        break;
+                    case "email":
+                        emailValue = (p.hasToken(JsonToken.VALUE_NULL) ? null : _parseString(p, ctxt, this));
+                        break;
+                    case "firstName":
+                        firstNameValue = (p.hasToken(JsonToken.VALUE_NULL) ? null : _parseString(p, ctxt, this));
+                        break;
+                    case "lastName":
+                        lastNameValue = (p.hasToken(JsonToken.VALUE_NULL) ? null : _parseString(p, ctxt, this));
+                        break;
+                    case "roles":
+                        rolesValue = readRoles(p, ctxt);
+                        break;
+                    case "preferences":
+                        preferencesValue = readPreferences(p, ctxt);
+                        break;
+                    case "addresses":
+                        addressesValue = readAddresses(p, ctxt);
+                        break;
+                    case "password":
+                        passwordValue = (p.hasToken(JsonToken.VALUE_NULL) ? null : _parseString(p, ctxt, this));
+                        break;
+                    case "createdAt":
+                        createdAtValue = (p.hasToken(JsonToken.VALUE_NULL) ? null : _parseString(p, ctxt, this));
+                        break;
+                    case "userProfile":
+                        userProfileValue = (UserProfile) (p.hasToken(JsonToken.VALUE_NULL) ? userProfileDeserializer.getNullValue(ctxt) : userProfileDeserializer.deserialize(p, ctxt));
+                        break;
+                    default:
+                        ctxt.handleUnknownProperty(p, this, handledType(), fieldName);
+                }
+            }
+            return new EnhancedUserDTO(idValue, usernameValue, emailValue, firstNameValue, lastNameValue, rolesValue, preferencesValue, addressesValue, passwordValue, createdAtValue, userProfileValue);
+        }
+
+        @SuppressWarnings("unchecked")
+        private List<String> readRoles(JsonParser p, DeserializationContext ctxt) throws IOException {
+            if (!p.isExpectedStartArrayToken()) {
+                return (List<String>) (p.hasToken(JsonToken.VALUE_NULL) ? rolesDeserializer.getNullValue(ctxt) : rolesDeserializer.deserialize(p, ctxt));
+            }
+            ObjectBuffer buffer = ctxt.leaseObjectBuffer();
+            Object[] chunk = buffer.resetAndStart();
+            int count = 0;
+            while (p.nextToken() != JsonToken.END_ARRAY) {
+                if (count == chunk.length) {
+                    chunk = buffer.appendCompletedChunk(chunk);
+                    count = 0;
+                }
+                chunk[count++] = (p.hasToken(JsonToken.VALUE_NULL) ? null : _parseString(p, ctxt, this));
+            }
+            List<String> values = new ArrayList<>(buffer.bufferedSize() + count);
+            buffer.completeAndClearBuffer(chunk, count, (List<Object>) (List<?>) values);
+            ctxt.returnObjectBuffer(buffer);
+            return values;
+        }
+
+        @SuppressWarnings("unchecked")
+        private Set<String> readPreferences(JsonParser p, DeserializationContext ctxt) throws IOException {
+            if (!p.isExpectedStartArrayToken()) {
+                return (Set<String>) (p.hasToken(JsonToken.VALUE_NULL) ? preferencesDeserializer.getNullValue(ctxt) : preferencesDeserializer.deserialize(p, ctxt));
+            }
+            ObjectBuffer buffer = ctxt.leaseObjectBuffer();
+            Object[] chunk = buffer.resetAndStart();
+            int count = 0;
+            while (p.nextToken() != JsonToken.END_ARRAY) {
+                if (count == chunk.length) {
+                    chunk = buffer.appendCompletedChunk(chunk);
+                    count = 0;
+                }
+                chunk[count++] = (p.hasToken(JsonToken.VALUE_NULL) ? null : _parseString(p, ctxt, this));
+            }
+            Object[] elements = buffer.completeAndClearBuffer(chunk, count);
+            ctxt.returnObjectBuffer(buffer);
+            Set<String> values = new HashSet<>(Math.max((int) (elements.length / .75f) + 1, 16));
+            for (Object element : elements) {
+                values.add((String) element);
+            }
+            return values;
+        }
+
+        @SuppressWarnings("unchecked")
+        private Map<String, String> readAddresses(JsonParser p, DeserializationContext ctxt) throws IOException {
+            if (!p.isExpectedStartObjectToken()) {
+                return (Map<String, String>) (p.hasToken(JsonToken.VALUE_NULL) ? addressesDeserializer.getNullValue(ctxt) : addressesDeserializer.deserialize(p, ctxt));
+            }
+            ObjectBuffer buffer = ctxt.leaseObjectBuffer();
+            Object[] chunk = buffer.resetAndStart();
+            int count = 0;
+            for (String key = p.nextFieldName(); key != null; key = p.nextFieldName()) {
+                p.nextToken();
+                if (count == chunk.length) {
+                    chunk = buffer.appendCompletedChunk(chunk);
+                    count = 0;
+                }
+                chunk[count++] = key;
+                if (count == chunk.length) {
+                    chunk = buffer.appendCompletedChunk(chunk);
+                    count = 0;
+                }
+                chunk[count++] = (p.hasToken(JsonToken.VALUE_NULL) ? null : _parseString(p, ctxt, this));
+            }
+            Object[] entries = buffer.completeAndClearBuffer(chunk, count);
+            ctxt.returnObjectBuffer(buffer);
+            Map<String, String> values = new LinkedHashMap<>(Math.max((int) (entries.length / 2 / .75f) + 1, 16));
+            for (int i = 0; i < entries.length; i += 2) {
+                values.put((String) entries[i], (String) entries[i + 1]);
+            }
+            return values;
+        }
+    }
 }
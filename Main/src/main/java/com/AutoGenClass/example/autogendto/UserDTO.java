@@ -4,12 +4,30 @@ import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.databind.annotation.JsonSerialize;
 import java.io.Serializable;
 import java.util.Objects;
+import com.AutoGenClass.example.User;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
 import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
 
 /**
  * Auto-generated DTO class for com.AutoGenClass.example.User
  */
 public class UserDTO implements Serializable {
+    private static final long serialVersionUID = 6596160402884361220L;
+
     @JsonProperty("id")
     private Long id;
 
@@ -54,6 +72,58 @@ public class UserDTO implements Serializable {
         this.createdAt = createdAt;
     }
 
+    public static UserDTO from(User entity) {
+        if (entity == null) {
+            return null;
+        }
+        UserDTO dto = new UserDTO();
+        dto.id = entity.getId();
+        dto.username = entity.getUsername();
+        dto.email = entity.getEmail();
+        dto.firstName = entity.getFirstName();
+        dto.lastName = entity.getLastName();
+        dto.password = entity.getPassword();
+        dto.createdAt = entity.getCreatedAt();
+        return dto;
+    }
+
+    public static List<UserDTO> fromAll(List<User> entities) {
+        return fromAll(entities, 10000);
+    }
+
+    public static List<UserDTO> fromAll(List<User> entities, int parallelThreshold) {
+        if (entities == null) {
+            return null;
+        }
+        int size = entities.size();
+        if (size >= parallelThreshold && entities instanceof RandomAccess) {
+            UserDTO[] dtos = new UserDTO[size];
+            IntStream.range(0, size).parallel().forEach(i -> dtos[i] = from(entities.get(i)));
+            return new ArrayList<>(Arrays.asList(dtos));
+        }
+        List<UserDTO> dtos = new ArrayList<>(size);
+        for (User entity : entities) {
+            dtos.add(from(entity));
+        }
+        return dtos;
+    }
+
+    public static List<UserDTO> fromAll(Stream<User> entities) {
+        return entities.map(UserDTO::from).collect(Collectors.toCollection(ArrayList::new));
+    }
+
+    public User toEntity() {
+        User entity = new User();
+        entity.setId(this.id);
+        entity.setUsername(this.username);
+        entity.setEmail(this.email);
+        entity.setFirstName(this.firstName);
+        entity.setLastName(this.lastName);
+        entity.setPassword(this.password);
+        entity.setCreatedAt(this.createdAt);
+        return entity;
+    }
+
     public Long getId() {
         return id;
     }
@@ -127,15 +197,15 @@ public class UserDTO implements Serializable {
 
     @Override
     public int hashCode() {
-        return Objects.hash(
-            id,
-            username,
-            email,
-            firstName,
-            lastName,
-            password,
-            createdAt
-        );
+        int result = 1;
+        result = 31 * result + (id == null ? 0 : id.hashCode());
+        result = 31 * result + (username == null ? 0 : username.hashCode());
+        result = 31 * result + (email == null ? 0 : email.hashCode());
+        result = 31 * result + (firstName == null ? 0 : firstName.hashCode());
+        result = 31 * result + (lastName == null ? 0 : lastName.hashCode());
+        result = 31 * result + (password == null ? 0 : password.hashCode());
+        result = 31 * result + (createdAt == null ? 0 : createdAt.hashCode());
+        return result;
     }
 
     @Override
@@ -150,4 +220,126 @@ public class UserDTO implements Serializable {
                 "createdAt=" + createdAt +
                 '}';
     }
+
+    public static final class JacksonSerializer extends StdSerializer<UserDTO> {
+        private static final long serialVersionUID = 1L;
+        private static final SerializedString NAME_id = new SerializedString("id");
+        private static final SerializedString NAME_username = new SerializedString("username");
+        private static final SerializedString NAME_email = new SerializedString("email");
+        private static final SerializedString NAME_firstName = new SerializedString("firstName");
+        private static final SerializedString NAME_lastName = new SerializedString("lastName");
+        private static final SerializedString NAME_password = new SerializedString("password");
+        private static final SerializedString NAME_createdAt = new SerializedString("createdAt");
+
+        public JacksonSerializer() {
+            super(UserDTO.class);
+        }
+
+        @Override
+        public void serialize(UserDTO value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            gen.writeStartObject(value);
+            gen.writeFieldName(NAME_id);
+            if (value.id == null) {
+                gen.writeNull();
+            } else {
+                gen.writeNumber(value.id);
+            }
+            gen.writeFieldName(NAME_username);
+            if (value.username == null) {
+                gen.writeNull();
+            } else {
+                gen.writeString(value.username);
+            }
+            gen.writeFieldName(NAME_email);
+            if (value.email == null) {
+                gen.writeNull();
+            } else {
+                gen.writeString(value.email);
+            }
+            gen.writeFieldName(NAME_firstName);
+            if (value.firstName == null) {
+                gen.writeNull();
+            } else {
+                gen.writeString(value.firstName);
+            }
+            gen.writeFieldName(NAME_lastName);
+            if (value.lastName == null) {
+                gen.writeNull();
+            } else {
+                gen.writeString(value.lastName);
+            }
+            gen.writeFieldName(NAME_password);
+            if (value.password == null) {
+                gen.writeNull();
+            } else {
+                gen.writeString(value.password);
+            }
+            gen.writeFieldName(NAME_createdAt);
+            if (value.createdAt == null) {
+                gen.writeNull();
+            } else {
+                gen.writeString(value.createdAt);
+            }
+            gen.writeEndObject();
+        }
+    }
+
+    public static final class JacksonDeserializer extends StdDeserializer<UserDTO> {
+        private static final long serialVersionUID = 1L;
+
+        public JacksonDeserializer() {
+            super(UserDTO.class);
+        }
+
+        @Override
+        public UserDTO deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+            String fieldName;
+            if (p.isExpectedStartObjectToken()) {
+                fieldName = p.nextFieldName();
+            } else if (p.hasToken(JsonToken.FIELD_NAME)) {
+                fieldName = p.currentName();
+            } else if (p.hasToken(JsonToken.END_OBJECT)) {
+                fieldName = null;
+            } else {
+                return (UserDTO) ctxt.handleUnexpectedToken(UserDTO.class, p);
+            }
+
+            Long idValue = null;
+            String usernameValue = null;
+            String emailValue = null;
+            String firstNameValue = null;
+            String lastNameValue = null;
+            String passwordValue = null;
+            String createdAtValue = null;
+            for (; fieldName != null; fieldName = p.nextFieldName()) {
+                p.nextToken();
+                switch (fieldName) {
+                    case "id":
+                        idValue = _parseLong(p, ctxt, Long.class);
+                        break;
+                    case "username":
+                        usernameValue = (p.hasToken(JsonToken.VALUE_NULL) ? null : _parseString(p, ctxt, this));
+                        break;
+                    case "email":
+                        emailValue = (p.hasToken(JsonToken.VALUE_NULL) ? null : _parseString(p, ctxt, this));
+                        break;
+                    case "firstName":
+                        firstNameValue = (p.hasToken(JsonToken.VALUE_NULL) ? null : _parseString(p, ctxt, this));
+                        break;
+                    case "lastName":
+                        lastNameValue = (p.hasToken(JsonToken.VALUE_NULL) ? null : _parseString(p, ctxt, this));
+                        break;
+                    case "password":
+                        passwordValue = (p.hasToken(JsonToken.VALUE_NULL) ? null : _parseString(p, ctxt, this));
+                        break;
+                    case "createdAt":
+                        createdAtValue = (p.hasToken(JsonToken.VALUE_NULL) ? null : _parseString(p, ctxt, this));
+                        break;
+                    default:
+                        ctxt.handleUnknownProperty(p, this, handledType(), fieldName);
+                }
+            }
+            return new UserDTO(idValue, usernameValue, emailValue, firstNameValue, lastNameValue, passwordValue, createdAtValue);
+        }
+    }
 }
@@ -0,0 +1,109 @@
+package com.AutoGenClass.benchmark;
+
+import com.AutoGenClass.benchmark.event.OrderEvent;
+import com.AutoGenClass.benchmark.event.OrderLine;
+import com.AutoGenClass.benchmark.event.ShippingAddress;
+import com.AutoGenClass.benchmark.event.autogendto.OrderEventDTO;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.msgpack.jackson.dataformat.MessagePackFactory;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the generated MessagePack codec of a DTO with Jackson's MessagePack backend.
+ *
+ * <p>The Jackson path is a plain {@code ObjectMapper} over jackson-dataformat-msgpack's
+ * {@link MessagePackFactory}, binding the DTO by reflection without the generated Jackson
+ * module. The generated path writes and reads the bytes directly with {@code writeMessagePackTo}
+ * and {@code readMessagePackFrom}. Both paths produce the same bytes, which is checked before the
+ * measurements; allocations are reported by JMH's GC profiler ({@code -prof gc}).</p>
+ *
+ * @author Mohammed-Salameh
+ * @since 2.0
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MessagePackBenchmark {
+
+    /** Number of order lines, written as nested entities */
+    @Param({"1", "20"})
+    public int lineCount;
+
+    private ObjectMapper mapper;
+    private OrderEventDTO event;
+    private byte[] encoded;
+
+    @Setup(Level.Trial)
+    public void createEvent() throws IOException {
+        mapper = new ObjectMapper(new MessagePackFactory());
+        OrderEvent order = new OrderEvent();
+        order.setId(9_214_503_117L);
+        order.setVersion(3);
+        order.setExpress(true);
+        order.setTotal(1_249.90);
+        order.setCustomerId(77_123L);
+        order.setItemCount(lineCount);
+        order.setDiscount(0.15);
+        order.setGift(null);
+        order.setCurrency("EUR");
+        order.setNote("Leave the parcel at the reception");
+        order.setTags(List.of("priority", "b2b", "eu"));
+        Map<String, String> attributes = new LinkedHashMap<>();
+        attributes.put("channel", "web");
+        attributes.put("campaign", "autumn-sale");
+        order.setAttributes(attributes);
+        order.setShipping(new ShippingAddress("12 Harbour Street", "Rotterdam", "3011", "NL"));
+        List<OrderLine> lines = new ArrayList<>(lineCount);
+        for (int i = 0; i < lineCount; i++) {
+            lines.add(new OrderLine("SKU-" + (10_000 + i), 1 + i % 4, 9.99 + i));
+        }
+        order.setLines(lines);
+        event = OrderEventDTO.from(order);
+
+        encoded = writeGenerated();
+        if (!Arrays.equals(encoded, writeJackson())) {
+            throw new IllegalStateException("The generated codec and the Jackson path write different bytes");
+        }
+        if (!Arrays.equals(encoded, write(readGenerated())) || !Arrays.equals(encoded, write(readJackson()))) {
+            throw new IllegalStateException("The generated codec and the Jackson path read different events");
+        }
+    }
+
+    @Benchmark
+    public byte[] writeGenerated() {
+        return write(event);
+    }
+
+    @Benchmark
+    public byte[] writeJackson() throws IOException {
+        return mapper.writeValueAsBytes(event);
+    }
+
+    @Benchmark
+    public OrderEventDTO readGenerated() {
+        return OrderEventDTO.readMessagePackFrom(ByteBuffer.wrap(encoded));
+    }
+
+    @Benchmark
+    public OrderEventDTO readJackson() throws IOException {
+        return mapper.readValue(encoded, OrderEventDTO.class);
+    }
+
+    private static byte[] write(OrderEventDTO dto) {
+        ByteBuffer buf = ByteBuffer.allocate(dto.messagePackSize());
+        dto.writeMessagePackTo(buf);
+        return buf.array();
+    }
+}
@@ -0,0 +1,225 @@
+package com.AutoGenClass.benchmark;
+
+import com.AutoGenClass.generator.ClassAutoGenerator;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import javax.annotation.processing.Completion;
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.annotation.processing.Processor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.TypeElement;
+import javax.tools.Diagnostic;
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Measures how the DTO processor scales with the number and size of annotated classes.
+ *
+ * <p>Each invocation compiles a set of synthetic {@code @AutoGen} entities (see
+ * {@link SyntheticSources}) in-process with {@link JavaCompiler} and the processor attached,
+ * including the compilation of the generated DTOs. The processor runs with
+ * {@code -Aautogen.incremental=true}, so the DTOs are written to a scratch directory through
+ * the Filer and never into a source tree.</p>
+ *
+ * <p>The score is the wall time of one compilation. The time spent inside the processor and
+ * the number of processing rounds are reported as secondary results; allocation is reported
+ * with JMH's GC profiler ({@code -prof gc}).</p>
+ *
+ * @author Mohammed-Salameh
+ * @since 2.0
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx4g"})
+@State(Scope.Benchmark)
+public class ProcessorScalabilityBenchmark {
+
+    /** Number of annotated classes */
+    @Param({"100", "1000", "10000"})
+    public int classCount;
+
+    /** Maximum number of fields per class; the field count varies between 10 and this value */
+    @Param({"50", "500"})
+    public int maxFields;
+
+    /** Minimum number of fields per class */
+    private static final int MIN_FIELDS = 10;
+
+    /** Seed of the synthetic field mix, fixed so every run compiles the same sources */
+    private static final long SEED = 42L;
+
+    private JavaCompiler compiler;
+    private StandardJavaFileManager fileManager;
+    private Path workDir;
+    private List<Path> sources;
+    private Path generatedDir;
+    private Path classesDir;
+
+    /**
+     * Time spent in the processor and processing rounds, summed over all measured compilations.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class ProcessorCounters {
+        /** Milliseconds spent inside the processor's process method */
+        public double processorMillis;
+
+        /** Number of processing rounds */
+        public long rounds;
+
+        @Setup(Level.Iteration)
+        public void clear() {
+            processorMillis = 0;
+            rounds = 0;
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void writeSources() throws IOException {
+        compiler = ToolProvider.getSystemJavaCompiler();
+        if (compiler == null) {
+            throw new IllegalStateException("No system Java compiler available, run the benchmarks on a JDK");
+        }
+        fileManager = compiler.getStandardFileManager(null, null, StandardCharsets.UTF_8);
+        workDir = Files.createTempDirectory("autogen-bench");
+        sources = SyntheticSources.write(workDir.resolve("src"), classCount, MIN_FIELDS, maxFields, SEED);
+    }
+
+    @Setup(Level.Invocation)
+    public void cleanOutput() throws IOException {
+        generatedDir = recreate(workDir.resolve("generated"));
+        classesDir = recreate(workDir.resolve("classes"));
+    }
+
+    @TearDown(Level.Trial)
+    public void deleteSources() throws IOException {
+        fileManager.close();
+        deleteRecursively(workDir);
+    }
+
+    @Benchmark
+    public void compile(ProcessorCounters counters, Blackhole blackhole) {
+        List<String> options = Arrays.asList(
+            "-proc:full",
+            "-Aautogen.incremental=true",
+            "-s", generatedDir.toString(),
+            "-d", classesDir.toString(),
+            "-classpath", System.getProperty("java.class.path"),
+            "-implicit:none",
+            "-nowarn");
+        DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+        TimedProcessor processor = new TimedProcessor(new ClassAutoGenerator());
+        JavaCompiler.CompilationTask task = compiler.getTask(null, fileManager, diagnostics, options, null,
+            fileManager.getJavaFileObjectsFromPaths(sources));
+        task.setProcessors(List.of(processor));
+
+        if (!task.call()) {
+            throw new IllegalStateException("Compilation failed: " + firstError(diagnostics));
+        }
+        counters.processorMillis += processor.nanos / 1_000_000.0;
+        counters.rounds += processor.rounds;
+        blackhole.consume(diagnostics.getDiagnostics().size());
+    }
+
+    /**
+     * Delegating processor that times every processing round.
+     */
+    private static class TimedProcessor implements Processor {
+        private final Processor delegate;
+
+        /** Time spent in process over all rounds */
+        long nanos;
+
+        /** Number of processing rounds */
+        int rounds;
+
+        TimedProcessor(Processor delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+            long start = System.nanoTime();
+            try {
+                return delegate.process(annotations, roundEnv);
+            } finally {
+                nanos += System.nanoTime() - start;
+                rounds++;
+            }
+        }
+
+        @Override
+        public Set<String> getSupportedOptions() {
+            return delegate.getSupportedOptions();
+        }
+
+        @Override
+        public Set<String> getSupportedAnnotationTypes() {
+            return delegate.getSupportedAnnotationTypes();
+        }
+
+        @Override
+        public SourceVersion getSupportedSourceVersion() {
+            return delegate.getSupportedSourceVersion();
+        }
+
+        @Override
+        public void init(ProcessingEnvironment processingEnv) {
+            delegate.init(processingEnv);
+        }
+
+        @Override
+        public Iterable<? extends Completion> getCompletions(Element element, AnnotationMirror annotation,
+                                                             ExecutableElement member, String userText) {
+            return delegate.getCompletions(element, annotation, member, userText);
+        }
+    }
+
+    private static String firstError(DiagnosticCollector<JavaFileObject> diagnostics) {
+        for (Diagnostic<? extends JavaFileObject> diagnostic : diagnostics.getDiagnostics()) {
+            if (diagnostic.getKind() == Diagnostic.Kind.ERROR) {
+                return diagnostic.toString();
+            }
+        }
+        return "unknown error";
+    }
+
+    private static Path recreate(Path dir) throws IOException {
+        deleteRecursively(dir);
+        return Files.createDirectories(dir);
+    }
+
+    private static void deleteRecursively(Path dir) throws IOException {
+        if (!Files.exists(dir)) {
+            return;
+        }
+        List<Path> paths = new ArrayList<>();
+        try (Stream<Path> walk = Files.walk(dir)) {
+            walk.sorted(Comparator.reverseOrder()).forEach(paths::add);
+        }
+        for (Path path : paths) {
+            Files.delete(path);
+        }
+    }
+}
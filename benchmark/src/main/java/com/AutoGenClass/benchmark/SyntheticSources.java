@@ -0,0 +1,161 @@
+package com.AutoGenClass.benchmark;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Writes synthetic {@code @AutoGen} annotated entity classes for the benchmarks.
+ *
+ * <p>Every entity has a deterministic, seeded mix of primitive, wrapper, collection, map and
+ * nested entity fields (like {@code EnhancedUser}), with getters, setters and a no-arg
+ * constructor. Every fifth field is a non-collection field listed as a serialized field using
+ * {@code StdSerializer}, as in the examples. Entities are spread over several packages and
+ * reference entities with a lower index, so the processor has to resolve types across
+ * packages.</p>
+ *
+ * @author Mohammed-Salameh
+ * @since 2.0
+ */
+final class SyntheticSources {
+
+    /** Base package of the synthetic entities */
+    static final String BASE_PACKAGE = "bench.model";
+
+    /** Number of packages the entities are spread over */
+    private static final int PACKAGE_COUNT = 16;
+
+    /** Field kinds, picked at random for each field */
+    private enum Kind {
+        LONG, INT, DOUBLE, BOOLEAN, STRING, BOXED_LONG, BOXED_INTEGER,
+        STRING_LIST, STRING_SET, STRING_MAP, ENTITY, ENTITY_LIST, ENTITY_LIST_MAP
+    }
+
+    private SyntheticSources() {
+    }
+
+    /**
+     * Writes the synthetic entities into a source root.
+     *
+     * @param sourceRoot the directory receiving the package directories
+     * @param classCount the number of entities
+     * @param minFields the minimum number of fields per entity
+     * @param maxFields the maximum number of fields per entity
+     * @param seed the seed of the field mix
+     * @return the written source files
+     * @throws IOException if a file cannot be written
+     */
+    static List<Path> write(Path sourceRoot, int classCount, int minFields, int maxFields, long seed) throws IOException {
+        Random random = new Random(seed);
+        List<Path> files = new ArrayList<>(classCount);
+        for (int i = 0; i < classCount; i++) {
+            int fieldCount = minFields + random.nextInt(Math.max(1, maxFields - minFields + 1));
+            Path packageDir = sourceRoot.resolve(packageOf(i).replace('.', '/'));
+            Files.createDirectories(packageDir);
+            Path file = packageDir.resolve(classNameOf(i) + ".java");
+            try (Writer out = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+                writeEntity(out, i, fieldCount, random);
+            }
+            files.add(file);
+        }
+        return files;
+    }
+
+    /**
+     * Writes the source of one entity.
+     */
+    private static void writeEntity(Writer out, int index, int fieldCount, Random random) throws IOException {
+        Kind[] kinds = Kind.values();
+        String[] names = new String[fieldCount];
+        String[] types = new String[fieldCount];
+        boolean[] serialized = new boolean[fieldCount];
+        for (int f = 0; f < fieldCount; f++) {
+            Kind kind = kinds[random.nextInt(kinds.length)];
+            // The first entity has nothing to reference
+            if (index == 0 && kind.ordinal() >= Kind.ENTITY.ordinal()) {
+                kind = Kind.STRING;
+            }
+            // Serialized fields are scalars or single entities, never collections
+            serialized[f] = f % 5 == 4;
+            if (serialized[f] && kind.ordinal() >= Kind.STRING_LIST.ordinal() && kind != Kind.ENTITY) {
+                kind = Kind.STRING;
+            }
+            names[f] = "field" + f;
+            types[f] = typeOf(kind, index == 0 ? 0 : random.nextInt(index));
+        }
+
+        StringBuilder simpleFields = new StringBuilder();
+        StringBuilder serializedFields = new StringBuilder();
+        StringBuilder serializers = new StringBuilder();
+        for (int f = 0; f < fieldCount; f++) {
+            if (serialized[f]) {
+                separate(serializedFields).append('"').append(names[f]).append('"');
+                separate(serializers).append("\"com.fasterxml.jackson.databind.ser.std.StdSerializer\"");
+            } else {
+                separate(simpleFields).append('"').append(names[f]).append('"');
+            }
+        }
+
+        String className = classNameOf(index);
+        out.write("package " + packageOf(index) + ";\n\n");
+        out.write("import com.AutoGenClass.generator.AutoGen;\n\n");
+        out.write("@AutoGen(\n");
+        out.write("    simpleFields = {" + simpleFields + "},\n");
+        out.write("    serializedFields = {" + serializedFields + "},\n");
+        out.write("    serializers = {" + serializers + "},\n");
+        out.write("    name = \"" + className + "DTO\"\n");
+        out.write(")\n");
+        out.write("public class " + className + " {\n");
+        for (int f = 0; f < fieldCount; f++) {
+            out.write("    private " + types[f] + " " + names[f] + ";\n");
+        }
+        out.write("\n    public " + className + "() {\n    }\n");
+        for (int f = 0; f < fieldCount; f++) {
+            String property = Character.toUpperCase(names[f].charAt(0)) + names[f].substring(1);
+            out.write("\n    public " + types[f] + " get" + property + "() {\n");
+            out.write("        return " + names[f] + ";\n    }\n");
+            out.write("\n    public void set" + property + "(" + types[f] + " " + names[f] + ") {\n");
+            out.write("        this." + names[f] + " = " + names[f] + ";\n    }\n");
+        }
+        out.write("}\n");
+    }
+
+    /**
+     * Returns the declared type of a field kind, referencing the entity with the given index.
+     */
+    private static String typeOf(Kind kind, int entityIndex) {
+        String entity = packageOf(entityIndex) + "." + classNameOf(entityIndex);
+        switch (kind) {
+            case LONG: return "long";
+            case INT: return "int";
+            case DOUBLE: return "double";
+            case BOOLEAN: return "boolean";
+            case STRING: return "String";
+            case BOXED_LONG: return "Long";
+            case BOXED_INTEGER: return "Integer";
+            case STRING_LIST: return "java.util.List<String>";
+            case STRING_SET: return "java.util.Set<String>";
+            case STRING_MAP: return "java.util.Map<String, String>";
+            case ENTITY: return entity;
+            case ENTITY_LIST: return "java.util.List<" + entity + ">";
+            default: return "java.util.Map<String, java.util.List<" + entity + ">>";
+        }
+    }
+
+    private static StringBuilder separate(StringBuilder list) {
+        return list.length() == 0 ? list : list.append(", ");
+    }
+
+    private static String packageOf(int index) {
+        return BASE_PACKAGE + ".p" + (index % PACKAGE_COUNT);
+    }
+
+    private static String classNameOf(int index) {
+        return "Entity" + index;
+    }
+}
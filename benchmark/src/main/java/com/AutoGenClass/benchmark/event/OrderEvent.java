@@ -0,0 +1,78 @@
+package com.AutoGenClass.benchmark.event;
+
+import com.AutoGenClass.generator.AutoGen;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Event of the message bus compared by {@code MessagePackBenchmark}, mixing primitives, wrappers,
+ * strings, collections and nested entities
+ */
+@AutoGen(
+    simpleFields = {"id", "version", "express", "total", "customerId", "itemCount", "discount", "gift",
+        "currency", "note", "tags", "attributes", "shipping", "lines"},
+    serializedFields = {},
+    serializers = {},
+    name = "OrderEventDTO", jackson = true, messagePack = true
+)
+public class OrderEvent {
+    private long id;
+    private int version;
+    private boolean express;
+    private double total;
+    private Long customerId;
+    private Integer itemCount;
+    private Double discount;
+    private Boolean gift;
+    private String currency;
+    private String note;
+    private List<String> tags;
+    private Map<String, String> attributes;
+    private ShippingAddress shipping;
+    private List<OrderLine> lines;
+
+    public OrderEvent() {}
+
+    public long getId() { return id; }
+    public void setId(long id) { this.id = id; }
+
+    public int getVersion() { return version; }
+    public void setVersion(int version) { this.version = version; }
+
+    public boolean isExpress() { return express; }
+    public void setExpress(boolean express) { this.express = express; }
+
+    public double getTotal() { return total; }
+    public void setTotal(double total) { this.total = total; }
+
+    public Long getCustomerId() { return customerId; }
+    public void setCustomerId(Long customerId) { this.customerId = customerId; }
+
+    public Integer getItemCount() { return itemCount; }
+    public void setItemCount(Integer itemCount) { this.itemCount = itemCount; }
+
+    public Double getDiscount() { return discount; }
+    public void setDiscount(Double discount) { this.discount = discount; }
+
+    public Boolean getGift() { return gift; }
+    public void setGift(Boolean gift) { this.gift = gift; }
+
+    public String getCurrency() { return currency; }
+    public void setCurrency(String currency) { this.currency = currency; }
+
+    public String getNote() { return note; }
+    public void setNote(String note) { this.note = note; }
+
+    public List<String> getTags() { return tags; }
+    public void setTags(List<String> tags) { this.tags = tags; }
+
+    public Map<String, String> getAttributes() { return attributes; }
+    public void setAttributes(Map<String, String> attributes) { this.attributes = attributes; }
+
+    public ShippingAddress getShipping() { return shipping; }
+    public void setShipping(ShippingAddress shipping) { this.shipping = shipping; }
+
+    public List<OrderLine> getLines() { return lines; }
+    public void setLines(List<OrderLine> lines) { this.lines = lines; }
+}
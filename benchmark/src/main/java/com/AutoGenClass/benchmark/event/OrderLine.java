@@ -0,0 +1,27 @@
+package com.AutoGenClass.benchmark.event;
+
+/**
+ * Line of an {@link OrderEvent}, written as a nested entity
+ */
+public class OrderLine {
+    private String sku;
+    private int quantity;
+    private double unitPrice;
+
+    public OrderLine() {}
+
+    public OrderLine(String sku, int quantity, double unitPrice) {
+        this.sku = sku;
+        this.quantity = quantity;
+        this.unitPrice = unitPrice;
+    }
+
+    public String getSku() { return sku; }
+    public void setSku(String sku) { this.sku = sku; }
+
+    public int getQuantity() { return quantity; }
+    public void setQuantity(int quantity) { this.quantity = quantity; }
+
+    public double getUnitPrice() { return unitPrice; }
+    public void setUnitPrice(double unitPrice) { this.unitPrice = unitPrice; }
+}
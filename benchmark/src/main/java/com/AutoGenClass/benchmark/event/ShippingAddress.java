@@ -0,0 +1,32 @@
+package com.AutoGenClass.benchmark.event;
+
+/**
+ * Shipping address of an {@link OrderEvent}, written as a nested entity
+ */
+public class ShippingAddress {
+    private String street;
+    private String city;
+    private String postalCode;
+    private String country;
+
+    public ShippingAddress() {}
+
+    public ShippingAddress(String street, String city, String postalCode, String country) {
+        this.street = street;
+        this.city = city;
+        this.postalCode = postalCode;
+        this.country = country;
+    }
+
+    public String getStreet() { return street; }
+    public void setStreet(String street) { this.street = street; }
+
+    public String getCity() { return city; }
+    public void setCity(String city) { this.city = city; }
+
+    public String getPostalCode() { return postalCode; }
+    public void setPostalCode(String postalCode) { this.postalCode = postalCode; }
+
+    public String getCountry() { return country; }
+    public void setCountry(String country) { this.country = country; }
+}
@@ -41,4 +41,83 @@ public @interface AutoGen {
      * @return
      */
     String module() default "";
+
+    /**
+     * generate a Jackson serializer and deserializer for the DTO, registered by the
+     * AutoGenJacksonModule of the DTO package, so Jackson does not introspect the DTO
+     * @return
+     */
+    boolean jackson() default false;
+
+    /**
+     * generate toJson and writeJson methods that write the DTO as UTF-8 JSON without Jackson,
+     * with the same field names as the Jackson annotations, and readJson methods that parse it back
+     * @return
+     */
+    boolean json() default false;
+
+    /**
+     * generate an immutable DTO: final fields, no setters, unmodifiable copies of collection fields
+     * made by the constructor, and a hash code computed once
+     * @return
+     */
+    boolean immutable() default false;
+
+    /**
+     * generate the DTO as a record: its components are the fields, and a compact constructor makes
+     * unmodifiable copies of collection fields. accessors, equals, hashCode and toString are the
+     * ones of the record, implies immutable without a cached hash code
+     * @return
+     */
+    boolean record() default false;
+
+    /**
+     * generate a fluent Builder, which remembers the fields set since its last reset so it can be
+     * reused. always generated when the DTO has too many fields for an all-args constructor, and
+     * for immutable DTOs with more fields than autogen.methodChunkSize, which are read into it
+     * @return
+     */
+    boolean builder() default false;
+
+    /**
+     * implement Externalizable with generated writeExternal and readExternal methods, which write the
+     * fields in declaration order without reflection. immutable DTOs and records are written through
+     * a generated serialization proxy
+     * @return
+     */
+    boolean externalizable() default false;
+
+    /**
+     * generate serializedSize, writeTo and readFrom methods for a compact binary encoding of the fields
+     * in declaration order: a null bitmap, varint integers, length-prefixed UTF-8 strings and
+     * count-prefixed arrays, collections and maps. entity types are written by generated methods too
+     * @return
+     */
+    boolean binary() default false;
+
+    /**
+     * generate taggedSize, writeTaggedTo and readTaggedFrom methods for a tagged binary encoding, in
+     * which every field is written with a stable tag like a protobuf field number, so DTOs with added
+     * or removed fields can still read each other's messages. the tags are kept in a registry file
+     * next to the generated sources
+     * @return
+     */
+    boolean tagged() default false;
+
+    /**
+     * generate protobufSize, writeProtobufTo and readProtobufFrom methods for the protocol buffers wire
+     * format, and a matching proto3 schema in a .proto file next to the DTO, without protoc or the
+     * protobuf runtime. field numbers are the tags of the tag registry, lists and sets are repeated
+     * fields, maps are map fields and entity types are nested messages
+     * @return
+     */
+    boolean protobuf() default false;
+
+    /**
+     * generate messagePackSize, writeMessagePackTo and readMessagePackFrom methods that write the DTO
+     * directly as MessagePack, as a map of its field names to its values like Jackson writes it, without
+     * building a Jackson tree or depending on the msgpack runtime. entity types are nested maps
+     * @return
+     */
+    boolean messagePack() default false;
 }
@@ -0,0 +1,1765 @@
+package com.AutoGenClass.generator;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Generates the binary codecs of a DTO: {@code serializedSize()}, {@code writeTo(ByteBuffer)} and
+ * {@code readFrom(ByteBuffer)} with {@code binary = true}, {@code taggedSize()},
+ * {@code writeTaggedTo(ByteBuffer)} and {@code readTaggedFrom(ByteBuffer)} with
+ * {@code tagged = true}, {@code protobufSize()}, {@code writeProtobufTo(ByteBuffer)} and
+ * {@code readProtobufFrom(ByteBuffer)} with {@code protobuf = true}, and the methods they share.
+ *
+ * <p>Integers are zigzag varints and {@code char} an unsigned varint, {@code float} and
+ * {@code double} are written little-endian whatever the byte order of the buffer, strings are
+ * length-prefixed UTF-8, enums are written by ordinal, and arrays, collections and maps are
+ * prefixed with their number of elements, each element that may be null with a presence byte.
+ * Entity types resolved by {@link JsonEntityResolver} get static methods of their own; the
+ * binary and tagged codecs are not generated for DTOs holding other types, such as
+ * {@code Object}, see {@link #unsupportedValueOf(DtoModel)}. The values are encoded and decoded by
+ * {@code com.AutoGenClass.runtime.BinaryCodec}, which is shared by all DTOs.</p>
+ *
+ * @author Mohammed-Salameh
+ * @since 2.0
+ */
+final class BinaryCodecEmitter extends CodecEmitter {
+
+    /** Qualified names of the types written as a single value, besides enums and byte arrays */
+    private static final Set<String> SCALAR_TYPES = Set.of("boolean", "byte", "char", "short", "int", "long",
+        "float", "double", "java.lang.Boolean", "java.lang.Byte", "java.lang.Character", "java.lang.Short",
+        "java.lang.Integer", "java.lang.Long", "java.lang.Float", "java.lang.Double", "java.lang.String",
+        "java.math.BigInteger", "java.math.BigDecimal", "java.util.Date", "java.util.UUID");
+
+    /**
+     * Creates a binary codec emitter.
+     *
+     * @param source the emitter of the DTO class receiving the generated methods
+     * @param methodChunkSize the number of fields handled per helper method once a DTO has more fields
+     */
+    BinaryCodecEmitter(DtoSourceEmitter source, int methodChunkSize) {
+        super(source, methodChunkSize);
+    }
+
+    /**
+     * Describes the first value of a DTO that the binary and tagged codecs cannot write and read
+     * back, or returns null if they support every field.
+     *
+     * @param model the DTO model
+     * @return a description such as "field payload of type Object", or null
+     */
+    static String unsupportedValueOf(DtoModel model) {
+        return unsupportedValueOf(model, BinaryCodecEmitter::isBinaryScalar, null);
+    }
+
+    @Override
+    void addImports(DtoModel model, Set<String> importSet) {
+        importSet.add("com.AutoGenClass.runtime.BinaryCodec");
+        importSet.add("java.nio.ByteBuffer");
+        importSet.add("java.util.ArrayList");
+        importSet.add("java.util.LinkedHashMap");
+        importSet.add("java.util.Map");
+        if (model.protobuf) {
+            importSet.add("java.util.Arrays");
+        }
+        for (FieldInfo fieldInfo : model.fieldInfoMap.values()) {
+            if (containsSet(fieldInfo)) {
+                importSet.add("java.util.LinkedHashSet");
+            }
+        }
+        for (JsonEntity entity : model.jsonEntities.values()) {
+            importSet.addAll(entity.imports);
+            for (FieldInfo propertyInfo : entity.types) {
+                if (containsSet(propertyInfo)) {
+                    importSet.add("java.util.LinkedHashSet");
+                }
+            }
+        }
+    }
+
+    @Override
+    void emit(DtoModel model) throws IOException {
+        append("\n");
+        Set<String> enumTypes = new TreeSet<>();
+        if (model.binary || model.tagged) {
+            for (FieldInfo fieldInfo : model.fieldInfoMap.values()) {
+                collectEnumTypes(fieldInfo, enumTypes);
+            }
+            for (JsonEntity entity : model.jsonEntities.values()) {
+                for (FieldInfo propertyInfo : entity.types) {
+                    collectEnumTypes(propertyInfo, enumTypes);
+                }
+            }
+        }
+        for (String enumType : enumTypes) {
+            append("    private static final ").append(enumType).append("[] BINARY_").append(identifierOf(enumType))
+                .append(" = ").append(enumType).append(".values();\n");
+        }
+        append(enumTypes.isEmpty() ? "" : "\n");
+
+        if (model.binary) {
+            emitBinaryMethods(model);
+        }
+        if (model.tagged) {
+            append(model.binary ? "\n" : "");
+            emitTaggedMethods(model);
+        }
+        if (model.protobuf) {
+            append(model.binary || model.tagged ? "\n" : "");
+            emitProtobufMethods(model);
+        }
+
+        for (JsonEntity entity : model.jsonEntities.values()) {
+            if (model.binary || model.tagged) {
+                emitBinaryEntityCodec(model, entity);
+            }
+            if (model.protobuf) {
+                emitProtobufEntityCodec(model, entity);
+            }
+        }
+
+    }
+
+    /**
+     * Generates {@code serializedSize()}, {@code writeTo(ByteBuffer)} and {@code readFrom(ByteBuffer)}.
+     *
+     * <p>A DTO starts with a null bitmap of its non-primitive fields, one bit per field in
+     * declaration order, followed by the values of the fields that are not null in the same
+     * order, without any names or tags. Split DTOs size, write and read their fields with a
+     * helper per chunk ({@code serializedSize0}, {@code writeTo0}, {@code readFrom0}, ...), and
+     * their bitmap with a helper per chunk of bitmap bytes ({@code writeNulls0}, ...); the bitmap
+     * is read into an array, and the fields into the DTO or, if it is immutable, its builder.</p>
+     */
+    private void emitBinaryMethods(DtoModel model) throws IOException {
+        String className = model.className;
+        String[] allFields = model.allFields();
+        String[] values = new String[allFields.length];
+        FieldInfo[] fieldInfos = new FieldInfo[allFields.length];
+        for (int i = 0; i < allFields.length; i++) {
+            values[i] = "this." + allFields[i];
+            fieldInfos[i] = model.fieldInfo(allFields[i]);
+        }
+        int bitmapSize = (nullableCount(fieldInfos) + 7) / 8;
+        boolean split = isSplit(model);
+        // Bitmap bytes written per helper of a split DTO, covering at least a chunk of fields
+        int bitmapChunkSize = (methodChunkSize + 7) / 8;
+        int bitmapChunks = (bitmapSize + bitmapChunkSize - 1) / bitmapChunkSize;
+
+        variableCount = 0;
+        append("    public int serializedSize() {\n");
+        append("        int size = ").append(Integer.toString(bitmapSize)).append(";\n");
+        if (split) {
+            for (int chunk = 0; chunk < chunkCount(model); chunk++) {
+                append("        size += serializedSize").append(Integer.toString(chunk)).append("();\n");
+            }
+        } else {
+            for (int i = 0; i < allFields.length; i++) {
+                emitBinaryField(model, values[i], fieldInfos[i], false, "size", "        ");
+            }
+        }
+        append("        return size;\n");
+        append("    }\n\n");
+        for (int chunk = 0; split && chunk < chunkCount(model); chunk++) {
+            variableCount = 0;
+            append("    private int serializedSize").append(Integer.toString(chunk)).append("() {\n");
+            append("        int size = 0;\n");
+            for (int i = chunk * methodChunkSize; i < chunkEnd(model, chunk); i++) {
+                emitBinaryField(model, values[i], fieldInfos[i], false, "size", "        ");
+            }
+            append("        return size;\n");
+            append("    }\n\n");
+        }
+
+        variableCount = 0;
+        append("    public void writeTo(ByteBuffer buf) {\n");
+        if (split) {
+            for (int chunk = 0; chunk < bitmapChunks; chunk++) {
+                append("        writeNulls").append(Integer.toString(chunk)).append("(buf);\n");
+            }
+            for (int chunk = 0; chunk < chunkCount(model); chunk++) {
+                append("        writeTo").append(Integer.toString(chunk)).append("(buf);\n");
+            }
+        } else {
+            emitBinaryBitmap(values, fieldInfos, 0, bitmapSize);
+            for (int i = 0; i < allFields.length; i++) {
+                emitBinaryField(model, values[i], fieldInfos[i], false, null, "        ");
+            }
+        }
+        append("    }\n\n");
+        for (int chunk = 0; split && chunk < bitmapChunks; chunk++) {
+            append("    private void writeNulls").append(Integer.toString(chunk)).append("(ByteBuffer buf) {\n");
+            emitBinaryBitmap(values, fieldInfos, chunk * bitmapChunkSize, Math.min(bitmapSize, (chunk + 1) * bitmapChunkSize));
+            append("    }\n\n");
+        }
+        for (int chunk = 0; split && chunk < chunkCount(model); chunk++) {
+            variableCount = 0;
+            append("    private void writeTo").append(Integer.toString(chunk)).append("(ByteBuffer buf) {\n");
+            for (int i = chunk * methodChunkSize; i < chunkEnd(model, chunk); i++) {
+                emitBinaryField(model, values[i], fieldInfos[i], false, null, "        ");
+            }
+            append("    }\n\n");
+        }
+
+        if (split) {
+            emitChunkedBinaryRead(model, fieldInfos, bitmapSize);
+            return;
+        }
+        variableCount = 0;
+        append("    public static ").append(className).append(" readFrom(ByteBuffer buf) {\n");
+        for (int i = 0; i < bitmapSize; i++) {
+            append("        int nulls").append(Integer.toString(i)).append(" = buf.get() & 0xFF;\n");
+        }
+        if (!model.immutable) {
+            append("        ").append(className).append(" dto = new ").append(className).append("();\n");
+        }
+        String[] parameters = new String[allFields.length];
+        int nullable = 0;
+        for (int i = 0; i < allFields.length; i++) {
+            String presence = fieldInfos[i].isPrimitive ? null : nullBitOf(nullable++);
+            String value = emitBinaryRead(model, fieldInfos[i], presence, "        ");
+            if (model.immutable) {
+                // Immutable DTOs are created once all fields are read
+                parameters[i] = "p" + i;
+                append("        ").append(fieldInfos[i].declaredType).append(" ").append(parameters[i]).append(" = ")
+                    .append(value).append(";\n");
+            } else {
+                append("        dto.").append(allFields[i]).append(" = ").append(value).append(";\n");
+            }
+        }
+        if (!model.immutable) {
+            append("        return dto;\n");
+        } else if (model.wide()) {
+            append("        return ");
+            source.emitBuilderChain(model, parameters, "        ");
+            append(";\n");
+        } else {
+            append("        return new ").append(className).append("(").append(String.join(", ", parameters)).append(");\n");
+        }
+        append("    }\n");
+    }
+
+    /**
+     * Generates {@code readFrom(ByteBuffer)} of a split DTO, which reads the null bitmap into an
+     * array and the fields with a helper per chunk into the DTO or its builder.
+     */
+    private void emitChunkedBinaryRead(DtoModel model, FieldInfo[] fieldInfos, int bitmapSize) throws IOException {
+        String className = model.className;
+        String[] allFields = model.allFields();
+        String target = model.immutable ? "builder" : "dto";
+        String nulls = bitmapSize > 0 ? "nulls, " : "";
+        append("    public static ").append(className).append(" readFrom(ByteBuffer buf) {\n");
+        if (bitmapSize > 0) {
+            append("        byte[] nulls = new byte[").append(Integer.toString(bitmapSize)).append("];\n");
+            append("        buf.get(nulls);\n");
+        }
+        append("        ").append(readTargetOf(model)).append(" = new ").append(model.immutable ? "Builder" : className)
+            .append("();\n");
+        for (int chunk = 0; chunk < chunkCount(model); chunk++) {
+            append("        readFrom").append(Integer.toString(chunk)).append("(buf, ").append(nulls).append(target).append(");\n");
+        }
+        append(model.immutable ? "        return builder.build();\n" : "        return dto;\n");
+        append("    }\n");
+
+        int nullable = 0;
+        for (int chunk = 0; chunk < chunkCount(model); chunk++) {
+            variableCount = 0;
+            append("\n");
+            append("    private static void readFrom").append(Integer.toString(chunk)).append("(ByteBuffer buf, ")
+                .append(bitmapSize > 0 ? "byte[] nulls, " : "").append(readTargetOf(model)).append(") {\n");
+            for (int i = chunk * methodChunkSize; i < chunkEnd(model, chunk); i++) {
+                String presence = fieldInfos[i].isPrimitive ? null : nullArrayBitOf(nullable++);
+                String value = emitBinaryRead(model, fieldInfos[i], presence, "        ");
+                append("        ").append(target).append(".").append(allFields[i]).append(" = ").append(value).append(";\n");
+            }
+            append("    }\n");
+        }
+    }
+
+    /**
+     * Generates {@code taggedSize()}, {@code writeTaggedTo(ByteBuffer)} and {@code readTaggedFrom(ByteBuffer)}.
+     *
+     * <p>A message is the varint length of its body followed by the fields that are not null,
+     * each as a varint key of the field's tag and wire type, {@code tag << 3 | wireType} like
+     * protobuf, and its value. Integers, {@code boolean}, {@code char}, enums and {@code Date}
+     * are varints (wire type 0), {@code double} and {@code float} are 8 and 4 bytes (wire types
+     * 1 and 5), and all other values are length-delimited (wire type 2), holding the encoding of
+     * the untagged binary codec. Fields are dispatched by their whole key, so a field whose tag is
+     * unknown or whose type changed to another wire type is skipped without being decoded. Split
+     * DTOs size and write their fields with a helper per chunk ({@code taggedBodySize0},
+     * {@code writeTaggedTo0}, ...), and pass every key to a helper per chunk
+     * ({@code readTaggedFrom0}, ...) until one reads the field into the DTO or its builder.</p>
+     */
+    private void emitTaggedMethods(DtoModel model) throws IOException {
+        String className = model.className;
+        String[] allFields = model.allFields();
+        FieldInfo[] fieldInfos = new FieldInfo[allFields.length];
+        int[] keys = new int[allFields.length];
+        for (int i = 0; i < allFields.length; i++) {
+            fieldInfos[i] = model.fieldInfo(allFields[i]);
+            keys[i] = model.tags[i] << 3 | taggedWireTypeOf(fieldInfos[i]);
+        }
+
+        boolean split = isSplit(model);
+
+        append("    public int taggedSize() {\n");
+        append("        int size = taggedBodySize();\n");
+        append("        return BinaryCodec.varintSize(size) + size;\n");
+        append("    }\n\n");
+
+        variableCount = 0;
+        append("    private int taggedBodySize() {\n");
+        append("        int size = 0;\n");
+        if (split) {
+            for (int chunk = 0; chunk < chunkCount(model); chunk++) {
+                append("        size += taggedBodySize").append(Integer.toString(chunk)).append("();\n");
+            }
+        } else {
+            for (int i = 0; i < allFields.length; i++) {
+                emitTaggedField(model, "this." + allFields[i], fieldInfos[i], keys[i], true, "        ");
+            }
+        }
+        append("        return size;\n");
+        append("    }\n\n");
+        for (int chunk = 0; split && chunk < chunkCount(model); chunk++) {
+            variableCount = 0;
+            append("    private int taggedBodySize").append(Integer.toString(chunk)).append("() {\n");
+            append("        int size = 0;\n");
+            for (int i = chunk * methodChunkSize; i < chunkEnd(model, chunk); i++) {
+                emitTaggedField(model, "this." + allFields[i], fieldInfos[i], keys[i], true, "        ");
+            }
+            append("        return size;\n");
+            append("    }\n\n");
+        }
+
+        variableCount = 0;
+        append("    public void writeTaggedTo(ByteBuffer buf) {\n");
+        append("        BinaryCodec.putVarint(buf, taggedBodySize());\n");
+        if (split) {
+            for (int chunk = 0; chunk < chunkCount(model); chunk++) {
+                append("        writeTaggedTo").append(Integer.toString(chunk)).append("(buf);\n");
+            }
+        } else {
+            for (int i = 0; i < allFields.length; i++) {
+                emitTaggedField(model, "this." + allFields[i], fieldInfos[i], keys[i], false, "        ");
+            }
+        }
+        append("    }\n\n");
+        for (int chunk = 0; split && chunk < chunkCount(model); chunk++) {
+            variableCount = 0;
+            append("    private void writeTaggedTo").append(Integer.toString(chunk)).append("(ByteBuffer buf) {\n");
+            for (int i = chunk * methodChunkSize; i < chunkEnd(model, chunk); i++) {
+                emitTaggedField(model, "this." + allFields[i], fieldInfos[i], keys[i], false, "        ");
+            }
+            append("    }\n\n");
+        }
+
+        variableCount = 0;
+        String[] parameters = new String[allFields.length];
+        String[] targets = new String[allFields.length];
+        append("    public static ").append(className).append(" readTaggedFrom(ByteBuffer buf) {\n");
+        append("        int end = BinaryCodec.getEnd(buf);\n");
+        if (split) {
+            append("        ").append(readTargetOf(model)).append(" = new ").append(model.immutable ? "Builder" : className)
+                .append("();\n");
+            for (int i = 0; i < allFields.length; i++) {
+                targets[i] = (model.immutable ? "builder." : "dto.") + allFields[i] + " = ";
+            }
+        } else if (model.immutable) {
+            // Immutable DTOs are created once all fields are read
+            for (int i = 0; i < allFields.length; i++) {
+                parameters[i] = "p" + i;
+                targets[i] = parameters[i] + " = ";
+                append("        ").append(fieldInfos[i].declaredType).append(" ").append(parameters[i]).append(" = ")
+                    .append(defaultValue(fieldInfos[i])).append(";\n");
+            }
+        } else {
+            append("        ").append(className).append(" dto = new ").append(className).append("();\n");
+            for (int i = 0; i < allFields.length; i++) {
+                targets[i] = "dto." + allFields[i] + " = ";
+            }
+        }
+        append("        while (buf.position() < end) {\n");
+        append("            int key = BinaryCodec.getKey(buf);\n");
+        if (split) {
+            String target = model.immutable ? "builder" : "dto";
+            append("            if (");
+            for (int chunk = 0; chunk < chunkCount(model); chunk++) {
+                append(chunk > 0 ? "\n                    && " : "").append("!readTaggedFrom").append(Integer.toString(chunk))
+                    .append("(buf, key, ").append(target).append(")");
+            }
+            append(") {\n");
+            append("                BinaryCodec.skip(buf, key);\n");
+            append("            }\n");
+        } else {
+            append("            switch (key) {\n");
+            emitTaggedCases(model, fieldInfos, keys, targets, 0, allFields.length, "break;", "                ");
+            append("                default:\n");
+            append("                    BinaryCodec.skip(buf, key);\n");
+            append("                    break;\n");
+            append("            }\n");
+        }
+        append("        }\n");
+        append("        BinaryCodec.checkEnd(buf, end);\n");
+        if (split && model.immutable) {
+            append("        return builder.build();\n");
+        } else if (!model.immutable) {
+            append("        return dto;\n");
+        } else if (model.wide()) {
+            append("        return ");
+            source.emitBuilderChain(model, parameters, "        ");
+            append(";\n");
+        } else {
+            append("        return new ").append(className).append("(").append(String.join(", ", parameters)).append(");\n");
+        }
+        append("    }\n");
+
+        for (int chunk = 0; split && chunk < chunkCount(model); chunk++) {
+            variableCount = 0;
+            append("\n");
+            append("    private static boolean readTaggedFrom").append(Integer.toString(chunk)).append("(ByteBuffer buf, int key, ")
+                .append(readTargetOf(model)).append(") {\n");
+            append("        switch (key) {\n");
+            emitTaggedCases(model, fieldInfos, keys, targets, chunk * methodChunkSize, chunkEnd(model, chunk), "return true;",
+                "            ");
+            append("            default:\n");
+            append("                return false;\n");
+            append("        }\n");
+            append("    }\n");
+        }
+    }
+
+    /**
+     * Generates the cases of the {@code switch} on the key reading a range of the fields into
+     * their targets, each case ending with the given statement.
+     */
+    private void emitTaggedCases(DtoModel model, FieldInfo[] fieldInfos, int[] keys, String[] targets, int from, int to,
+                                 String matched, String indent) throws IOException {
+        String inner = indent + "    ";
+        for (int i = from; i < to; i++) {
+            append(indent).append("case ").append(Integer.toString(keys[i])).append(":");
+            if (!isTaggedWrapped(fieldInfos[i])) {
+                append("\n");
+                append(inner).append(targets[i]).append(taggedReadOf(model, fieldInfos[i])).append(";\n");
+                append(inner).append(matched).append("\n");
+                continue;
+            }
+            String valueEnd = nextVariable("e");
+            append(" {\n");
+            append(inner).append("int ").append(valueEnd).append(" = BinaryCodec.getEnd(buf);\n");
+            if (isBinaryStructure(fieldInfos[i])) {
+                String variable = nextVariable("v");
+                append(inner).append(fieldInfos[i].declaredType).append(" ").append(variable).append(";\n");
+                emitBinaryStructureRead(model, fieldInfos[i], variable, inner);
+                append(inner).append(targets[i]).append(variable).append(";\n");
+            } else {
+                append(inner).append(targets[i]).append(binaryReadOf(model, fieldInfos[i])).append(";\n");
+            }
+            append(inner).append("BinaryCodec.checkEnd(buf, ").append(valueEnd).append(");\n");
+            append(inner).append(matched).append("\n");
+            append(indent).append("}\n");
+        }
+    }
+
+    /**
+     * Generates the statements adding the size of a tagged field to {@code size}, or writing its
+     * key and value to {@code buf}. Fields that are null are not written.
+     */
+    private void emitTaggedField(DtoModel model, String value, FieldInfo fieldInfo, int key, boolean sizing,
+                                 String indent) throws IOException {
+        String inner = indent;
+        if (!fieldInfo.isPrimitive) {
+            append(indent).append("if (").append(value).append(" != null) {\n");
+            inner = indent + "    ";
+        }
+        String keySize = Integer.toString(varintSize(key));
+        String keyWrite = key < 0x80 ? "buf.put((byte) " + key + ");\n" : "BinaryCodec.putVarint(buf, " + key + ");\n";
+        if (isTaggedWrapped(fieldInfo)) {
+            // Length-delimited values are written after their size
+            String valueSize = nextVariable("s");
+            if (isBinaryStructure(fieldInfo)) {
+                append(inner).append("int ").append(valueSize).append(" = 0;\n");
+                emitBinaryValue(model, value, fieldInfo, valueSize, inner);
+            } else {
+                append(inner).append("int ").append(valueSize).append(" = ").append(binarySizeOf(model, value, fieldInfo))
+                    .append(";\n");
+            }
+            if (sizing) {
+                append(inner).append("size += ").append(keySize).append(" + BinaryCodec.varintSize(").append(valueSize)
+                    .append(") + ").append(valueSize).append(";\n");
+            } else {
+                append(inner).append(keyWrite);
+                append(inner).append("BinaryCodec.putVarint(buf, ").append(valueSize).append(");\n");
+                emitBinaryValue(model, value, fieldInfo, null, inner);
+            }
+        } else if (sizing) {
+            boolean isByte = "byte".equals(fieldInfo.typeName) || "Byte".equals(fieldInfo.typeName);
+            String size = isByte ? "BinaryCodec.varintSize(BinaryCodec.zigZag(" + value + "))" : binarySizeOf(model, value, fieldInfo);
+            append(inner).append("size += ").append(keySize).append(" + ").append(size).append(";\n");
+        } else {
+            append(inner).append(keyWrite);
+            if ("byte".equals(fieldInfo.typeName) || "Byte".equals(fieldInfo.typeName)) {
+                // A byte is a varint like the other integers, so that it can be widened later
+                append(inner).append("BinaryCodec.putVarint(buf, BinaryCodec.zigZag(").append(value).append("));\n");
+            } else {
+                for (String statement : binaryWritesOf(model, value, fieldInfo)) {
+                    append(inner).append(statement).append(";\n");
+                }
+            }
+        }
+        if (!fieldInfo.isPrimitive) {
+            append(indent).append("}\n");
+        }
+    }
+
+    /**
+     * Returns the expression reading the value of a tagged field that is not length-delimited,
+     * or whose encoding is length-prefixed already.
+     */
+    private static String taggedReadOf(DtoModel model, FieldInfo fieldInfo) {
+        switch (fieldInfo.typeName) {
+            case "boolean":
+            case "Boolean":
+                return "BinaryCodec.getVarint(buf) != 0";
+            case "byte":
+            case "Byte":
+                return "(byte) BinaryCodec.getSignedVarint(buf)";
+            default:
+                return binaryReadOf(model, fieldInfo);
+        }
+    }
+
+    /**
+     * Returns the protobuf wire type of a tagged field: 0 for varints, 1 and 5 for values of 8
+     * and 4 bytes, 2 for length-delimited values.
+     */
+    private static int taggedWireTypeOf(FieldInfo fieldInfo) {
+        if (fieldInfo.isEnum) {
+            return 0;
+        }
+        switch (fieldInfo.fullTypeName) {
+            case "boolean":
+            case "byte":
+            case "char":
+            case "short":
+            case "int":
+            case "long":
+            case "java.lang.Boolean":
+            case "java.lang.Byte":
+            case "java.lang.Character":
+            case "java.lang.Short":
+            case "java.lang.Integer":
+            case "java.lang.Long":
+            case "java.util.Date":
+                return 0;
+            case "double":
+            case "java.lang.Double":
+                return 1;
+            case "float":
+            case "java.lang.Float":
+                return 5;
+            default:
+                return 2;
+        }
+    }
+
+    /**
+     * Checks whether a length-delimited tagged field needs a length in front of its value, which
+     * strings, byte arrays and {@code BigInteger} already start with.
+     */
+    private static boolean isTaggedWrapped(FieldInfo fieldInfo) {
+        if (taggedWireTypeOf(fieldInfo) != 2 || fieldInfo.isArray && "byte".equals(fieldInfo.elementInfo.typeName)) {
+            return false;
+        }
+        return !"java.lang.String".equals(fieldInfo.fullTypeName) && !"java.math.BigInteger".equals(fieldInfo.fullTypeName);
+    }
+
+    /**
+     * Returns the number of bytes of a value written as a varint.
+     */
+    private static int varintSize(long value) {
+        return (70 - Long.numberOfLeadingZeros(value | 1)) / 7;
+    }
+
+    /**
+     * Generates {@code protobufSize()}, {@code writeProtobufTo(ByteBuffer)} and
+     * {@code readProtobufFrom(ByteBuffer)}, which follow the protocol buffers wire format of the
+     * schema rendered by {@link ProtoSchemaEmitter}.
+     *
+     * <p>Field numbers are the tags of the tag registry. Like protobuf, a message has no length
+     * of its own: it is read up to the limit of the buffer. Primitive fields holding their
+     * default value and fields that are null or empty are not written, repeated scalars are
+     * packed, and both packed and unpacked repeated scalars are read. Elements, keys and values
+     * of collections and maps cannot be null, as in protobuf. Split DTOs size and write their
+     * fields with a helper per chunk ({@code protobufSize0}, {@code writeProtobufTo0}, ...) and
+     * read them with the helpers of {@link #emitChunkedProtobufRead}.</p>
+     */
+    private void emitProtobufMethods(DtoModel model) throws IOException {
+        String className = model.className;
+        String[] allFields = model.allFields();
+        FieldInfo[] fieldInfos = new FieldInfo[allFields.length];
+        String[] values = new String[allFields.length];
+        for (int i = 0; i < allFields.length; i++) {
+            fieldInfos[i] = model.fieldInfo(allFields[i]);
+            values[i] = "this." + allFields[i];
+        }
+
+        boolean split = isSplit(model);
+
+        variableCount = 0;
+        append("    public int protobufSize() {\n");
+        append("        int size = 0;\n");
+        if (split) {
+            for (int chunk = 0; chunk < chunkCount(model); chunk++) {
+                append("        size += protobufSize").append(Integer.toString(chunk)).append("();\n");
+            }
+        } else {
+            for (int i = 0; i < allFields.length; i++) {
+                emitProtobufField(model, values[i], fieldInfos[i], model.tags[i], "size", "        ");
+            }
+        }
+        append("        return size;\n");
+        append("    }\n\n");
+        for (int chunk = 0; split && chunk < chunkCount(model); chunk++) {
+            variableCount = 0;
+            append("    private int protobufSize").append(Integer.toString(chunk)).append("() {\n");
+            append("        int size = 0;\n");
+            for (int i = chunk * methodChunkSize; i < chunkEnd(model, chunk); i++) {
+                emitProtobufField(model, values[i], fieldInfos[i], model.tags[i], "size", "        ");
+            }
+            append("        return size;\n");
+            append("    }\n\n");
+        }
+
+        variableCount = 0;
+        append("    public void writeProtobufTo(ByteBuffer buf) {\n");
+        if (split) {
+            for (int chunk = 0; chunk < chunkCount(model); chunk++) {
+                append("        writeProtobufTo").append(Integer.toString(chunk)).append("(buf);\n");
+            }
+        } else {
+            for (int i = 0; i < allFields.length; i++) {
+                emitProtobufField(model, values[i], fieldInfos[i], model.tags[i], null, "        ");
+            }
+        }
+        append("    }\n\n");
+        for (int chunk = 0; split && chunk < chunkCount(model); chunk++) {
+            variableCount = 0;
+            append("    private void writeProtobufTo").append(Integer.toString(chunk)).append("(ByteBuffer buf) {\n");
+            for (int i = chunk * methodChunkSize; i < chunkEnd(model, chunk); i++) {
+                emitProtobufField(model, values[i], fieldInfos[i], model.tags[i], null, "        ");
+            }
+            append("    }\n\n");
+        }
+
+        variableCount = 0;
+        append("    public static ").append(className).append(" readProtobufFrom(ByteBuffer buf) {\n");
+        append("        int end = buf.limit();\n");
+        if (split) {
+            emitChunkedProtobufRead(model, fieldInfos);
+            return;
+        }
+        String[] parameters = emitProtobufRead(model, fieldInfos, model.tags);
+        if (!model.immutable) {
+            append("        ").append(className).append(" dto = new ").append(className).append("();\n");
+            for (int i = 0; i < allFields.length; i++) {
+                append("        dto.").append(allFields[i]).append(" = ").append(parameters[i]).append(";\n");
+            }
+            append("        return dto;\n");
+        } else if (model.wide()) {
+            append("        return ");
+            source.emitBuilderChain(model, parameters, "        ");
+            append(";\n");
+        } else {
+            append("        return new ").append(className).append("(").append(String.join(", ", parameters)).append(");\n");
+        }
+        append("    }\n");
+    }
+
+    /**
+     * Generates the body of {@code readProtobufFrom(ByteBuffer)} of a split DTO, which reads the
+     * fields into the DTO or, if it is immutable, its builder. Repeated and map fields are
+     * created empty by a helper per chunk, every key is passed to a helper per chunk until one
+     * reads its field, and arrays, which grow with their count in {@code counts}, are trimmed by
+     * a helper per chunk once the message is read.
+     */
+    private void emitChunkedProtobufRead(DtoModel model, FieldInfo[] fieldInfos) throws IOException {
+        String[] allFields = model.allFields();
+        String target = model.immutable ? "builder" : "dto";
+        String[] targets = new String[allFields.length];
+        String[] counts = new String[allFields.length];
+        boolean[] initChunks = new boolean[chunkCount(model)];
+        boolean[] trimChunks = new boolean[chunkCount(model)];
+        int arrayCount = 0;
+        for (int i = 0; i < allFields.length; i++) {
+            targets[i] = target + "." + allFields[i];
+            if (ProtoSchemaEmitter.fieldTypeOf(model, fieldInfos[i]) == null
+                || !fieldInfos[i].isMap && ProtoSchemaEmitter.repeatedElementOf(fieldInfos[i]) == null) {
+                continue;
+            }
+            initChunks[i / methodChunkSize] = true;
+            if (fieldInfos[i].isArray) {
+                counts[i] = "counts[" + arrayCount++ + "]";
+                trimChunks[i / methodChunkSize] = true;
+            }
+        }
+        String countsArgument = arrayCount > 0 ? "counts, " : "";
+        String countsParameter = arrayCount > 0 ? "int[] counts, " : "";
+
+        append("        ").append(readTargetOf(model)).append(" = new ").append(model.immutable ? "Builder" : model.className)
+            .append("();\n");
+        for (int chunk = 0; chunk < chunkCount(model); chunk++) {
+            if (initChunks[chunk]) {
+                append("        initProtobuf").append(Integer.toString(chunk)).append("(").append(target).append(");\n");
+            }
+        }
+        if (arrayCount > 0) {
+            append("        int[] counts = new int[").append(Integer.toString(arrayCount)).append("];\n");
+        }
+        append("        while (buf.position() < end) {\n");
+        append("            int key = BinaryCodec.getKey(buf);\n");
+        append("            if (");
+        for (int chunk = 0; chunk < chunkCount(model); chunk++) {
+            append(chunk > 0 ? "\n                    && " : "").append("!readProtobufFrom").append(Integer.toString(chunk))
+                .append("(buf, key, ").append(countsArgument).append(target).append(")");
+        }
+        append(") {\n");
+        append("                BinaryCodec.skip(buf, key);\n");
+        append("            }\n");
+        append("        }\n");
+        for (int chunk = 0; chunk < chunkCount(model); chunk++) {
+            if (trimChunks[chunk]) {
+                append("        trimProtobuf").append(Integer.toString(chunk)).append("(counts, ").append(target).append(");\n");
+            }
+        }
+        append("        return ").append(model.immutable ? "builder.build()" : "dto").append(";\n");
+        append("    }\n");
+
+        for (int chunk = 0; chunk < chunkCount(model); chunk++) {
+            String chunkName = Integer.toString(chunk);
+            if (initChunks[chunk]) {
+                append("\n");
+                append("    private static void initProtobuf").append(chunkName).append("(").append(readTargetOf(model)).append(") {\n");
+                for (int i = chunk * methodChunkSize; i < chunkEnd(model, chunk); i++) {
+                    String empty = protobufEmptyOf(model, fieldInfos[i]);
+                    if (empty != null) {
+                        append("        ").append(targets[i]).append(" = ").append(empty).append(";\n");
+                    }
+                }
+                append("    }\n");
+            }
+
+            variableCount = 0;
+            append("\n");
+            append("    private static boolean readProtobufFrom").append(chunkName).append("(ByteBuffer buf, int key, ")
+                .append(countsParameter).append(readTargetOf(model)).append(") {\n");
+            append("        switch (key) {\n");
+            emitProtobufCases(model, fieldInfos, model.tags, targets, counts, chunk * methodChunkSize, chunkEnd(model, chunk),
+                "return true;", "            ");
+            append("            default:\n");
+            append("                return false;\n");
+            append("        }\n");
+            append("    }\n");
+
+            if (trimChunks[chunk]) {
+                append("\n");
+                append("    private static void trimProtobuf").append(chunkName).append("(int[] counts, ")
+                    .append(readTargetOf(model)).append(") {\n");
+                for (int i = chunk * methodChunkSize; i < chunkEnd(model, chunk); i++) {
+                    if (counts[i] != null) {
+                        append("        ").append(targets[i]).append(" = Arrays.copyOf(").append(targets[i]).append(", ")
+                            .append(counts[i]).append(");\n");
+                    }
+                }
+                append("    }\n");
+            }
+        }
+    }
+
+    /**
+     * Generates the static protobuf size, write and read methods of an entity, whose readable
+     * properties are numbered from 1 in the order of {@link ProtoSchemaEmitter#readablePropertiesOf}.
+     * An entity is written as the body of a nested message, and read with its length in front.
+     */
+    private void emitProtobufEntityCodec(DtoModel model, JsonEntity entity) throws IOException {
+        String identifier = identifierOf(entity.typeName);
+        List<Integer> readable = ProtoSchemaEmitter.readablePropertiesOf(entity);
+        String[] values = new String[readable.size()];
+        FieldInfo[] propertyInfos = new FieldInfo[readable.size()];
+        int[] numbers = new int[readable.size()];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = "v" + i;
+            propertyInfos[i] = entity.types[readable.get(i)];
+            numbers[i] = i + 1;
+        }
+
+        variableCount = values.length;
+        append("\n");
+        append("    private static int protobufSize").append(identifier).append("(").append(entity.typeName).append(" value) {\n");
+        emitEntityGetters(entity, readable, values);
+        append("        int size = 0;\n");
+        for (int i = 0; i < values.length; i++) {
+            emitProtobufField(model, values[i], propertyInfos[i], numbers[i], "size", "        ");
+        }
+        append("        return size;\n");
+        append("    }\n\n");
+
+        variableCount = values.length;
+        append("    private static void writeProtobuf").append(identifier).append("(ByteBuffer buf, ")
+            .append(entity.typeName).append(" value) {\n");
+        emitEntityGetters(entity, readable, values);
+        for (int i = 0; i < values.length; i++) {
+            emitProtobufField(model, values[i], propertyInfos[i], numbers[i], null, "        ");
+        }
+        append("    }\n");
+
+        if (!entity.instantiable) {
+            // Only held by fields without a protobuf type, see ProtoSchemaEmitter#unreadableMessageOf
+            return;
+        }
+        variableCount = 0;
+        append("\n");
+        append("    private static ").append(entity.typeName).append(" readProtobuf").append(identifier).append("(ByteBuffer buf) {\n");
+        append("        int end = BinaryCodec.getEnd(buf);\n");
+        String[] components = emitProtobufRead(model, propertyInfos, numbers);
+        append("        BinaryCodec.checkEnd(buf, end);\n");
+        if (entity.record) {
+            append("        return new ").append(constructed(entity.typeName)).append("(").append(String.join(", ", components)).append(");\n");
+            append("    }\n");
+            return;
+        }
+        append("        ").append(entity.typeName).append(" value = new ").append(constructed(entity.typeName)).append("();\n");
+        for (int i = 0; i < values.length; i++) {
+            String setter = entity.setters[readable.get(i)];
+            if (setter != null) {
+                append("        value.").append(setter).append(components[i]).append(setter.endsWith("(") ? ");\n" : ";\n");
+            }
+        }
+        append("        return value;\n");
+        append("    }\n");
+    }
+
+    /**
+     * Generates the statements reading the fields of a message into locals, up to the offset
+     * held by {@code end}, and returns the locals, aligned with the given fields. Fields without
+     * a protobuf representation keep their default value.
+     */
+    private String[] emitProtobufRead(DtoModel model, FieldInfo[] fieldInfos, int[] numbers) throws IOException {
+        String[] locals = new String[fieldInfos.length];
+        String[] counts = new String[fieldInfos.length];
+        for (int i = 0; i < fieldInfos.length; i++) {
+            FieldInfo fieldInfo = fieldInfos[i];
+            locals[i] = "p" + i;
+            String empty = protobufEmptyOf(model, fieldInfo);
+            append("        ").append(fieldInfo.declaredType).append(" ").append(locals[i]).append(" = ")
+                .append(empty != null ? empty : defaultValue(fieldInfo)).append(";\n");
+            if (empty != null && fieldInfo.isArray) {
+                // Arrays grow while elements are read, and are trimmed once the message is read
+                counts[i] = "c" + i;
+                append("        int ").append(counts[i]).append(" = 0;\n");
+            }
+        }
+        append("        while (buf.position() < end) {\n");
+        append("            int key = BinaryCodec.getKey(buf);\n");
+        append("            switch (key) {\n");
+        emitProtobufCases(model, fieldInfos, numbers, locals, counts, 0, fieldInfos.length, "break;", "                ");
+        append("                default:\n");
+        append("                    BinaryCodec.skip(buf, key);\n");
+        append("                    break;\n");
+        append("            }\n");
+        append("        }\n");
+        for (int i = 0; i < fieldInfos.length; i++) {
+            if (counts[i] != null) {
+                append("        ").append(locals[i]).append(" = Arrays.copyOf(").append(locals[i]).append(", ")
+                    .append(counts[i]).append(");\n");
+            }
+        }
+        return locals;
+    }
+
+    /**
+     * Returns the empty value a repeated or map field starts from while its message is read, or
+     * null if the field is neither or has no protobuf representation.
+     */
+    private String protobufEmptyOf(DtoModel model, FieldInfo fieldInfo) {
+        if (ProtoSchemaEmitter.fieldTypeOf(model, fieldInfo) == null
+            || !fieldInfo.isMap && ProtoSchemaEmitter.repeatedElementOf(fieldInfo) == null) {
+            return null;
+        }
+        if (fieldInfo.isMap) {
+            return "new LinkedHashMap<>()";
+        }
+        if (fieldInfo.isArray) {
+            return "new " + arrayCreation(fieldInfo.elementInfo, "0");
+        }
+        return "Set".equals(fieldInfo.typeName) ? "new LinkedHashSet<>()" : "new ArrayList<>()";
+    }
+
+    /**
+     * Generates the cases of the {@code switch} on the key reading a range of the fields into
+     * the given variables, each case ending with the given statement. Elements of arrays are
+     * counted by the given count variables.
+     */
+    private void emitProtobufCases(DtoModel model, FieldInfo[] fieldInfos, int[] numbers, String[] variables, String[] counts,
+                                   int from, int to, String matched, String indent) throws IOException {
+        String inner = indent + "    ";
+        for (int i = from; i < to; i++) {
+            FieldInfo fieldInfo = fieldInfos[i];
+            if (ProtoSchemaEmitter.fieldTypeOf(model, fieldInfo) == null) {
+                continue;
+            }
+            FieldInfo elementInfo = ProtoSchemaEmitter.repeatedElementOf(fieldInfo);
+            if (elementInfo != null) {
+                int wireType = ProtoSchemaEmitter.wireTypeOf(ProtoSchemaEmitter.valueTypeOf(model, elementInfo));
+                if (wireType != 2) {
+                    String packedEnd = nextVariable("e");
+                    append(indent).append("case ").append(Integer.toString(numbers[i] << 3 | 2)).append(": {\n");
+                    append(inner).append("int ").append(packedEnd).append(" = BinaryCodec.getEnd(buf);\n");
+                    append(inner).append("while (buf.position() < ").append(packedEnd).append(") {\n");
+                    emitProtobufAdd(model, fieldInfo, variables[i], counts[i], inner + "    ");
+                    append(inner).append("}\n");
+                    append(inner).append("BinaryCodec.checkEnd(buf, ").append(packedEnd).append(");\n");
+                    append(inner).append(matched).append("\n");
+                    append(indent).append("}\n");
+                }
+                append(indent).append("case ").append(Integer.toString(numbers[i] << 3 | wireType)).append(":\n");
+                emitProtobufAdd(model, fieldInfo, variables[i], counts[i], inner);
+                append(inner).append(matched).append("\n");
+            } else if (fieldInfo.isMap) {
+                emitProtobufEntryRead(model, fieldInfo, numbers[i], variables[i], matched, indent);
+            } else {
+                int wireType = ProtoSchemaEmitter.wireTypeOf(ProtoSchemaEmitter.valueTypeOf(model, fieldInfo));
+                append(indent).append("case ").append(Integer.toString(numbers[i] << 3 | wireType)).append(":\n");
+                append(inner).append(variables[i]).append(" = ").append(protobufReadOf(model, fieldInfo)).append(";\n");
+                append(inner).append(matched).append("\n");
+            }
+        }
+    }
+
+    /**
+     * Generates the statements reading one element of a repeated field and adding it to the
+     * given variable, counting the elements of an array with the given count variable.
+     */
+    private void emitProtobufAdd(DtoModel model, FieldInfo fieldInfo, String local, String count, String indent)
+            throws IOException {
+        String element = protobufReadOf(model, fieldInfo.elementInfo);
+        if (!fieldInfo.isArray) {
+            append(indent).append(local).append(".add(").append(element).append(");\n");
+            return;
+        }
+        append(indent).append("if (").append(count).append(" == ").append(local).append(".length) {\n");
+        append(indent).append("    ").append(local).append(" = Arrays.copyOf(").append(local).append(", Math.max(8, ")
+            .append(count).append(" * 2));\n");
+        append(indent).append("}\n");
+        append(indent).append(local).append("[").append(count).append("++] = ").append(element).append(";\n");
+    }
+
+    /**
+     * Generates the case reading one entry of a map field, a nested message with the key as field
+     * 1 and the value as field 2, and putting it in the given map, ending with the given
+     * statement. A missing key or value is the default value of its protobuf type.
+     */
+    private void emitProtobufEntryRead(DtoModel model, FieldInfo fieldInfo, int number, String local, String matched,
+                                       String caseIndent) throws IOException {
+        String indent = caseIndent + "    ";
+        String entryEnd = nextVariable("e");
+        String key = nextVariable("k");
+        String value = nextVariable("v");
+        String entryKey = nextVariable("f");
+        int keyWireType = ProtoSchemaEmitter.wireTypeOf(ProtoSchemaEmitter.valueTypeOf(model, fieldInfo.keyInfo));
+        int valueWireType = ProtoSchemaEmitter.wireTypeOf(ProtoSchemaEmitter.valueTypeOf(model, fieldInfo.valueInfo));
+        append(caseIndent).append("case ").append(Integer.toString(number << 3 | 2)).append(": {\n");
+        append(indent).append("int ").append(entryEnd).append(" = BinaryCodec.getEnd(buf);\n");
+        append(indent).append(fieldInfo.keyInfo.declaredType).append(" ").append(key).append(" = ")
+            .append(protobufDefaultOf(model, fieldInfo.keyInfo)).append(";\n");
+        append(indent).append(fieldInfo.valueInfo.declaredType).append(" ").append(value).append(" = ")
+            .append(protobufDefaultOf(model, fieldInfo.valueInfo)).append(";\n");
+        append(indent).append("while (buf.position() < ").append(entryEnd).append(") {\n");
+        append(indent).append("    int ").append(entryKey).append(" = BinaryCodec.getKey(buf);\n");
+        append(indent).append("    if (").append(entryKey).append(" == ").append(Integer.toString(1 << 3 | keyWireType)).append(") {\n");
+        append(indent).append("        ").append(key).append(" = ").append(protobufReadOf(model, fieldInfo.keyInfo)).append(";\n");
+        append(indent).append("    } else if (").append(entryKey).append(" == ").append(Integer.toString(2 << 3 | valueWireType))
+            .append(") {\n");
+        append(indent).append("        ").append(value).append(" = ").append(protobufReadOf(model, fieldInfo.valueInfo)).append(";\n");
+        append(indent).append("    } else {\n");
+        append(indent).append("        BinaryCodec.skip(buf, ").append(entryKey).append(");\n");
+        append(indent).append("    }\n");
+        append(indent).append("}\n");
+        append(indent).append("BinaryCodec.checkEnd(buf, ").append(entryEnd).append(");\n");
+        append(indent).append(local).append(".put(").append(key).append(", ").append(value).append(");\n");
+        append(indent).append(matched).append("\n");
+        append(caseIndent).append("}\n");
+    }
+
+    /**
+     * Generates the statements adding the size of a protobuf field to the given size variable,
+     * or writing it to {@code buf} if the size variable is null. Fields without a protobuf
+     * representation are skipped.
+     */
+    private void emitProtobufField(DtoModel model, String value, FieldInfo fieldInfo, int number, String size,
+                                   String indent) throws IOException {
+        if (ProtoSchemaEmitter.fieldTypeOf(model, fieldInfo) == null) {
+            return;
+        }
+        String inner = indent + "    ";
+        FieldInfo elementInfo = ProtoSchemaEmitter.repeatedElementOf(fieldInfo);
+        if (elementInfo != null) {
+            append(indent).append("if (").append(value).append(" != null && ")
+                .append(fieldInfo.isArray ? value + ".length != 0" : "!" + value + ".isEmpty()").append(") {\n");
+            emitProtobufRepeated(model, value, fieldInfo, number, size, inner);
+            append(indent).append("}\n");
+            return;
+        }
+        if (fieldInfo.isMap) {
+            append(indent).append("if (").append(value).append(" != null) {\n");
+            emitProtobufEntries(model, value, fieldInfo, number, size, inner);
+            append(indent).append("}\n");
+            return;
+        }
+        int key = number << 3 | ProtoSchemaEmitter.wireTypeOf(ProtoSchemaEmitter.valueTypeOf(model, fieldInfo));
+        append(indent).append("if (").append(fieldInfo.isPrimitive ? protobufNotDefault(value, fieldInfo) : value + " != null")
+            .append(") {\n");
+        emitProtobufValue(model, value, fieldInfo, key, size, inner);
+        append(indent).append("}\n");
+    }
+
+    /**
+     * Generates the statements sizing or writing the elements of a repeated field that is not
+     * empty. Scalars of wire types 0, 1 and 5 are packed in a single length-delimited value,
+     * other elements are written as one field each.
+     */
+    private void emitProtobufRepeated(DtoModel model, String value, FieldInfo fieldInfo, int number, String size,
+                                      String indent) throws IOException {
+        FieldInfo elementInfo = fieldInfo.elementInfo;
+        int wireType = ProtoSchemaEmitter.wireTypeOf(ProtoSchemaEmitter.valueTypeOf(model, elementInfo));
+        String element = nextVariable("e");
+        String loop = "for (" + elementInfo.declaredType + " " + element + " : " + value + ") {\n";
+        if (wireType == 2) {
+            append(indent).append(loop);
+            emitProtobufValue(model, element, elementInfo, number << 3 | 2, size, indent + "    ");
+            append(indent).append("}\n");
+            return;
+        }
+
+        String packedSize = nextVariable("s");
+        String fixedSize = wireType == 0 ? null : wireType == 1 ? "8" : "4";
+        if ("bool".equals(ProtoSchemaEmitter.valueTypeOf(model, elementInfo))) {
+            fixedSize = "1";
+        }
+        if (fixedSize != null) {
+            // Elements of a fixed size need no loop
+            append(indent).append("int ").append(packedSize).append(" = ").append(value)
+                .append(fieldInfo.isArray ? ".length" : ".size()").append("1".equals(fixedSize) ? "" : " * " + fixedSize)
+                .append(";\n");
+        } else {
+            append(indent).append("int ").append(packedSize).append(" = 0;\n");
+            append(indent).append(loop);
+            emitProtobufValue(model, element, elementInfo, 0, packedSize, indent + "    ");
+            append(indent).append("}\n");
+        }
+        int key = number << 3 | 2;
+        if (size != null) {
+            append(indent).append(size).append(" += ").append(Integer.toString(varintSize(key))).append(" + BinaryCodec.varintSize(")
+                .append(packedSize).append(") + ").append(packedSize).append(";\n");
+            return;
+        }
+        append(indent).append(protobufKeyWrite(key));
+        append(indent).append("BinaryCodec.putVarint(buf, ").append(packedSize).append(");\n");
+        append(indent).append(loop);
+        emitProtobufValue(model, element, elementInfo, 0, null, indent + "    ");
+        append(indent).append("}\n");
+    }
+
+    /**
+     * Generates the statements sizing or writing the entries of a map field, each as a nested
+     * message with the key as field 1 and the value as field 2.
+     */
+    private void emitProtobufEntries(DtoModel model, String value, FieldInfo fieldInfo, int number, String size,
+                                     String indent) throws IOException {
+        String entry = nextVariable("e");
+        String key = nextVariable("k");
+        String entryValue = nextVariable("v");
+        String entrySize = nextVariable("s");
+        String inner = indent + "    ";
+        int keyKey = 1 << 3 | ProtoSchemaEmitter.wireTypeOf(ProtoSchemaEmitter.valueTypeOf(model, fieldInfo.keyInfo));
+        int valueKey = 2 << 3 | ProtoSchemaEmitter.wireTypeOf(ProtoSchemaEmitter.valueTypeOf(model, fieldInfo.valueInfo));
+        append(indent).append("for (Map.Entry<").append(fieldInfo.keyInfo.declaredType).append(", ")
+            .append(fieldInfo.valueInfo.declaredType).append("> ").append(entry).append(" : ")
+            .append(value).append(".entrySet()) {\n");
+        append(inner).append(fieldInfo.keyInfo.declaredType).append(" ").append(key).append(" = ").append(entry)
+            .append(".getKey();\n");
+        append(inner).append(fieldInfo.valueInfo.declaredType).append(" ").append(entryValue).append(" = ")
+            .append(entry).append(".getValue();\n");
+        append(inner).append("int ").append(entrySize).append(" = 0;\n");
+        emitProtobufValue(model, key, fieldInfo.keyInfo, keyKey, entrySize, inner);
+        emitProtobufValue(model, entryValue, fieldInfo.valueInfo, valueKey, entrySize, inner);
+        int entryKey = number << 3 | 2;
+        if (size != null) {
+            append(inner).append(size).append(" += ").append(Integer.toString(varintSize(entryKey)))
+                .append(" + BinaryCodec.varintSize(").append(entrySize).append(") + ").append(entrySize).append(";\n");
+        } else {
+            append(inner).append(protobufKeyWrite(entryKey));
+            append(inner).append("BinaryCodec.putVarint(buf, ").append(entrySize).append(");\n");
+            emitProtobufValue(model, key, fieldInfo.keyInfo, keyKey, null, inner);
+            emitProtobufValue(model, entryValue, fieldInfo.valueInfo, valueKey, null, inner);
+        }
+        append(indent).append("}\n");
+    }
+
+    /**
+     * Generates the statements adding the size of a value that is not null and of its key to the
+     * given size variable, or writing them to {@code buf} if the size variable is null. A key of
+     * 0 sizes or writes the value alone, as an element of a packed field.
+     */
+    private void emitProtobufValue(DtoModel model, String value, FieldInfo fieldInfo, int key, String size, String indent)
+            throws IOException {
+        String keySize = key == 0 ? "" : varintSize(key) + " + ";
+        if (ProtoSchemaEmitter.isMessage(model, fieldInfo)) {
+            // Nested messages are written after the size of their body
+            String identifier = identifierOf(fieldInfo.declaredType);
+            String messageSize = nextVariable("s");
+            append(indent).append("int ").append(messageSize).append(" = protobufSize").append(identifier).append("(")
+                .append(value).append(");\n");
+            if (size != null) {
+                append(indent).append(size).append(" += ").append(keySize).append("BinaryCodec.varintSize(")
+                    .append(messageSize).append(") + ").append(messageSize).append(";\n");
+            } else {
+                append(indent).append(protobufKeyWrite(key));
+                append(indent).append("BinaryCodec.putVarint(buf, ").append(messageSize).append(");\n");
+                append(indent).append("writeProtobuf").append(identifier).append("(buf, ").append(value).append(");\n");
+            }
+            return;
+        }
+        if (size != null) {
+            append(indent).append(size).append(" += ").append(keySize).append(protobufSizeOf(value, fieldInfo)).append(";\n");
+            return;
+        }
+        if (key != 0) {
+            append(indent).append(protobufKeyWrite(key));
+        }
+        append(indent).append(protobufWriteOf(value, fieldInfo)).append(";\n");
+    }
+
+    /**
+     * Returns the statement writing a field key.
+     */
+    private static String protobufKeyWrite(int key) {
+        return key < 0x80 ? "buf.put((byte) " + key + ");\n" : "BinaryCodec.putVarint(buf, " + key + ");\n";
+    }
+
+    /**
+     * Returns the condition under which a primitive field differs from its default value and is
+     * written. Like protobuf, a negative zero is written.
+     */
+    private static String protobufNotDefault(String value, FieldInfo fieldInfo) {
+        switch (fieldInfo.typeName) {
+            case "boolean":
+                return value;
+            case "float":
+                return "Float.floatToRawIntBits(" + value + ") != 0";
+            case "double":
+                return "Double.doubleToRawLongBits(" + value + ") != 0";
+            default:
+                return value + " != 0";
+        }
+    }
+
+    /**
+     * Returns the expression of the protobuf size of a scalar value that is not null.
+     */
+    private static String protobufSizeOf(String value, FieldInfo fieldInfo) {
+        if (fieldInfo.isEnum) {
+            return "BinaryCodec.stringSize(" + value + ".name())";
+        }
+        if (fieldInfo.isArray) {
+            return "BinaryCodec.varintSize(" + value + ".length) + " + value + ".length";
+        }
+        switch (fieldInfo.fullTypeName) {
+            case "boolean":
+            case "java.lang.Boolean":
+                return "1";
+            case "char":
+            case "java.lang.Character":
+                return "BinaryCodec.varintSize(" + value + ")";
+            case "float":
+            case "java.lang.Float":
+                return "4";
+            case "double":
+            case "java.lang.Double":
+                return "8";
+            case "java.lang.String":
+                return "BinaryCodec.stringSize(" + value + ")";
+            case "java.util.UUID":
+            case "java.math.BigInteger":
+            case "java.math.BigDecimal":
+                return "BinaryCodec.stringSize(" + value + ".toString())";
+            case "java.util.Date":
+                return "BinaryCodec.varintSize(BinaryCodec.zigZag(" + value + ".getTime()))";
+            default:
+                return "BinaryCodec.varintSize(BinaryCodec.zigZag(" + value + "))";
+        }
+    }
+
+    /**
+     * Returns the statement writing a scalar value that is not null.
+     */
+    private static String protobufWriteOf(String value, FieldInfo fieldInfo) {
+        if (fieldInfo.isEnum) {
+            return "BinaryCodec.putString(buf, " + value + ".name())";
+        }
+        if (fieldInfo.isArray) {
+            return "BinaryCodec.putBytes(buf, " + value + ")";
+        }
+        switch (fieldInfo.fullTypeName) {
+            case "boolean":
+            case "java.lang.Boolean":
+                return "buf.put((byte) (" + value + " ? 1 : 0))";
+            case "char":
+            case "java.lang.Character":
+                return "BinaryCodec.putVarint(buf, " + value + ")";
+            case "float":
+            case "java.lang.Float":
+                return "BinaryCodec.putFixed32(buf, Float.floatToRawIntBits(" + value + "))";
+            case "double":
+            case "java.lang.Double":
+                return "BinaryCodec.putFixed64(buf, Double.doubleToRawLongBits(" + value + "))";
+            case "java.lang.String":
+                return "BinaryCodec.putString(buf, " + value + ")";
+            case "java.util.UUID":
+            case "java.math.BigInteger":
+            case "java.math.BigDecimal":
+                return "BinaryCodec.putString(buf, " + value + ".toString())";
+            case "java.util.Date":
+                return "BinaryCodec.putVarint(buf, BinaryCodec.zigZag(" + value + ".getTime()))";
+            default:
+                return "BinaryCodec.putVarint(buf, BinaryCodec.zigZag(" + value + "))";
+        }
+    }
+
+    /**
+     * Returns the expression reading a value written by {@link #emitProtobufValue}, without its key.
+     */
+    private static String protobufReadOf(DtoModel model, FieldInfo fieldInfo) {
+        if (ProtoSchemaEmitter.isMessage(model, fieldInfo)) {
+            return "readProtobuf" + identifierOf(fieldInfo.declaredType) + "(buf)";
+        }
+        if (fieldInfo.isEnum) {
+            return fieldInfo.declaredType + ".valueOf(BinaryCodec.getString(buf))";
+        }
+        switch (fieldInfo.fullTypeName) {
+            case "boolean":
+            case "java.lang.Boolean":
+                return "BinaryCodec.getVarint(buf) != 0";
+            case "byte":
+            case "java.lang.Byte":
+                return "(byte) BinaryCodec.getSignedVarint(buf)";
+            case "java.util.UUID":
+                return fieldInfo.declaredType + ".fromString(BinaryCodec.getString(buf))";
+            case "java.math.BigInteger":
+            case "java.math.BigDecimal":
+                return "new " + fieldInfo.declaredType + "(BinaryCodec.getString(buf))";
+            default:
+                // The other scalars share the encoding of the binary codec
+                return binaryReadOf(model, fieldInfo);
+        }
+    }
+
+    /**
+     * Returns the value of a map key or value missing from its entry: the default value of its
+     * protobuf type, or null for messages and types without a Java equivalent of that default.
+     */
+    private static String protobufDefaultOf(DtoModel model, FieldInfo fieldInfo) {
+        if (fieldInfo.isEnum || ProtoSchemaEmitter.isMessage(model, fieldInfo)) {
+            return "null";
+        }
+        if (fieldInfo.isArray) {
+            return "new byte[0]";
+        }
+        switch (fieldInfo.fullTypeName) {
+            case "java.lang.Boolean":
+                return "false";
+            case "java.lang.Byte":
+                return "(byte) 0";
+            case "java.lang.Short":
+                return "(short) 0";
+            case "java.lang.Character":
+                return "'\\0'";
+            case "java.lang.Integer":
+                return "0";
+            case "java.lang.Long":
+                return "0L";
+            case "java.lang.Float":
+                return "0f";
+            case "java.lang.Double":
+                return "0d";
+            case "java.lang.String":
+                return "\"\"";
+            case "java.util.Date":
+                return "new " + fieldInfo.declaredType + "(0)";
+            case "java.math.BigInteger":
+            case "java.math.BigDecimal":
+                return fieldInfo.declaredType + ".ZERO";
+            default:
+                return "null";
+        }
+    }
+
+    /**
+     * Generates the static size, write and read methods of an entity, which cover its readable
+     * properties. The null bitmap of an entity takes at least one byte, so that every element of a
+     * collection takes at least one byte and counts can be checked against the remaining input.
+     * Properties without a setter are read and dropped, entities that cannot be created fail.
+     */
+    private void emitBinaryEntityCodec(DtoModel model, JsonEntity entity) throws IOException {
+        String identifier = identifierOf(entity.typeName);
+        List<Integer> readable = new ArrayList<>();
+        for (int i = 0; i < entity.names.length; i++) {
+            if (entity.getters[i] != null) {
+                readable.add(i);
+            }
+        }
+        String[] values = new String[readable.size()];
+        FieldInfo[] propertyInfos = new FieldInfo[readable.size()];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = "v" + i;
+            propertyInfos[i] = entity.types[readable.get(i)];
+        }
+        int bitmapSize = Math.max(1, (nullableCount(propertyInfos) + 7) / 8);
+
+        variableCount = values.length;
+        append("\n");
+        append("    private static int binarySize").append(identifier).append("(").append(entity.typeName).append(" value) {\n");
+        emitEntityGetters(entity, readable, values);
+        append("        int size = ").append(Integer.toString(bitmapSize)).append(";\n");
+        for (int i = 0; i < values.length; i++) {
+            emitBinaryField(model, values[i], propertyInfos[i], false, "size", "        ");
+        }
+        append("        return size;\n");
+        append("    }\n\n");
+
+        variableCount = values.length;
+        append("    private static void writeBinary").append(identifier).append("(ByteBuffer buf, ")
+            .append(entity.typeName).append(" value) {\n");
+        emitEntityGetters(entity, readable, values);
+        emitBinaryBitmap(values, propertyInfos, 0, bitmapSize);
+        for (int i = 0; i < values.length; i++) {
+            emitBinaryField(model, values[i], propertyInfos[i], false, null, "        ");
+        }
+        append("    }\n\n");
+
+        variableCount = 0;
+        append("    private static ").append(entity.typeName).append(" readBinary").append(identifier).append("(ByteBuffer buf) {\n");
+        for (int i = 0; i < bitmapSize; i++) {
+            append("        int nulls").append(Integer.toString(i)).append(" = buf.get() & 0xFF;\n");
+        }
+        if (!entity.record) {
+            append("        ").append(entity.typeName).append(" value = new ").append(constructed(entity.typeName)).append("();\n");
+        }
+        String[] components = new String[values.length];
+        int nullable = 0;
+        for (int i = 0; i < values.length; i++) {
+            String presence = propertyInfos[i].isPrimitive ? null : nullBitOf(nullable++);
+            String value = emitBinaryRead(model, propertyInfos[i], presence, "        ");
+            String setter = entity.setters[readable.get(i)];
+            if (entity.record || setter == null) {
+                components[i] = nextVariable("p");
+                append("        ").append(propertyInfos[i].declaredType).append(" ").append(components[i]).append(" = ")
+                    .append(value).append(";\n");
+            } else {
+                append("        value.").append(setter).append(value).append(setter.endsWith("(") ? ");\n" : ";\n");
+            }
+        }
+        if (entity.record) {
+            append("        return new ").append(constructed(entity.typeName)).append("(").append(String.join(", ", components)).append(");\n");
+        } else {
+            append("        return value;\n");
+        }
+        append("    }\n");
+    }
+
+
+    /**
+     * Generates the statements writing a range of the bytes of the null bitmap of the given
+     * values, in which the bit of a value that is not null is set.
+     */
+    private void emitBinaryBitmap(String[] values, FieldInfo[] fieldInfos, int from, int to) throws IOException {
+        List<String> bits = new ArrayList<>();
+        for (int i = 0; i < values.length; i++) {
+            if (!fieldInfos[i].isPrimitive) {
+                bits.add("(" + values[i] + " != null ? " + (1 << bits.size() % 8) + " : 0)");
+            }
+        }
+        for (int i = from; i < to; i++) {
+            List<String> byteBits = bits.subList(Math.min(i * 8, bits.size()), Math.min(i * 8 + 8, bits.size()));
+            append("        buf.put((byte) ").append(byteBits.isEmpty() ? "0" : "(" + String.join(" | ", byteBits) + ")")
+                .append(");\n");
+        }
+    }
+
+    /**
+     * Generates the statements adding the size of a value to the given size variable, or writing
+     * it to {@code buf} if the size variable is null. Values that may be null are skipped when
+     * null, after a presence byte for elements. The value must be an expression without side
+     * effects.
+     */
+    private void emitBinaryField(DtoModel model, String value, FieldInfo fieldInfo, boolean element, String size,
+                                 String indent) throws IOException {
+        if (fieldInfo.isPrimitive) {
+            emitBinaryValue(model, value, fieldInfo, size, indent);
+            return;
+        }
+        if (element) {
+            append(indent).append(size != null ? size + "++;\n" : "buf.put((byte) (" + value + " != null ? 1 : 0));\n");
+        }
+        append(indent).append("if (").append(value).append(" != null) {\n");
+        emitBinaryValue(model, value, fieldInfo, size, indent + "    ");
+        append(indent).append("}\n");
+    }
+
+    /**
+     * Generates the statements adding the size of a value that is not null to the given size
+     * variable, or writing it to {@code buf} if the size variable is null.
+     */
+    private void emitBinaryValue(DtoModel model, String value, FieldInfo fieldInfo, String size, String indent)
+            throws IOException {
+        if (!isBinaryStructure(fieldInfo)) {
+            if (size != null) {
+                append(indent).append(size).append(" += ").append(binarySizeOf(model, value, fieldInfo)).append(";\n");
+            } else {
+                for (String statement : binaryWritesOf(model, value, fieldInfo)) {
+                    append(indent).append(statement).append(";\n");
+                }
+            }
+            return;
+        }
+
+        String count = value + (fieldInfo.isArray ? ".length" : ".size()");
+        if (size != null) {
+            append(indent).append(size).append(" += BinaryCodec.varintSize(").append(count).append(");\n");
+            String fixedSize = fieldInfo.isArray ? fixedBinarySizeOf(fieldInfo.elementInfo) : null;
+            if (fixedSize != null) {
+                // Elements of a fixed size need no loop
+                append(indent).append(size).append(" += ").append(count).append(" * ").append(fixedSize).append(";\n");
+                return;
+            }
+        } else {
+            append(indent).append("BinaryCodec.putVarint(buf, ").append(count).append(");\n");
+        }
+        String inner = indent + "    ";
+        if (fieldInfo.isMap) {
+            String entry = nextVariable("e");
+            String key = nextVariable("k");
+            String entryValue = nextVariable("v");
+            append(indent).append("for (Map.Entry<").append(fieldInfo.keyInfo.declaredType).append(", ")
+                .append(fieldInfo.valueInfo.declaredType).append("> ").append(entry).append(" : ")
+                .append(value).append(".entrySet()) {\n");
+            append(inner).append(fieldInfo.keyInfo.declaredType).append(" ").append(key).append(" = ").append(entry)
+                .append(".getKey();\n");
+            append(inner).append(fieldInfo.valueInfo.declaredType).append(" ").append(entryValue).append(" = ")
+                .append(entry).append(".getValue();\n");
+            emitBinaryField(model, key, fieldInfo.keyInfo, true, size, inner);
+            emitBinaryField(model, entryValue, fieldInfo.valueInfo, true, size, inner);
+        } else {
+            String element = nextVariable("e");
+            append(indent).append("for (").append(fieldInfo.elementInfo.declaredType).append(" ").append(element)
+                .append(" : ").append(value).append(") {\n");
+            emitBinaryField(model, element, fieldInfo.elementInfo, true, size, inner);
+        }
+        append(indent).append("}\n");
+    }
+
+    /**
+     * Generates the statements reading one value from {@code buf}, if the type needs any, and
+     * returns the expression of the value. A value that may be null is only read if the given
+     * presence condition holds; elements pass a null condition to read their presence byte.
+     */
+    private String emitBinaryRead(DtoModel model, FieldInfo fieldInfo, String presence, String indent) throws IOException {
+        if (fieldInfo.isPrimitive) {
+            return binaryReadOf(model, fieldInfo);
+        }
+        String condition = presence != null ? presence : "buf.get() != 0";
+        if (!isBinaryStructure(fieldInfo)) {
+            return condition + " ? " + binaryReadOf(model, fieldInfo) + " : null";
+        }
+
+        String variable = nextVariable("v");
+        append(indent).append(fieldInfo.declaredType).append(" ").append(variable).append(" = null;\n");
+        append(indent).append("if (").append(condition).append(") {\n");
+        emitBinaryStructureRead(model, fieldInfo, variable, indent + "    ");
+        append(indent).append("}\n");
+        return variable;
+    }
+
+    /**
+     * Generates the statements reading an array, collection or map that is not null from
+     * {@code buf} into the given variable.
+     */
+    private void emitBinaryStructureRead(DtoModel model, FieldInfo fieldInfo, String variable, String indent)
+            throws IOException {
+        String count = nextVariable("n");
+        String index = nextVariable("i");
+        String inner = indent + "    ";
+        append(indent).append("int ").append(count).append(" = BinaryCodec.getCount(buf);\n");
+        if (fieldInfo.isArray) {
+            append(indent).append(variable).append(" = new ").append(arrayCreation(fieldInfo.elementInfo, count)).append(";\n");
+        } else if (fieldInfo.isMap) {
+            append(indent).append(variable).append(" = new LinkedHashMap<>();\n");
+        } else if ("Set".equals(fieldInfo.typeName)) {
+            append(indent).append(variable).append(" = new LinkedHashSet<>();\n");
+        } else {
+            append(indent).append(variable).append(" = new ArrayList<>(").append(count).append(");\n");
+        }
+        append(indent).append("for (int ").append(index).append(" = 0; ").append(index).append(" < ").append(count)
+            .append("; ").append(index).append("++) {\n");
+        if (fieldInfo.isMap) {
+            // The key is read into a local first, as the value may need statements of its own
+            String key = nextVariable("k");
+            String keyValue = emitBinaryRead(model, fieldInfo.keyInfo, null, inner);
+            append(inner).append(fieldInfo.keyInfo.declaredType).append(" ").append(key).append(" = ").append(keyValue)
+                .append(";\n");
+            String entryValue = emitBinaryRead(model, fieldInfo.valueInfo, null, inner);
+            append(inner).append(variable).append(".put(").append(key).append(", ").append(entryValue).append(");\n");
+        } else {
+            String element = emitBinaryRead(model, fieldInfo.elementInfo, null, inner);
+            append(inner).append(variable).append(fieldInfo.isArray ? "[" + index + "] = " : ".add(").append(element)
+                .append(fieldInfo.isArray ? ";\n" : ");\n");
+        }
+        append(indent).append("}\n");
+    }
+
+    /**
+     * Checks whether a type is written as a count followed by its elements.
+     */
+    private static boolean isBinaryStructure(FieldInfo fieldInfo) {
+        if (fieldInfo.isArray) {
+            return !"byte".equals(fieldInfo.elementInfo.typeName);
+        }
+        return fieldInfo.isCollection;
+    }
+
+    /**
+     * Returns the expression of the binary size of a scalar value that is not null.
+     */
+    private static String binarySizeOf(DtoModel model, String value, FieldInfo fieldInfo) {
+        String fixedSize = fixedBinarySizeOf(fieldInfo);
+        if (fixedSize != null) {
+            return fixedSize;
+        }
+        if (fieldInfo.isEnum) {
+            return "BinaryCodec.varintSize(" + value + ".ordinal())";
+        }
+        if (fieldInfo.isArray) {
+            return "BinaryCodec.varintSize(" + value + ".length) + " + value + ".length";
+        }
+        switch (fieldInfo.fullTypeName) {
+            case "char":
+            case "java.lang.Character":
+                return "BinaryCodec.varintSize(" + value + ")";
+            case "short":
+            case "int":
+            case "long":
+            case "java.lang.Short":
+            case "java.lang.Integer":
+            case "java.lang.Long":
+                return "BinaryCodec.varintSize(BinaryCodec.zigZag(" + value + "))";
+            case "java.lang.String":
+                return "BinaryCodec.stringSize(" + value + ")";
+            case "java.math.BigInteger":
+                return "BinaryCodec.bigIntegerSize(" + value + ")";
+            case "java.math.BigDecimal":
+                return "BinaryCodec.bigIntegerSize(" + value + ".unscaledValue()) + BinaryCodec.varintSize(BinaryCodec.zigZag("
+                    + value + ".scale()))";
+            case "java.util.Date":
+                return "BinaryCodec.varintSize(BinaryCodec.zigZag(" + value + ".getTime()))";
+            default:
+                JsonEntity entity = model.jsonEntities.get(fieldInfo.declaredType);
+                if (entity != null) {
+                    return "binarySize" + identifierOf(entity.typeName) + "(" + value + ")";
+                }
+                throw new IllegalArgumentException(fieldInfo.declaredType + " has no binary representation");
+        }
+    }
+
+    /**
+     * Checks whether a type is written as a single value: a scalar, an enum or a byte array.
+     */
+    private static boolean isBinaryScalar(FieldInfo fieldInfo) {
+        if (fieldInfo.isArray) {
+            return "byte".equals(fieldInfo.elementInfo.typeName);
+        }
+        return fieldInfo.isEnum || SCALAR_TYPES.contains(fieldInfo.fullTypeName);
+    }
+
+    /**
+     * Returns the binary size of a type whose values always take the same number of bytes, or
+     * null if the size depends on the value.
+     */
+    private static String fixedBinarySizeOf(FieldInfo fieldInfo) {
+        switch (fieldInfo.fullTypeName) {
+            case "boolean":
+            case "byte":
+            case "java.lang.Boolean":
+            case "java.lang.Byte":
+                return "1";
+            case "float":
+            case "java.lang.Float":
+                return "4";
+            case "double":
+            case "java.lang.Double":
+                return "8";
+            case "java.util.UUID":
+                return "16";
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * Returns the statements writing a scalar value that is not null.
+     */
+    private static List<String> binaryWritesOf(DtoModel model, String value, FieldInfo fieldInfo) {
+        if (fieldInfo.isEnum) {
+            return List.of("BinaryCodec.putVarint(buf, " + value + ".ordinal())");
+        }
+        if (fieldInfo.isArray) {
+            return List.of("BinaryCodec.putBytes(buf, " + value + ")");
+        }
+        switch (fieldInfo.fullTypeName) {
+            case "boolean":
+            case "java.lang.Boolean":
+                return List.of("buf.put((byte) (" + value + " ? 1 : 0))");
+            case "byte":
+            case "java.lang.Byte":
+                return List.of("buf.put(" + value + ")");
+            case "char":
+            case "java.lang.Character":
+                return List.of("BinaryCodec.putVarint(buf, " + value + ")");
+            case "short":
+            case "int":
+            case "long":
+            case "java.lang.Short":
+            case "java.lang.Integer":
+            case "java.lang.Long":
+                return List.of("BinaryCodec.putVarint(buf, BinaryCodec.zigZag(" + value + "))");
+            case "float":
+            case "java.lang.Float":
+                return List.of("BinaryCodec.putFixed32(buf, Float.floatToRawIntBits(" + value + "))");
+            case "double":
+            case "java.lang.Double":
+                return List.of("BinaryCodec.putFixed64(buf, Double.doubleToRawLongBits(" + value + "))");
+            case "java.lang.String":
+                return List.of("BinaryCodec.putString(buf, " + value + ")");
+            case "java.math.BigInteger":
+                return List.of("BinaryCodec.putBigInteger(buf, " + value + ")");
+            case "java.math.BigDecimal":
+                return List.of("BinaryCodec.putBigInteger(buf, " + value + ".unscaledValue())",
+                               "BinaryCodec.putVarint(buf, BinaryCodec.zigZag(" + value + ".scale()))");
+            case "java.util.Date":
+                return List.of("BinaryCodec.putVarint(buf, BinaryCodec.zigZag(" + value + ".getTime()))");
+            case "java.util.UUID":
+                return List.of("BinaryCodec.putFixed64(buf, " + value + ".getMostSignificantBits())",
+                               "BinaryCodec.putFixed64(buf, " + value + ".getLeastSignificantBits())");
+            default:
+                JsonEntity entity = model.jsonEntities.get(fieldInfo.declaredType);
+                if (entity != null) {
+                    return List.of("writeBinary" + identifierOf(entity.typeName) + "(buf, " + value + ")");
+                }
+                throw new IllegalArgumentException(fieldInfo.declaredType + " has no binary representation");
+        }
+    }
+
+    /**
+     * Returns the expression reading a scalar value written by {@link #binaryWritesOf}.
+     */
+    private static String binaryReadOf(DtoModel model, FieldInfo fieldInfo) {
+        if (fieldInfo.isEnum) {
+            return "BinaryCodec.getEnum(buf, BINARY_" + identifierOf(fieldInfo.declaredType) + ")";
+        }
+        if (fieldInfo.isArray) {
+            return "BinaryCodec.getBytes(buf)";
+        }
+        switch (fieldInfo.fullTypeName) {
+            case "boolean":
+            case "java.lang.Boolean":
+                return "buf.get() != 0";
+            case "byte":
+            case "java.lang.Byte":
+                return "buf.get()";
+            case "char":
+            case "java.lang.Character":
+                return "(char) BinaryCodec.getVarint(buf)";
+            case "short":
+            case "java.lang.Short":
+                return "(short) BinaryCodec.getSignedVarint(buf)";
+            case "int":
+            case "java.lang.Integer":
+                return "(int) BinaryCodec.getSignedVarint(buf)";
+            case "long":
+            case "java.lang.Long":
+                return "BinaryCodec.getSignedVarint(buf)";
+            case "float":
+            case "java.lang.Float":
+                return "Float.intBitsToFloat(BinaryCodec.getFixed32(buf))";
+            case "double":
+            case "java.lang.Double":
+                return "Double.longBitsToDouble(BinaryCodec.getFixed64(buf))";
+            case "java.lang.String":
+                return "BinaryCodec.getString(buf)";
+            case "java.math.BigInteger":
+                return "BinaryCodec.getBigInteger(buf)";
+            case "java.math.BigDecimal":
+                return "new " + fieldInfo.declaredType + "(BinaryCodec.getBigInteger(buf), (int) BinaryCodec.getSignedVarint(buf))";
+            case "java.util.Date":
+                return "new " + fieldInfo.declaredType + "(BinaryCodec.getSignedVarint(buf))";
+            case "java.util.UUID":
+                return "new " + fieldInfo.declaredType + "(BinaryCodec.getFixed64(buf), BinaryCodec.getFixed64(buf))";
+            default:
+                JsonEntity entity = model.jsonEntities.get(fieldInfo.declaredType);
+                if (entity != null) {
+                    return "readBinary" + identifierOf(entity.typeName) + "(buf)";
+                }
+                throw new IllegalArgumentException(fieldInfo.declaredType + " has no binary representation");
+        }
+    }
+
+    /**
+     * Returns the number of values that may be null, which have a bit in the null bitmap.
+     */
+    private static int nullableCount(FieldInfo[] fieldInfos) {
+        int count = 0;
+        for (FieldInfo fieldInfo : fieldInfos) {
+            count += fieldInfo.isPrimitive ? 0 : 1;
+        }
+        return count;
+    }
+
+    /**
+     * Returns the condition checking the bit of the n-th value that may be null in the null bitmap.
+     */
+    private static String nullBitOf(int index) {
+        return "(nulls" + index / 8 + " & " + (1 << index % 8) + ") != 0";
+    }
+
+    /**
+     * Returns the condition checking the bit of the n-th value that may be null in the null bitmap
+     * of a split DTO, which is read into the array {@code nulls}.
+     */
+    private static String nullArrayBitOf(int index) {
+        return "(nulls[" + index / 8 + "] & " + (1 << index % 8) + ") != 0";
+    }
+
+    /**
+     * Collects the enum types of a type and the types nested in it, whose values are read by ordinal.
+     */
+    private static void collectEnumTypes(FieldInfo fieldInfo, Set<String> enumTypes) {
+        if (fieldInfo.isEnum) {
+            enumTypes.add(fieldInfo.declaredType);
+        } else if (fieldInfo.isMap) {
+            collectEnumTypes(fieldInfo.keyInfo, enumTypes);
+            collectEnumTypes(fieldInfo.valueInfo, enumTypes);
+        } else if (fieldInfo.isCollection || fieldInfo.isArray) {
+            collectEnumTypes(fieldInfo.elementInfo, enumTypes);
+        }
+    }
+}
@@ -5,9 +5,19 @@ import javax.lang.model.SourceVersion;
 import javax.lang.model.element.*;
 import javax.lang.model.type.TypeMirror;
 import javax.tools.Diagnostic;
+import javax.tools.FileObject;
 import javax.tools.JavaFileObject;
+import javax.tools.StandardLocation;
 import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.*;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
 
 /**
  * Annotation processor for @AutoGen annotation.
@@ -40,6 +50,120 @@ public class ClassAutoGenerator extends AbstractProcessor {
     /** Filer for creating source files */
     private Filer filer;
 
+    /**
+     * Processor option switching generation to incremental mode.
+     *
+     * <p>When {@code -Aautogen.incremental=true} is passed, DTOs are emitted through the
+     * {@link Filer} into the compiler's generated-sources directory with the annotated class
+     * as originating element, instead of being rewritten under {@code src/main/java}.</p>
+     */
+    static final String OPTION_INCREMENTAL = "autogen.incremental";
+
+    /**
+     * Processor option enabling the build report.
+     *
+     * <p>With {@code -Aautogen.report=path} per-class and per-phase statistics are written to
+     * the given file at the end of the compilation, as CSV if the path ends with {@code .csv}
+     * and as JSON otherwise.</p>
+     */
+    static final String OPTION_REPORT = "autogen.report";
+
+    /**
+     * Processor option setting the list size from which the generated {@code fromAll} maps in parallel.
+     *
+     * <p>With {@code -Aautogen.parallelThreshold=n}, {@code fromAll(List)} maps lists of at least
+     * {@code n} entities on the common fork-join pool. Defaults to {@value #DEFAULT_PARALLEL_THRESHOLD}.</p>
+     */
+    static final String OPTION_PARALLEL_THRESHOLD = "autogen.parallelThreshold";
+
+    /** Default list size from which the generated {@code fromAll} maps in parallel */
+    static final int DEFAULT_PARALLEL_THRESHOLD = 10_000;
+
+    /**
+     * Processor option setting the number of fields handled per generated helper method.
+     *
+     * <p>With {@code -Aautogen.methodChunkSize=n}, DTOs with more than {@code n} fields split
+     * equals, hashCode, toString, the mappers and the codec methods into helper methods of
+     * {@code n} fields each, so that no generated method exceeds HotSpot's limit for JIT
+     * compilation and the helpers can be inlined. Immutable DTOs split this way also get a
+     * builder, which their mappers and readers fill. Defaults to
+     * {@value #DEFAULT_METHOD_CHUNK_SIZE}.</p>
+     */
+    static final String OPTION_METHOD_CHUNK_SIZE = "autogen.methodChunkSize";
+
+    /** Default number of fields handled per generated helper method */
+    static final int DEFAULT_METHOD_CHUNK_SIZE = 32;
+
+    /**
+     * Processor option controlling the generation of the {@code AutoGenJacksonModule} of each DTO package.
+     *
+     * <p>The module registers the Jackson serializers of all DTOs of a package generated with
+     * {@code jackson = true}. It is generated by default in source-directory mode. In incremental
+     * mode it aggregates several annotated classes, so it is only generated with
+     * {@code -Aautogen.jacksonModule=true}, which makes the processor aggregating for Gradle.</p>
+     */
+    static final String OPTION_JACKSON_MODULE = "autogen.jacksonModule";
+
+    /**
+     * Processor option setting the directory of the tag registries of DTOs with {@code tagged = true}
+     * or {@code protobuf = true}.
+     *
+     * <p>By default the {@code .tags} file of a DTO is kept next to its source: in the source
+     * directory, or in the generated-sources directory in incremental mode, which a clean build
+     * deletes. With {@code -Aautogen.tagRegistryDir=path} the files are kept under the given
+     * directory in package subdirectories, so that they can be committed in incremental mode too.</p>
+     */
+    static final String OPTION_TAG_REGISTRY_DIR = "autogen.tagRegistryDir";
+
+    /** Gradle option reported by dynamic processors that behave as isolating processors */
+    private static final String GRADLE_ISOLATING = "org.gradle.annotation.processing.isolating";
+
+    /** Gradle option reported by dynamic processors that behave as aggregating processors */
+    private static final String GRADLE_AGGREGATING = "org.gradle.annotation.processing.aggregating";
+
+    /** Whether DTOs are written through the Filer (incremental mode) */
+    private boolean incremental;
+
+    /** Memoizing field type analyzer for this compilation */
+    private TypeAnalyzer typeAnalyzer;
+
+    /** Resolver of the entity accessors used by the generated mappers */
+    private EntityMappingResolver mappingResolver;
+
+    /** Resolver of the entity types written by the generated JSON writers */
+    private JsonEntityResolver jsonEntityResolver;
+
+    /** Module and package to source root index, built lazily once per compilation */
+    private SourceRootIndex sourceRootIndex;
+
+    /** Pool rendering DTO sources in parallel, created on first use and shut down in the final round */
+    private ForkJoinPool renderPool;
+
+    /** Whether the Jackson module of each DTO package is generated */
+    private boolean jacksonModule;
+
+    /** DTO packages whose Jackson module was created through the Filer in this compilation */
+    private final Set<String> filerJacksonModules = new HashSet<>();
+
+    /** List size from which the generated {@code fromAll} maps in parallel */
+    private int parallelThreshold = DEFAULT_PARALLEL_THRESHOLD;
+
+    /** Number of fields handled per generated helper method */
+    private int methodChunkSize = DEFAULT_METHOD_CHUNK_SIZE;
+
+    /** Directory of the tag registries, or null to keep them next to the DTO sources */
+    private String tagRegistryDir;
+
+    /** Source emitter of each rendering thread, reusing its buffer across DTOs */
+    private final ThreadLocal<DtoSourceEmitter> emitters =
+        ThreadLocal.withInitial(() -> new DtoSourceEmitter(parallelThreshold, methodChunkSize));
+
+    /** Path of the build report file, or null if no report was requested */
+    private String reportPath;
+
+    /** Statistics of all classes processed during this compilation */
+    private final ProcessorReport report = new ProcessorReport();
+
     /**
      * Initializes the annotation processor with the processing environment.
      * 
@@ -53,6 +177,61 @@ public class ClassAutoGenerator extends AbstractProcessor {
         super.init(processingEnv);
         this.messager = processingEnv.getMessager();
         this.filer = processingEnv.getFiler();
+        this.typeAnalyzer = new TypeAnalyzer(processingEnv.getTypeUtils(), processingEnv.getElementUtils());
+        this.mappingResolver = new EntityMappingResolver(processingEnv.getTypeUtils(), processingEnv.getElementUtils(),
+                                                         typeAnalyzer, messager);
+        this.jsonEntityResolver = new JsonEntityResolver(processingEnv.getTypeUtils(), processingEnv.getElementUtils(),
+                                                         typeAnalyzer, messager);
+        this.incremental = Boolean.parseBoolean(processingEnv.getOptions().get(OPTION_INCREMENTAL));
+        this.reportPath = processingEnv.getOptions().get(OPTION_REPORT);
+        String moduleOption = processingEnv.getOptions().get(OPTION_JACKSON_MODULE);
+        this.jacksonModule = moduleOption != null ? Boolean.parseBoolean(moduleOption) : !incremental;
+        String registryDir = processingEnv.getOptions().get(OPTION_TAG_REGISTRY_DIR);
+        this.tagRegistryDir = registryDir != null && !registryDir.trim().isEmpty() ? registryDir.trim() : null;
+        String threshold = processingEnv.getOptions().get(OPTION_PARALLEL_THRESHOLD);
+        if (threshold != null) {
+            try {
+                this.parallelThreshold = Math.max(1, Integer.parseInt(threshold.trim()));
+            } catch (NumberFormatException e) {
+                messager.printMessage(Diagnostic.Kind.WARNING, "Invalid value for " + OPTION_PARALLEL_THRESHOLD
+                    + ": " + threshold + ", using " + DEFAULT_PARALLEL_THRESHOLD);
+            }
+        }
+        String chunkSize = processingEnv.getOptions().get(OPTION_METHOD_CHUNK_SIZE);
+        if (chunkSize != null) {
+            try {
+                this.methodChunkSize = Math.max(1, Integer.parseInt(chunkSize.trim()));
+            } catch (NumberFormatException e) {
+                messager.printMessage(Diagnostic.Kind.WARNING, "Invalid value for " + OPTION_METHOD_CHUNK_SIZE
+                    + ": " + chunkSize + ", using " + DEFAULT_METHOD_CHUNK_SIZE);
+            }
+        }
+    }
+
+    /**
+     * Returns the options recognized by this processor.
+     *
+     * <p>The processor is declared as {@code dynamic} in
+     * {@code META-INF/gradle/incremental.annotation.processors}. In incremental mode every DTO
+     * is generated from exactly one originating element, so the processor reports itself to
+     * Gradle as isolating, or as aggregating if the Jackson modules are generated as well. In
+     * source-directory mode it writes outside the Filer and stays non-incremental.</p>
+     *
+     * @return the supported option names
+     */
+    @Override
+    public Set<String> getSupportedOptions() {
+        Set<String> options = new HashSet<>();
+        options.add(OPTION_INCREMENTAL);
+        options.add(OPTION_REPORT);
+        options.add(OPTION_PARALLEL_THRESHOLD);
+        options.add(OPTION_METHOD_CHUNK_SIZE);
+        options.add(OPTION_JACKSON_MODULE);
+        options.add(OPTION_TAG_REGISTRY_DIR);
+        if (incremental) {
+            options.add(jacksonModule ? GRADLE_AGGREGATING : GRADLE_ISOLATING);
+        }
+        return options;
     }
 
     /**
@@ -69,43 +248,135 @@ public class ClassAutoGenerator extends AbstractProcessor {
     public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
         // Skip processing if this is the final round
         if (roundEnv.processingOver()) {
+            writeReport();
+            if (renderPool != null) {
+                renderPool.shutdown();
+                renderPool = null;
+            }
             return false;
         }
 
-        // Process each annotation type
+        // Extract the DTO models on the compiler thread (the element model is not thread-safe)
+        List<DtoModel> models = new ArrayList<>();
         for (TypeElement annotation : annotations) {
             Set<? extends Element> annotatedElements = roundEnv.getElementsAnnotatedWith(annotation);
             // Process each annotated element
             for (Element element : annotatedElements) {
                 // Only process classes and interfaces
                 if (element.getKind() == ElementKind.CLASS || element.getKind() == ElementKind.INTERFACE) {
-                    processClass((TypeElement) element);
+                    DtoModel model = processClass((TypeElement) element);
+                    if (model != null) {
+                        models.add(model);
+                    }
                 }
             }
         }
+
+        // Render all DTO sources of the round in parallel, then write them in a single ordered batch
+        renderAll(models);
+        for (DtoModel model : models) {
+            if (model.content != null) {
+                writeDTOClass(model);
+            }
+        }
+        if (jacksonModule) {
+            writeJacksonModules(models);
+        }
+        if (!models.isEmpty()) {
+            report.roundCompleted();
+        }
         
         return true;
     }
 
     /**
-     * Processes a single annotated class and generates its DTO.
+     * Reports the statistics of the compilation.
+     *
+     * <p>A single summary note replaces per-class messages. If a report file was requested
+     * with {@value #OPTION_REPORT}, the detailed statistics are written to it.</p>
+     */
+    private void writeReport() {
+        if (report.isEmpty()) {
+            return;
+        }
+        messager.printMessage(Diagnostic.Kind.NOTE, report.summary());
+        if (reportPath != null && !reportPath.trim().isEmpty()) {
+            try {
+                report.writeTo(Path.of(reportPath.trim()));
+            } catch (IOException | RuntimeException e) {
+                messager.printMessage(Diagnostic.Kind.WARNING, 
+                    "Failed to write AutoGen report to " + reportPath + ": " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Renders the source code of every DTO model of a round.
+     *
+     * <p>Rendering only reads the extracted {@link DtoModel} data, so the models are rendered
+     * concurrently on a fork-join pool. Results are collected in submission order, keeping
+     * the output deterministic.</p>
+     *
+     * @param models the DTO models extracted in this round
+     */
+    private void renderAll(List<DtoModel> models) {
+        if (models.size() <= 1) {
+            for (DtoModel model : models) {
+                try {
+                    model.content = generateSourceCode(model);
+                } catch (IOException | RuntimeException e) {
+                    model.stats.status = ProcessorReport.Status.FAILED;
+                    messager.printMessage(Diagnostic.Kind.ERROR, 
+                        "Failed to generate DTO class: " + e, model.sourceClass);
+                }
+            }
+            return;
+        }
+
+        if (renderPool == null) {
+            renderPool = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+        }
+        List<Callable<byte[]>> renderers = new ArrayList<>(models.size());
+        for (DtoModel model : models) {
+            renderers.add(() -> generateSourceCode(model));
+        }
+        List<Future<byte[]>> results = renderPool.invokeAll(renderers);
+        for (int i = 0; i < models.size(); i++) {
+            DtoModel model = models.get(i);
+            try {
+                model.content = results.get(i).get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                messager.printMessage(Diagnostic.Kind.ERROR, "Interrupted while generating DTO class: " + model.className);
+                return;
+            } catch (ExecutionException e) {
+                model.stats.status = ProcessorReport.Status.FAILED;
+                messager.printMessage(Diagnostic.Kind.ERROR, 
+                    "Failed to generate DTO class: " + String.valueOf(e.getCause()), model.sourceClass);
+            }
+        }
+    }
+
+    /**
+     * Processes a single annotated class and extracts the model of its DTO.
      * 
-     * <p>This method extracts the @AutoGen annotation from the class, analyzes its fields,
-     * and generates a corresponding DTO class with proper types and annotations.</p>
+     * <p>This method extracts the @AutoGen annotation from the class and analyzes its fields.
+     * Everything the source generation needs is copied into the returned model, so that
+     * rendering does not touch the element model.</p>
      * 
      * @param classElement the class element to process
+     * @return the DTO model, or null if the class cannot be processed
      */
-    private void processClass(TypeElement classElement) {
+    private DtoModel processClass(TypeElement classElement) {
         // Get the @AutoGen annotation from the class
         //System.out.println("processing class : " + classElement);
         AutoGen autoGen = classElement.getAnnotation(AutoGen.class);
         if (autoGen == null) {
             //System.out.println("class : " + classElement + " is annotated but not with autogen");
             messager.printMessage(Diagnostic.Kind.NOTE , "class : " + classElement + " is annotated but not with autogen");
-            return;
+            return null;
         }
 
-        messager.printMessage(Diagnostic.Kind.NOTE,"processing class : " + classElement);
         // Extract annotation parameters
         String className = autoGen.name();
         String packageName = getPackageName(classElement);
@@ -113,78 +384,152 @@ public class ClassAutoGenerator extends AbstractProcessor {
         String[] serializedFields = autoGen.serializedFields();
         String[] serializers = autoGen.serializers();
         String moduleName = autoGen.module();
-        
+        if (serializers.length != serializedFields.length) {
+            messager.printMessage(Diagnostic.Kind.ERROR, "Failed to generate DTO class: " + className + " has "
+                + serializedFields.length + " serialized field(s) but " + serializers.length
+                + " serializer(s); serializers must name one serializer per serialized field", classElement);
+            return null;
+        }
+
         try {
             // Analyze field types using annotation processing API
             //System.out.println("class : " + classElement + " is annotated but not with autogen");
+            long analysisStart = System.nanoTime();
             Map<String, FieldInfo> fieldInfoMap = getFieldInfo(classElement, simpleFields, serializedFields);
             
-            // Generate the DTO class
-            generateDTOClass(classElement, className, packageName, simpleFields, serializedFields, serializers, fieldInfoMap, moduleName);
-            messager.printMessage(Diagnostic.Kind.NOTE, "Generated DTO class: " + packageName + "." + className);
+            DtoModel model = new DtoModel(classElement, classElement.getQualifiedName().toString(), className, 
+                                          getDTOPackageName(packageName), simpleFields, serializedFields, serializers, 
+                                          fieldInfoMap, moduleName);
+            model.mapping = mappingResolver.resolve(classElement, model.allFields(), className);
+            model.record = autoGen.record();
+            model.immutable = autoGen.immutable() || model.record;
+            if (model.record && model.wide()) {
+                messager.printMessage(Diagnostic.Kind.ERROR, "Failed to generate DTO class: " + className
+                    + " has too many fields for a record, whose canonical constructor is limited to 255 parameter slots",
+                    classElement);
+                return null;
+            }
+            // Split immutable DTOs are mapped and read field by field into their builder
+            model.builder = autoGen.builder() || model.wide() || model.immutable && model.allFields().length > methodChunkSize;
+            model.externalizable = autoGen.externalizable();
+            model.jackson = autoGen.jackson();
+            if (model.jackson) {
+                model.instantiableSerializers = resolveSerializers(serializers);
+            }
+            model.json = autoGen.json();
+            model.binary = autoGen.binary();
+            model.tagged = autoGen.tagged();
+            model.protobuf = autoGen.protobuf();
+            model.messagePack = autoGen.messagePack();
+            if (model.tagged || model.protobuf) {
+                model.tags = resolveTags(model);
+            }
+            if (model.json || model.binary || model.tagged || model.protobuf || model.messagePack) {
+                model.jsonEntities = jsonEntityResolver.resolve(classElement, model.allFields());
+            }
+            if (model.json) {
+                String unsupported = JsonCodecEmitter.unsupportedValueOf(model);
+                if (unsupported != null) {
+                    messager.printMessage(Diagnostic.Kind.ERROR, "Failed to generate DTO class: " + className + " has "
+                        + unsupported + ", which the JSON codec cannot write and read back", classElement);
+                    return null;
+                }
+            }
+            if (model.binary || model.tagged) {
+                String unsupported = BinaryCodecEmitter.unsupportedValueOf(model);
+                if (unsupported != null) {
+                    messager.printMessage(Diagnostic.Kind.ERROR, "Failed to generate DTO class: " + className + " has "
+                        + unsupported + ", which the binary codec cannot write and read back", classElement);
+                    return null;
+                }
+            }
+            if (model.messagePack) {
+                String unsupported = MessagePackCodecEmitter.unsupportedValueOf(model);
+                if (unsupported != null) {
+                    messager.printMessage(Diagnostic.Kind.ERROR, "Failed to generate DTO class: " + className + " has "
+                        + unsupported + ", which the MessagePack codec cannot write and read back", classElement);
+                    return null;
+                }
+            }
+            if (model.protobuf) {
+                for (String fieldName : model.allFields()) {
+                    FieldInfo fieldInfo = model.fieldInfo(fieldName);
+                    if (ProtoSchemaEmitter.fieldTypeOf(model, fieldInfo) == null) {
+                        messager.printMessage(Diagnostic.Kind.WARNING, "Field " + fieldName + " of type " + fieldInfo.declaredType
+                            + " has no protobuf type and is not written by the protobuf codec of " + className, classElement);
+                        continue;
+                    }
+                    String unreadable = ProtoSchemaEmitter.unreadableMessageOf(model, fieldInfo);
+                    if (unreadable != null) {
+                        messager.printMessage(Diagnostic.Kind.ERROR, "Failed to generate DTO class: " + className + " has field "
+                            + fieldName + " holding entity " + unreadable
+                            + ", which cannot be instantiated when the protobuf codec reads it", classElement);
+                        return null;
+                    }
+                }
+            }
+            model.stats = report.addEntry(model.sourceClassName, model.packageName + "." + className, fieldInfoMap.size());
+            model.stats.analysisNanos = System.nanoTime() - analysisStart;
+            return model;
         } catch (Exception e) {
             messager.printMessage(Diagnostic.Kind.ERROR, "Failed to generate DTO class: " + e.getMessage());
+            return null;
         }
     }
 
     /**
-     * Container class for field type information.
-     * 
-     * <p>This class holds comprehensive information about a field's type,
-     * including whether it's a collection, its element types, and import requirements.</p>
-     */
-    private static class FieldInfo {
-        /** Simple type name (e.g., "List", "String") */
-        String typeName;
-        
-        /** Full qualified type name (e.g., "java.util.List", "java.lang.String") */
-        String fullTypeName;
-        
-        /** Whether this field is a collection type */
-        boolean isCollection;
-        
-        /** Element type for collections (e.g., "String" for List<String>) */
-        String collectionElementType;
-        
-        /** Whether this field is a Map type */
-        boolean isMap;
-        
-        /** Key type for Map collections (e.g., "String" for Map<String, User>) */
-        String mapKeyType;
-        
-        /** Value type for Map collections (e.g., "User" for Map<String, User>) */
-        String mapValueType;
-        
-        /** Whether this field is an entity type */
-        boolean isEntity;
-        
-        /** Whether this type needs an import statement */
-        boolean needsImport;
+     * Returns the tags of the fields of a DTO, from its tag registry file.
+     *
+     * <p>Fields not registered yet get new tags, and the file is then rewritten. The file is read
+     * and written on the compiler thread before rendering: through the Filer in the
+     * generated-sources directory in incremental mode, in the source directory of the DTO
+     * otherwise, or in the directory given with {@value #OPTION_TAG_REGISTRY_DIR}.</p>
+     *
+     * @param model the DTO model
+     * @return the tag of every field, aligned with {@link DtoModel#allFields()}
+     * @throws IOException if the registry cannot be read or written, or is malformed
+     */
+    private int[] resolveTags(DtoModel model) throws IOException {
+        String fileName = model.className + TagRegistry.EXTENSION;
+        String dtoName = model.packageName + "." + model.className;
+        if (tagRegistryDir == null && incremental) {
+            String content;
+            try {
+                content = filer.getResource(StandardLocation.SOURCE_OUTPUT, model.packageName, fileName).getCharContent(true).toString();
+            } catch (IOException e) {
+                // No registry yet
+                content = null;
+            }
+            TagRegistry registry = parseTags(content, model.packageName.replace('.', '/') + "/" + fileName);
+            int[] tags = registry.assign(model.allFields());
+            if (registry.isChanged() || content != null) {
+                // Files of the generated-sources directory must be recreated in every compilation
+                FileObject file = filer.createResource(StandardLocation.SOURCE_OUTPUT, model.packageName, fileName, model.sourceClass);
+                try (Writer out = file.openWriter()) {
+                    out.write(registry.render(dtoName));
+                }
+            }
+            return tags;
+        }
+
+        String baseDir = tagRegistryDir != null ? tagRegistryDir
+            : findSourceDirectoryFromClass(model.sourceClass, model.packageName, model.moduleName);
+        Path file = Path.of(baseDir, model.packageName.replace('.', '/'), fileName);
+        String content = Files.isRegularFile(file) ? new String(Files.readAllBytes(file), StandardCharsets.UTF_8) : null;
+        TagRegistry registry = parseTags(content, file.toString());
+        int[] tags = registry.assign(model.allFields());
+        if (registry.isChanged()) {
+            Files.createDirectories(file.getParent());
+            Files.write(file, registry.render(dtoName).getBytes(StandardCharsets.UTF_8));
+        }
+        return tags;
+    }
 
-        /**
-         * Creates a new FieldInfo instance.
-         * 
-         * @param typeName the simple type name
-         * @param fullTypeName the full qualified type name
-         * @param isCollection whether this is a collection type
-         * @param collectionElementType the element type for collections
-         * @param isMap whether this is a Map type
-         * @param mapKeyType the key type for Map collections
-         * @param mapValueType the value type for Map collections
-         * @param isEntity whether this is an entity type
-         * @param needsImport whether this type needs an import
-         */
-        FieldInfo(String typeName, String fullTypeName, boolean isCollection, String collectionElementType, 
-                  boolean isMap, String mapKeyType, String mapValueType, boolean isEntity, boolean needsImport) {
-            this.typeName = typeName;
-            this.fullTypeName = fullTypeName;
-            this.isCollection = isCollection;
-            this.collectionElementType = collectionElementType;
-            this.isMap = isMap;
-            this.mapKeyType = mapKeyType;
-            this.mapValueType = mapValueType;
-            this.isEntity = isEntity;
-            this.needsImport = needsImport;
+    private static TagRegistry parseTags(String content, String location) throws IOException {
+        try {
+            return TagRegistry.parse(content);
+        } catch (IOException e) {
+            throw new IOException("Invalid tag registry " + location + ": " + e.getMessage(), e);
         }
     }
 
@@ -222,11 +567,11 @@ public class ClassAutoGenerator extends AbstractProcessor {
             VariableElement field = fieldMap.get(fieldName);
             if (field != null) {
                 TypeMirror fieldType = field.asType();
-                FieldInfo fieldInfo = analyzeFieldType(fieldType);
+                FieldInfo fieldInfo = typeAnalyzer.analyze(fieldType);
                 fieldInfoMap.put(fieldName, fieldInfo);
             } else {
                 // If field not found, default to Object and log a warning
-                fieldInfoMap.put(fieldName, new FieldInfo("Object", "java.lang.Object", false, null, false, null, null, false, false));
+                fieldInfoMap.put(fieldName, FieldInfo.OBJECT);
                 messager.printMessage(Diagnostic.Kind.WARNING, 
                     "Field '" + fieldName + "' not found in class " + classElement.getSimpleName() + 
                     ". Using Object type.");
@@ -237,950 +582,275 @@ public class ClassAutoGenerator extends AbstractProcessor {
     }
 
     /**
-     * Analyzes a field type and creates a FieldInfo object.
-     * 
-     * <p>This method determines the type characteristics including whether it's a primitive,
-     * wrapper, collection, array, or entity type. It extracts generic type information
-     * for collections and determines import requirements.</p>
-     * 
-     * @param typeMirror the type mirror representing the field type
-     * @return a FieldInfo object with comprehensive type information
-     */
-    private FieldInfo analyzeFieldType(TypeMirror typeMirror) {
-        String typeName = typeMirror.toString();
-        String fullTypeName = typeMirror.toString();
-        
-        // Handle primitive types (int, long, double, etc.)
-        if (isPrimitiveType(typeName)) {
-            return new FieldInfo(getPrimitiveTypeName(typeName), fullTypeName, false, null, false, null, null, false, false);
-        }
-        
-        // Handle wrapper types (Integer, Long, String, etc.)
-        if (isWrapperType(typeName)) {
-            return new FieldInfo(getWrapperTypeName(typeName), fullTypeName, false, null, false, null, null, false, false);
-        }
-        
-        // Handle collection types (List, Set, Map, etc.)
-        if (isCollectionType(typeName)) {
-            String elementType = extractCollectionElementType(typeName);
-            String simpleElementType = getSimpleTypeName(elementType);
-            boolean isMap = typeName.startsWith("java.util.Map");
-            String mapKeyType = null;
-            String mapValueType = null;
-            
-            if (isMap) {
-                String[] mapTypes = extractMapTypes(typeName);
-                mapKeyType = getSimpleTypeName(mapTypes[0]);
-                mapValueType = getSimpleTypeName(mapTypes[1]);
-            }
-            
-            return new FieldInfo(getCollectionTypeName(typeName), fullTypeName, true, simpleElementType, isMap, mapKeyType, mapValueType, false, true);
-        }
-        
-        // Handle arrays (String[], User[], etc.)
-        if (typeName.endsWith("[]")) {
-            String elementType = typeName.substring(0, typeName.length() - 2);
-            String simpleElementType = getSimpleTypeName(elementType);
-            return new FieldInfo(simpleElementType + "[]", fullTypeName, true, simpleElementType, false, null, null, false, true);
-        }
-        
-        // Handle other types (potentially entities from external JARs)
-        String simpleTypeName = getSimpleTypeName(typeName);
-        boolean isEntity = !isJavaLangType(typeName);
-        boolean needsImport = isEntity && !typeName.contains("java.lang.");
-        
-        return new FieldInfo(simpleTypeName, fullTypeName, false, null, false, null, null, isEntity, needsImport);
-    }
-
-    /**
-     * Checks if a type name represents a primitive type.
-     * 
-     * @param typeName the type name to check
-     * @return true if the type is primitive, false otherwise
-     */
-    private boolean isPrimitiveType(String typeName) {
-        return typeName.equals("int") || typeName.equals("long") || typeName.equals("double") || 
-               typeName.equals("float") || typeName.equals("boolean") || typeName.equals("char") || 
-               typeName.equals("byte") || typeName.equals("short");
-    }
-
-    /**
-     * Gets the primitive type name (same as input for primitives).
-     * 
-     * @param typeName the primitive type name
-     * @return the primitive type name
-     */
-    private String getPrimitiveTypeName(String typeName) {
-        return typeName;
-    }
-
-    /**
-     * Checks if a type name represents a wrapper type.
-     * 
-     * @param typeName the type name to check
-     * @return true if the type is a wrapper, false otherwise
-     */
-    private boolean isWrapperType(String typeName) {
-        return typeName.equals("java.lang.Integer") || typeName.equals("java.lang.Long") || 
-               typeName.equals("java.lang.Double") || typeName.equals("java.lang.Float") || 
-               typeName.equals("java.lang.Boolean") || typeName.equals("java.lang.Character") || 
-               typeName.equals("java.lang.Byte") || typeName.equals("java.lang.Short") || 
-               typeName.equals("java.lang.String") || typeName.equals("java.lang.Object");
-    }
-
-    /**
-     * Gets the simple wrapper type name from the full qualified name.
-     * 
-     * @param typeName the full qualified wrapper type name
-     * @return the simple wrapper type name
-     */
-    private String getWrapperTypeName(String typeName) {
-        switch (typeName) {
-            case "java.lang.Integer": return "Integer";
-            case "java.lang.Long": return "Long";
-            case "java.lang.Double": return "Double";
-            case "java.lang.Float": return "Float";
-            case "java.lang.Boolean": return "Boolean";
-            case "java.lang.Character": return "Character";
-            case "java.lang.Byte": return "Byte";
-            case "java.lang.Short": return "Short";
-            case "java.lang.String": return "String";
-            case "java.lang.Object": return "Object";
-            default: return typeName;
-        }
-    }
-
-    /**
-     * Checks if a type name represents a collection type.
-     * 
-     * @param typeName the type name to check
-     * @return true if the type is a collection, false otherwise
-     */
-    private boolean isCollectionType(String typeName) {
-        return typeName.startsWith("java.util.List") || typeName.startsWith("java.util.Set") || 
-               typeName.startsWith("java.util.Collection") || typeName.startsWith("java.util.Map") ||
-               typeName.startsWith("java.util.ArrayList") || typeName.startsWith("java.util.HashSet") ||
-               typeName.startsWith("java.util.LinkedList") || typeName.startsWith("java.util.TreeSet") ||
-               typeName.startsWith("java.util.HashMap") || typeName.startsWith("java.util.LinkedHashMap");
-    }
-
-    /**
-     * Gets the simple collection type name from the full qualified name.
-     * 
-     * @param typeName the full qualified collection type name
-     * @return the simple collection type name (List, Set, Map, etc.)
-     */
-    private String getCollectionTypeName(String typeName) {
-        if (typeName.startsWith("java.util.List")) return "List";
-        if (typeName.startsWith("java.util.Set")) return "Set";
-        if (typeName.startsWith("java.util.Collection")) return "Collection";
-        if (typeName.startsWith("java.util.Map")) return "Map";
-        if (typeName.startsWith("java.util.ArrayList")) return "List";
-        if (typeName.startsWith("java.util.HashSet")) return "Set";
-        if (typeName.startsWith("java.util.LinkedList")) return "List";
-        if (typeName.startsWith("java.util.TreeSet")) return "Set";
-        if (typeName.startsWith("java.util.HashMap")) return "Map";
-        if (typeName.startsWith("java.util.LinkedHashMap")) return "Map";
-        return typeName;
-    }
-
-    /**
-     * Extracts the element type from a generic collection type.
-     * 
-     * <p>This method parses generic types like List<String>, Set<User>, etc.
-     * and extracts the element type(s). For maps, it returns the key type.</p>
-     * 
-     * @param typeName the generic collection type name
-     * @return the element type name, or "Object" if not found
-     */
-    private String extractCollectionElementType(String typeName) {
-        // Handle generic types like List<String>, Set<User>, etc.
-        int startBracket = typeName.indexOf('<');
-        int endBracket = typeName.lastIndexOf('>');
-        
-        if (startBracket != -1 && endBracket != -1) {
-            String genericPart = typeName.substring(startBracket + 1, endBracket);
-            // Handle multiple generic parameters like Map<String, User>
-            String[] parts = genericPart.split(",");
-            return parts[0].trim();
-        }
-        
-        return "Object";
-    }
-
-    /**
-     * Extracts key and value types from a Map type string.
-     * 
-     * @param typeName the Map type string (e.g., "java.util.Map<java.lang.String,com.example.User>")
-     * @return array containing [keyType, valueType]
-     */
-    private String[] extractMapTypes(String typeName) {
-        int startBracket = typeName.indexOf('<');
-        int endBracket = typeName.lastIndexOf('>');
-        
-        if (startBracket != -1 && endBracket != -1) {
-            String genericPart = typeName.substring(startBracket + 1, endBracket);
-            String[] parts = genericPart.split(",");
-            if (parts.length >= 2) {
-                return new String[]{parts[0].trim(), parts[1].trim()};
-            }
-        }
-        
-        return new String[]{"Object", "Object"};
-    }
-
-    /**
-     * Checks if a type name is from the java.lang package.
-     * 
-     * @param typeName the type name to check
-     * @return true if the type is from java.lang, false otherwise
-     */
-    private boolean isJavaLangType(String typeName) {
-        return typeName.startsWith("java.lang.") || isPrimitiveType(typeName);
-    }
-
-    /**
-     * Gets the simple type name from a full qualified name.
-     * 
-     * @param typeName the full qualified type name
-     * @return the simple type name (everything after the last dot)
-     */
-    private String getSimpleTypeName(String typeName) {
-        if (typeName.contains(".")) {
-            return typeName.substring(typeName.lastIndexOf(".") + 1);
-        }
-        return typeName;
-    }
-
-    /**
-     * Generates the complete DTO class source code.
-     * 
-     * <p>This method creates the DTO class file with package declaration, imports,
-     * class declaration, fields, constructors, getters/setters, and utility methods.</p>
-     * 
-     * @param sourceClass the source class element
-     * @param className the name of the DTO class to generate
-     * @param packageName the package name for the DTO
-     * @param simpleFields array of simple field names
-     * @param serializedFields array of serialized field names
-     * @param serializers array of serializer classes
-     * @param fieldInfoMap map of field names to their type information
-     * @throws IOException if there's an error writing the source file
-     */
-    private void generateDTOClass(TypeElement sourceClass, String className, String packageName, 
-                                 String[] simpleFields, String[] serializedFields, String[] serializers,
-                                 Map<String, FieldInfo> fieldInfoMap, String moduleName) 
-            throws IOException {
-        
-        // Create the DTO package name based on groupId
-        String dtoPackageName = getDTOPackageName(packageName);
-        
-        // Generate the source code content
-        String sourceCode = generateSourceCode(sourceClass, className, dtoPackageName, 
-                                             simpleFields, serializedFields, serializers, fieldInfoMap);
-        
-        // Write only to source directory (skip filer to avoid recreation issues)
-        writeToSourceDirectory(sourceClass, dtoPackageName, className, sourceCode, moduleName);
-    }
-
-    /**
-     * Generates the complete source code for a DTO class.
-     */
-    private String generateSourceCode(TypeElement sourceClass, String className, String packageName,
-                                    String[] simpleFields, String[] serializedFields, String[] serializers,
-                                    Map<String, FieldInfo> fieldInfoMap) {
-        StringBuilder sourceCode = new StringBuilder();
-        
-        // Generate package declaration
-        sourceCode.append("package ").append(packageName).append(";\n\n");
-        
-        // Generate imports
-        sourceCode.append(generateImportsString(fieldInfoMap, serializers));
-        
-        // Generate class documentation and declaration
-        sourceCode.append("/**\n");
-        sourceCode.append(" * Auto-generated DTO class for ").append(sourceClass.getQualifiedName()).append("\n");
-        sourceCode.append(" */\n");
-        sourceCode.append("public class ").append(className).append(" implements Serializable {\n");
-        
-        // Generate fields
-        sourceCode.append(generateFieldsString(simpleFields, serializedFields, serializers, fieldInfoMap));
-        
-        // Generate constructors
-        sourceCode.append(generateConstructorsString(className, simpleFields, serializedFields, fieldInfoMap));
-        
-        // Generate getters and setters
-        sourceCode.append(generateGettersAndSettersString(simpleFields, serializedFields, fieldInfoMap));
-        
-        // Generate utility methods
-        sourceCode.append(generateUtilityMethodsString(className, simpleFields, serializedFields));
-        
-        sourceCode.append("}\n");
-        
-        return sourceCode.toString();
-    }
-
-    /**
-     * Writes the source code to the annotation processor filer.
-     */
-    private void writeToFiler(String packageName, String className, String sourceCode) throws IOException {
-        JavaFileObject sourceFile = filer.createSourceFile(packageName + "." + className);
-        try (PrintWriter out = new PrintWriter(sourceFile.openWriter())) {
-            out.print(sourceCode);
-        }
-    }
-
-    /**
-     * Writes the source code to the source directory.
-     */
-    private void writeToSourceDirectory(TypeElement sourceClass, String packageName, String className, String sourceCode, String moduleName) {
-        try {
-            // Get the source file location from the annotated class
-            String sourceDir = findSourceDirectoryFromClass(sourceClass, packageName, moduleName);
-            String packagePath = packageName.replace('.', '/');
-            String fullPath = sourceDir + "/" + packagePath;
-            
-            // Create directories if they don't exist
-            File dir = new File(fullPath);
-            if (!dir.exists()) {
-                dir.mkdirs();
-            }
-            
-            // Delete existing file if it exists
-            File sourceFile = new File(fullPath + "/" + className + ".java");
-            if (sourceFile.exists()) {
-                sourceFile.delete();
-                messager.printMessage(Diagnostic.Kind.NOTE, 
-                    "Deleted existing file: " + sourceFile.getAbsolutePath());
-            }
-            
-            // Write the new source file
-            try (PrintWriter out = new PrintWriter(new FileWriter(sourceFile))) {
-                out.print(sourceCode);
-            }
-            
-            messager.printMessage(Diagnostic.Kind.NOTE, 
-                "Generated source file: " + sourceFile.getAbsolutePath());
-                
-        } catch (IOException e) {
-            messager.printMessage(Diagnostic.Kind.WARNING, 
-                "Failed to write source file: " + e.getMessage());
-        }
-    }
-
-    /**
-     * Finds the project root directory by looking for pom.xml.
+     * Checks which serializers of the serialized fields the generated Jackson serializer can
+     * instantiate itself: public, concrete classes with a public no-arg constructor.
+     *
+     * @param serializers the qualified serializer class names
+     * @return whether each serializer can be instantiated
      */
-    private String findProjectRoot(String currentDir) {
-        File current = new File(currentDir);
-        while (current != null) {
-            if (new File(current, "pom.xml").exists()) {
-                return current.getAbsolutePath();
-            }
-            current = current.getParentFile();
+    private boolean[] resolveSerializers(String[] serializers) {
+        boolean[] instantiable = new boolean[serializers.length];
+        for (int i = 0; i < serializers.length; i++) {
+            String serializer = serializers[i] == null ? "" : serializers[i].trim();
+            TypeElement type = serializer.isEmpty() ? null : processingEnv.getElementUtils().getTypeElement(serializer);
+            instantiable[i] = type != null && EntityMappingResolver.isPublic(type) && EntityMappingResolver.isInstantiable(type);
         }
-        return System.getProperty("user.dir");
+        return instantiable;
     }
 
     /**
-     * Generates import statements as a string.
-     */
-    private String generateImportsString(Map<String, FieldInfo> fieldInfoMap, String[] serializers) {
-        StringBuilder imports = new StringBuilder();
-
-        //Standard imports that are always needed
-        imports.append("import com.fasterxml.jackson.annotation.JsonProperty;\n");
-        imports.append("import com.fasterxml.jackson.databind.annotation.JsonSerialize;\n");
-        imports.append("import java.io.Serializable;\n");
-        imports.append("import java.util.Objects;\n");
-        
-        // Add serializer imports
-        Set<String> importSet = new HashSet<>();
-        if (serializers != null) {
-            for (String serializer : serializers) {
-                if (serializer != null && !serializer.trim().isEmpty()) {
-                    importSet.add("import " + serializer + ";");
+     * Writes the Jackson module of every DTO package that got DTOs in this round.
+     *
+     * <p>In incremental mode the module of a package registers the Jackson DTOs of the package
+     * generated in this compilation and is created once through the Filer, with their annotated
+     * classes as originating elements. In source-directory mode the module is rebuilt from the
+     * DTO sources in the package directory, so DTOs generated by earlier compilations stay
+     * registered, and it is deleted once no DTO of the package has a Jackson serializer.</p>
+     *
+     * @param models the DTO models of this round
+     */
+    private void writeJacksonModules(List<DtoModel> models) {
+        if (incremental) {
+            Map<String, List<DtoModel>> modelsByPackage = new TreeMap<>();
+            for (DtoModel model : models) {
+                if (model.jackson && model.stats.status == ProcessorReport.Status.WRITTEN) {
+                    modelsByPackage.computeIfAbsent(model.packageName, packageName -> new ArrayList<>()).add(model);
                 }
             }
-        }
-        
-        // Collect imports based on field types
-        for (FieldInfo fieldInfo : fieldInfoMap.values()) {
-            // Add collection imports (only the base collection type, not with generics)
-            if (fieldInfo.isCollection) {
-                importSet.add("import java.util." + fieldInfo.typeName + ";");
-            }
-            // Add entity imports for non-java.lang types (only if it's not a collection element type)
-            if (fieldInfo.needsImport && !fieldInfo.fullTypeName.startsWith("java.lang.") && !fieldInfo.isCollection) {
-                importSet.add("import " + fieldInfo.fullTypeName + ";");
-            }
-        }
-        
-        // Write all collected imports
-        for (String importStatement : importSet) {
-            imports.append(importStatement).append("\n");
-        }
-        imports.append("\n");
-        
-        return imports.toString();
-    }
-
-    /**
-     * Generates field declarations as a string.
-     */
-    private String generateFieldsString(String[] simpleFields, String[] serializedFields, 
-                                      String[] serializers, Map<String, FieldInfo> fieldInfoMap) {
-        StringBuilder fields = new StringBuilder();
-        
-        // Generate simple fields (no special serialization)
-        for (String fieldName : simpleFields) {
-            FieldInfo fieldInfo = fieldInfoMap.getOrDefault(fieldName, new FieldInfo("Object", "java.lang.Object", false, null, false, null, null, false, false));
-            fields.append("    @JsonProperty(\"").append(fieldName).append("\")\n");
-            
-            // Add content serialization for collections
-            if (fieldInfo.isCollection) {
-                fields.append("    @JsonSerialize(contentUsing = StdSerializer.class)\n");
-                if (fieldInfo.isMap) {
-                    fields.append("    private ").append(fieldInfo.typeName).append("<").append(fieldInfo.mapKeyType).append(", ").append(fieldInfo.mapValueType).append("> ").append(fieldName).append(";\n");
-                } else {
-                    fields.append("    private ").append(fieldInfo.typeName).append("<").append(fieldInfo.collectionElementType).append("> ").append(fieldName).append(";\n");
+            for (Map.Entry<String, List<DtoModel>> entry : modelsByPackage.entrySet()) {
+                String packageName = entry.getKey();
+                if (!filerJacksonModules.add(packageName)) {
+                    messager.printMessage(Diagnostic.Kind.WARNING, JacksonModuleEmitter.MODULE_CLASS_NAME + " of " + packageName
+                        + " was generated in an earlier round; DTOs of this round are not registered");
+                    continue;
                 }
-            } else {
-                fields.append("    private ").append(fieldInfo.typeName).append(" ").append(fieldName).append(";\n");
-            }
-            fields.append("\n");
-        }
-
-        // Generate serialized fields (with custom serializers)
-        for (int i = 0; i < serializedFields.length && i < serializers.length; i++) {
-            String fieldName = serializedFields[i];
-            String serializer = serializers[i];
-            FieldInfo fieldInfo = fieldInfoMap.getOrDefault(fieldName, new FieldInfo("Object", "java.lang.Object", false, null, false, null, null, false, false));
-            
-            fields.append("    @JsonProperty(\"").append(fieldName).append("\")\n");
-            if (fieldInfo.isCollection) {
-                // For collections, add both field and content serialization
-                fields.append("    @JsonSerialize(using = ").append(getSimpleClassName(serializer)).append(".class)\n");
-                fields.append("    @JsonSerialize(contentUsing = StdSerializer.class)\n");
-                if (fieldInfo.isMap) {
-                    fields.append("    private ").append(fieldInfo.typeName).append("<").append(fieldInfo.mapKeyType).append(", ").append(fieldInfo.mapValueType).append("> ").append(fieldName).append(";\n");
-                } else {
-                    fields.append("    private ").append(fieldInfo.typeName).append("<").append(fieldInfo.collectionElementType).append("> ").append(fieldName).append(";\n");
+                Set<String> dtoClassNames = new TreeSet<>();
+                Element[] originatingElements = new Element[entry.getValue().size()];
+                for (int i = 0; i < originatingElements.length; i++) {
+                    dtoClassNames.add(entry.getValue().get(i).className);
+                    originatingElements[i] = entry.getValue().get(i).sourceClass;
+                }
+                String moduleName = packageName + "." + JacksonModuleEmitter.MODULE_CLASS_NAME;
+                try (OutputStream out = filer.createSourceFile(moduleName, originatingElements).openOutputStream()) {
+                    out.write(JacksonModuleEmitter.render(packageName, dtoClassNames));
+                } catch (IOException e) {
+                    messager.printMessage(Diagnostic.Kind.ERROR, "Failed to generate " + moduleName + ": " + e.getMessage());
                 }
-            } else {
-                // For simple types, add only field serialization
-                fields.append("    @JsonSerialize(using = ").append(getSimpleClassName(serializer)).append(".class)\n");
-                fields.append("    private ").append(fieldInfo.typeName).append(" ").append(fieldName).append(";\n");
             }
-            fields.append("\n");
-        }
-        
-        return fields.toString();
-    }
-
-    /**
-     * Extracts the simple class name from a full class name.
-     * 
-     * @param fullClassName the full class name (e.g., "com.example.MySerializer")
-     * @return the simple class name (e.g., "MySerializer")
-     */
-    private String getSimpleClassName(String fullClassName) {
-        if (fullClassName == null || fullClassName.trim().isEmpty()) {
-            return "StdSerializer";
-        }
-        
-        int lastDotIndex = fullClassName.lastIndexOf('.');
-        if (lastDotIndex >= 0 && lastDotIndex < fullClassName.length() - 1) {
-            return fullClassName.substring(lastDotIndex + 1);
+            return;
         }
-        
-        return fullClassName;
-    }
-
-    /**
-     * Generates constructors as a string.
-     */
-    private String generateConstructorsString(String className, String[] simpleFields, 
-                                            String[] serializedFields, Map<String, FieldInfo> fieldInfoMap) {
-        StringBuilder constructors = new StringBuilder();
-        
-        // Generate default constructor
-        constructors.append("    public ").append(className).append("() {\n");
-        constructors.append("    }\n\n");
 
-        // Generate all-args constructor
-        constructors.append("    public ").append(className).append("(\n");
-        
-        // Add simple field parameters
-        for (int i = 0; i < simpleFields.length; i++) {
-            String fieldName = simpleFields[i];
-            FieldInfo fieldInfo = fieldInfoMap.getOrDefault(fieldName, new FieldInfo("Object", "java.lang.Object", false, null, false, null, null, false, false));
-            String paramType;
-            if (fieldInfo.isCollection) {
-                if (fieldInfo.isMap) {
-                    paramType = fieldInfo.typeName + "<" + fieldInfo.mapKeyType + ", " + fieldInfo.mapValueType + ">";
-                } else {
-                    paramType = fieldInfo.typeName + "<" + fieldInfo.collectionElementType + ">";
-                }
-            } else {
-                paramType = fieldInfo.typeName;
-            }
-            constructors.append("        ").append(paramType).append(" ").append(fieldName);
-            if (i < simpleFields.length - 1 || serializedFields.length > 0) {
-                constructors.append(",\n");
-            } else {
-                constructors.append("\n");
+        Map<String, String> sourceDirsByPackage = new TreeMap<>();
+        for (DtoModel model : models) {
+            if (model.sourceDir != null) {
+                sourceDirsByPackage.putIfAbsent(model.packageName, model.sourceDir);
             }
         }
-        
-        // Add serialized field parameters
-        for (int i = 0; i < serializedFields.length; i++) {
-            String fieldName = serializedFields[i];
-            FieldInfo fieldInfo = fieldInfoMap.getOrDefault(fieldName, new FieldInfo("Object", "java.lang.Object", false, null, false, null, null, false, false));
-            String paramType;
-            if (fieldInfo.isCollection) {
-                if (fieldInfo.isMap) {
-                    paramType = fieldInfo.typeName + "<" + fieldInfo.mapKeyType + ", " + fieldInfo.mapValueType + ">";
+        for (Map.Entry<String, String> entry : sourceDirsByPackage.entrySet()) {
+            String packageName = entry.getKey();
+            Path packageDir = Path.of(entry.getValue(), packageName.replace('.', '/'));
+            try {
+                Set<String> dtoClassNames = findJacksonDtos(packageDir);
+                if (dtoClassNames.isEmpty()) {
+                    Files.deleteIfExists(packageDir.resolve(JacksonModuleEmitter.MODULE_CLASS_NAME + ".java"));
                 } else {
-                    paramType = fieldInfo.typeName + "<" + fieldInfo.collectionElementType + ">";
+                    writeToSourceDirectory(entry.getValue(), packageName, JacksonModuleEmitter.MODULE_CLASS_NAME,
+                                           JacksonModuleEmitter.render(packageName, dtoClassNames));
                 }
-            } else {
-                paramType = fieldInfo.typeName;
-            }
-            constructors.append("        ").append(paramType).append(" ").append(fieldName);
-            if (i < serializedFields.length - 1) {
-                constructors.append(",\n");
-            } else {
-                constructors.append("\n");
-            }
-        }
-        
-        // Constructor body - assign parameters to fields
-        constructors.append("    ) {\n");
-        for (String fieldName : simpleFields) {
-            constructors.append("        this.").append(fieldName).append(" = ").append(fieldName).append(";\n");
-        }
-        for (String fieldName : serializedFields) {
-            constructors.append("        this.").append(fieldName).append(" = ").append(fieldName).append(";\n");
-        }
-        constructors.append("    }\n\n");
-        
-        return constructors.toString();
-    }
-
-    /**
-     * Generates getters and setters as a string.
-     */
-    private String generateGettersAndSettersString(String[] simpleFields, String[] serializedFields, 
-                                                  Map<String, FieldInfo> fieldInfoMap) {
-        StringBuilder methods = new StringBuilder();
-        
-        // Generate getters and setters for simple fields
-        for (String fieldName : simpleFields) {
-            methods.append(generateGetterAndSetterString(fieldName, fieldInfoMap.getOrDefault(fieldName, new FieldInfo("Object", "java.lang.Object", false, null, false, null, null, false, false))));
-        }
-        
-        // Generate getters and setters for serialized fields
-        for (String fieldName : serializedFields) {
-            methods.append(generateGetterAndSetterString(fieldName, fieldInfoMap.getOrDefault(fieldName, new FieldInfo("Object", "java.lang.Object", false, null, false, null, null, false, false))));
-        }
-        
-        return methods.toString();
-    }
-
-    /**
-     * Generates a getter and setter method for a single field as a string.
-     */
-    private String generateGetterAndSetterString(String fieldName, FieldInfo fieldInfo) {
-        StringBuilder methods = new StringBuilder();
-        String capitalizedFieldName = fieldName.substring(0, 1).toUpperCase() + fieldName.substring(1);
-        String returnType;
-        if (fieldInfo.isCollection) {
-            if (fieldInfo.isMap) {
-                returnType = fieldInfo.typeName + "<" + fieldInfo.mapKeyType + ", " + fieldInfo.mapValueType + ">";
-            } else {
-                returnType = fieldInfo.typeName + "<" + fieldInfo.collectionElementType + ">";
+            } catch (IOException e) {
+                messager.printMessage(Diagnostic.Kind.WARNING,
+                    "Failed to write " + JacksonModuleEmitter.MODULE_CLASS_NAME + " of " + packageName + ": " + e.getMessage());
             }
-        } else {
-            returnType = fieldInfo.typeName;
         }
-        
-        // Generate getter method
-        methods.append("    public ").append(returnType).append(" get").append(capitalizedFieldName).append("() {\n");
-        methods.append("        return ").append(fieldName).append(";\n");
-        methods.append("    }\n\n");
-
-        // Generate setter method
-        methods.append("    public void set").append(capitalizedFieldName).append("(").append(returnType).append(" ").append(fieldName).append(") {\n");
-        methods.append("        this.").append(fieldName).append(" = ").append(fieldName).append(";\n");
-        methods.append("    }\n\n");
-        
-        return methods.toString();
     }
 
     /**
-     * Generates utility methods as a string.
-     */
-    private String generateUtilityMethodsString(String className, String[] simpleFields, String[] serializedFields) {
-        StringBuilder methods = new StringBuilder();
-        
-        // Generate equals method
-        methods.append("    @Override\n");
-        methods.append("    public boolean equals(Object obj) {\n");
-        methods.append("        if (this == obj) return true;\n");
-        methods.append("        if (obj == null || getClass() != obj.getClass()) return false;\n");
-        methods.append("        ").append(className).append(" that = (").append(className).append(") obj;\n");
-        methods.append("        return \n");
-        
-        // Combine all fields for comparison
-        String[] allFields = new String[simpleFields.length + serializedFields.length];
-        System.arraycopy(simpleFields, 0, allFields, 0, simpleFields.length);
-        System.arraycopy(serializedFields, 0, allFields, simpleFields.length, serializedFields.length);
-        
-        // Generate field comparisons
-        for (int i = 0; i < allFields.length; i++) {
-            methods.append("                Objects.equals(").append(allFields[i]).append(", that.").append(allFields[i]).append(")");
-            if (i < allFields.length - 1) {
-                methods.append(" &&\n");
-            } else {
-                methods.append(";\n");
-            }
-        }
-        methods.append("    }\n\n");
-
-        // Generate hashCode method
-        methods.append("    @Override\n");
-        methods.append("    public int hashCode() {\n");
-        methods.append("        return Objects.hash(\n");
-        for (int i = 0; i < allFields.length; i++) {
-            methods.append("            ").append(allFields[i]);
-            if (i < allFields.length - 1) {
-                methods.append(",\n");
-            } else {
-                methods.append("\n");
-            }
-        }
-        methods.append("        );\n");
-        methods.append("    }\n\n");
-
-        // Generate toString method
-        methods.append("    @Override\n");
-        methods.append("    public String toString() {\n");
-        methods.append("        return \"").append(className).append("{\" +\n");
-        for (int i = 0; i < allFields.length; i++) {
-            methods.append("                \"").append(allFields[i]).append("=\" + ").append(allFields[i]);
-            if (i < allFields.length - 1) {
-                methods.append(" + \",\" +\n");
-            } else {
-                methods.append(" +\n");
-            }
-        }
-        methods.append("                '}';\n");
-        methods.append("    }\n");
-        
-        return methods.toString();
-    }
-
-    /**
-     * Generates import statements based on field types.
-     * 
-     * <p>This method analyzes the field types and generates appropriate import statements
-     * for collections, entities, and other non-java.lang types.</p>
-     * 
-     * @param out the PrintWriter to write the imports to
-     * @param fieldInfoMap map of field names to their type information
-     */
-    private void generateImports(PrintWriter out, Map<String, FieldInfo> fieldInfoMap) {
-        // Standard imports that are always needed
-        out.println("import com.fasterxml.jackson.annotation.JsonProperty;");
-        out.println("import com.fasterxml.jackson.databind.annotation.JsonSerialize;");
-        out.println("import com.fasterxml.jackson.databind.ser.std.StdSerializer;");
-        out.println("import java.io.Serializable;");
-        out.println("import java.util.Objects;");
-        
-        // Collect imports based on field types
-        Set<String> imports = new HashSet<>();
-        for (FieldInfo fieldInfo : fieldInfoMap.values()) {
-            // Add collection imports (only the base collection type, not with generics)
-            if (fieldInfo.isCollection) {
-                imports.add("import java.util." + fieldInfo.typeName + ";");
-            }
-            // Add entity imports for non-java.lang types (only if it's not a collection element type)
-            if (fieldInfo.needsImport && !fieldInfo.fullTypeName.startsWith("java.lang.") && !fieldInfo.isCollection) {
-                imports.add("import " + fieldInfo.fullTypeName + ";");
+     * Finds the DTO sources in a package directory that contain a generated Jackson serializer.
+     *
+     * @param packageDir the package directory
+     * @return the simple names of the DTOs, sorted
+     * @throws IOException if the directory cannot be read
+     */
+    private static Set<String> findJacksonDtos(Path packageDir) throws IOException {
+        Set<String> dtoClassNames = new TreeSet<>();
+        if (!Files.isDirectory(packageDir)) {
+            return dtoClassNames;
+        }
+        try (DirectoryStream<Path> sources = Files.newDirectoryStream(packageDir, "*.java")) {
+            for (Path source : sources) {
+                String className = source.getFileName().toString();
+                className = className.substring(0, className.length() - ".java".length());
+                if (!className.equals(JacksonModuleEmitter.MODULE_CLASS_NAME)
+                    && new String(Files.readAllBytes(source), StandardCharsets.UTF_8).contains(JacksonModuleEmitter.SERIALIZER_MARKER)) {
+                    dtoClassNames.add(className);
+                }
             }
         }
-        
-        // Write all collected imports
-        for (String importStatement : imports) {
-            out.println(importStatement);
-        }
-        out.println();
+        return dtoClassNames;
     }
 
     /**
-     * Generates field declarations with proper types and Jackson annotations.
+     * Writes the rendered DTO class source code.
      * 
-     * <p>This method generates field declarations for both simple and serialized fields,
-     * including proper generic types for collections and Jackson serialization annotations.</p>
+     * <p>In incremental mode the DTO is created through the Filer, otherwise it is written
+     * to the source directory of the target module.</p>
      * 
-     * @param out the PrintWriter to write the fields to
-     * @param simpleFields array of simple field names
-     * @param serializedFields array of serialized field names
-     * @param serializers array of serializer classes
-     * @param fieldInfoMap map of field names to their type information
+     * @param model the DTO model holding the rendered source code
      */
-    private void generateFields(PrintWriter out, String[] simpleFields, String[] serializedFields, 
-                               String[] serializers, Map<String, FieldInfo> fieldInfoMap) {
-        // Generate simple fields (no special serialization)
-        for (String fieldName : simpleFields) {
-            FieldInfo fieldInfo = fieldInfoMap.getOrDefault(fieldName, new FieldInfo("Object", "java.lang.Object", false, null, false, null, null, false, false));
-            out.println("    @JsonProperty(\"" + fieldName + "\")");
-            
-            // Add content serialization for collections
-            if (fieldInfo.isCollection) {
-                out.println("    @JsonSerialize(contentUsing = StdSerializer.class)");
-                if (fieldInfo.isMap) {
-                    out.println("    private " + fieldInfo.typeName + "<" + fieldInfo.mapKeyType + ", " + fieldInfo.mapValueType + "> " + fieldName + ";");
-                } else {
-                    out.println("    private " + fieldInfo.typeName + "<" + fieldInfo.collectionElementType + "> " + fieldName + ";");
+    private void writeDTOClass(DtoModel model) {
+        ProcessorReport.Entry stats = model.stats;
+        if (incremental) {
+            // Incremental mode: let the build tool track the DTO through its originating element
+            long writeStart = System.nanoTime();
+            try {
+                writeToFiler(model.sourceClass, model.packageName, model.className, model.content);
+                if (model.protoContent != null) {
+                    FileObject file = filer.createResource(StandardLocation.SOURCE_OUTPUT, model.packageName,
+                                                           model.className + ProtoSchemaEmitter.EXTENSION, model.sourceClass);
+                    try (OutputStream out = file.openOutputStream()) {
+                        out.write(model.protoContent);
+                    }
                 }
-            } else {
-                out.println("    private " + fieldInfo.typeName + " " + fieldName + ";");
+                stats.status = ProcessorReport.Status.WRITTEN;
+            } catch (IOException e) {
+                stats.status = ProcessorReport.Status.FAILED;
+                messager.printMessage(Diagnostic.Kind.ERROR, "Failed to generate DTO class: " + e.getMessage(), model.sourceClass);
             }
-            out.println();
+            stats.writeNanos = System.nanoTime() - writeStart;
+            return;
         }
 
-        // Generate serialized fields (with custom serializers)
-        for (int i = 0; i < serializedFields.length && i < serializers.length; i++) {
-            String fieldName = serializedFields[i];
-            String serializer = serializers[i];
-            FieldInfo fieldInfo = fieldInfoMap.getOrDefault(fieldName, new FieldInfo("Object", "java.lang.Object", false, null, false, null, null, false, false));
-            
-            out.println("    @JsonProperty(\"" + fieldName + "\")");
-            if (fieldInfo.isCollection) {
-                // For collections, add both field and content serialization
-                out.println("    @JsonSerialize(using = " + serializer + ".class)");
-                out.println("    @JsonSerialize(contentUsing = StdSerializer.class)");
-                if (fieldInfo.isMap) {
-                    out.println("    private " + fieldInfo.typeName + "<" + fieldInfo.mapKeyType + ", " + fieldInfo.mapValueType + "> " + fieldName + ";");
-                } else {
-                    out.println("    private " + fieldInfo.typeName + "<" + fieldInfo.collectionElementType + "> " + fieldName + ";");
+        // Write only to source directory (skip filer to avoid recreation issues)
+        long resolveStart = System.nanoTime();
+        String sourceDir = findSourceDirectoryFromClass(model.sourceClass, model.packageName, model.moduleName);
+        long writeStart = System.nanoTime();
+        stats.resolveNanos = writeStart - resolveStart;
+        model.sourceDir = sourceDir;
+        try {
+            boolean written = writeToSourceDirectory(sourceDir, model.packageName, model.className, model.content);
+            if (model.protoContent != null) {
+                // The schema sits next to the DTO and is only rewritten when it changes, like the DTO
+                File protoFile = new File(sourceDir + "/" + model.packageName.replace('.', '/') + "/"
+                                          + model.className + ProtoSchemaEmitter.EXTENSION);
+                if (!isUnchanged(protoFile, model.protoContent)) {
+                    Files.write(protoFile.toPath(), model.protoContent);
+                    written = true;
                 }
-            } else {
-                // For simple types, add only field serialization
-                out.println("    @JsonSerialize(using = " + serializer + ".class)");
-                out.println("    private " + fieldInfo.typeName + " " + fieldName + ";");
             }
-            out.println();
+            stats.status = written ? ProcessorReport.Status.WRITTEN : ProcessorReport.Status.SKIPPED;
+        } catch (IOException e) {
+            stats.status = ProcessorReport.Status.FAILED;
+            messager.printMessage(Diagnostic.Kind.WARNING, 
+                "Failed to write source file: " + e.getMessage());
         }
+        stats.writeNanos = System.nanoTime() - writeStart;
     }
 
     /**
-     * Generates constructors for the DTO class.
+     * Generates the complete source code for a DTO class.
      * 
-     * <p>This method generates both a default constructor and an all-args constructor
-     * with proper parameter types including generics for collections.</p>
+     * <p>The source is streamed by this thread's {@link DtoSourceEmitter} straight into a
+     * UTF-8 encoder, so the only full copy held in memory is the encoded file content.
+     * This method only reads the given model and may run on a rendering thread.</p>
      * 
-     * @param out the PrintWriter to write the constructors to
-     * @param className the name of the DTO class
-     * @param simpleFields array of simple field names
-     * @param serializedFields array of serialized field names
-     * @param fieldInfoMap map of field names to their type information
+     * @param model the DTO model to render
+     * @return the UTF-8 encoded source code
+     * @throws IOException if the source cannot be rendered
      */
-    private void generateConstructors(PrintWriter out, String className, String[] simpleFields, 
-                                     String[] serializedFields, Map<String, FieldInfo> fieldInfoMap) {
-        // Generate default constructor
-        out.println("    public " + className + "() {");
-        out.println("    }");
-        out.println();
-
-        // Generate all-args constructor
-        out.println("    public " + className + "(");
-        
-        // Add simple field parameters
-        for (int i = 0; i < simpleFields.length; i++) {
-            String fieldName = simpleFields[i];
-            FieldInfo fieldInfo = fieldInfoMap.getOrDefault(fieldName, new FieldInfo("Object", "java.lang.Object", false, null, false, null, null, false, false));
-            String paramType;
-            if (fieldInfo.isCollection) {
-                if (fieldInfo.isMap) {
-                    paramType = fieldInfo.typeName + "<" + fieldInfo.mapKeyType + ", " + fieldInfo.mapValueType + ">";
-                } else {
-                    paramType = fieldInfo.typeName + "<" + fieldInfo.collectionElementType + ">";
-                }
-            } else {
-                paramType = fieldInfo.typeName;
-            }
-            out.print("        " + paramType + " " + fieldName);
-            if (i < simpleFields.length - 1 || serializedFields.length > 0) {
-                out.println(",");
-            } else {
-                out.println();
-            }
-        }
-        
-        // Add serialized field parameters
-        for (int i = 0; i < serializedFields.length; i++) {
-            String fieldName = serializedFields[i];
-            FieldInfo fieldInfo = fieldInfoMap.getOrDefault(fieldName, new FieldInfo("Object", "java.lang.Object", false, null, false, null, null, false, false));
-            String paramType;
-            if (fieldInfo.isCollection) {
-                if (fieldInfo.isMap) {
-                    paramType = fieldInfo.typeName + "<" + fieldInfo.mapKeyType + ", " + fieldInfo.mapValueType + ">";
-                } else {
-                    paramType = fieldInfo.typeName + "<" + fieldInfo.collectionElementType + ">";
-                }
-            } else {
-                paramType = fieldInfo.typeName;
-            }
-            out.print("        " + paramType + " " + fieldName);
-            if (i < serializedFields.length - 1) {
-                out.println(",");
-            } else {
-                out.println();
-            }
-        }
-        
-        // Constructor body - assign parameters to fields
-        out.println("    ) {");
-        for (String fieldName : simpleFields) {
-            out.println("        this." + fieldName + " = " + fieldName + ";");
+    private byte[] generateSourceCode(DtoModel model) throws IOException {
+        long renderStart = System.nanoTime();
+        ByteArrayOutputStream content = new ByteArrayOutputStream(4096);
+        try (Writer out = new OutputStreamWriter(content, StandardCharsets.UTF_8)) {
+            emitters.get().emit(model, out);
         }
-        for (String fieldName : serializedFields) {
-            out.println("        this." + fieldName + " = " + fieldName + ";");
+        byte[] bytes = content.toByteArray();
+        if (model.protobuf) {
+            model.protoContent = ProtoSchemaEmitter.render(model);
         }
-        out.println("    }");
-        out.println();
+        model.stats.bytes = bytes.length;
+        model.stats.renderNanos = System.nanoTime() - renderStart;
+        return bytes;
     }
 
     /**
-     * Generates getter and setter methods for all fields.
-     * 
-     * <p>This method generates getters and setters for both simple and serialized fields,
-     * with proper return types including generics for collections.</p>
-     * 
-     * @param out the PrintWriter to write the methods to
-     * @param simpleFields array of simple field names
-     * @param serializedFields array of serialized field names
-     * @param fieldInfoMap map of field names to their type information
+     * Writes the source code to the annotation processor filer.
+     *
+     * <p>The annotated class is passed as the originating element so that incremental
+     * compilers only regenerate (and recompile dependents of) DTOs whose source changed.</p>
      */
-    private void generateGettersAndSetters(PrintWriter out, String[] simpleFields, String[] serializedFields, 
-                                          Map<String, FieldInfo> fieldInfoMap) {
-                // Generate getters and setters for simple fields
-        for (String fieldName : simpleFields) {
-            generateGetterAndSetter(out, fieldName, fieldInfoMap.getOrDefault(fieldName, new FieldInfo("Object", "java.lang.Object", false, null, false, null, null, false, false)));
-        }
-        
-        // Generate getters and setters for serialized fields
-        for (String fieldName : serializedFields) {
-            generateGetterAndSetter(out, fieldName, fieldInfoMap.getOrDefault(fieldName, new FieldInfo("Object", "java.lang.Object", false, null, false, null, null, false, false)));
+    private void writeToFiler(TypeElement sourceClass, String packageName, String className, byte[] content) throws IOException {
+        JavaFileObject sourceFile = filer.createSourceFile(packageName + "." + className, sourceClass);
+        try (OutputStream out = sourceFile.openOutputStream()) {
+            out.write(content);
         }
     }
 
     /**
-     * Generates a getter and setter method for a single field.
-     * 
-     * <p>This method generates both getter and setter methods with proper types,
-     * including generic types for collections.</p>
-     * 
-     * @param out the PrintWriter to write the methods to
-     * @param fieldName the name of the field
-     * @param fieldInfo the type information for the field
-     */
-    private void generateGetterAndSetter(PrintWriter out, String fieldName, FieldInfo fieldInfo) {
-        String capitalizedFieldName = fieldName.substring(0, 1).toUpperCase() + fieldName.substring(1);
-        String returnType;
-        if (fieldInfo.isCollection) {
-            if (fieldInfo.isMap) {
-                returnType = fieldInfo.typeName + "<" + fieldInfo.mapKeyType + ", " + fieldInfo.mapValueType + ">";
-            } else {
-                returnType = fieldInfo.typeName + "<" + fieldInfo.collectionElementType + ">";
-            }
-        } else {
-            returnType = fieldInfo.typeName;
+     * Writes the source code to the source directory.
+     *
+     * <p>The file is only rewritten when its content changes: a file of the same size is read and
+     * compared byte by byte with the rendered source, so unchanged DTOs keep their modification
+     * time and do not trigger recompilation or re-indexing downstream.</p>
+     *
+     * @param sourceDir the source directory of the target module
+     * @param packageName the DTO package name
+     * @param className the DTO class name
+     * @param content the rendered source code
+     * @return true if the file was written, false if it was unchanged
+     * @throws IOException if the file cannot be compared or written
+     */
+    private boolean writeToSourceDirectory(String sourceDir, String packageName, String className, byte[] content) throws IOException {
+        String packagePath = packageName.replace('.', '/');
+        String fullPath = sourceDir + "/" + packagePath;
+        
+        // Create directories if they don't exist
+        File dir = new File(fullPath);
+        if (!dir.exists()) {
+            dir.mkdirs();
+        }
+        
+        // Skip the write if the existing file already has the same content
+        File sourceFile = new File(fullPath + "/" + className + ".java");
+        if (isUnchanged(sourceFile, content)) {
+            return false;
         }
         
-        // Generate getter method
-        out.println("    public " + returnType + " get" + capitalizedFieldName + "() {");
-        out.println("        return " + fieldName + ";");
-        out.println("    }");
-        out.println();
-
-        // Generate setter method
-        out.println("    public void set" + capitalizedFieldName + "(" + returnType + " " + fieldName + ") {");
-        out.println("        this." + fieldName + " = " + fieldName + ";");
-        out.println("    }");
-        out.println();
+        // Write the new source file (overwrites any existing one)
+        Files.write(sourceFile.toPath(), content);
+        return true;
     }
 
     /**
-     * Generates utility methods (equals, hashCode, toString) for the DTO class.
-     * 
-     * <p>These methods are generated based on all fields (both simple and serialized)
-     * to ensure proper object comparison and string representation.</p>
-     * 
-     * @param out the PrintWriter to write the methods to
-     * @param className the name of the DTO class
-     * @param simpleFields array of simple field names
-     * @param serializedFields array of serialized field names
-     */
-    private void generateUtilityMethods(PrintWriter out, String className, String[] simpleFields, String[] serializedFields) {
-        // Generate equals method
-        out.println("    @Override");
-        out.println("    public boolean equals(Object obj) {");
-        out.println("        if (this == obj) return true;");
-        out.println("        if (obj == null || getClass() != obj.getClass()) return false;");
-        out.println("        " + className + " that = (" + className + ") obj;");
-        out.println("        return ");
-        
-        // Combine all fields for comparison
-        String[] allFields = new String[simpleFields.length + serializedFields.length];
-        System.arraycopy(simpleFields, 0, allFields, 0, simpleFields.length);
-        System.arraycopy(serializedFields, 0, allFields, simpleFields.length, serializedFields.length);
-        
-        // Generate field comparisons
-        for (int i = 0; i < allFields.length; i++) {
-            out.print("                Objects.equals(" + allFields[i] + ", that." + allFields[i] + ")");
-            if (i < allFields.length - 1) {
-                out.println(" &&");
-            } else {
-                out.println(";");
-            }
-        }
-        out.println("    }");
-        out.println();
-
-        // Generate hashCode method
-        out.println("    @Override");
-        out.println("    public int hashCode() {");
-        out.println("        return Objects.hash(");
-        for (int i = 0; i < allFields.length; i++) {
-            out.print("            " + allFields[i]);
-            if (i < allFields.length - 1) {
-                out.println(",");
-            } else {
-                out.println();
-            }
+     * Checks whether a file on disk already holds the given content.
+     *
+     * <p>Files of a different length are rejected without being read; otherwise both contents
+     * are compared byte by byte.</p>
+     *
+     * @param file the existing source file
+     * @param content the newly rendered content
+     * @return true if the file exists and its content is identical
+     * @throws IOException if the existing file cannot be read
+     */
+    private boolean isUnchanged(File file, byte[] content) throws IOException {
+        Path path = file.toPath();
+        if (!Files.isRegularFile(path) || Files.size(path) != content.length) {
+            return false;
         }
-        out.println("        );");
-        out.println("    }");
-        out.println();
+        return Arrays.equals(Files.readAllBytes(path), content);
+    }
 
-        // Generate toString method
-        out.println("    @Override");
-        out.println("    public String toString() {");
-        out.println("        return \"" + className + "{\" +");
-        for (int i = 0; i < allFields.length; i++) {
-            out.print("                \"" + allFields[i] + "=\" + " + allFields[i]);
-            if (i < allFields.length - 1) {
-                out.println(" + \",\" +");
-            } else {
-                out.println(" +");
+    /**
+     * Finds the project root directory by looking for pom.xml.
+     */
+    private String findProjectRoot(String currentDir) {
+        File current = new File(currentDir);
+        while (current != null) {
+            if (new File(current, "pom.xml").exists()) {
+                return current.getAbsolutePath();
             }
+            current = current.getParentFile();
         }
-        out.println("                '}';");
-        out.println("    }");
+        return System.getProperty("user.dir");
     }
 
     /**
@@ -1220,135 +890,54 @@ public class ClassAutoGenerator extends AbstractProcessor {
 
     /**
      * Finds the source directory by analyzing the location of the annotated class.
-     * This method works with any project structure by dynamically detecting the source root.
+     * This method works with any project structure by resolving the class against the
+     * {@link SourceRootIndex}, which is built once per compilation.
      * 
      * @param sourceClass the annotated class element
      * @param targetPackageName the target package name for the DTO
      * @return the source directory path
      */
     private String findSourceDirectoryFromClass(TypeElement sourceClass, String targetPackageName, String moduleName) {
-        try {
-            // Get the source file URI from the class element
-            String sourceFileUri = sourceClass.getEnclosingElement().toString();
+        SourceRootIndex index = getSourceRootIndex();
 
-            // Try to get the actual file path from the annotation processing environment
-            // This is a more reliable way to get the source file location
-            String sourceClassName = sourceClass.getQualifiedName().toString();
-            messager.printMessage(Diagnostic.Kind.MANDATORY_WARNING , "src file uri = " + sourceFileUri);
-            messager.printMessage(Diagnostic.Kind.MANDATORY_WARNING , "src file full name = " + sourceClassName);
+        // If module name is specified, use that specific module
+        if (moduleName != null && !moduleName.trim().isEmpty()) {
+            String moduleSourceDir = index.getModuleSourceRoot(moduleName);
+            if (moduleSourceDir != null) {
+                return moduleSourceDir;
+            }
+            messager.printMessage(Diagnostic.Kind.WARNING, 
+                "Specified module '" + moduleName + "' not found. Falling back to search.");
+        }
 
-            String sourcePackageName = getPackageName(sourceClass);
+        // Look up the source root holding the annotated class's package
+        String sourceDir = index.getPackageSourceRoot(getPackageName(sourceClass));
+        if (sourceDir != null) {
+            return sourceDir;
+        }
 
-            // Get the current working directory
-            String currentDir = System.getProperty("user.dir");
+        // For DTO packages, try the parent package directory
+        String parentPackageName = targetPackageName;
+        if (targetPackageName.endsWith(".autogendto")) {
+            parentPackageName = targetPackageName.substring(0, targetPackageName.length() - ".autogendto".length());
+        }
+        sourceDir = index.getPackageSourceRoot(parentPackageName);
+        if (sourceDir != null) {
+            return sourceDir;
+        }
 
-            // For DTO packages, we need to find the parent package directory
-            String parentPackageName = targetPackageName;
-            if (targetPackageName.endsWith(".autogendto")) {
-                parentPackageName = targetPackageName.substring(0, targetPackageName.length() - ".autogendto".length());
-            }
-            
-            // Convert package names to directory paths
-            String sourcePackagePath = sourcePackageName.replace('.', '/');
-            String parentPackagePath = parentPackageName.replace('.', '/');
-            
-            // If module name is specified, search in that specific module
-            if (moduleName != null && !moduleName.trim().isEmpty()) {
-                String moduleSourceDir = currentDir + "/" + moduleName + "/src/main/java";
-                File moduleDir = new File(moduleSourceDir);
-                if (moduleDir.exists() && moduleDir.isDirectory()) {
-                    messager.printMessage(Diagnostic.Kind.NOTE, 
-                        "Using specified module: " + moduleName + " at " + moduleSourceDir);
-                    return moduleSourceDir;
-                } else {
-                    messager.printMessage(Diagnostic.Kind.WARNING, 
-                        "Specified module '" + moduleName + "' not found at " + moduleSourceDir + ". Falling back to search.");
-                }
-            }
-            
-            // Search for the source directory by looking for the source package
-            // Build possible source directories list
-            List<String> possibleSourceDirs = new ArrayList<>();
-            
-            // If module name is specified, add it to the search list
-            if (moduleName != null && !moduleName.trim().isEmpty()) {
-                possibleSourceDirs.add(currentDir + "/" + moduleName + "/src/main/java");
-            }
-            
-            // Add common module names that might contain the source
-            possibleSourceDirs.add(currentDir + "/Main/src/main/java");      // Prioritize Main module
-            possibleSourceDirs.add(currentDir + "/app/src/main/java");
-            possibleSourceDirs.add(currentDir + "/core/src/main/java");
-            possibleSourceDirs.add(currentDir + "/api/src/main/java");
-            possibleSourceDirs.add(currentDir + "/service/src/main/java");
-            possibleSourceDirs.add(currentDir + "/web/src/main/java");
-            possibleSourceDirs.add(currentDir + "/client/src/main/java");
-            possibleSourceDirs.add(currentDir + "/server/src/main/java");
-            possibleSourceDirs.add(currentDir + "/src/main/java");           // Fallback to root src
-            possibleSourceDirs.add(currentDir + "/src/test/java");
-            
-            // First, try to find the directory containing the source class
-            for (String sourceDir : possibleSourceDirs) {
-                File sourcePackageDir = new File(sourceDir + "/" + sourcePackagePath);
-                
-                if (sourcePackageDir.exists() && sourcePackageDir.isDirectory()) {
-                    // Check if this directory contains the source class file
-                    File[] files = sourcePackageDir.listFiles();
-                    if (files != null) {
-                        boolean hasOriginalSourceFiles = false;
-                        for (File file : files) {
-                            if (file.isFile() && file.getName().endsWith(".java") && !file.getName().endsWith("DTO.java")) {
-                                hasOriginalSourceFiles = true;
-                                break;
-                            }
-                        }
-                        if (hasOriginalSourceFiles) {
-                            // Found the source directory with original source files
-                            return sourceDir;
-                        }
-                    }
-                }
-            }
-            
-            // If not found, try to find any directory that contains the parent package
-            for (String sourceDir : possibleSourceDirs) {
-                File parentPackageDir = new File(sourceDir + "/" + parentPackagePath);
-                
-                if (parentPackageDir.exists() && parentPackageDir.isDirectory()) {
-                    // Check if this directory contains original source files (not just generated DTOs)
-                    File[] files = parentPackageDir.listFiles();
-                    if (files != null) {
-                        boolean hasOriginalSourceFiles = false;
-                        for (File file : files) {
-                            if (file.isFile() && file.getName().endsWith(".java") && !file.getName().endsWith("DTO.java")) {
-                                hasOriginalSourceFiles = true;
-                                break;
-                            }
-                        }
-                        if (hasOriginalSourceFiles) {
-                            return sourceDir;
-                        }
-                    }
-                }
-            }
-            
-            // Fallback: search recursively for src/main/java directories
-            File current = new File(currentDir);
-            while (current != null) {
-                File srcMainJava = new File(current, "src/main/java");
-                if (srcMainJava.exists() && srcMainJava.isDirectory()) {
-                    return srcMainJava.getAbsolutePath();
-                }
-                current = current.getParentFile();
-            }
-            
-            // Final fallback
-            return currentDir + "/src/main/java";
-            
-        } catch (Exception e) {
-            messager.printMessage(Diagnostic.Kind.WARNING, 
-                "Error detecting source directory: " + e.getMessage());
-            return System.getProperty("user.dir") + "/src/main/java";
+        return index.getFallbackSourceRoot();
+    }
+
+    /**
+     * Returns the source root index, building it on first use.
+     *
+     * @return the source root index for this compilation
+     */
+    private SourceRootIndex getSourceRootIndex() {
+        if (sourceRootIndex == null) {
+            sourceRootIndex = new SourceRootIndex(System.getProperty("user.dir"), messager);
         }
+        return sourceRootIndex;
     }
 }
@@ -0,0 +1,318 @@
+package com.AutoGenClass.generator;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.function.Predicate;
+
+/**
+ * Base of the emitters generating the codec methods of one format into a DTO class.
+ *
+ * <p>A codec emitter appends to the buffer of the {@link DtoSourceEmitter} rendering the DTO,
+ * between the accessors and the closing brace of the class. The shared runtime classes of the
+ * format, such as {@code com.AutoGenClass.runtime.JsonOutput}, are imported rather than
+ * generated, so the generated methods only contain what is specific to the DTO.</p>
+ *
+ * @author Mohammed-Salameh
+ * @since 2.0
+ */
+abstract class CodecEmitter {
+
+    /** Emitter of the DTO class receiving the generated methods */
+    final DtoSourceEmitter source;
+
+    /** Number of fields handled per helper method once a DTO has more fields */
+    final int methodChunkSize;
+
+    /** Number of local variables declared so far in the generated method */
+    int variableCount;
+
+    /**
+     * Creates a codec emitter.
+     *
+     * @param source the emitter of the DTO class receiving the generated methods
+     * @param methodChunkSize the number of fields handled per helper method once a DTO has more fields
+     */
+    CodecEmitter(DtoSourceEmitter source, int methodChunkSize) {
+        this.source = source;
+        this.methodChunkSize = methodChunkSize;
+    }
+
+    /**
+     * Adds the imports needed by the generated methods of a DTO.
+     *
+     * @param model the DTO model
+     * @param importSet the imports of the DTO source
+     */
+    abstract void addImports(DtoModel model, Set<String> importSet);
+
+    /**
+     * Generates the codec methods and nested classes of a DTO.
+     *
+     * @param model the DTO model
+     * @throws IOException if the writer fails
+     */
+    abstract void emit(DtoModel model) throws IOException;
+
+    /**
+     * Appends text to the DTO source.
+     *
+     * @param text the text to append
+     * @return this emitter
+     * @throws IOException if flushing to the writer fails
+     */
+    final CodecEmitter append(String text) throws IOException {
+        source.append(text);
+        return this;
+    }
+
+    /**
+     * Returns a new local variable name for the generated method.
+     */
+    final String nextVariable(String prefix) {
+        return prefix + variableCount++;
+    }
+
+    /**
+     * Returns whether the codec methods of a DTO delegate to helper methods, one per chunk of
+     * {@code methodChunkSize} fields.
+     */
+    final boolean isSplit(DtoModel model) {
+        return source.isSplit(model);
+    }
+
+    /**
+     * Returns the number of chunks of fields of a split DTO.
+     */
+    final int chunkCount(DtoModel model) {
+        return (model.allFields().length + methodChunkSize - 1) / methodChunkSize;
+    }
+
+    /**
+     * Returns the end of the range of fields of a chunk; the range starts at
+     * {@code chunk * methodChunkSize}.
+     */
+    final int chunkEnd(DtoModel model, int chunk) {
+        return Math.min(model.allFields().length, (chunk + 1) * methodChunkSize);
+    }
+
+    /**
+     * Returns the declaration of the object the chunked readers of a split DTO fill: the DTO
+     * itself, or its builder if the DTO is immutable (e.g. "Builder builder").
+     */
+    static String readTargetOf(DtoModel model) {
+        return model.immutable ? "Builder builder" : model.className + " dto";
+    }
+
+    /**
+     * Generates one static constant per field of a DTO and returns the expressions referencing
+     * them. A split DTO holds them in one array filled by a static helper per chunk, as a static
+     * initializer with one assignment per field would be too large to compile for wide DTOs. The
+     * helpers are followed by a blank line, while the declarations of other DTOs are not.
+     *
+     * @param model the DTO model
+     * @param type the type of the constants (e.g. "byte[]")
+     * @param prefix the prefix of the name of every constant, followed by the field name
+     * @param arrayName the name of the array of a split DTO (e.g. "JSON_NAMES")
+     * @param values the initializer of every constant
+     * @param indent the indentation of the declarations
+     * @return the expression referencing every constant (e.g. "JSON_NAME_id" or "JSON_NAMES[0]")
+     * @throws IOException if the writer fails
+     */
+    final String[] emitFieldConstants(DtoModel model, String type, String prefix, String arrayName, String[] values,
+                                      String indent) throws IOException {
+        String[] allFields = model.allFields();
+        String[] constants = new String[allFields.length];
+        if (!isSplit(model)) {
+            for (int i = 0; i < allFields.length; i++) {
+                constants[i] = prefix + allFields[i];
+                append(indent).append("private static final ").append(type).append(" ").append(constants[i])
+                    .append(" = ").append(values[i]).append(";\n");
+            }
+            return constants;
+        }
+
+        StringBuilder initializer = new StringBuilder("init");
+        for (String word : arrayName.toLowerCase(Locale.ROOT).split("_")) {
+            initializer.append(DtoSourceEmitter.capitalize(word));
+        }
+        int dimensions = type.indexOf('[');
+        String length = "[" + allFields.length + "]";
+        append(indent).append("private static final ").append(type).append("[] ").append(arrayName).append(" = new ")
+            .append(dimensions < 0 ? type + length : type.substring(0, dimensions) + length + type.substring(dimensions))
+            .append(";\n\n");
+        append(indent).append("static {\n");
+        for (int chunk = 0; chunk < chunkCount(model); chunk++) {
+            append(indent).append("    ").append(initializer.toString()).append(Integer.toString(chunk)).append("();\n");
+        }
+        append(indent).append("}\n");
+        for (int chunk = 0; chunk < chunkCount(model); chunk++) {
+            append("\n");
+            append(indent).append("private static void ").append(initializer.toString()).append(Integer.toString(chunk))
+                .append("() {\n");
+            for (int i = chunk * methodChunkSize; i < chunkEnd(model, chunk); i++) {
+                constants[i] = arrayName + "[" + i + "]";
+                append(indent).append("    ").append(constants[i]).append(" = ").append(values[i]).append(";\n");
+            }
+            append(indent).append("}\n");
+        }
+        append("\n");
+        return constants;
+    }
+
+    /**
+     * Generates the locals holding the readable properties of an entity.
+     */
+    void emitEntityGetters(JsonEntity entity, List<Integer> readable, String[] values) throws IOException {
+        for (int i = 0; i < values.length; i++) {
+            int property = readable.get(i);
+            append("        ").append(entity.types[property].declaredType).append(" ").append(values[i])
+                .append(" = value.").append(entity.getters[property]).append(";\n");
+        }
+    }
+
+    /**
+     * Describes the first value of a DTO that a codec cannot write and read back, or returns null
+     * if the codec supports every field. Fields are checked down to the elements, keys and values
+     * they hold, and so are the properties of the entities they hold, which must also be
+     * instantiable to be read.
+     *
+     * @param model the DTO model
+     * @param isScalar whether the codec writes a type as a single value
+     * @param isKey whether the codec reads a type back as a map key, or null if keys are read like values
+     * @return a description such as "field payload of type Object", or null
+     */
+    static String unsupportedValueOf(DtoModel model, Predicate<FieldInfo> isScalar, Predicate<FieldInfo> isKey) {
+        for (String fieldName : model.allFields()) {
+            String type = unsupportedTypeOf(model, model.fieldInfo(fieldName), isScalar, isKey);
+            if (type != null) {
+                return "field " + fieldName + " of type " + type;
+            }
+        }
+        for (JsonEntity entity : model.jsonEntities.values()) {
+            if (!entity.instantiable) {
+                return "non-instantiable entity " + entity.typeName;
+            }
+            for (int i = 0; i < entity.types.length; i++) {
+                String type = unsupportedTypeOf(model, entity.types[i], isScalar, isKey);
+                if (type != null) {
+                    return "property " + entity.names[i] + " of type " + type + " in entity " + entity.typeName;
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Returns the first type nested in a type that a codec cannot write and read back, or null.
+     */
+    private static String unsupportedTypeOf(DtoModel model, FieldInfo fieldInfo, Predicate<FieldInfo> isScalar,
+                                            Predicate<FieldInfo> isKey) {
+        if (fieldInfo.isMap) {
+            if (isKey != null && !isKey.test(fieldInfo.keyInfo)) {
+                return fieldInfo.keyInfo.declaredType;
+            }
+            String keyType = isKey != null ? null : unsupportedTypeOf(model, fieldInfo.keyInfo, isScalar, null);
+            return keyType != null ? keyType : unsupportedTypeOf(model, fieldInfo.valueInfo, isScalar, isKey);
+        }
+        if (isScalar.test(fieldInfo) || model.jsonEntities.containsKey(fieldInfo.declaredType)) {
+            return null;
+        }
+        if (fieldInfo.isCollection || fieldInfo.isArray) {
+            return unsupportedTypeOf(model, fieldInfo.elementInfo, isScalar, isKey);
+        }
+        return fieldInfo.declaredType;
+    }
+
+    /**
+     * Returns a Java identifier part for a type as written in the DTO source
+     * (e.g., "Outer_Inner" for "Outer.Inner").
+     */
+    static String identifierOf(String typeName) {
+        StringBuilder identifier = new StringBuilder(typeName.length());
+        for (int i = 0; i < typeName.length(); i++) {
+            char c = typeName.charAt(i);
+            if (Character.isJavaIdentifierPart(c)) {
+                identifier.append(c);
+            } else if (c != ' ') {
+                identifier.append('_');
+            }
+        }
+        return identifier.toString();
+    }
+
+    /**
+     * Checks whether a serializer is Jackson's {@code ToStringSerializer}.
+     */
+    static boolean isToStringSerializer(String serializer) {
+        return serializer != null && serializer.trim().equals("com.fasterxml.jackson.databind.ser.std.ToStringSerializer");
+    }
+
+    /**
+     * Checks whether a type or any type nested in it is a set, which is read into a {@code HashSet}.
+     */
+    static boolean containsSet(FieldInfo fieldInfo) {
+        if (fieldInfo.isMap) {
+            return containsSet(fieldInfo.keyInfo) || containsSet(fieldInfo.valueInfo);
+        }
+        if (fieldInfo.isCollection || fieldInfo.isArray) {
+            return "Set".equals(fieldInfo.typeName) || containsSet(fieldInfo.elementInfo);
+        }
+        return false;
+    }
+
+    /**
+     * Returns the array creation expression of a component type, without its type arguments
+     * (e.g., "List[8]" for "List&lt;String&gt;", "int[8][]" for "int[]").
+     */
+    static String arrayCreation(FieldInfo componentInfo, String length) {
+        String component = rawTypeOf(componentInfo.declaredType);
+        int dimensions = component.indexOf('[');
+        return dimensions < 0 ? component + "[" + length + "]"
+            : component.substring(0, dimensions) + "[" + length + "]" + component.substring(dimensions);
+    }
+
+    /**
+     * Returns the type name to use after {@code new}, with a diamond for generic types.
+     */
+    static String constructed(String typeName) {
+        return typeName.indexOf('<') >= 0 ? rawTypeOf(typeName) + "<>" : typeName;
+    }
+
+    /**
+     * Removes the type arguments from a type as written in the DTO source.
+     */
+    static String rawTypeOf(String typeName) {
+        StringBuilder raw = new StringBuilder(typeName.length());
+        int depth = 0;
+        for (int i = 0; i < typeName.length(); i++) {
+            char c = typeName.charAt(i);
+            if (c == '<') {
+                depth++;
+            } else if (c == '>') {
+                depth--;
+            } else if (depth == 0) {
+                raw.append(c);
+            }
+        }
+        return raw.toString();
+    }
+
+    /**
+     * Returns the default value of a type as a Java literal, for fields not read yet.
+     */
+    static String defaultValue(FieldInfo fieldInfo) {
+        if (!fieldInfo.isPrimitive) {
+            return "null";
+        }
+        switch (fieldInfo.typeName) {
+            case "boolean":
+                return "false";
+            case "char":
+                return "'\\0'";
+            default:
+                return "0";
+        }
+    }
+}
@@ -0,0 +1,162 @@
+package com.AutoGenClass.generator;
+
+import javax.lang.model.element.TypeElement;
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * Everything needed to render and write one DTO class.
+ *
+ * <p>Instances are created on the compiler thread from the annotated element. Apart from
+ * {@link #sourceClass}, which is only used when writing, the data is plain strings and
+ * {@link FieldInfo} objects that can safely be read from rendering threads.</p>
+ *
+ * @author Mohammed-Salameh
+ * @since 2.0
+ */
+class DtoModel {
+    /** The annotated source class (only accessed on the compiler thread) */
+    final TypeElement sourceClass;
+
+    /** Qualified name of the annotated source class */
+    final String sourceClassName;
+
+    /** Simple name of the DTO class */
+    final String className;
+
+    /** Package of the DTO class */
+    final String packageName;
+
+    /** Field names that do not require special serialization */
+    final String[] simpleFields;
+
+    /** Field names that require serialization */
+    final String[] serializedFields;
+
+    /** Serializers of the serialized fields, in the same order */
+    final String[] serializers;
+
+    /** Type information of every field */
+    final Map<String, FieldInfo> fieldInfoMap;
+
+    /** Module where the DTO should be created */
+    final String moduleName;
+
+    /** Whether a Jackson serializer is generated */
+    boolean jackson;
+
+    /** Whether the zero-dependency JSON writer is generated */
+    boolean json;
+
+    /** Whether the DTO is immutable, with final fields and a cached hash code */
+    boolean immutable;
+
+    /** Whether the DTO is a record, which is also immutable */
+    boolean record;
+
+    /** Whether a nested {@code Builder} is generated */
+    boolean builder;
+
+    /** Whether the DTO is written with generated {@code Externalizable} methods */
+    boolean externalizable;
+
+    /** Whether the compact binary codec is generated */
+    boolean binary;
+
+    /** Whether the tagged binary codec is generated */
+    boolean tagged;
+
+    /** Whether the protobuf codec and schema are generated */
+    boolean protobuf;
+
+    /** Whether the MessagePack codec is generated */
+    boolean messagePack;
+
+    /** Tag of every field in the tagged binary and protobuf formats, aligned with {@link #allFields()} */
+    int[] tags;
+
+    /** Rendered {@code .proto} schema of a DTO with {@code protobuf = true}, null until rendered */
+    byte[] protoContent;
+
+    /** Entity types written as JSON objects, by the binary codecs or as MessagePack maps, by their type as written in the DTO source */
+    Map<String, JsonEntity> jsonEntities = Collections.emptyMap();
+
+    /** Whether each serializer of the serialized fields can be created with a public no-arg constructor */
+    boolean[] instantiableSerializers = new boolean[0];
+
+    /** Source directory the DTO was written to, null in incremental mode */
+    String sourceDir;
+
+    /** Accessors of the source entity used by the mappers */
+    EntityMapping mapping = EntityMapping.NONE;
+
+    /** Rendered UTF-8 source code, set once rendering completed */
+    byte[] content;
+
+    /** Build statistics of this DTO */
+    ProcessorReport.Entry stats;
+
+    /**
+     * Creates a new DTO model.
+     *
+     * @param sourceClass the annotated source class
+     * @param sourceClassName the qualified name of the source class
+     * @param className the simple name of the DTO class
+     * @param packageName the package of the DTO class
+     * @param simpleFields the simple field names
+     * @param serializedFields the serialized field names
+     * @param serializers the serializers of the serialized fields
+     * @param fieldInfoMap the type information of every field
+     * @param moduleName the module where the DTO should be created
+     */
+    DtoModel(TypeElement sourceClass, String sourceClassName, String className, String packageName,
+             String[] simpleFields, String[] serializedFields, String[] serializers,
+             Map<String, FieldInfo> fieldInfoMap, String moduleName) {
+        this.sourceClass = sourceClass;
+        this.sourceClassName = sourceClassName;
+        this.className = className;
+        this.packageName = packageName;
+        this.simpleFields = simpleFields;
+        this.serializedFields = serializedFields;
+        this.serializers = serializers;
+        this.fieldInfoMap = fieldInfoMap;
+        this.moduleName = moduleName;
+    }
+
+    /**
+     * Returns all field names, simple fields first, then serialized fields.
+     *
+     * @return the field names in declaration order
+     */
+    String[] allFields() {
+        String[] allFields = new String[simpleFields.length + serializedFields.length];
+        System.arraycopy(simpleFields, 0, allFields, 0, simpleFields.length);
+        System.arraycopy(serializedFields, 0, allFields, simpleFields.length, serializedFields.length);
+        return allFields;
+    }
+
+    /**
+     * Returns the type information of a field.
+     *
+     * @param fieldName the field name
+     * @return the field's type information, or {@link FieldInfo#OBJECT} if unknown
+     */
+    FieldInfo fieldInfo(String fieldName) {
+        return fieldInfoMap.getOrDefault(fieldName, FieldInfo.OBJECT);
+    }
+
+    /**
+     * Checks whether the all-args constructor would exceed the 255 parameter slots the JVM allows,
+     * counting {@code this} and two slots for every {@code long} and {@code double}.
+     *
+     * @return whether the DTO is too wide for an all-args constructor
+     */
+    boolean wide() {
+        int slots = 1;
+        for (String fieldName : allFields()) {
+            String typeName = fieldInfo(fieldName).declaredType;
+            slots += "long".equals(typeName) || "double".equals(typeName) ? 2 : 1;
+        }
+        return slots > 255;
+    }
+}
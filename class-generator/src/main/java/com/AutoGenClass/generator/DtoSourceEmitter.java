@@ -0,0 +1,1155 @@
+package com.AutoGenClass.generator;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Streams the source code of a DTO class into a {@link Writer}.
+ *
+ * <p>Every section (package, imports, fields, constructors, accessors and utility methods)
+ * is appended once to a small buffer that is flushed to the writer whenever it fills up,
+ * so the complete source is never held as intermediate strings. The buffer is reused
+ * across DTOs; an emitter is therefore not thread-safe and each rendering thread uses
+ * its own instance.</p>
+ *
+ * @author Mohammed-Salameh
+ * @since 2.0
+ */
+class DtoSourceEmitter {
+
+    /** Number of buffered characters after which the buffer is flushed to the writer */
+    private static final int BUFFER_SIZE = 8192;
+
+    /** Reusable buffer holding the not yet flushed output */
+    private final StringBuilder buffer = new StringBuilder(BUFFER_SIZE + 256);
+
+    /** List size from which the generated {@code fromAll} maps in parallel */
+    private final int parallelThreshold;
+
+    /** Number of fields handled per helper method once a DTO has more fields */
+    private final int methodChunkSize;
+
+    /** Emitter of the binary, tagged and protobuf codec methods */
+    private final BinaryCodecEmitter binary;
+
+    /** Emitter of the MessagePack codec methods */
+    private final MessagePackCodecEmitter messagePack;
+
+    /** Emitter of the JSON codec methods */
+    private final JsonCodecEmitter json;
+
+    /** Emitter of the nested Jackson serializer and deserializer */
+    private final JacksonCodecEmitter jackson;
+
+    /** Writer receiving the output of the current DTO */
+    private Writer out;
+
+    /**
+     * Creates an emitter.
+     *
+     * @param parallelThreshold the list size from which the generated {@code fromAll} maps in parallel
+     * @param methodChunkSize the number of fields handled per helper method once a DTO has more fields
+     */
+    DtoSourceEmitter(int parallelThreshold, int methodChunkSize) {
+        this.parallelThreshold = parallelThreshold;
+        this.methodChunkSize = methodChunkSize;
+        this.binary = new BinaryCodecEmitter(this, methodChunkSize);
+        this.messagePack = new MessagePackCodecEmitter(this, methodChunkSize);
+        this.json = new JsonCodecEmitter(this, methodChunkSize);
+        this.jackson = new JacksonCodecEmitter(this, methodChunkSize);
+    }
+
+    /**
+     * Writes the complete source code of a DTO class.
+     *
+     * @param model the DTO model to render
+     * @param out the writer receiving the source code
+     * @throws IOException if the writer fails
+     */
+    void emit(DtoModel model, Writer out) throws IOException {
+        this.out = out;
+        buffer.setLength(0);
+        try {
+            // Generate package declaration
+            append("package ").append(model.packageName).append(";\n\n");
+
+            emitImports(model);
+
+            // Generate class documentation and declaration
+            append("/**\n");
+            append(" * Auto-generated DTO ").append(model.record ? "record" : "class").append(" for ").append(model.sourceClassName).append("\n");
+            append(" */\n");
+            if (model.record) {
+                emitRecordHeader(model);
+                emitMappers(model);
+            } else {
+                if (model.immutable && model.wide()) {
+                    append("@JsonDeserialize(builder = ").append(model.className).append(".Builder.class)\n");
+                }
+                append("public class ").append(model.className).append(" implements ")
+                    .append(model.externalizable && !model.immutable ? "Externalizable" : "Serializable").append(" {\n");
+
+                emitFields(model);
+                emitConstructors(model);
+                emitMappers(model);
+                emitGettersAndSetters(model);
+                emitUtilityMethods(model);
+            }
+            if (model.builder) {
+                emitBuilder(model);
+            }
+            if (model.externalizable) {
+                emitExternalizable(model);
+            }
+            if (model.binary || model.tagged || model.protobuf) {
+                binary.emit(model);
+            }
+            if (model.messagePack) {
+                messagePack.emit(model);
+            }
+            if (model.json) {
+                json.emit(model);
+            }
+            if (model.jackson) {
+                jackson.emit(model);
+            }
+
+            append("}\n");
+            flush();
+        } finally {
+            this.out = null;
+        }
+    }
+
+    /**
+     * Generates import statements based on field types and serializers.
+     */
+    private void emitImports(DtoModel model) throws IOException {
+        // Standard imports that are always needed
+        append("import com.fasterxml.jackson.annotation.JsonProperty;\n");
+        append("import com.fasterxml.jackson.databind.annotation.JsonSerialize;\n");
+        append("import java.io.Serializable;\n");
+        append("import java.util.Objects;\n");
+
+        // Add serializer imports (sorted to keep the output deterministic)
+        Set<String> importSet = new TreeSet<>();
+        if (model.serializers != null) {
+            for (String serializer : model.serializers) {
+                if (serializer != null && !serializer.trim().isEmpty()) {
+                    importSet.add(serializer);
+                }
+            }
+        }
+
+        // Import the source entity and the collection types used by the mappers
+        if (model.mapping.entityImport != null && (model.mapping.canMapFrom() || model.mapping.canMapTo())) {
+            importSet.add(model.mapping.entityImport);
+        }
+        if (model.mapping.canMapFrom()) {
+            importSet.add("java.util.ArrayList");
+            importSet.add("java.util.Arrays");
+            importSet.add("java.util.List");
+            importSet.add("java.util.RandomAccess");
+            importSet.add("java.util.stream.Collectors");
+            importSet.add("java.util.stream.IntStream");
+            importSet.add("java.util.stream.Stream");
+        }
+
+        if (model.immutable) {
+            if (model.record) {
+                // Records are bound through their canonical constructor
+            } else if (model.wide()) {
+                importSet.add("com.fasterxml.jackson.databind.annotation.JsonDeserialize");
+                importSet.add("com.fasterxml.jackson.databind.annotation.JsonPOJOBuilder");
+            } else {
+                importSet.add("com.fasterxml.jackson.annotation.JsonCreator");
+            }
+            for (FieldInfo fieldInfo : model.fieldInfoMap.values()) {
+                if (fieldInfo.isCollection && !fieldInfo.isArray) {
+                    importSet.add("java.util.Collections");
+                    importSet.add(fieldInfo.isMap ? "java.util.LinkedHashMap"
+                        : "Set".equals(fieldInfo.typeName) ? "java.util.LinkedHashSet" : "java.util.ArrayList");
+                    if (isSplit(model)) {
+                        // Signatures of the unmodifiableCopy helpers
+                        String kind = copyKindOf(fieldInfo);
+                        importSet.add("java.util." + kind);
+                        if ("Collection".equals(kind)) {
+                            importSet.add("java.util.List");
+                        }
+                    }
+                }
+            }
+        }
+
+        if (model.externalizable) {
+            importSet.add("java.io.Externalizable");
+            importSet.add("java.io.IOException");
+            importSet.add("java.io.ObjectInput");
+            importSet.add("java.io.ObjectOutput");
+            if (model.immutable && !model.record) {
+                importSet.add("java.io.InvalidObjectException");
+                importSet.add("java.io.ObjectInputStream");
+            }
+        }
+
+        if (model.binary || model.tagged || model.protobuf) {
+            binary.addImports(model, importSet);
+        }
+        if (model.messagePack) {
+            messagePack.addImports(model, importSet);
+        }
+        if (model.json) {
+            json.addImports(model, importSet);
+        }
+        if (model.jackson) {
+            jackson.addImports(model, importSet);
+        }
+
+        // Collect imports based on field types, including collection element and map key/value types
+        for (FieldInfo fieldInfo : model.fieldInfoMap.values()) {
+            importSet.addAll(fieldInfo.imports);
+        }
+
+        for (String importName : importSet) {
+            append("import ").append(importName).append(";\n");
+        }
+        append("\n");
+    }
+
+    /**
+     * Generates field declarations with proper types and Jackson annotations.
+     */
+    private void emitFields(DtoModel model) throws IOException {
+        append("    private static final long serialVersionUID = ").append(Long.toString(serialVersionUidOf(model))).append("L;\n\n");
+
+        // Generate simple fields (no special serialization)
+        for (String fieldName : model.simpleFields) {
+            FieldInfo fieldInfo = model.fieldInfo(fieldName);
+            append("    @JsonProperty(\"").append(fieldName).append("\")\n");
+            append("    private ").append(model.immutable ? "final " : "").append(fieldInfo.declaredType).append(" ")
+                .append(fieldName).append(";\n");
+            append("\n");
+        }
+
+        // Generate serialized fields (with custom serializers)
+        for (int i = 0; i < model.serializedFields.length && i < model.serializers.length; i++) {
+            String fieldName = model.serializedFields[i];
+            FieldInfo fieldInfo = model.fieldInfo(fieldName);
+
+            append("    @JsonProperty(\"").append(fieldName).append("\")\n");
+            append("    @JsonSerialize(using = ").append(getSimpleClassName(model.serializers[i])).append(".class)\n");
+            append("    private ").append(model.immutable ? "final " : "").append(fieldInfo.declaredType).append(" ")
+                .append(fieldName).append(";\n");
+            append("\n");
+        }
+
+        // Immutable DTOs compute their hash code once, 0 until then
+        if (model.immutable) {
+            append("    private transient int hashCode;\n\n");
+        }
+    }
+
+    /**
+     * Generates the default and the all-args constructor. Immutable DTOs only have the all-args
+     * constructor, which Jackson uses as creator and which copies collection fields into
+     * unmodifiable collections. DTOs too wide for an all-args constructor are created through
+     * their builder instead, immutable ones with a private constructor taking the builder.
+     */
+    private void emitConstructors(DtoModel model) throws IOException {
+        // Generate default constructor
+        if (!model.immutable) {
+            append("    public ").append(model.className).append("() {\n");
+            append("    }\n");
+        }
+
+        if (model.wide()) {
+            if (model.immutable) {
+                emitBuilderConstructor(model);
+                emitCopyHelpers(model);
+            }
+            return;
+        }
+
+        // Generate all-args constructor
+        append(model.immutable ? "" : "\n");
+        if (model.immutable) {
+            append("    @JsonCreator\n");
+        }
+        append("    public ").append(model.className).append("(\n");
+        String[] allFields = model.allFields();
+        for (int i = 0; i < allFields.length; i++) {
+            append("        ");
+            if (model.immutable) {
+                append("@JsonProperty(\"").append(allFields[i]).append("\") ");
+            }
+            append(model.fieldInfo(allFields[i]).declaredType).append(" ").append(allFields[i]);
+            append(i < allFields.length - 1 ? ",\n" : "\n");
+        }
+
+        // Constructor body - assign parameters to fields
+        append("    ) {\n");
+        for (String fieldName : allFields) {
+            FieldInfo fieldInfo = model.fieldInfo(fieldName);
+            append("        this.").append(fieldName).append(" = ");
+            if (model.immutable && fieldInfo.isCollection && !fieldInfo.isArray) {
+                append(nullSafeCopyOf(model, fieldName, fieldInfo));
+            } else {
+                append(fieldName);
+            }
+            append(";\n");
+        }
+        append("    }\n");
+        if (model.immutable) {
+            emitCopyHelpers(model);
+        }
+    }
+
+    /**
+     * Generates the private constructor of an immutable DTO too wide for an all-args constructor,
+     * which copies the fields from its builder.
+     */
+    private void emitBuilderConstructor(DtoModel model) throws IOException {
+        append("    private ").append(model.className).append("(Builder builder) {\n");
+        for (String fieldName : model.allFields()) {
+            FieldInfo fieldInfo = model.fieldInfo(fieldName);
+            String value = "builder." + fieldName;
+            append("        this.").append(fieldName).append(" = ");
+            if (fieldInfo.isCollection && !fieldInfo.isArray) {
+                append(nullSafeCopyOf(model, value, fieldInfo));
+            } else {
+                append(value);
+            }
+            append(";\n");
+        }
+        append("    }\n");
+    }
+
+    /**
+     * Generates the declaration of a record DTO, whose components carry the annotations of the
+     * fields, and its compact constructor if collection fields need unmodifiable copies. Jackson
+     * binds records through their canonical constructor, so it needs no {@code @JsonCreator}.
+     */
+    private void emitRecordHeader(DtoModel model) throws IOException {
+        String[] allFields = model.allFields();
+        append("public record ").append(model.className).append("(").append(allFields.length > 0 ? "\n" : "");
+        for (int i = 0; i < allFields.length; i++) {
+            String fieldName = allFields[i];
+            FieldInfo fieldInfo = model.fieldInfo(fieldName);
+            int serializedIndex = i - model.simpleFields.length;
+            append("        @JsonProperty(\"").append(fieldName).append("\") ");
+            if (serializedIndex >= 0) {
+                append("@JsonSerialize(using = ").append(getSimpleClassName(model.serializers[serializedIndex])).append(".class) ");
+            }
+            append(fieldInfo.declaredType).append(" ").append(fieldName).append(i < allFields.length - 1 ? ",\n" : "\n");
+        }
+        append(") implements Serializable {\n");
+        append("\n");
+        append("    private static final long serialVersionUID = ").append(Long.toString(serialVersionUidOf(model))).append("L;\n");
+
+        boolean copies = false;
+        for (String fieldName : allFields) {
+            FieldInfo fieldInfo = model.fieldInfo(fieldName);
+            if (fieldInfo.isCollection && !fieldInfo.isArray) {
+                if (!copies) {
+                    append("\n");
+                    append("    public ").append(model.className).append(" {\n");
+                    copies = true;
+                }
+                append("        ").append(fieldName).append(" = ").append(nullSafeCopyOf(model, fieldName, fieldInfo)).append(";\n");
+            }
+        }
+        if (copies) {
+            append("    }\n");
+            emitCopyHelpers(model);
+        }
+    }
+
+    /**
+     * Returns whether the DTO has more fields than fit in one chunk, so that equals, hashCode,
+     * toString, the mappers and the codec methods delegate to helper methods and collections are
+     * copied by static helpers, keeping every generated method well below HotSpot's limit of 8000
+     * bytecodes for JIT compilation. Split immutable DTOs are read into their builder.
+     */
+    boolean isSplit(DtoModel model) {
+        return model.allFields().length > methodChunkSize;
+    }
+
+    /**
+     * Returns the expression copying a collection or map field into an unmodifiable one, or null
+     * if the value is null. Split DTOs call a static helper to keep their constructor small.
+     */
+    private String nullSafeCopyOf(DtoModel model, String value, FieldInfo fieldInfo) {
+        if (isSplit(model)) {
+            return "unmodifiableCopy(" + value + ")";
+        }
+        return value + " == null ? null : " + unmodifiableCopyOf(value, copyKindOf(fieldInfo));
+    }
+
+    /**
+     * Generates the static {@code unmodifiableCopy} helpers used by the constructor of a split
+     * immutable DTO, one overload per kind of collection field.
+     */
+    private void emitCopyHelpers(DtoModel model) throws IOException {
+        if (!isSplit(model)) {
+            return;
+        }
+        Set<String> kinds = new TreeSet<>();
+        for (String fieldName : model.allFields()) {
+            FieldInfo fieldInfo = model.fieldInfo(fieldName);
+            if (fieldInfo.isCollection && !fieldInfo.isArray) {
+                kinds.add(copyKindOf(fieldInfo));
+            }
+        }
+        for (String kind : kinds) {
+            append("\n");
+            switch (kind) {
+                case "Map":
+                    append("    private static <K, V> Map<K, V> unmodifiableCopy(Map<K, V> values) {\n");
+                    break;
+                case "Set":
+                    append("    private static <E> Set<E> unmodifiableCopy(Set<E> values) {\n");
+                    break;
+                default:
+                    append("    private static <E> List<E> unmodifiableCopy(Collection<E> values) {\n");
+            }
+            append("        return values == null ? null : ")
+                .append(unmodifiableCopyOf("values", kind)).append(";\n");
+            append("    }\n");
+        }
+    }
+
+    /**
+     * Returns the kind of unmodifiable copy made of a collection field: Map, Set or Collection.
+     */
+    private static String copyKindOf(FieldInfo fieldInfo) {
+        return "Map".equals(fieldInfo.typeName) || "Set".equals(fieldInfo.typeName) ? fieldInfo.typeName : "Collection";
+    }
+
+    /**
+     * Returns the expression copying a collection or map into an unmodifiable one, keeping the
+     * iteration order and null elements. Plain collections become lists, as the view of
+     * {@code unmodifiableCollection} does not compare by value.
+     */
+    private static String unmodifiableCopyOf(String value, String kind) {
+        switch (kind) {
+            case "Map":
+                return "Collections.unmodifiableMap(new LinkedHashMap<>(" + value + "))";
+            case "Set":
+                return "Collections.unmodifiableSet(new LinkedHashSet<>(" + value + "))";
+            default:
+                return "Collections.unmodifiableList(new ArrayList<>(" + value + "))";
+        }
+    }
+
+    /**
+     * Generates the static {@code from(Entity)} and the {@code toEntity()} mappers, which copy
+     * every field through the entity's accessors, and the bulk {@code fromAll} mappers. Split DTOs
+     * copy the fields in chunks of helper methods ({@code from0}, {@code toEntity0}, ...), filling
+     * the builder of an immutable DTO.
+     */
+    private void emitMappers(DtoModel model) throws IOException {
+        EntityMapping mapping = model.mapping;
+        String[] allFields = model.allFields();
+        boolean split = isSplit(model);
+        int chunks = (allFields.length + methodChunkSize - 1) / methodChunkSize;
+
+        if (mapping.canMapFrom()) {
+            append("\n");
+            append("    public static ").append(model.className).append(" from(").append(mapping.entityType).append(" entity) {\n");
+            append("        if (entity == null) {\n");
+            append("            return null;\n");
+            append("        }\n");
+            if (split) {
+                String target = model.immutable ? "builder" : "dto";
+                append("        ").append(model.immutable ? "Builder" : model.className).append(" ").append(target)
+                    .append(" = new ").append(model.immutable ? "Builder" : model.className).append("();\n");
+                for (int chunk = 0; chunk < chunks; chunk++) {
+                    append("        from").append(Integer.toString(chunk)).append("(entity, ").append(target).append(");\n");
+                }
+                append(model.immutable ? "        return builder.build();\n" : "        return dto;\n");
+                append("    }\n");
+                for (int chunk = 0; chunk < chunks; chunk++) {
+                    append("\n");
+                    append("    private static void from").append(Integer.toString(chunk)).append("(").append(mapping.entityType)
+                        .append(" entity, ").append(model.immutable ? "Builder" : model.className).append(" ").append(target).append(") {\n");
+                    for (int i = chunk * methodChunkSize; i < Math.min(allFields.length, (chunk + 1) * methodChunkSize); i++) {
+                        append("        ").append(target).append(".").append(allFields[i]).append(" = entity.")
+                            .append(mapping.getters[i]).append(";\n");
+                    }
+                    append("    }\n");
+                }
+            } else if (model.immutable && model.wide()) {
+                String[] values = new String[allFields.length];
+                for (int i = 0; i < allFields.length; i++) {
+                    values[i] = "entity." + mapping.getters[i];
+                }
+                append("        return ");
+                emitBuilderChain(model, values, "        ");
+                append(";\n");
+            } else if (model.immutable) {
+                append("        return new ").append(model.className).append("(\n");
+                for (int i = 0; i < allFields.length; i++) {
+                    append("            entity.").append(mapping.getters[i]).append(i < allFields.length - 1 ? ",\n" : "\n");
+                }
+                append("        );\n");
+            } else {
+                append("        ").append(model.className).append(" dto = new ").append(model.className).append("();\n");
+                for (int i = 0; i < allFields.length; i++) {
+                    append("        dto.").append(allFields[i]).append(" = entity.").append(mapping.getters[i]).append(";\n");
+                }
+                append("        return dto;\n");
+            }
+            if (!split) {
+                append("    }\n");
+            }
+            emitBulkMappers(model.className, mapping.entityType);
+        }
+
+        if (mapping.canMapTo()) {
+            append("\n");
+            append("    public ").append(mapping.entityType).append(" toEntity() {\n");
+            append("        ").append(mapping.entityType).append(" entity = new ").append(mapping.entityType).append("();\n");
+            if (split) {
+                for (int chunk = 0; chunk < chunks; chunk++) {
+                    append("        toEntity").append(Integer.toString(chunk)).append("(entity);\n");
+                }
+                append("        return entity;\n");
+                append("    }\n");
+                for (int chunk = 0; chunk < chunks; chunk++) {
+                    append("\n");
+                    append("    private void toEntity").append(Integer.toString(chunk)).append("(").append(mapping.entityType)
+                        .append(" entity) {\n");
+                    emitEntityWrites(model, chunk * methodChunkSize, Math.min(allFields.length, (chunk + 1) * methodChunkSize));
+                    append("    }\n");
+                }
+            } else {
+                emitEntityWrites(model, 0, allFields.length);
+                append("        return entity;\n");
+                append("    }\n");
+            }
+        }
+    }
+
+    /**
+     * Generates the statements copying a range of the fields onto {@code entity}.
+     */
+    private void emitEntityWrites(DtoModel model, int from, int to) throws IOException {
+        EntityMapping mapping = model.mapping;
+        String[] allFields = model.allFields();
+        for (int i = from; i < to; i++) {
+            if (mapping.isFieldWrite(i, allFields[i])) {
+                append("        entity.").append(allFields[i]).append(" = this.").append(allFields[i]).append(";\n");
+            } else {
+                append("        entity.").append(mapping.setters[i]).append("(this.").append(allFields[i]).append(");\n");
+            }
+        }
+    }
+
+    /**
+     * Generates the {@code fromAll} mappers for lists and streams of entities.
+     *
+     * <p>Lists are mapped into a pre-sized {@code ArrayList}. Random access lists of at least
+     * the parallel threshold are mapped on the common fork-join pool into an array indexed
+     * like the source list, so the order is kept without merging partial results.</p>
+     */
+    private void emitBulkMappers(String className, String entityType) throws IOException {
+        append("\n");
+        append("    public static List<").append(className).append("> fromAll(List<").append(entityType).append("> entities) {\n");
+        append("        return fromAll(entities, ").append(Integer.toString(parallelThreshold)).append(");\n");
+        append("    }\n\n");
+
+        append("    public static List<").append(className).append("> fromAll(List<").append(entityType).append("> entities, int parallelThreshold) {\n");
+        append("        if (entities == null) {\n");
+        append("            return null;\n");
+        append("        }\n");
+        append("        int size = entities.size();\n");
+        append("        if (size >= parallelThreshold && entities instanceof RandomAccess) {\n");
+        append("            ").append(className).append("[] dtos = new ").append(className).append("[size];\n");
+        append("            IntStream.range(0, size).parallel().forEach(i -> dtos[i] = from(entities.get(i)));\n");
+        append("            return new ArrayList<>(Arrays.asList(dtos));\n");
+        append("        }\n");
+        append("        List<").append(className).append("> dtos = new ArrayList<>(size);\n");
+        append("        for (").append(entityType).append(" entity : entities) {\n");
+        append("            dtos.add(from(entity));\n");
+        append("        }\n");
+        append("        return dtos;\n");
+        append("    }\n\n");
+
+        append("    public static List<").append(className).append("> fromAll(Stream<").append(entityType).append("> entities) {\n");
+        append("        return entities.map(").append(className).append("::from).collect(Collectors.toCollection(ArrayList::new));\n");
+        append("    }\n");
+    }
+
+    /**
+     * Generates getter and setter methods for all fields, only getters for immutable DTOs.
+     */
+    private void emitGettersAndSetters(DtoModel model) throws IOException {
+        for (String fieldName : model.allFields()) {
+            String type = model.fieldInfo(fieldName).declaredType;
+            String capitalizedFieldName = capitalize(fieldName);
+
+            // Generate getter method
+            append("\n");
+            append("    public ").append(type).append(" get").append(capitalizedFieldName).append("() {\n");
+            append("        return ").append(fieldName).append(";\n");
+            append("    }\n");
+
+            if (model.immutable) {
+                continue;
+            }
+
+            // Generate setter method
+            append("\n");
+            append("    public void set").append(capitalizedFieldName).append("(").append(type).append(" ").append(fieldName).append(") {\n");
+            append("        this.").append(fieldName).append(" = ").append(fieldName).append(";\n");
+            append("    }\n");
+        }
+    }
+
+    /**
+     * Generates equals, hashCode and toString based on all fields. equals compares the fields
+     * ordered by their estimated cost, primitives with {@code ==}. Split DTOs handle the fields in
+     * chunks of helper methods ({@code equals0}, {@code hashCode0}, {@code toString0}, ...), so
+     * every method stays small enough to be JIT-compiled and inlined.
+     */
+    private void emitUtilityMethods(DtoModel model) throws IOException {
+        String className = model.className;
+        String[] allFields = model.allFields();
+        boolean split = isSplit(model);
+        int chunks = (allFields.length + methodChunkSize - 1) / methodChunkSize;
+
+        // Generate equals method
+        append("\n");
+        append("    @Override\n");
+        append("    public boolean equals(Object obj) {\n");
+        append("        if (this == obj) return true;\n");
+        append("        if (obj == null || getClass() != obj.getClass()) return false;\n");
+        append("        ").append(className).append(" that = (").append(className).append(") obj;\n");
+        if (model.immutable) {
+            append("        if (hashCode != 0 && that.hashCode != 0 && hashCode != that.hashCode) return false;\n");
+        }
+        // Compare the cheapest fields first, so that most mismatches are found before collections
+        String[] comparedFields = allFields.clone();
+        Arrays.sort(comparedFields, Comparator.comparingInt(fieldName -> equalsCost(model.fieldInfo(fieldName))));
+        if (split) {
+            append("        return ");
+            for (int chunk = 0; chunk < chunks; chunk++) {
+                append(chunk > 0 ? " && " : "").append("equals").append(Integer.toString(chunk)).append("(that)");
+            }
+            append(";\n");
+            append("    }\n\n");
+            for (int chunk = 0; chunk < chunks; chunk++) {
+                append("    private boolean equals").append(Integer.toString(chunk)).append("(").append(className).append(" that) {\n");
+                emitEqualsReturn(model, comparedFields, chunk * methodChunkSize,
+                    Math.min(comparedFields.length, (chunk + 1) * methodChunkSize));
+                append("    }\n\n");
+            }
+        } else {
+            emitEqualsReturn(model, comparedFields, 0, comparedFields.length);
+            append("    }\n\n");
+        }
+
+        // Generate hashCode method, unrolled to the same values as Objects.hash without boxing or varargs
+        // Immutable DTOs cache it racily like String does, as every thread computes the same value
+        append("    @Override\n");
+        append("    public int hashCode() {\n");
+        String indent = "        ";
+        if (model.immutable) {
+            append("        int result = hashCode;\n");
+            append("        if (result == 0) {\n");
+            indent = "            ";
+        }
+        append(indent).append(model.immutable ? "result = 1;\n" : "int result = 1;\n");
+        if (split) {
+            for (int chunk = 0; chunk < chunks; chunk++) {
+                append(indent).append("result = hashCode").append(Integer.toString(chunk)).append("(result);\n");
+            }
+        } else {
+            emitHashSteps(model, allFields, 0, allFields.length, indent);
+        }
+        if (model.immutable) {
+            append("            hashCode = result;\n");
+            append("        }\n");
+        }
+        append("        return result;\n");
+        append("    }\n\n");
+        if (split) {
+            for (int chunk = 0; chunk < chunks; chunk++) {
+                append("    private int hashCode").append(Integer.toString(chunk)).append("(int result) {\n");
+                emitHashSteps(model, allFields, chunk * methodChunkSize,
+                    Math.min(allFields.length, (chunk + 1) * methodChunkSize), "        ");
+                append("        return result;\n");
+                append("    }\n\n");
+            }
+        }
+
+        // Generate toString method
+        append("    @Override\n");
+        append("    public String toString() {\n");
+        if (split) {
+            // Appends to one builder what the concatenation below returns for fewer fields
+            append("        StringBuilder sb = new StringBuilder(\"").append(className).append("{\");\n");
+            for (int chunk = 0; chunk < chunks; chunk++) {
+                append("        toString").append(Integer.toString(chunk)).append("(sb);\n");
+            }
+            append("        return sb.append('}').toString();\n");
+            append("    }\n");
+            for (int chunk = 0; chunk < chunks; chunk++) {
+                append("\n");
+                append("    private void toString").append(Integer.toString(chunk)).append("(StringBuilder sb) {\n");
+                for (int i = chunk * methodChunkSize; i < Math.min(allFields.length, (chunk + 1) * methodChunkSize); i++) {
+                    String field = allFields[i].equals("sb") ? "this.sb" : allFields[i];
+                    // char[] is concatenated by identity, but appended by content
+                    String value = "char[]".equals(model.fieldInfo(allFields[i]).declaredType) ? "(Object) " + field : field;
+                    append("        sb.append(\"").append(allFields[i]).append("=\").append(").append(value).append(")");
+                    append(i < allFields.length - 1 ? ".append(',');\n" : ";\n");
+                }
+                append("    }\n");
+            }
+            return;
+        }
+        append("        return \"").append(className).append("{\" +\n");
+        for (int i = 0; i < allFields.length; i++) {
+            append("                \"").append(allFields[i]).append("=\" + ").append(allFields[i]);
+            append(i < allFields.length - 1 ? " + \",\" +\n" : " +\n");
+        }
+        append("                '}';\n");
+        append("    }\n");
+    }
+
+    /**
+     * Generates the return statement comparing a range of the cost-ordered fields with {@code that}.
+     */
+    private void emitEqualsReturn(DtoModel model, String[] comparedFields, int from, int to) throws IOException {
+        append("        return ");
+        append(from == to ? "true;\n" : "\n");
+        for (int i = from; i < to; i++) {
+            append("                ").append(equalsOf(comparedFields[i], model.fieldInfo(comparedFields[i])));
+            append(i < to - 1 ? " &&\n" : ";\n");
+        }
+    }
+
+    /**
+     * Generates the statements adding the hash codes of a range of fields to {@code result}.
+     */
+    private void emitHashSteps(DtoModel model, String[] allFields, int from, int to, String indent) throws IOException {
+        for (int i = from; i < to; i++) {
+            String field = allFields[i].equals("result") ? "this.result" : allFields[i];
+            append(indent).append("result = 31 * result + ").append(hashOf(field, model.fieldInfo(allFields[i]))).append(";\n");
+        }
+    }
+
+    /**
+     * Returns the estimated cost class of comparing a field: primitives, then wrappers, enums and
+     * arrays (compared by reference), then strings, then other objects, then collections and maps.
+     */
+    private static int equalsCost(FieldInfo fieldInfo) {
+        if (fieldInfo.isPrimitive) {
+            return 0;
+        }
+        switch (fieldInfo.typeName) {
+            case "String":
+                return 2;
+            case "Object":
+                return 3;
+            default:
+                break;
+        }
+        if (fieldInfo.isWrapper || fieldInfo.isEnum || fieldInfo.isArray) {
+            return 1;
+        }
+        return fieldInfo.isCollection ? 4 : 3;
+    }
+
+    /**
+     * Returns the equality check of a field with the field of {@code that}, equal to comparing the
+     * boxed values. Floating point values compare their bits like {@code Double.equals}. Fields
+     * named like the parameter or the local variable of equals are qualified with {@code this}.
+     */
+    private static String equalsOf(String fieldName, FieldInfo fieldInfo) {
+        String field = fieldName.equals("obj") || fieldName.equals("that") ? "this." + fieldName : fieldName;
+        if (!fieldInfo.isPrimitive) {
+            return "Objects.equals(" + field + ", that." + fieldName + ")";
+        }
+        switch (fieldInfo.typeName) {
+            case "float":
+                return "Float.floatToIntBits(" + field + ") == Float.floatToIntBits(that." + fieldName + ")";
+            case "double":
+                return "Double.doubleToLongBits(" + field + ") == Double.doubleToLongBits(that." + fieldName + ")";
+            default:
+                return field + " == that." + fieldName;
+        }
+    }
+
+    /**
+     * Returns the hash code expression of a field, equal to the hash code of its boxed value.
+     */
+    private static String hashOf(String field, FieldInfo fieldInfo) {
+        if (fieldInfo.isPrimitive) {
+            return boxedName(fieldInfo.typeName) + ".hashCode(" + field + ")";
+        }
+        return "(" + field + " == null ? 0 : " + field + ".hashCode())";
+    }
+
+    /**
+     * Generates the nested {@code Builder} and the static {@code builder()} method creating one.
+     *
+     * <p>Every field has a fluent method that also sets the field's bit in a bitmask of one
+     * {@code long} per 64 fields. {@code reset()} restores the defaults of the fields set since
+     * the last reset, skipping words without a set bit, so one builder can create many DTOs
+     * without keeping references to old values. The builder of a mutable DTO also copies only
+     * its set fields onto an existing DTO with {@code applyTo}. Builders are not thread-safe.</p>
+     */
+    private void emitBuilder(DtoModel model) throws IOException {
+        String className = model.className;
+        String[] allFields = model.allFields();
+        int words = (allFields.length + 63) / 64;
+
+        append("\n");
+        append("    public static Builder builder() {\n");
+        append("        return new Builder();\n");
+        append("    }\n\n");
+
+        if (model.immutable && !model.record && model.wide()) {
+            append("    @JsonPOJOBuilder(withPrefix = \"\")\n");
+        }
+        append("    public static final class Builder {\n");
+        for (int word = 0; word < words; word++) {
+            append("        private long assigned").append(Integer.toString(word)).append(";\n");
+        }
+        for (String fieldName : allFields) {
+            append("        private ").append(model.fieldInfo(fieldName).declaredType).append(" ").append(fieldName).append(";\n");
+        }
+        append(allFields.length > 0 ? "\n" : "");
+        append("        public Builder() {\n");
+        append("        }\n");
+
+        for (int i = 0; i < allFields.length; i++) {
+            String fieldName = allFields[i];
+            append("\n");
+            append("        public Builder ").append(fieldName).append("(").append(model.fieldInfo(fieldName).declaredType)
+                .append(" ").append(fieldName).append(") {\n");
+            append("            this.").append(fieldName).append(" = ").append(fieldName).append(";\n");
+            append("            assigned").append(Integer.toString(i / 64)).append(" |= ").append(bitOf(i)).append(";\n");
+            append("            return this;\n");
+            append("        }\n");
+        }
+
+        append("\n");
+        append("        public ").append(className).append(" build() {\n");
+        if (!model.immutable) {
+            append("            ").append(className).append(" dto = new ").append(className).append("();\n");
+            for (String fieldName : allFields) {
+                append("            dto.").append(fieldName).append(" = this.").append(fieldName).append(";\n");
+            }
+            append("            return dto;\n");
+        } else if (model.wide()) {
+            append("            return new ").append(className).append("(this);\n");
+        } else {
+            append("            return new ").append(className).append("(");
+            for (int i = 0; i < allFields.length; i++) {
+                append(i > 0 ? ", " : "").append("this.").append(allFields[i]);
+            }
+            append(");\n");
+        }
+        append("        }\n");
+
+        if (!model.immutable) {
+            append("\n");
+            append("        public ").append(className).append(" applyTo(").append(className).append(" dto) {\n");
+            for (int i = 0; i < allFields.length; i++) {
+                append("            if ((assigned").append(Integer.toString(i / 64)).append(" & ").append(bitOf(i)).append(") != 0) {\n");
+                append("                dto.").append(allFields[i]).append(" = this.").append(allFields[i]).append(";\n");
+                append("            }\n");
+            }
+            append("            return dto;\n");
+            append("        }\n");
+        }
+
+        append("\n");
+        append("        public Builder reset() {\n");
+        for (int word = 0; word < words; word++) {
+            String assigned = "assigned" + word;
+            append("            if (").append(assigned).append(" != 0) {\n");
+            for (int i = word * 64; i < Math.min(allFields.length, word * 64 + 64); i++) {
+                append("                if ((").append(assigned).append(" & ").append(bitOf(i)).append(") != 0) {\n");
+                append("                    this.").append(allFields[i]).append(" = ")
+                    .append(CodecEmitter.defaultValue(model.fieldInfo(allFields[i]))).append(";\n");
+                append("                }\n");
+            }
+            append("                ").append(assigned).append(" = 0;\n");
+            append("            }\n");
+        }
+        append("            return this;\n");
+        append("        }\n");
+        append("    }\n");
+    }
+
+    /**
+     * Returns the mask of a field's bit in its word of the builder bitmask.
+     */
+    private static String bitOf(int index) {
+        return index % 64 == 0 ? "1L" : "1L << " + index % 64;
+    }
+
+    /**
+     * Generates the creation of a DTO through its builder, used for DTOs too wide for an all-args
+     * constructor. The values are expressions in field order.
+     */
+    void emitBuilderChain(DtoModel model, String[] values, String indent) throws IOException {
+        String[] allFields = model.allFields();
+        append("new Builder()");
+        for (int i = 0; i < allFields.length; i++) {
+            append("\n").append(indent).append("    .").append(allFields[i]).append("(").append(values[i]).append(")");
+        }
+        append("\n").append(indent).append("    .build()");
+    }
+
+    /**
+     * Computes the serialVersionUID of a DTO from its serialized shape: the qualified class name,
+     * the name and declared type of every field in order, and whether it is externalizable. Like
+     * the default one, it is the first 8 bytes of a hash, but it does not change with the methods
+     * of the DTO, and computing it costs nothing at runtime.
+     */
+    private static long serialVersionUidOf(DtoModel model) {
+        StringBuilder shape = new StringBuilder(model.packageName).append('.').append(model.className);
+        for (String fieldName : model.allFields()) {
+            shape.append(';').append(fieldName).append(':').append(model.fieldInfo(fieldName).declaredType);
+        }
+        if (model.externalizable) {
+            shape.append(";externalizable");
+        }
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(shape.toString().getBytes(StandardCharsets.UTF_8));
+            return ByteBuffer.wrap(hash).getLong();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    /**
+     * Generates {@code writeExternal} and {@code readExternal}, which write the fields in declaration
+     * order: primitives with their own {@code ObjectOutput} methods, boxed primitives as a presence
+     * flag and the primitive, and all other values with {@code writeObject}.
+     *
+     * <p>Immutable DTOs and records cannot be read into an existing instance, so they are replaced
+     * in the stream by a nested {@code ExternalForm} proxy, which creates the DTO through its
+     * constructor and resolves to it. Immutable classes reject streams without the proxy.</p>
+     */
+    private void emitExternalizable(DtoModel model) throws IOException {
+        String className = model.className;
+        String[] allFields = model.allFields();
+        boolean unchecked = false;
+        for (String fieldName : allFields) {
+            unchecked |= model.fieldInfo(fieldName).declaredType.contains("<");
+        }
+
+        if (!model.immutable) {
+            append("\n");
+            append("    @Override\n");
+            append("    public void writeExternal(ObjectOutput out) throws IOException {\n");
+            for (String fieldName : allFields) {
+                emitExternalWrite(fieldName, model.fieldInfo(fieldName), "        ");
+            }
+            append("    }\n\n");
+
+            append("    @Override\n");
+            if (unchecked) {
+                append("    @SuppressWarnings(\"unchecked\")\n");
+            }
+            append("    public void readExternal(ObjectInput in) throws IOException, ClassNotFoundException {\n");
+            for (String fieldName : allFields) {
+                append("        this.").append(fieldName).append(" = ").append(externalRead(model.fieldInfo(fieldName))).append(";\n");
+            }
+            append("    }\n");
+            return;
+        }
+
+        append("\n");
+        append("    private Object writeReplace() {\n");
+        append("        return new ExternalForm(this);\n");
+        append("    }\n");
+        if (!model.record) {
+            append("\n");
+            append("    private void readObject(ObjectInputStream in) throws InvalidObjectException {\n");
+            append("        throw new InvalidObjectException(\"").append(className).append(" is read through its ExternalForm\");\n");
+            append("    }\n");
+        }
+
+        append("\n");
+        append("    public static final class ExternalForm implements Externalizable {\n");
+        append("        private static final long serialVersionUID = ").append(Long.toString(serialVersionUidOf(model))).append("L;\n\n");
+        append("        private ").append(className).append(" dto;\n\n");
+        append("        public ExternalForm() {\n");
+        append("        }\n\n");
+        append("        ExternalForm(").append(className).append(" dto) {\n");
+        append("            this.dto = dto;\n");
+        append("        }\n\n");
+
+        append("        @Override\n");
+        append("        public void writeExternal(ObjectOutput out) throws IOException {\n");
+        for (String fieldName : allFields) {
+            emitExternalWrite("dto." + fieldName, model.fieldInfo(fieldName), "            ");
+        }
+        append("        }\n\n");
+
+        append("        @Override\n");
+        if (unchecked) {
+            append("        @SuppressWarnings(\"unchecked\")\n");
+        }
+        append("        public void readExternal(ObjectInput in) throws IOException, ClassNotFoundException {\n");
+        String[] values = new String[allFields.length];
+        for (int i = 0; i < allFields.length; i++) {
+            FieldInfo fieldInfo = model.fieldInfo(allFields[i]);
+            values[i] = "p" + i;
+            append("            ").append(fieldInfo.declaredType).append(" ").append(values[i]).append(" = ")
+                .append(externalRead(fieldInfo)).append(";\n");
+        }
+        append("            dto = ");
+        if (model.wide()) {
+            emitBuilderChain(model, values, "            ");
+        } else {
+            append("new ").append(className).append("(").append(String.join(", ", values)).append(")");
+        }
+        append(";\n");
+        append("        }\n\n");
+
+        append("        private Object readResolve() {\n");
+        append("            return dto;\n");
+        append("        }\n");
+        append("    }\n");
+    }
+
+    /**
+     * Generates the statements writing one field to the {@code ObjectOutput out}.
+     */
+    private void emitExternalWrite(String value, FieldInfo fieldInfo, String indent) throws IOException {
+        if (fieldInfo.isPrimitive) {
+            append(indent).append("out.write").append(capitalize(fieldInfo.typeName)).append("(").append(value).append(");\n");
+            return;
+        }
+        String primitive = unboxedName(fieldInfo.typeName);
+        if (primitive == null) {
+            append(indent).append("out.writeObject(").append(value).append(");\n");
+            return;
+        }
+        append(indent).append("out.writeBoolean(").append(value).append(" != null);\n");
+        append(indent).append("if (").append(value).append(" != null) {\n");
+        append(indent).append("    out.write").append(capitalize(primitive)).append("(").append(value).append(");\n");
+        append(indent).append("}\n");
+    }
+
+    /**
+     * Returns the expression reading one field from the {@code ObjectInput in}.
+     */
+    private static String externalRead(FieldInfo fieldInfo) {
+        if (fieldInfo.isPrimitive) {
+            return "in.read" + capitalize(fieldInfo.typeName) + "()";
+        }
+        String primitive = unboxedName(fieldInfo.typeName);
+        if (primitive == null) {
+            return "(" + fieldInfo.declaredType + ") in.readObject()";
+        }
+        return "in.readBoolean() ? (" + fieldInfo.typeName + ") in.read" + capitalize(primitive) + "() : null";
+    }
+
+    /**
+     * Returns the primitive type of a boxed primitive type name, or null for other types.
+     */
+    private static String unboxedName(String typeName) {
+        switch (typeName) {
+            case "Boolean":
+            case "Byte":
+            case "Short":
+            case "Long":
+            case "Float":
+            case "Double":
+                return typeName.toLowerCase();
+            case "Character":
+                return "char";
+            case "Integer":
+                return "int";
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * Returns the wrapper class name of a primitive type name.
+     */
+    static String boxedName(String primitiveName) {
+        switch (primitiveName) {
+            case "char":
+                return "Character";
+            case "int":
+                return "Integer";
+            default:
+                return capitalize(primitiveName);
+        }
+    }
+
+    /**
+     * Appends text to the buffer, flushing it to the writer once it is full.
+     *
+     * @param text the text to append
+     * @return this emitter
+     * @throws IOException if flushing to the writer fails
+     */
+    DtoSourceEmitter append(String text) throws IOException {
+        buffer.append(text);
+        if (buffer.length() >= BUFFER_SIZE) {
+            flush();
+        }
+        return this;
+    }
+
+    /**
+     * Writes the buffered text to the writer and clears the buffer.
+     *
+     * @throws IOException if the writer fails
+     */
+    private void flush() throws IOException {
+        out.append(buffer);
+        buffer.setLength(0);
+    }
+
+    /**
+     * Capitalizes the first letter of a field name.
+     *
+     * @param fieldName the field name
+     * @return the capitalized field name
+     */
+    static String capitalize(String fieldName) {
+        return fieldName.substring(0, 1).toUpperCase() + fieldName.substring(1);
+    }
+
+    /**
+     * Extracts the simple class name from a full class name.
+     *
+     * @param fullClassName the full class name (e.g., "com.example.MySerializer")
+     * @return the simple class name (e.g., "MySerializer")
+     */
+    private static String getSimpleClassName(String fullClassName) {
+        if (fullClassName == null || fullClassName.trim().isEmpty()) {
+            return "StdSerializer";
+        }
+
+        int lastDotIndex = fullClassName.lastIndexOf('.');
+        if (lastDotIndex >= 0 && lastDotIndex < fullClassName.length() - 1) {
+            return fullClassName.substring(lastDotIndex + 1);
+        }
+
+        return fullClassName;
+    }
+}
@@ -0,0 +1,90 @@
+package com.AutoGenClass.generator;
+
+/**
+ * How a DTO reads from and writes to its source entity.
+ *
+ * <p>Accessors are resolved on the compiler thread by {@link EntityMappingResolver} and stored
+ * as plain strings, aligned with {@link DtoModel#allFields()}. A getter is the expression read
+ * from the entity (e.g. {@code "getId()"}, or {@code "id"} for a public field); a setter is the
+ * name of the setter method, or the field name for a public field. A null entry means that
+ * the field cannot be read or written, in which case the corresponding mapper is not
+ * generated.</p>
+ *
+ * @author Mohammed-Salameh
+ * @since 2.0
+ */
+class EntityMapping {
+    /** Mapping of entities that cannot be mapped at all */
+    static final EntityMapping NONE = new EntityMapping(null, null, null, null, false);
+
+    /** Entity type as written in the DTO source (e.g., "EnhancedUser" or "Outer.Inner") */
+    final String entityType;
+
+    /** Qualified name to import for the entity type, or null if none is needed */
+    final String entityImport;
+
+    /** Read expression of every field, null if the field cannot be read */
+    final String[] getters;
+
+    /** Setter name or public field name of every field, null if the field cannot be written */
+    final String[] setters;
+
+    /** Whether the entity can be created through a public no-arg constructor */
+    final boolean instantiable;
+
+    /**
+     * Creates a new entity mapping.
+     *
+     * @param entityType the entity type as written in the DTO source
+     * @param entityImport the qualified name to import, or null
+     * @param getters the read expression of every field
+     * @param setters the setter or public field name of every field
+     * @param instantiable whether the entity has a public no-arg constructor
+     */
+    EntityMapping(String entityType, String entityImport, String[] getters, String[] setters, boolean instantiable) {
+        this.entityType = entityType;
+        this.entityImport = entityImport;
+        this.getters = getters;
+        this.setters = setters;
+        this.instantiable = instantiable;
+    }
+
+    /**
+     * Checks whether a DTO can be created from an entity, i.e. every field can be read.
+     *
+     * @return true if the {@code from} mapper can be generated
+     */
+    boolean canMapFrom() {
+        return entityType != null && allPresent(getters);
+    }
+
+    /**
+     * Checks whether an entity can be created from a DTO, i.e. the entity can be instantiated
+     * and every field can be written.
+     *
+     * @return true if the {@code toEntity} mapper can be generated
+     */
+    boolean canMapTo() {
+        return entityType != null && instantiable && allPresent(setters);
+    }
+
+    /**
+     * Checks whether a setter assigns a public field instead of calling a method.
+     *
+     * @param index the field index
+     * @param fieldName the field name
+     * @return true if the field is assigned directly
+     */
+    boolean isFieldWrite(int index, String fieldName) {
+        return setters[index].equals(fieldName);
+    }
+
+    private static boolean allPresent(String[] accessors) {
+        for (String accessor : accessors) {
+            if (accessor == null) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
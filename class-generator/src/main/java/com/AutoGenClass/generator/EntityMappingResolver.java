@@ -0,0 +1,224 @@
+package com.AutoGenClass.generator;
+
+import javax.annotation.processing.Messager;
+import javax.lang.model.element.*;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.ExecutableType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.lang.model.util.Elements;
+import javax.lang.model.util.Types;
+import javax.tools.Diagnostic;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Resolves the accessors a DTO uses to copy its fields from and to the source entity.
+ *
+ * <p>For every DTO field the entity is searched for a public getter ({@code getX()}, or
+ * {@code isX()} for {@code boolean} fields) and a public setter ({@code setX(..)}), including
+ * inherited ones, falling back to the field itself if it is public. Accessors must use exactly
+ * the field type, and the field type must be declared unchanged in the DTO (see
+ * {@link TypeAnalyzer#isDeclaredExactly}), so that values are copied without conversion or
+ * reflection.</p>
+ *
+ * <p>If a mapper cannot be generated, a note explains which field is missing an accessor.
+ * A resolver must only be used from the compiler thread.</p>
+ *
+ * @author Mohammed-Salameh
+ * @since 2.0
+ */
+class EntityMappingResolver {
+
+    /** Type utilities of the current compilation */
+    private final Types types;
+
+    /** Element utilities of the current compilation */
+    private final Elements elements;
+
+    /** Analyzer checking how field types are declared in the DTO */
+    private final TypeAnalyzer typeAnalyzer;
+
+    /** Messager reporting why mappers are not generated */
+    private final Messager messager;
+
+    /**
+     * Creates a resolver for the current compilation.
+     *
+     * @param types the type utilities of the processing environment
+     * @param elements the element utilities of the processing environment
+     * @param typeAnalyzer the field type analyzer
+     * @param messager the messager of the processing environment
+     */
+    EntityMappingResolver(Types types, Elements elements, TypeAnalyzer typeAnalyzer, Messager messager) {
+        this.types = types;
+        this.elements = elements;
+        this.typeAnalyzer = typeAnalyzer;
+        this.messager = messager;
+    }
+
+    /**
+     * Resolves the mapping between an entity and its DTO.
+     *
+     * @param entity the annotated entity class
+     * @param fieldNames the DTO field names, in DTO order
+     * @param dtoClassName the simple name of the DTO class
+     * @return the mapping, or {@link EntityMapping#NONE} if the entity cannot be mapped
+     */
+    EntityMapping resolve(TypeElement entity, String[] fieldNames, String dtoClassName) {
+        // The DTO lives in another package, so the entity must be public, importable and not generic
+        if (!isPublic(entity) || elements.getPackageOf(entity).isUnnamed() || !entity.getTypeParameters().isEmpty()) {
+            messager.printMessage(Diagnostic.Kind.NOTE, "No " + dtoClassName + " mappers generated: "
+                + entity.getSimpleName() + " is not a public, non-generic class in a named package", entity);
+            return EntityMapping.NONE;
+        }
+
+        DeclaredType entityType = (DeclaredType) entity.asType();
+        List<? extends Element> members = elements.getAllMembers(entity);
+        Map<String, VariableElement> fields = new HashMap<>();
+        for (VariableElement field : ElementFilter.fieldsIn(members)) {
+            if (!field.getModifiers().contains(Modifier.STATIC)) {
+                fields.putIfAbsent(field.getSimpleName().toString(), field);
+            }
+        }
+        // Getters cannot be overloaded, setters are matched by their parameter type when resolving
+        Map<String, ExecutableElement> getters = new HashMap<>();
+        for (ExecutableElement method : ElementFilter.methodsIn(members)) {
+            Set<Modifier> modifiers = method.getModifiers();
+            if (modifiers.contains(Modifier.PUBLIC) && !modifiers.contains(Modifier.STATIC)
+                && method.getParameters().isEmpty() && method.getReturnType().getKind() != TypeKind.VOID) {
+                getters.putIfAbsent(method.getSimpleName().toString(), method);
+            }
+        }
+
+        String[] getterExpressions = new String[fieldNames.length];
+        String[] setterNames = new String[fieldNames.length];
+        String fromProblem = null;
+        boolean instantiable = isInstantiable(entity);
+        String toProblem = instantiable ? null : entity.getSimpleName() + " has no public no-arg constructor";
+        for (int i = 0; i < fieldNames.length; i++) {
+            String fieldName = fieldNames[i];
+            VariableElement field = fields.get(fieldName);
+            String problem = null;
+            if (field == null) {
+                problem = "field '" + fieldName + "' does not exist";
+            } else {
+                TypeMirror fieldType = types.asMemberOf(entityType, field);
+                if (typeAnalyzer.isDeclaredExactly(fieldType)) {
+                    getterExpressions[i] = findGetter(entityType, field, fieldType, getters);
+                    setterNames[i] = findSetter(entityType, field, fieldType, members);
+                } else {
+                    problem = "field '" + fieldName + "' of type " + fieldType + " is declared as "
+                        + typeAnalyzer.analyze(fieldType).declaredType + " in the DTO";
+                }
+            }
+            if (getterExpressions[i] == null && fromProblem == null) {
+                fromProblem = problem != null ? problem : "field '" + fieldName + "' has no public getter of the same type";
+            }
+            if (setterNames[i] == null && toProblem == null) {
+                toProblem = problem != null ? problem : "field '" + fieldName + "' has no public setter of the same type";
+            }
+        }
+
+        if (fromProblem != null) {
+            messager.printMessage(Diagnostic.Kind.NOTE,
+                "No " + dtoClassName + ".from mapper generated: " + fromProblem, entity);
+        }
+        if (toProblem != null) {
+            messager.printMessage(Diagnostic.Kind.NOTE,
+                "No " + dtoClassName + ".toEntity mapper generated: " + toProblem, entity);
+        }
+
+        TypeElement topLevel = TypeAnalyzer.topLevelOf(entity);
+        boolean clashes = topLevel.getSimpleName().contentEquals(dtoClassName);
+        String typeName = clashes ? entity.getQualifiedName().toString() : TypeAnalyzer.simpleNameOf(entity);
+        String importName = clashes ? null : topLevel.getQualifiedName().toString();
+        return new EntityMapping(typeName, importName, getterExpressions, setterNames, instantiable);
+    }
+
+    /**
+     * Finds the read expression of a field: its getter, or the field itself if it is public.
+     */
+    private String findGetter(DeclaredType entityType, VariableElement field, TypeMirror fieldType,
+                              Map<String, ExecutableElement> getters) {
+        String property = capitalize(field.getSimpleName().toString());
+        ExecutableElement getter = getters.get("get" + property);
+        if (getter == null && fieldType.getKind() == TypeKind.BOOLEAN) {
+            getter = getters.get("is" + property);
+        }
+        if (getter != null && types.isSameType(returnTypeOf(entityType, getter), fieldType)) {
+            return getter.getSimpleName() + "()";
+        }
+        if (field.getModifiers().contains(Modifier.PUBLIC)) {
+            return field.getSimpleName().toString();
+        }
+        return null;
+    }
+
+    /**
+     * Finds the setter name of a field, or the field name if the field is public and not final.
+     */
+    private String findSetter(DeclaredType entityType, VariableElement field, TypeMirror fieldType,
+                              List<? extends Element> members) {
+        String setterName = "set" + capitalize(field.getSimpleName().toString());
+        for (ExecutableElement method : ElementFilter.methodsIn(members)) {
+            if (method.getSimpleName().contentEquals(setterName)
+                && method.getParameters().size() == 1
+                && method.getModifiers().contains(Modifier.PUBLIC)
+                && !method.getModifiers().contains(Modifier.STATIC)) {
+                ExecutableType methodType = (ExecutableType) types.asMemberOf(entityType, method);
+                if (types.isSameType(methodType.getParameterTypes().get(0), fieldType)) {
+                    return setterName;
+                }
+            }
+        }
+        Set<Modifier> modifiers = field.getModifiers();
+        if (modifiers.contains(Modifier.PUBLIC) && !modifiers.contains(Modifier.FINAL)) {
+            return field.getSimpleName().toString();
+        }
+        return null;
+    }
+
+    private TypeMirror returnTypeOf(DeclaredType entityType, ExecutableElement method) {
+        return ((ExecutableType) types.asMemberOf(entityType, method)).getReturnType();
+    }
+
+    /**
+     * Checks whether a type and all its enclosing types are public.
+     */
+    static boolean isPublic(TypeElement type) {
+        Element element = type;
+        while (element instanceof TypeElement) {
+            if (!element.getModifiers().contains(Modifier.PUBLIC)) {
+                return false;
+            }
+            element = element.getEnclosingElement();
+        }
+        return true;
+    }
+
+    /**
+     * Checks whether an entity can be created with {@code new Entity()} from another package.
+     */
+    static boolean isInstantiable(TypeElement entity) {
+        if (entity.getKind() != ElementKind.CLASS || entity.getModifiers().contains(Modifier.ABSTRACT)) {
+            return false;
+        }
+        if (entity.getEnclosingElement() instanceof TypeElement && !entity.getModifiers().contains(Modifier.STATIC)) {
+            return false;
+        }
+        for (ExecutableElement constructor : ElementFilter.constructorsIn(entity.getEnclosedElements())) {
+            if (constructor.getParameters().isEmpty() && constructor.getModifiers().contains(Modifier.PUBLIC)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String capitalize(String fieldName) {
+        return fieldName.substring(0, 1).toUpperCase() + fieldName.substring(1);
+    }
+}
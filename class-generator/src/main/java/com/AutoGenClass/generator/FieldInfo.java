@@ -0,0 +1,118 @@
+package com.AutoGenClass.generator;
+
+import java.util.Collections;
+import java.util.Set;
+
+/**
+ * Container class for field type information.
+ *
+ * <p>This class holds comprehensive information about a field's type,
+ * including whether it's a collection, its element types, and import requirements.
+ * Instances are created by {@link TypeAnalyzer} and shared between all fields of the
+ * same type, so they must not be modified once created.</p>
+ *
+ * @author Mohammed-Salameh
+ * @since 1.0
+ */
+class FieldInfo {
+    /** Field info used for fields that cannot be found or analyzed */
+    static final FieldInfo OBJECT = new FieldInfo("Object", "java.lang.Object", "Object", false, null, false,
+                                                  null, null, false, false, true, false, false,
+                                                  Collections.emptySet());
+
+    /** Simple type name (e.g., "List", "String") */
+    final String typeName;
+
+    /** Full qualified type name (e.g., "java.util.List", "java.lang.String") */
+    final String fullTypeName;
+
+    /** Type as declared in the DTO, with generics (e.g., "Map<String, List<UserProfile>>") */
+    final String declaredType;
+
+    /** Whether this field is a collection type (including arrays and maps) */
+    final boolean isCollection;
+
+    /** Element type for collections (e.g., "String" for List<String>, the key type for maps) */
+    final String collectionElementType;
+
+    /** Type information of the collection or array element */
+    final FieldInfo elementInfo;
+
+    /** Whether this field is a Map type */
+    final boolean isMap;
+
+    /** Key type for Map collections (e.g., "String" for Map<String, User>) */
+    final String mapKeyType;
+
+    /** Value type for Map collections (e.g., "User" for Map<String, User>) */
+    final String mapValueType;
+
+    /** Type information of the Map key */
+    final FieldInfo keyInfo;
+
+    /** Type information of the Map value */
+    final FieldInfo valueInfo;
+
+    /** Whether this field is an entity type */
+    final boolean isEntity;
+
+    /** Whether this type needs an import statement */
+    final boolean needsImport;
+
+    /** Whether this field is a primitive type */
+    final boolean isPrimitive;
+
+    /** Whether this field is a wrapper type, String or Object */
+    final boolean isWrapper;
+
+    /** Whether this field is an array */
+    final boolean isArray;
+
+    /** Whether this field is an enum type */
+    final boolean isEnum;
+
+    /** Qualified names of all types to import for the declared type */
+    final Set<String> imports;
+
+    /**
+     * Creates a new FieldInfo instance.
+     *
+     * @param typeName the simple type name
+     * @param fullTypeName the full qualified type name
+     * @param declaredType the type as declared in the DTO
+     * @param isCollection whether this is a collection type
+     * @param elementInfo the element type information for collections and arrays
+     * @param isMap whether this is a Map type
+     * @param keyInfo the key type information for Map collections
+     * @param valueInfo the value type information for Map collections
+     * @param isEntity whether this is an entity type
+     * @param isPrimitive whether this is a primitive type
+     * @param isWrapper whether this is a wrapper type, String or Object
+     * @param isArray whether this is an array type
+     * @param isEnum whether this is an enum type
+     * @param imports the qualified names to import
+     */
+    FieldInfo(String typeName, String fullTypeName, String declaredType, boolean isCollection,
+              FieldInfo elementInfo, boolean isMap, FieldInfo keyInfo,
+              FieldInfo valueInfo, boolean isEntity, boolean isPrimitive, boolean isWrapper,
+              boolean isArray, boolean isEnum, Set<String> imports) {
+        this.typeName = typeName;
+        this.fullTypeName = fullTypeName;
+        this.declaredType = declaredType;
+        this.isCollection = isCollection;
+        this.elementInfo = elementInfo;
+        this.isMap = isMap;
+        this.keyInfo = keyInfo;
+        this.valueInfo = valueInfo;
+        this.mapKeyType = keyInfo == null ? null : keyInfo.declaredType;
+        this.mapValueType = valueInfo == null ? null : valueInfo.declaredType;
+        this.collectionElementType = elementInfo != null ? elementInfo.declaredType : mapKeyType;
+        this.isEntity = isEntity;
+        this.isPrimitive = isPrimitive;
+        this.isWrapper = isWrapper;
+        this.isArray = isArray;
+        this.isEnum = isEnum;
+        this.imports = imports;
+        this.needsImport = !imports.isEmpty();
+    }
+}
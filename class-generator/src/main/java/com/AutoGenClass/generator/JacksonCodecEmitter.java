@@ -0,0 +1,614 @@
+package com.AutoGenClass.generator;
+
+import java.io.IOException;
+import java.util.Set;
+
+/**
+ * Generates the nested Jackson serializer and deserializer of a DTO, for {@code jackson = true}.
+ *
+ * <p>The generated {@code JacksonSerializer} and {@code JacksonDeserializer} write and read every
+ * field directly with the generator and the parser, and are registered by the generated
+ * {@code AutoGenJacksonModule} in place of Jackson's bean serializer and deserializer.</p>
+ *
+ * @author Mohammed-Salameh
+ * @since 2.0
+ */
+final class JacksonCodecEmitter extends CodecEmitter {
+
+    /**
+     * Creates a Jackson codec emitter.
+     *
+     * @param source the emitter of the DTO class receiving the generated methods
+     * @param methodChunkSize the number of fields handled per helper method once a DTO has more fields
+     */
+    JacksonCodecEmitter(DtoSourceEmitter source, int methodChunkSize) {
+        super(source, methodChunkSize);
+    }
+
+    @Override
+    void addImports(DtoModel model, Set<String> importSet) {
+        importSet.add("com.fasterxml.jackson.core.JsonGenerator");
+        importSet.add("com.fasterxml.jackson.core.io.SerializedString");
+        importSet.add("com.fasterxml.jackson.databind.SerializerProvider");
+        importSet.add("com.fasterxml.jackson.databind.ser.std.StdSerializer");
+        importSet.add("java.io.IOException");
+        if (hasCustomSerializer(model)) {
+            importSet.add("com.fasterxml.jackson.databind.JsonSerializer");
+        }
+        for (FieldInfo fieldInfo : model.fieldInfoMap.values()) {
+            if (isInlineMap(fieldInfo)) {
+                importSet.add("java.util.Map");
+            }
+        }
+        addDeserializerImports(model, importSet);
+    }
+
+    @Override
+    void emit(DtoModel model) throws IOException {
+        emitSerializer(model);
+        emitDeserializer(model);
+    }
+
+    /**
+     * Generates the nested {@code JacksonSerializer}, which writes every field directly with the
+     * generator and precomputed {@code SerializedString} names instead of a bean serializer.
+     *
+     * <p>Scalars, collections or arrays of scalars and maps from strings to scalars are written
+     * inline. Serialized fields whose serializer has a public no-arg constructor use one shared
+     * instance of it, like {@code @JsonSerialize(using = ...)} does. All other values are written by the provider's
+     * default serializer for their type. Null values are written as JSON null.</p>
+     */
+    private void emitSerializer(DtoModel model) throws IOException {
+        String className = model.className;
+        String[] allFields = model.allFields();
+
+        append("\n");
+        append("    public static final class JacksonSerializer extends StdSerializer<").append(className).append("> {\n");
+        append("        private static final long serialVersionUID = 1L;\n");
+        String[] names = new String[allFields.length];
+        for (int i = 0; i < allFields.length; i++) {
+            names[i] = "new SerializedString(\"" + allFields[i] + "\")";
+        }
+        String[] constants = emitFieldConstants(model, "SerializedString", "NAME_", "NAMES", names, "        ");
+        boolean serializers = false;
+        for (int i = 0; i < model.serializedFields.length && i < model.serializers.length; i++) {
+            if (isCustomSerializer(model, i)) {
+                append("        @SuppressWarnings(\"unchecked\")\n");
+                append("        private static final JsonSerializer<Object> SERIALIZER_").append(model.serializedFields[i])
+                    .append(" = (JsonSerializer<Object>) (JsonSerializer<?>) new ").append(model.serializers[i]).append("();\n");
+                serializers = true;
+            }
+        }
+        append(!isSplit(model) || serializers ? "\n" : "");
+        append("        public JacksonSerializer() {\n");
+        append("            super(").append(className).append(".class);\n");
+        append("        }\n\n");
+
+        append("        @Override\n");
+        append("        public void serialize(").append(className)
+            .append(" value, JsonGenerator gen, SerializerProvider provider) throws IOException {\n");
+        append("            gen.writeStartObject(value);\n");
+        if (isSplit(model)) {
+            for (int chunk = 0; chunk < chunkCount(model); chunk++) {
+                append("            serialize").append(Integer.toString(chunk)).append("(value, gen, provider);\n");
+            }
+        } else {
+            emitFieldWrites(model, constants, 0, allFields.length);
+        }
+        append("            gen.writeEndObject();\n");
+        append("        }\n");
+        for (int chunk = 0; isSplit(model) && chunk < chunkCount(model); chunk++) {
+            append("\n");
+            append("        private void serialize").append(Integer.toString(chunk)).append("(").append(className)
+                .append(" value, JsonGenerator gen, SerializerProvider provider) throws IOException {\n");
+            emitFieldWrites(model, constants, chunk * methodChunkSize, chunkEnd(model, chunk));
+            append("        }\n");
+        }
+        append("    }\n");
+    }
+
+    /**
+     * Generates the statements writing a range of the fields, each preceded by its name.
+     */
+    private void emitFieldWrites(DtoModel model, String[] constants, int from, int to) throws IOException {
+        String[] allFields = model.allFields();
+        for (int i = from; i < to; i++) {
+            String fieldName = allFields[i];
+            FieldInfo fieldInfo = model.fieldInfo(fieldName);
+            String value = "value." + fieldName;
+            append("            gen.writeFieldName(").append(constants[i]).append(");\n");
+            int serializedIndex = i - model.simpleFields.length;
+            if (serializedIndex >= 0 && isCustomSerializer(model, serializedIndex)) {
+                String call = "SERIALIZER_" + fieldName + ".serialize(" + value + ", gen, provider);\n";
+                if (fieldInfo.isPrimitive) {
+                    append("            ").append(call);
+                } else {
+                    emitNullCheck(value, "            ");
+                    append("                ").append(call);
+                    append("            }\n");
+                }
+            } else {
+                emitJsonValue(value, fieldInfo, "            ");
+            }
+        }
+    }
+
+    /**
+     * Generates the statements writing one value with a Jackson generator.
+     */
+    private void emitJsonValue(String value, FieldInfo fieldInfo, String indent) throws IOException {
+        if (fieldInfo.isPrimitive) {
+            append(indent).append(scalarWrite(value, fieldInfo)).append("\n");
+            return;
+        }
+        if (isJsonScalar(fieldInfo)) {
+            emitNullCheck(value, indent);
+            append(indent).append("    ").append(scalarWrite(value, fieldInfo)).append("\n");
+            append(indent).append("}\n");
+            return;
+        }
+        if (fieldInfo.isCollection && !fieldInfo.isMap && isInlineElement(fieldInfo.elementInfo)) {
+            FieldInfo elementInfo = fieldInfo.elementInfo;
+            emitNullCheck(value, indent);
+            append(indent).append("    gen.writeStartArray(").append(value).append(", ").append(value)
+                .append(fieldInfo.isArray ? ".length" : ".size()").append(");\n");
+            append(indent).append("    for (").append(elementInfo.declaredType).append(" element : ").append(value).append(") {\n");
+            if (elementInfo.isPrimitive) {
+                append(indent).append("        ").append(scalarWrite("element", elementInfo)).append("\n");
+            } else {
+                append(indent).append("        if (element == null) {\n");
+                append(indent).append("            gen.writeNull();\n");
+                append(indent).append("        } else {\n");
+                append(indent).append("            ").append(scalarWrite("element", elementInfo)).append("\n");
+                append(indent).append("        }\n");
+            }
+            append(indent).append("    }\n");
+            append(indent).append("    gen.writeEndArray();\n");
+            append(indent).append("}\n");
+            return;
+        }
+        if (isInlineMap(fieldInfo)) {
+            FieldInfo valueInfo = fieldInfo.valueInfo;
+            emitNullCheck(value, indent);
+            append(indent).append("    gen.writeStartObject(").append(value).append(", ").append(value).append(".size());\n");
+            append(indent).append("    for (Map.Entry<String, ").append(valueInfo.declaredType).append("> entry : ")
+                .append(value).append(".entrySet()) {\n");
+            append(indent).append("        if (entry.getKey() == null) {\n");
+            // Reports null keys like Jackson's map serializer does, unless a null key serializer is configured
+            append(indent).append("            provider.findNullKeySerializer(provider.constructType(String.class), null)")
+                .append(".serialize(null, gen, provider);\n");
+            append(indent).append("        } else {\n");
+            append(indent).append("            gen.writeFieldName(entry.getKey());\n");
+            append(indent).append("        }\n");
+            append(indent).append("        if (entry.getValue() == null) {\n");
+            append(indent).append("            gen.writeNull();\n");
+            append(indent).append("        } else {\n");
+            append(indent).append("            ").append(scalarWrite("entry.getValue()", valueInfo)).append("\n");
+            append(indent).append("        }\n");
+            append(indent).append("    }\n");
+            append(indent).append("    gen.writeEndObject();\n");
+            append(indent).append("}\n");
+            return;
+        }
+        append(indent).append("provider.defaultSerializeValue(").append(value).append(", gen);\n");
+    }
+
+    /**
+     * Generates the opening of a null check that writes JSON null, leaving the else block open.
+     */
+    private void emitNullCheck(String value, String indent) throws IOException {
+        append(indent).append("if (").append(value).append(" == null) {\n");
+        append(indent).append("    gen.writeNull();\n");
+        append(indent).append("} else {\n");
+    }
+
+    /**
+     * Returns the generator call writing a non-null scalar value.
+     */
+    private static String scalarWrite(String value, FieldInfo fieldInfo) {
+        switch (fieldInfo.typeName) {
+            case "boolean":
+            case "Boolean":
+                return "gen.writeBoolean(" + value + ");";
+            case "char":
+                return "gen.writeString(String.valueOf(" + value + "));";
+            case "Character":
+                return "gen.writeString(" + value + ".toString());";
+            case "String":
+                return "gen.writeString(" + value + ");";
+            default:
+                return "gen.writeNumber(" + value + ");";
+        }
+    }
+
+    /**
+     * Checks whether a type is a primitive, a wrapper or String, written as a JSON scalar.
+     */
+    private static boolean isJsonScalar(FieldInfo fieldInfo) {
+        return fieldInfo.isPrimitive || (fieldInfo.isWrapper && !"Object".equals(fieldInfo.typeName));
+    }
+
+    /**
+     * Checks whether collection or array elements can be written inline. Byte and char arrays
+     * are left to Jackson, which writes them as Base64 and as a string.
+     */
+    private static boolean isInlineElement(FieldInfo elementInfo) {
+        return elementInfo != null && isJsonScalar(elementInfo)
+            && !"byte".equals(elementInfo.typeName) && !"char".equals(elementInfo.typeName);
+    }
+
+    /**
+     * Checks whether a map has String keys and values that can be written inline.
+     */
+    private static boolean isInlineMap(FieldInfo fieldInfo) {
+        return fieldInfo.isMap && "String".equals(fieldInfo.keyInfo.typeName) && isInlineElement(fieldInfo.valueInfo);
+    }
+
+    /**
+     * Checks whether a serialized field uses an instance of its own serializer.
+     */
+    private static boolean isCustomSerializer(DtoModel model, int serializedIndex) {
+        return serializedIndex < model.instantiableSerializers.length && model.instantiableSerializers[serializedIndex];
+    }
+
+    private static boolean hasCustomSerializer(DtoModel model) {
+        for (boolean instantiable : model.instantiableSerializers) {
+            if (instantiable) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Adds the imports used by the generated {@code JacksonDeserializer}.
+     */
+    private static void addDeserializerImports(DtoModel model, Set<String> importSet) {
+        importSet.add("com.fasterxml.jackson.core.JsonParser");
+        importSet.add("com.fasterxml.jackson.core.JsonToken");
+        importSet.add("com.fasterxml.jackson.databind.DeserializationContext");
+        importSet.add("com.fasterxml.jackson.databind.deser.std.StdDeserializer");
+        for (String fieldName : model.allFields()) {
+            FieldInfo fieldInfo = model.fieldInfo(fieldName);
+            if (scalarRead(fieldInfo) != null) {
+                continue;
+            }
+            importSet.add("com.fasterxml.jackson.databind.JsonDeserializer");
+            importSet.add("com.fasterxml.jackson.databind.JsonMappingException");
+            importSet.add("com.fasterxml.jackson.databind.deser.ResolvableDeserializer");
+            if (fieldInfo.declaredType.indexOf('<') >= 0) {
+                importSet.add("com.fasterxml.jackson.core.type.TypeReference");
+            }
+            if (isBufferedCollection(fieldInfo)) {
+                importSet.add("com.fasterxml.jackson.databind.util.ObjectBuffer");
+                if (fieldInfo.isMap) {
+                    importSet.add("java.util.LinkedHashMap");
+                } else if ("Set".equals(fieldInfo.typeName)) {
+                    importSet.add("java.util.HashSet");
+                } else {
+                    importSet.add("java.util.ArrayList");
+                    importSet.add("java.util.List");
+                }
+            }
+        }
+    }
+
+    /**
+     * Generates the nested {@code JacksonDeserializer}, which reads a DTO from the token stream
+     * without a bean deserializer.
+     *
+     * <p>Field values are collected in local variables while the field names are dispatched by a
+     * {@code switch}, and the DTO is created with its all-args constructor once the object is
+     * complete; split DTOs are read into the DTO or its builder by a helper per chunk of fields
+     * instead. Unknown fields are passed to {@code handleUnknownProperty}, which fails with
+     * {@code FAIL_ON_UNKNOWN_PROPERTIES} and skips them otherwise, as the bean deserializer does.
+     * Scalars are read with the {@code StdDeserializer} helpers, so coercions and null handling
+     * follow Jackson's. Lists, sets and maps of scalars are read into the context's leased
+     * {@code ObjectBuffer} and copied into a collection created with its final size. All other
+     * values use the deserializer Jackson resolves for their declared type.</p>
+     */
+    private void emitDeserializer(DtoModel model) throws IOException {
+        String className = model.className;
+        String[] allFields = model.allFields();
+        boolean resolvable = false;
+        for (String fieldName : allFields) {
+            resolvable |= scalarRead(model.fieldInfo(fieldName)) == null;
+        }
+
+        append("\n");
+        append("    public static final class JacksonDeserializer extends StdDeserializer<").append(className).append(">");
+        append(resolvable ? " implements ResolvableDeserializer {\n" : " {\n");
+        append("        private static final long serialVersionUID = 1L;\n");
+        for (String fieldName : allFields) {
+            if (scalarRead(model.fieldInfo(fieldName)) == null) {
+                // Resolved again for every context, so not part of the serialized form
+                append("        private transient JsonDeserializer<Object> ").append(fieldName).append("Deserializer;\n");
+            }
+        }
+        append("\n");
+        append("        public JacksonDeserializer() {\n");
+        append("            super(").append(className).append(".class);\n");
+        append("        }\n\n");
+
+        if (resolvable) {
+            append("        @Override\n");
+            append("        public void resolve(DeserializationContext ctxt) throws JsonMappingException {\n");
+            for (String fieldName : allFields) {
+                FieldInfo fieldInfo = model.fieldInfo(fieldName);
+                if (scalarRead(fieldInfo) == null) {
+                    append("            ").append(fieldName).append("Deserializer = ctxt.findRootValueDeserializer(")
+                        .append(javaTypeOf(fieldInfo)).append(");\n");
+                }
+            }
+            append("        }\n\n");
+        }
+
+        append("        @Override\n");
+        if (resolvable) {
+            append("        @SuppressWarnings(\"unchecked\")\n");
+        }
+        append("        public ").append(className)
+            .append(" deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {\n");
+        append("            String fieldName;\n");
+        append("            if (p.isExpectedStartObjectToken()) {\n");
+        append("                fieldName = p.nextFieldName();\n");
+        append("            } else if (p.hasToken(JsonToken.FIELD_NAME)) {\n");
+        append("                fieldName = p.currentName();\n");
+        append("            } else if (p.hasToken(JsonToken.END_OBJECT)) {\n");
+        append("                fieldName = null;\n");
+        append("            } else {\n");
+        append("                return (").append(className).append(") ctxt.handleUnexpectedToken(").append(className)
+            .append(".class, p);\n");
+        append("            }\n\n");
+        if (isSplit(model)) {
+            emitChunkedDeserialize(model, resolvable);
+            return;
+        }
+        for (String fieldName : allFields) {
+            FieldInfo fieldInfo = model.fieldInfo(fieldName);
+            append("            ").append(fieldInfo.declaredType).append(" ").append(fieldName).append("Value = ")
+                .append(defaultValue(fieldInfo)).append(";\n");
+        }
+        append("            for (; fieldName != null; fieldName = p.nextFieldName()) {\n");
+        append("                p.nextToken();\n");
+        append("                switch (fieldName) {\n");
+        for (String fieldName : allFields) {
+            append("                    case \"").append(fieldName).append("\":\n");
+            append("                        ").append(fieldName).append("Value = ").append(valueRead(model, fieldName)).append(";\n");
+            append("                        break;\n");
+        }
+        append("                    default:\n");
+        append("                        ctxt.handleUnknownProperty(p, this, handledType(), fieldName);\n");
+        append("                }\n");
+        append("            }\n");
+        if (model.wide()) {
+            String[] values = new String[allFields.length];
+            for (int i = 0; i < allFields.length; i++) {
+                values[i] = allFields[i] + "Value";
+            }
+            append("            return ");
+            source.emitBuilderChain(model, values, "            ");
+            append(";\n");
+        } else {
+            append("            return new ").append(className).append("(");
+            for (int i = 0; i < allFields.length; i++) {
+                append(i > 0 ? ", " : "").append(allFields[i]).append("Value");
+            }
+            append(");\n");
+        }
+        append("        }\n");
+        emitBufferedCollectionReads(model);
+    }
+
+    /**
+     * Generates the rest of {@code deserialize} for a split DTO, which reads the fields into the
+     * DTO or its builder with a helper per chunk of fields ({@code deserialize0}, ...), each
+     * returning whether it knows the name.
+     */
+    private void emitChunkedDeserialize(DtoModel model, boolean resolvable) throws IOException {
+        String[] allFields = model.allFields();
+        String target = model.immutable ? "builder" : "dto";
+        append("            ").append(readTargetOf(model)).append(" = new ").append(model.immutable ? "Builder" : model.className)
+            .append("();\n");
+        append("            for (; fieldName != null; fieldName = p.nextFieldName()) {\n");
+        append("                p.nextToken();\n");
+        append("                if (");
+        for (int chunk = 0; chunk < chunkCount(model); chunk++) {
+            append(chunk > 0 ? "\n                        && " : "").append("!deserialize").append(Integer.toString(chunk))
+                .append("(fieldName, p, ctxt, ").append(target).append(")");
+        }
+        append(") {\n");
+        append("                    ctxt.handleUnknownProperty(p, this, handledType(), fieldName);\n");
+        append("                }\n");
+        append("            }\n");
+        append(model.immutable ? "            return builder.build();\n" : "            return dto;\n");
+        append("        }\n");
+
+        for (int chunk = 0; chunk < chunkCount(model); chunk++) {
+            append("\n");
+            if (resolvable) {
+                append("        @SuppressWarnings(\"unchecked\")\n");
+            }
+            append("        private boolean deserialize").append(Integer.toString(chunk))
+                .append("(String fieldName, JsonParser p, DeserializationContext ctxt, ").append(readTargetOf(model))
+                .append(") throws IOException {\n");
+            append("            switch (fieldName) {\n");
+            for (int i = chunk * methodChunkSize; i < chunkEnd(model, chunk); i++) {
+                append("                case \"").append(allFields[i]).append("\":\n");
+                append("                    ").append(target).append(".").append(allFields[i]).append(" = ")
+                    .append(valueRead(model, allFields[i])).append(";\n");
+                append("                    return true;\n");
+            }
+            append("                default:\n");
+            append("                    return false;\n");
+            append("            }\n");
+            append("        }\n");
+        }
+        emitBufferedCollectionReads(model);
+    }
+
+    /**
+     * Returns the expression reading a field at the current token.
+     */
+    private static String valueRead(DtoModel model, String fieldName) {
+        FieldInfo fieldInfo = model.fieldInfo(fieldName);
+        String read = scalarRead(fieldInfo);
+        if (read != null) {
+            return read;
+        }
+        if (isBufferedCollection(fieldInfo)) {
+            return "read" + DtoSourceEmitter.capitalize(fieldName) + "(p, ctxt)";
+        }
+        String deserializer = fieldName + "Deserializer";
+        return "(" + (fieldInfo.isPrimitive ? DtoSourceEmitter.boxedName(fieldInfo.typeName) : fieldInfo.declaredType)
+            + ") (p.hasToken(JsonToken.VALUE_NULL) ? " + deserializer + ".getNullValue(ctxt) : "
+            + deserializer + ".deserialize(p, ctxt))";
+    }
+
+    /**
+     * Generates the readers of the buffered collections and closes the deserializer class.
+     */
+    private void emitBufferedCollectionReads(DtoModel model) throws IOException {
+        for (String fieldName : model.allFields()) {
+            FieldInfo fieldInfo = model.fieldInfo(fieldName);
+            if (scalarRead(fieldInfo) == null && isBufferedCollection(fieldInfo)) {
+                emitBufferedCollectionRead(fieldName, fieldInfo);
+            }
+        }
+        append("    }\n");
+    }
+
+    /**
+     * Generates the method reading a list, set or map of scalars through an {@code ObjectBuffer}.
+     * Values that are not a JSON array or object are left to the resolved deserializer, which
+     * applies Jackson's coercions (e.g. single values as arrays).
+     */
+    private void emitBufferedCollectionRead(String fieldName, FieldInfo fieldInfo) throws IOException {
+        String type = fieldInfo.declaredType;
+        String deserializer = fieldName + "Deserializer";
+        append("\n");
+        append("        @SuppressWarnings(\"unchecked\")\n");
+        append("        private ").append(type).append(" read").append(DtoSourceEmitter.capitalize(fieldName))
+            .append("(JsonParser p, DeserializationContext ctxt) throws IOException {\n");
+        append("            if (!p.").append(fieldInfo.isMap ? "isExpectedStartObjectToken" : "isExpectedStartArrayToken")
+            .append("()) {\n");
+        append("                return (").append(type).append(") (p.hasToken(JsonToken.VALUE_NULL) ? ")
+            .append(deserializer).append(".getNullValue(ctxt) : ").append(deserializer).append(".deserialize(p, ctxt));\n");
+        append("            }\n");
+        append("            ObjectBuffer buffer = ctxt.leaseObjectBuffer();\n");
+        append("            Object[] chunk = buffer.resetAndStart();\n");
+        append("            int count = 0;\n");
+        if (fieldInfo.isMap) {
+            // Keys and values are buffered alternately
+            append("            for (String key = p.nextFieldName(); key != null; key = p.nextFieldName()) {\n");
+            append("                p.nextToken();\n");
+            emitBufferAdd("key");
+            emitBufferAdd(scalarRead(fieldInfo.valueInfo));
+            append("            }\n");
+            append("            Object[] entries = buffer.completeAndClearBuffer(chunk, count);\n");
+            append("            ctxt.returnObjectBuffer(buffer);\n");
+            append("            ").append(type).append(" values = new LinkedHashMap<>(Math.max((int) (entries.length / 2 / .75f) + 1, 16));\n");
+            append("            for (int i = 0; i < entries.length; i += 2) {\n");
+            append("                values.put((String) entries[i], (").append(fieldInfo.valueInfo.declaredType)
+                .append(") entries[i + 1]);\n");
+            append("            }\n");
+            append("            return values;\n");
+            append("        }\n");
+            return;
+        }
+        append("            while (p.nextToken() != JsonToken.END_ARRAY) {\n");
+        emitBufferAdd(scalarRead(fieldInfo.elementInfo));
+        append("            }\n");
+        if ("Set".equals(fieldInfo.typeName)) {
+            append("            Object[] elements = buffer.completeAndClearBuffer(chunk, count);\n");
+            append("            ctxt.returnObjectBuffer(buffer);\n");
+            append("            ").append(type).append(" values = new HashSet<>(Math.max((int) (elements.length / .75f) + 1, 16));\n");
+            append("            for (Object element : elements) {\n");
+            append("                values.add((").append(fieldInfo.elementInfo.declaredType).append(") element);\n");
+            append("            }\n");
+        } else {
+            append("            ").append(type).append(" values = new ArrayList<>(buffer.bufferedSize() + count);\n");
+            append("            buffer.completeAndClearBuffer(chunk, count, (List<Object>) (List<?>) values);\n");
+            append("            ctxt.returnObjectBuffer(buffer);\n");
+        }
+        append("            return values;\n");
+        append("        }\n");
+    }
+
+    /**
+     * Generates the statements appending one value to the leased buffer chunk.
+     */
+    private void emitBufferAdd(String value) throws IOException {
+        append("                if (count == chunk.length) {\n");
+        append("                    chunk = buffer.appendCompletedChunk(chunk);\n");
+        append("                    count = 0;\n");
+        append("                }\n");
+        append("                chunk[count++] = ").append(value).append(";\n");
+    }
+
+    /**
+     * Returns the expression reading a scalar at the current token with the
+     * {@code StdDeserializer} helpers, or null if the type is read by a resolved deserializer.
+     */
+    private static String scalarRead(FieldInfo fieldInfo) {
+        if (!isJsonScalar(fieldInfo)) {
+            return null;
+        }
+        switch (fieldInfo.typeName) {
+            case "boolean":
+                return "_parseBooleanPrimitive(p, ctxt)";
+            case "byte":
+                return "_parseBytePrimitive(p, ctxt)";
+            case "short":
+                return "_parseShortPrimitive(p, ctxt)";
+            case "int":
+                return "_parseIntPrimitive(p, ctxt)";
+            case "long":
+                return "_parseLongPrimitive(p, ctxt)";
+            case "float":
+                return "_parseFloatPrimitive(p, ctxt)";
+            case "double":
+                return "_parseDoublePrimitive(p, ctxt)";
+            case "Boolean":
+                return "_parseBoolean(p, ctxt, Boolean.class)";
+            case "Integer":
+                return "_parseInteger(p, ctxt, Integer.class)";
+            case "Long":
+                return "_parseLong(p, ctxt, Long.class)";
+            case "Byte":
+            case "Short":
+            case "Float":
+            case "Double":
+                return "(p.hasToken(JsonToken.VALUE_NULL) ? null : " + fieldInfo.typeName + ".valueOf(_parse"
+                    + fieldInfo.typeName + "Primitive(p, ctxt)))";
+            case "String":
+                return "(p.hasToken(JsonToken.VALUE_NULL) ? null : _parseString(p, ctxt, this))";
+            default:
+                // char and Character
+                return null;
+        }
+    }
+
+    /**
+     * Checks whether a field is a list, set or collection of scalars, or a map from strings to
+     * scalars, which are read through an {@code ObjectBuffer}.
+     */
+    private static boolean isBufferedCollection(FieldInfo fieldInfo) {
+        if (fieldInfo.isMap) {
+            return "String".equals(fieldInfo.keyInfo.typeName) && scalarRead(fieldInfo.valueInfo) != null
+                && !fieldInfo.valueInfo.isPrimitive;
+        }
+        return fieldInfo.isCollection && !fieldInfo.isArray && scalarRead(fieldInfo.elementInfo) != null
+            && !fieldInfo.elementInfo.isPrimitive;
+    }
+
+    /**
+     * Returns the expression constructing the Jackson type of a field.
+     */
+    private static String javaTypeOf(FieldInfo fieldInfo) {
+        if (fieldInfo.declaredType.indexOf('<') >= 0) {
+            return "ctxt.getTypeFactory().constructType(new TypeReference<" + fieldInfo.declaredType + ">() { })";
+        }
+        return "ctxt.constructType(" + fieldInfo.declaredType + ".class)";
+    }
+}
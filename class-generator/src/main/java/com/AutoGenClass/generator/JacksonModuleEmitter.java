@@ -0,0 +1,56 @@
+package com.AutoGenClass.generator;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+
+/**
+ * Renders the {@code AutoGenJacksonModule} of a DTO package.
+ *
+ * <p>The module is a Jackson {@code SimpleModule} registering the generated
+ * {@code JacksonSerializer} and {@code JacksonDeserializer} of every DTO of the package that
+ * was generated with {@code jackson = true}, so an {@code ObjectMapper} with the module
+ * registered uses them without building bean serializers or deserializers for the DTOs.</p>
+ *
+ * @author Mohammed-Salameh
+ * @since 2.0
+ */
+final class JacksonModuleEmitter {
+
+    /** Simple name of the generated module class */
+    static final String MODULE_CLASS_NAME = "AutoGenJacksonModule";
+
+    /** Text identifying a DTO source that contains a generated Jackson serializer */
+    static final String SERIALIZER_MARKER = "public static final class JacksonSerializer extends StdSerializer<";
+
+    private JacksonModuleEmitter() {
+    }
+
+    /**
+     * Renders the module source of a package.
+     *
+     * @param packageName the DTO package
+     * @param dtoClassNames the simple names of the DTOs to register, in registration order
+     * @return the UTF-8 encoded source code
+     */
+    static byte[] render(String packageName, Collection<String> dtoClassNames) {
+        StringBuilder source = new StringBuilder(512 + dtoClassNames.size() * 96);
+        source.append("package ").append(packageName).append(";\n\n");
+        source.append("import com.fasterxml.jackson.databind.module.SimpleModule;\n\n");
+        source.append("/**\n");
+        source.append(" * Auto-generated Jackson module registering the serializers and deserializers of the DTOs in ").append(packageName).append("\n");
+        source.append(" */\n");
+        source.append("public final class ").append(MODULE_CLASS_NAME).append(" extends SimpleModule {\n");
+        source.append("    private static final long serialVersionUID = 1L;\n\n");
+        source.append("    public ").append(MODULE_CLASS_NAME).append("() {\n");
+        source.append("        super(\"").append(packageName).append(".").append(MODULE_CLASS_NAME).append("\");\n");
+        for (String dtoClassName : dtoClassNames) {
+            source.append("        addSerializer(").append(dtoClassName).append(".class, new ")
+                .append(dtoClassName).append(".JacksonSerializer());\n");
+            source.append("        addDeserializer(").append(dtoClassName).append(".class, new ")
+                .append(dtoClassName).append(".JacksonDeserializer());\n");
+        }
+        source.append("    }\n");
+        source.append("}\n");
+        return source.toString().getBytes(StandardCharsets.UTF_8);
+    }
+}
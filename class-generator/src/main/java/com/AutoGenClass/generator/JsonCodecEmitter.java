@@ -0,0 +1,744 @@
+package com.AutoGenClass.generator;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Generates the zero-dependency JSON codec of a DTO, for {@code json = true}.
+ *
+ * <p>The generated methods write and read UTF-8 JSON directly in byte arrays, with the same field
+ * names and representations as Jackson uses for the DTO by default. They encode and decode
+ * through {@code com.AutoGenClass.runtime.JsonOutput} and {@code JsonInput}, which are shared by
+ * all DTOs. The codec is not generated for DTOs holding values it cannot read back, see
+ * {@link #unsupportedValueOf(DtoModel)}.</p>
+ *
+ * @author Mohammed-Salameh
+ * @since 2.0
+ */
+final class JsonCodecEmitter extends CodecEmitter {
+
+    /** Qualified names of the types read back from a JSON scalar, besides enums and byte and char arrays */
+    private static final Set<String> SCALAR_TYPES = Set.of("boolean", "byte", "char", "short", "int", "long",
+        "float", "double", "java.lang.Boolean", "java.lang.Byte", "java.lang.Character", "java.lang.Short",
+        "java.lang.Integer", "java.lang.Long", "java.lang.Float", "java.lang.Double", "java.lang.String",
+        "java.lang.Object", "java.math.BigInteger", "java.math.BigDecimal", "java.util.Date", "java.util.UUID");
+
+    /** Simple names of the map key types read back from a JSON name, besides enums and {@code UUID} */
+    private static final Set<String> KEY_TYPES = Set.of("String", "Object", "Character", "Integer", "Long", "Short",
+        "Byte", "Double", "Float", "Boolean");
+
+    /**
+     * Creates a JSON codec emitter.
+     *
+     * @param source the emitter of the DTO class receiving the generated methods
+     * @param methodChunkSize the number of fields handled per helper method once a DTO has more fields
+     */
+    JsonCodecEmitter(DtoSourceEmitter source, int methodChunkSize) {
+        super(source, methodChunkSize);
+    }
+
+    /**
+     * Describes the first value of a DTO that the JSON codec cannot write and read back, or
+     * returns null if it supports every field. Besides the types the reader has no conversion
+     * for, this includes objects and arrays written as a string by {@code ToStringSerializer}.
+     *
+     * @param model the DTO model
+     * @return a description such as "field payload of type LocalDate", or null
+     */
+    static String unsupportedValueOf(DtoModel model) {
+        for (int i = 0; i < model.serializedFields.length; i++) {
+            FieldInfo fieldInfo = model.fieldInfo(model.serializedFields[i]);
+            if (isToStringSerializer(model.serializers[i]) && isStructured(fieldInfo)) {
+                return "field " + model.serializedFields[i] + " of type " + fieldInfo.declaredType
+                    + " serialized with ToStringSerializer";
+            }
+        }
+        return unsupportedValueOf(model, JsonCodecEmitter::isJsonScalar,
+            keyInfo -> keyInfo.isEnum || KEY_TYPES.contains(keyInfo.typeName) || "java.util.UUID".equals(keyInfo.fullTypeName));
+    }
+
+    @Override
+    void addImports(DtoModel model, Set<String> importSet) {
+        importSet.add("com.AutoGenClass.runtime.JsonInput");
+        importSet.add("com.AutoGenClass.runtime.JsonOutput");
+        importSet.add("java.io.IOException");
+        importSet.add("java.io.InputStream");
+        importSet.add("java.io.OutputStream");
+        importSet.add("java.io.UncheckedIOException");
+        importSet.add("java.nio.ByteBuffer");
+        importSet.add("java.nio.charset.StandardCharsets");
+        importSet.add("java.util.ArrayList");
+        importSet.add("java.util.Arrays");
+        importSet.add("java.util.Base64");
+        importSet.add("java.util.LinkedHashMap");
+        importSet.add("java.util.Map");
+        boolean hasSet = false;
+        for (FieldInfo fieldInfo : model.fieldInfoMap.values()) {
+            hasSet |= containsSet(fieldInfo);
+        }
+        for (JsonEntity entity : model.jsonEntities.values()) {
+            importSet.addAll(entity.imports);
+            for (FieldInfo propertyInfo : entity.types) {
+                hasSet |= containsSet(propertyInfo);
+            }
+        }
+        if (hasSet) {
+            importSet.add("java.util.HashSet");
+        }
+    }
+
+    @Override
+    void emit(DtoModel model) throws IOException {
+        emitWriter(model);
+        emitReader(model);
+    }
+
+    /**
+     * Generates the zero-dependency JSON writer: {@code toJson()} and {@code writeJson} for byte
+     * arrays, byte buffers and output streams, all writing UTF-8 through the runtime
+     * {@code JsonOutput}.
+     *
+     * <p>Field names are precomputed UTF-8 constants including the separator and the colon, so
+     * writing a name is a single array copy. Fields are written in the same order and with the
+     * same names and representations as Jackson writes the DTO by default. Entity types resolved
+     * by {@link JsonEntityResolver} get a static writer method each; values typed as
+     * {@code Object} or with types that are not resolved are written by their runtime type.</p>
+     */
+    private void emitWriter(DtoModel model) throws IOException {
+        String[] allFields = model.allFields();
+
+        boolean split = isSplit(model);
+
+        append("\n");
+        String[] names = new String[allFields.length];
+        for (int i = 0; i < allFields.length; i++) {
+            names[i] = jsonNameLiteral(i == 0, allFields[i]) + ".getBytes(StandardCharsets.UTF_8)";
+        }
+        String[] constants = emitFieldConstants(model, "byte[]", "JSON_", "JSON_FIELDS", names, "    ");
+        boolean entityNames = false;
+        for (JsonEntity entity : model.jsonEntities.values()) {
+            boolean first = true;
+            for (int i = 0; i < entity.names.length; i++) {
+                if (entity.getters[i] != null) {
+                    append("    private static final byte[] JSON_").append(identifierOf(entity.typeName)).append("_")
+                        .append(entity.names[i]).append(" = ").append(jsonNameLiteral(first, entity.names[i]))
+                        .append(".getBytes(StandardCharsets.UTF_8);\n");
+                    first = false;
+                    entityNames = true;
+                }
+            }
+        }
+        append(allFields.length > 0 && !split || entityNames ? "\n" : "");
+
+        append("    public byte[] toJson() {\n");
+        int initialSize = 64 + 32 * allFields.length;
+        append("        JsonOutput out = new JsonOutput(new byte[").append(Integer.toString(initialSize)).append("], 0, ")
+            .append(Integer.toString(initialSize)).append(", null, true);\n");
+        append("        writeJson(out);\n");
+        append("        return out.toByteArray();\n");
+        append("    }\n\n");
+
+        append("    public int writeJson(byte[] dst, int off) {\n");
+        append("        if (off < 0 || off > dst.length) {\n");
+        append("            throw new IndexOutOfBoundsException(\"Offset \" + off + \" out of bounds for length \" + dst.length);\n");
+        append("        }\n");
+        append("        JsonOutput out = new JsonOutput(dst, off, dst.length, null, false);\n");
+        append("        writeJson(out);\n");
+        append("        return out.position() - off;\n");
+        append("    }\n\n");
+
+        append("    public void writeJson(ByteBuffer dst) {\n");
+        append("        if (!dst.hasArray()) {\n");
+        append("            dst.put(toJson());\n");
+        append("            return;\n");
+        append("        }\n");
+        append("        JsonOutput out = new JsonOutput(dst.array(), dst.arrayOffset() + dst.position(), dst.arrayOffset() + dst.limit(), null, false);\n");
+        append("        writeJson(out);\n");
+        append("        dst.position(out.position() - dst.arrayOffset());\n");
+        append("    }\n\n");
+
+        append("    public void writeJson(OutputStream stream) throws IOException {\n");
+        append("        JsonOutput out = new JsonOutput(new byte[8192], 0, 8192, stream, true);\n");
+        append("        try {\n");
+        append("            writeJson(out);\n");
+        append("            out.flush();\n");
+        append("        } catch (UncheckedIOException e) {\n");
+        append("            throw e.getCause();\n");
+        append("        }\n");
+        append("    }\n\n");
+
+        variableCount = 0;
+        append("    private void writeJson(JsonOutput out) {\n");
+        if (allFields.length == 0) {
+            append("        out.ascii(\"{}\");\n");
+        }
+        if (split) {
+            for (int chunk = 0; chunk < chunkCount(model); chunk++) {
+                append("        writeJson").append(Integer.toString(chunk)).append("(out);\n");
+            }
+        } else {
+            emitJsonFieldWrites(model, constants, 0, allFields.length);
+        }
+        append(allFields.length > 0 ? "        out.ascii('}');\n" : "");
+        append("    }\n");
+        for (int chunk = 0; split && chunk < chunkCount(model); chunk++) {
+            variableCount = 0;
+            append("\n");
+            append("    private void writeJson").append(Integer.toString(chunk)).append("(JsonOutput out) {\n");
+            emitJsonFieldWrites(model, constants, chunk * methodChunkSize, chunkEnd(model, chunk));
+            append("    }\n");
+        }
+
+        for (JsonEntity entity : model.jsonEntities.values()) {
+            variableCount = 0;
+            append("\n");
+            append("    private static void write").append(identifierOf(entity.typeName)).append("(JsonOutput out, ")
+                .append(entity.typeName).append(" value) {\n");
+            boolean empty = true;
+            for (int i = 0; i < entity.names.length; i++) {
+                if (entity.getters[i] == null) {
+                    continue;
+                }
+                empty = false;
+                String variable = nextVariable("v");
+                append("        out.bytes(JSON_").append(identifierOf(entity.typeName)).append("_").append(entity.names[i]).append(");\n");
+                append("        ").append(entity.types[i].declaredType).append(" ").append(variable)
+                    .append(" = value.").append(entity.getters[i]).append(";\n");
+                emitJsonWrite(model, variable, entity.types[i], "        ");
+            }
+            append(empty ? "        out.ascii(\"{}\");\n" : "        out.ascii('}');\n");
+            append("    }\n");
+        }
+
+    }
+
+    /**
+     * Generates the statements writing a range of the fields, each preceded by its name constant.
+     */
+    private void emitJsonFieldWrites(DtoModel model, String[] constants, int from, int to) throws IOException {
+        String[] allFields = model.allFields();
+        for (int i = from; i < to; i++) {
+            String fieldName = allFields[i];
+            append("        out.bytes(").append(constants[i]).append(");\n");
+            int serializedIndex = i - model.simpleFields.length;
+            if (serializedIndex >= 0 && isToStringSerializer(model.serializers[serializedIndex])) {
+                emitJsonToString(fieldName, model.fieldInfo(fieldName), "        ");
+            } else {
+                emitJsonWrite(model, fieldName, model.fieldInfo(fieldName), "        ");
+            }
+        }
+    }
+
+    /**
+     * Generates the statements writing one value with the {@code JsonOutput}. The value must be
+     * an expression without side effects, as it may be evaluated more than once.
+     */
+    private void emitJsonWrite(DtoModel model, String value, FieldInfo fieldInfo, String indent) throws IOException {
+        if (fieldInfo.isPrimitive) {
+            switch (fieldInfo.typeName) {
+                case "boolean":
+                    append(indent).append("out.bool(").append(value).append(");\n");
+                    break;
+                case "char":
+                    append(indent).append("out.string(String.valueOf(").append(value).append("));\n");
+                    break;
+                default:
+                    append(indent).append("out.number(").append(value).append(");\n");
+            }
+            return;
+        }
+        if ("Object".equals(fieldInfo.typeName)) {
+            append(indent).append("out.value(").append(value).append(");\n");
+            return;
+        }
+
+        append(indent).append("if (").append(value).append(" == null) {\n");
+        append(indent).append("    out.nullValue();\n");
+        append(indent).append("} else {\n");
+        String inner = indent + "    ";
+        JsonEntity entity = model.jsonEntities.get(fieldInfo.declaredType);
+        if (fieldInfo.isWrapper) {
+            switch (fieldInfo.typeName) {
+                case "Boolean":
+                    append(inner).append("out.bool(").append(value).append(");\n");
+                    break;
+                case "Character":
+                case "String":
+                    append(inner).append("out.string(").append(value).append(fieldInfo.typeName.equals("String") ? "" : ".toString()").append(");\n");
+                    break;
+                default:
+                    append(inner).append("out.number(").append(value).append(");\n");
+            }
+        } else if (fieldInfo.isEnum) {
+            append(inner).append("out.string(").append(value).append(".name());\n");
+        } else if (fieldInfo.isArray && "byte".equals(fieldInfo.elementInfo.typeName)) {
+            append(inner).append("out.base64(").append(value).append(");\n");
+        } else if (fieldInfo.isArray && "char".equals(fieldInfo.elementInfo.typeName)) {
+            append(inner).append("out.string(new String(").append(value).append("));\n");
+        } else if (fieldInfo.isMap) {
+            String index = nextVariable("i");
+            String entry = nextVariable("e");
+            String entryValue = nextVariable("v");
+            append(inner).append("out.ascii('{');\n");
+            append(inner).append("int ").append(index).append(" = 0;\n");
+            append(inner).append("for (Map.Entry<").append(fieldInfo.keyInfo.declaredType).append(", ")
+                .append(fieldInfo.valueInfo.declaredType).append("> ").append(entry).append(" : ")
+                .append(value).append(".entrySet()) {\n");
+            append(inner).append("    if (").append(index).append("++ != 0) {\n");
+            append(inner).append("        out.ascii(',');\n");
+            append(inner).append("    }\n");
+            append(inner).append("    out.key(").append(entry).append(".getKey());\n");
+            append(inner).append("    out.ascii(':');\n");
+            append(inner).append("    ").append(fieldInfo.valueInfo.declaredType).append(" ").append(entryValue)
+                .append(" = ").append(entry).append(".getValue();\n");
+            emitJsonWrite(model, entryValue, fieldInfo.valueInfo, inner + "    ");
+            append(inner).append("}\n");
+            append(inner).append("out.ascii('}');\n");
+        } else if (fieldInfo.isCollection) {
+            String index = nextVariable("i");
+            String element = nextVariable("e");
+            append(inner).append("out.ascii('[');\n");
+            append(inner).append("int ").append(index).append(" = 0;\n");
+            append(inner).append("for (").append(fieldInfo.elementInfo.declaredType).append(" ").append(element)
+                .append(" : ").append(value).append(") {\n");
+            append(inner).append("    if (").append(index).append("++ != 0) {\n");
+            append(inner).append("        out.ascii(',');\n");
+            append(inner).append("    }\n");
+            emitJsonWrite(model, element, fieldInfo.elementInfo, inner + "    ");
+            append(inner).append("}\n");
+            append(inner).append("out.ascii(']');\n");
+        } else if (entity != null) {
+            append(inner).append("write").append(identifierOf(entity.typeName)).append("(out, ").append(value).append(");\n");
+        } else {
+            append(inner).append("out.value(").append(value).append(");\n");
+        }
+        append(indent).append("}\n");
+    }
+
+    /**
+     * Generates the statements writing a field serialized with {@code ToStringSerializer}.
+     */
+    private void emitJsonToString(String value, FieldInfo fieldInfo, String indent) throws IOException {
+        if (fieldInfo.isPrimitive) {
+            append(indent).append("out.string(String.valueOf(").append(value).append("));\n");
+            return;
+        }
+        append(indent).append("if (").append(value).append(" == null) {\n");
+        append(indent).append("    out.nullValue();\n");
+        append(indent).append("} else {\n");
+        append(indent).append("    out.string(").append(value).append(".toString());\n");
+        append(indent).append("}\n");
+    }
+
+    /**
+     * Generates the static {@code readJson} methods, which parse UTF-8 JSON bytes directly into a
+     * new DTO with the runtime {@code JsonInput}, without a token stream.
+     *
+     * <p>Names are not decoded: the UTF-8 length of a name selects the candidate fields, whose
+     * precomputed names are then compared byte by byte, and unknown names are skipped. Values are
+     * read into the field types with Jackson's default coercions (quoted numbers and booleans,
+     * truncated floating point integers, null for primitives). Entities resolved by
+     * {@link JsonEntityResolver} are created with their no-arg constructor and filled through their
+     * setters or public fields, records with their canonical constructor. Entities that cannot be
+     * created and other types without a JSON representation fail for values other than null.
+     * Split DTOs pass every name to a helper per chunk of fields, which reads into the DTO or, if it
+     * is immutable, its builder.</p>
+     */
+    private void emitReader(DtoModel model) throws IOException {
+        String className = model.className;
+        String[] allFields = model.allFields();
+
+        boolean split = isSplit(model);
+
+        append("\n");
+        String[] names = new String[allFields.length];
+        String[] targets = new String[allFields.length];
+        FieldInfo[] fieldInfos = new FieldInfo[allFields.length];
+        String[] parameters = new String[allFields.length];
+        for (int i = 0; i < allFields.length; i++) {
+            String fieldName = allFields[i];
+            names[i] = "\"" + fieldName + "\".getBytes(StandardCharsets.UTF_8)";
+            parameters[i] = "p" + i;
+            if (split) {
+                targets[i] = (model.immutable ? "builder." : "dto.") + fieldName + " = ";
+            } else {
+                targets[i] = model.immutable ? parameters[i] + " = " : "dto." + fieldName + " = ";
+            }
+            fieldInfos[i] = model.fieldInfo(fieldName);
+        }
+        String[] constants = emitFieldConstants(model, "byte[]", "JSON_NAME_", "JSON_NAMES", names, "    ");
+        boolean entityNames = false;
+        for (JsonEntity entity : model.jsonEntities.values()) {
+            for (int i = 0; i < entity.names.length; i++) {
+                if (entity.instantiable && (entity.record || entity.setters[i] != null)) {
+                    append("    private static final byte[] JSON_NAME_").append(CodecEmitter.identifierOf(entity.typeName)).append("_")
+                        .append(entity.names[i]).append(" = \"").append(entity.names[i])
+                        .append("\".getBytes(StandardCharsets.UTF_8);\n");
+                    entityNames = true;
+                }
+            }
+        }
+        append(allFields.length > 0 && !split || entityNames ? "\n" : "");
+
+        append("    public static ").append(className).append(" readJson(byte[] src) {\n");
+        append("        return readJson(src, 0, src.length);\n");
+        append("    }\n\n");
+
+        variableCount = 0;
+        append("    public static ").append(className).append(" readJson(byte[] src, int off, int len) {\n");
+        append("        Objects.checkFromIndexSize(off, len, src.length);\n");
+        append("        JsonInput in = new JsonInput(src, off, off + len);\n");
+        append("        ").append(className).append(" dto = null;\n");
+        append("        if (!in.nullValue()) {\n");
+        if (split && model.immutable) {
+            append("            Builder builder = new Builder();\n");
+        } else if (model.immutable) {
+            // Immutable DTOs are created once all fields are read
+            for (int i = 0; i < allFields.length; i++) {
+                append("            ").append(fieldInfos[i].declaredType).append(" ").append(parameters[i]).append(" = ")
+                    .append(defaultValue(fieldInfos[i])).append(";\n");
+            }
+        } else {
+            append("            dto = new ").append(className).append("();\n");
+        }
+        if (split) {
+            emitJsonChunkedFieldLoop(model, "            ");
+        } else {
+            emitJsonFieldLoop(model, allFields, constants, targets, fieldInfos, "            ");
+        }
+        if (split && model.immutable) {
+            append("            dto = builder.build();\n");
+        } else if (model.immutable && model.wide()) {
+            append("            dto = ");
+            source.emitBuilderChain(model, parameters, "            ");
+            append(";\n");
+        } else if (model.immutable) {
+            append("            dto = new ").append(className).append("(").append(String.join(", ", parameters)).append(");\n");
+        }
+        append("        }\n");
+        append("        in.end();\n");
+        append("        return dto;\n");
+        append("    }\n\n");
+
+        append("    public static ").append(className).append(" readJson(ByteBuffer src) {\n");
+        append("        if (!src.hasArray()) {\n");
+        append("            byte[] bytes = new byte[src.remaining()];\n");
+        append("            src.get(bytes);\n");
+        append("            return readJson(bytes, 0, bytes.length);\n");
+        append("        }\n");
+        append("        ").append(className).append(" dto = readJson(src.array(), src.arrayOffset() + src.position(), src.remaining());\n");
+        append("        src.position(src.limit());\n");
+        append("        return dto;\n");
+        append("    }\n\n");
+
+        append("    public static ").append(className).append(" readJson(InputStream stream) throws IOException {\n");
+        append("        byte[] bytes = stream.readAllBytes();\n");
+        append("        return readJson(bytes, 0, bytes.length);\n");
+        append("    }\n");
+
+        for (int chunk = 0; split && chunk < chunkCount(model); chunk++) {
+            variableCount = 0;
+            append("\n");
+            append("    private static boolean readJson").append(Integer.toString(chunk)).append("(JsonInput in, int length, ")
+                .append(readTargetOf(model)).append(") {\n");
+            emitJsonNameSwitch(model, "length", allFields, constants, targets, fieldInfos,
+                chunk * methodChunkSize, chunkEnd(model, chunk), "return true;", "        ");
+            append("        return false;\n");
+            append("    }\n");
+        }
+
+        for (JsonEntity entity : model.jsonEntities.values()) {
+            variableCount = 0;
+            String identifier = CodecEmitter.identifierOf(entity.typeName);
+            append("\n");
+            append("    private static ").append(entity.typeName).append(" read").append(identifier).append("(JsonInput in) {\n");
+            int count = entity.names.length;
+            String[] entityConstants = new String[count];
+            String[] entityTargets = new String[count];
+            String[] components = new String[count];
+            for (int i = 0; i < count; i++) {
+                if (entity.record) {
+                    components[i] = nextVariable("p");
+                    entityTargets[i] = components[i] + " = ";
+                    append("        ").append(entity.types[i].declaredType).append(" ").append(components[i])
+                        .append(" = ").append(defaultValue(entity.types[i])).append(";\n");
+                } else if (entity.setters[i] != null) {
+                    entityTargets[i] = "value." + entity.setters[i];
+                }
+                if (entityTargets[i] != null) {
+                    entityConstants[i] = "JSON_NAME_" + identifier + "_" + entity.names[i];
+                }
+            }
+            if (!entity.record) {
+                append("        ").append(entity.typeName).append(" value = new ").append(constructed(entity.typeName))
+                    .append("();\n");
+            }
+            emitJsonFieldLoop(model, entity.names, entityConstants, entityTargets, entity.types, "        ");
+            if (entity.record) {
+                append("        return new ").append(constructed(entity.typeName)).append("(").append(String.join(", ", components)).append(");\n");
+            } else {
+                append("        return value;\n");
+            }
+            append("    }\n");
+        }
+
+    }
+
+    /**
+     * Generates the loop reading the members of a JSON object into the given targets, such as
+     * {@code "dto.id = "} or {@code "value.setId("}. A name selects its candidates by its UTF-8
+     * length first; properties without a target are skipped like unknown names.
+     */
+    private void emitJsonFieldLoop(DtoModel model, String[] names, String[] constants, String[] targets,
+                                   FieldInfo[] fieldInfos, String indent) throws IOException {
+        boolean readable = false;
+        for (String target : targets) {
+            readable |= target != null;
+        }
+
+        append(indent).append("for (boolean more = in.startObject(); more; more = in.nextField()) {\n");
+        if (!readable) {
+            append(indent).append("    in.name();\n");
+        } else {
+            emitJsonNameSwitch(model, "in.name()", names, constants, targets, fieldInfos, 0, targets.length,
+                "continue;", indent + "    ");
+        }
+        append(indent).append("    in.skipValue();\n");
+        append(indent).append("}\n");
+    }
+
+    /**
+     * Generates the loop reading the members of a JSON object into a split DTO, which passes every
+     * name to the helper of each chunk of fields ({@code readJson0}, ...) until one reads the value.
+     */
+    private void emitJsonChunkedFieldLoop(DtoModel model, String indent) throws IOException {
+        String target = model.immutable ? "builder" : "dto";
+        append(indent).append("for (boolean more = in.startObject(); more; more = in.nextField()) {\n");
+        append(indent).append("    int length = in.name();\n");
+        append(indent).append("    if (");
+        for (int chunk = 0; chunk < chunkCount(model); chunk++) {
+            append(chunk > 0 ? "\n" + indent + "            && " : "").append("!readJson").append(Integer.toString(chunk))
+                .append("(in, length, ").append(target).append(")");
+        }
+        append(") {\n");
+        append(indent).append("        in.skipValue();\n");
+        append(indent).append("    }\n");
+        append(indent).append("}\n");
+    }
+
+    /**
+     * Generates the {@code switch} selecting the candidates of a range of the names by the UTF-8
+     * length of the current name and reading the value of the matching one, which ends with the
+     * given statement.
+     */
+    private void emitJsonNameSwitch(DtoModel model, String selector, String[] names, String[] constants, String[] targets,
+                                    FieldInfo[] fieldInfos, int from, int to, String matched,
+                                    String indent) throws IOException {
+        Map<Integer, List<Integer>> byLength = new TreeMap<>();
+        for (int i = from; i < to; i++) {
+            if (targets[i] != null) {
+                byLength.computeIfAbsent(names[i].getBytes(StandardCharsets.UTF_8).length, length -> new ArrayList<>()).add(i);
+            }
+        }
+
+        append(indent).append("switch (").append(selector).append(") {\n");
+        for (Map.Entry<Integer, List<Integer>> group : byLength.entrySet()) {
+            append(indent).append("    case ").append(Integer.toString(group.getKey())).append(":\n");
+            for (int i : group.getValue()) {
+                String inner = indent + "            ";
+                append(indent).append("        if (in.nameEquals(").append(constants[i]).append(")) {\n");
+                String value = emitJsonRead(model, fieldInfos[i], inner);
+                append(inner).append(targets[i]).append(value).append(targets[i].endsWith("(") ? ");\n" : ";\n");
+                append(inner).append(matched).append("\n");
+                append(indent).append("        }\n");
+            }
+            append(indent).append("        break;\n");
+        }
+        append(indent).append("    default:\n");
+        append(indent).append("        break;\n");
+        append(indent).append("}\n");
+    }
+
+    /**
+     * Generates the statements reading one value with the {@code JsonInput}, if the type needs
+     * any, and returns the expression of the value.
+     */
+    private String emitJsonRead(DtoModel model, FieldInfo fieldInfo, String indent) throws IOException {
+        if (fieldInfo.isPrimitive) {
+            return "in.nullValue() ? " + defaultValue(fieldInfo) + " : " + scalarJsonRead(fieldInfo.typeName);
+        }
+        if ("Object".equals(fieldInfo.typeName)) {
+            return "in.readValue()";
+        }
+        if (fieldInfo.isWrapper) {
+            return "in.nullValue() ? null : " + scalarJsonRead(fieldInfo.typeName);
+        }
+        if (fieldInfo.isEnum) {
+            return "in.nullValue() ? null : " + fieldInfo.declaredType + ".valueOf(in.readString())";
+        }
+        if (fieldInfo.isArray && "byte".equals(fieldInfo.elementInfo.typeName)) {
+            return "in.nullValue() ? null : Base64.getDecoder().decode(in.readString())";
+        }
+        if (fieldInfo.isArray && "char".equals(fieldInfo.elementInfo.typeName)) {
+            return "in.nullValue() ? null : in.readString().toCharArray()";
+        }
+        if (!fieldInfo.isCollection && !fieldInfo.isArray) {
+            JsonEntity entity = model.jsonEntities.get(fieldInfo.declaredType);
+            if (entity != null) {
+                return "in.nullValue() ? null : read" + CodecEmitter.identifierOf(entity.typeName) + "(in)";
+            }
+            switch (fieldInfo.fullTypeName) {
+                case "java.math.BigDecimal":
+                case "java.math.BigInteger":
+                    return "in.nullValue() ? null : new " + fieldInfo.declaredType + "(in.numberText())";
+                case "java.util.Date":
+                    return "in.nullValue() ? null : new " + fieldInfo.declaredType + "(in.readLong())";
+                case "java.util.UUID":
+                    return "in.nullValue() ? null : " + fieldInfo.declaredType + ".fromString(in.readString())";
+                default:
+                    throw new IllegalArgumentException(fieldInfo.declaredType + " cannot be read from JSON");
+            }
+        }
+
+        String variable = nextVariable("v");
+        String more = nextVariable("m");
+        String count = fieldInfo.isArray ? nextVariable("n") : null;
+        String inner = indent + "        ";
+        append(indent).append(fieldInfo.declaredType).append(" ").append(variable).append(" = null;\n");
+        append(indent).append("if (!in.nullValue()) {\n");
+        if (fieldInfo.isMap) {
+            String key = nextVariable("k");
+            append(indent).append("    ").append(variable).append(" = new LinkedHashMap<>();\n");
+            append(indent).append("    for (boolean ").append(more).append(" = in.startObject(); ").append(more)
+                .append("; ").append(more).append(" = in.nextField()) {\n");
+            append(inner).append("in.name();\n");
+            append(inner).append(fieldInfo.keyInfo.declaredType).append(" ").append(key).append(" = ")
+                .append(keyJsonRead(fieldInfo.keyInfo)).append(";\n");
+            String value = emitJsonRead(model, fieldInfo.valueInfo, inner);
+            append(inner).append(variable).append(".put(").append(key).append(", ").append(value).append(");\n");
+        } else if (fieldInfo.isArray) {
+            append(indent).append("    ").append(variable).append(" = new ").append(arrayCreation(fieldInfo.elementInfo, "8")).append(";\n");
+            append(indent).append("    int ").append(count).append(" = 0;\n");
+            append(indent).append("    for (boolean ").append(more).append(" = in.startArray(); ").append(more)
+                .append("; ").append(more).append(" = in.nextElement()) {\n");
+            String element = emitJsonRead(model, fieldInfo.elementInfo, inner);
+            append(inner).append("if (").append(count).append(" == ").append(variable).append(".length) {\n");
+            append(inner).append("    ").append(variable).append(" = Arrays.copyOf(").append(variable).append(", ")
+                .append(count).append(" * 2);\n");
+            append(inner).append("}\n");
+            append(inner).append(variable).append("[").append(count).append("++] = ").append(element).append(";\n");
+        } else {
+            append(indent).append("    ").append(variable).append(" = new ")
+                .append("Set".equals(fieldInfo.typeName) ? "HashSet" : "ArrayList").append("<>();\n");
+            append(indent).append("    for (boolean ").append(more).append(" = in.startArray(); ").append(more)
+                .append("; ").append(more).append(" = in.nextElement()) {\n");
+            String element = emitJsonRead(model, fieldInfo.elementInfo, inner);
+            append(inner).append(variable).append(".add(").append(element).append(");\n");
+        }
+        append(indent).append("    }\n");
+        if (fieldInfo.isArray) {
+            append(indent).append("    ").append(variable).append(" = Arrays.copyOf(").append(variable).append(", ")
+                .append(count).append(");\n");
+        }
+        append(indent).append("}\n");
+        return variable;
+    }
+
+    /**
+     * Returns the {@code JsonInput} call reading a primitive or a wrapper value.
+     */
+    private static String scalarJsonRead(String typeName) {
+        switch (typeName) {
+            case "boolean":
+            case "Boolean":
+                return "in.readBoolean()";
+            case "char":
+            case "Character":
+                return "in.readChar()";
+            case "byte":
+            case "Byte":
+                return "(byte) in.readInt()";
+            case "short":
+            case "Short":
+                return "(short) in.readInt()";
+            case "long":
+            case "Long":
+                return "in.readLong()";
+            case "float":
+            case "Float":
+                return "in.readFloat()";
+            case "double":
+            case "Double":
+                return "in.readDouble()";
+            case "String":
+                return "in.readString()";
+            default:
+                return "in.readInt()";
+        }
+    }
+
+    /**
+     * Returns the expression converting the current JSON name to a map key, the way Jackson's
+     * default key deserializers do.
+     */
+    private static String keyJsonRead(FieldInfo keyInfo) {
+        if (keyInfo.isEnum) {
+            return keyInfo.declaredType + ".valueOf(in.nameString())";
+        }
+        switch (keyInfo.typeName) {
+            case "String":
+            case "Object":
+                return "in.nameString()";
+            case "Character":
+                return "in.nameString().charAt(0)";
+            case "Integer":
+            case "Long":
+            case "Short":
+            case "Byte":
+            case "Double":
+            case "Float":
+            case "Boolean":
+                return keyInfo.typeName + ".valueOf(in.nameString())";
+            default:
+                if ("java.util.UUID".equals(keyInfo.fullTypeName)) {
+                    return keyInfo.declaredType + ".fromString(in.nameString())";
+                }
+                throw new IllegalArgumentException(keyInfo.declaredType + " cannot be read as a JSON object key");
+        }
+    }
+
+    /**
+     * Checks whether the reader reads a type from a single JSON value.
+     */
+    private static boolean isJsonScalar(FieldInfo fieldInfo) {
+        if (fieldInfo.isArray) {
+            return !isStructured(fieldInfo);
+        }
+        return fieldInfo.isEnum || SCALAR_TYPES.contains(fieldInfo.fullTypeName);
+    }
+
+    /**
+     * Checks whether a type is written as a JSON object or array, which cannot be read back from
+     * the string {@code ToStringSerializer} writes.
+     */
+    private static boolean isStructured(FieldInfo fieldInfo) {
+        if (fieldInfo.isArray) {
+            return !"byte".equals(fieldInfo.elementInfo.typeName) && !"char".equals(fieldInfo.elementInfo.typeName);
+        }
+        return fieldInfo.isCollection || fieldInfo.isMap || fieldInfo.isEntity && !fieldInfo.isEnum
+            && !fieldInfo.fullTypeName.startsWith("java.");
+    }
+
+    /**
+     * Returns the Java string literal of a precomputed JSON name: the separator, the quoted
+     * name and the colon.
+     */
+    private static String jsonNameLiteral(boolean first, String name) {
+        return "\"" + (first ? "{" : ",") + "\\\"" + name + "\\\":\"";
+    }
+}
@@ -0,0 +1,66 @@
+package com.AutoGenClass.generator;
+
+import java.util.Set;
+
+/**
+ * The JSON properties of an entity type used by a DTO with {@code json = true}.
+ *
+ * <p>Properties are resolved on the compiler thread by {@link JsonEntityResolver} the way
+ * Jackson finds bean properties, so the generated JSON matches the one Jackson writes for the
+ * entity. Everything is stored as plain strings and {@link FieldInfo} objects aligned by
+ * property index. A property whose type cannot be declared exactly in the DTO has the type
+ * {@link FieldInfo#OBJECT} and is written by its runtime type. Properties that are only
+ * readable are not read back from JSON, properties that are only writable are not written.</p>
+ *
+ * @author Mohammed-Salameh
+ * @since 2.0
+ */
+class JsonEntity {
+    /** Entity type as written in the DTO source (e.g., "UserProfile") */
+    final String typeName;
+
+    /** JSON name of every property */
+    final String[] names;
+
+    /** Read expression of every property (e.g., {@code "getId()"}, or {@code "id"} for a public field), or null */
+    final String[] getters;
+
+    /** Write prefix of every property (e.g., {@code "setId("}, or {@code "id = "} for a public field), or null */
+    final String[] setters;
+
+    /** Type information of every property */
+    final FieldInfo[] types;
+
+    /** Qualified names to import for the entity and its property types */
+    final Set<String> imports;
+
+    /** Whether the entity is a record, read back through its canonical constructor */
+    final boolean record;
+
+    /** Whether the entity is a record or can be created with {@code new Entity()} */
+    final boolean instantiable;
+
+    /**
+     * Creates the JSON properties of an entity.
+     *
+     * @param typeName the entity type as written in the DTO source
+     * @param names the JSON property names
+     * @param getters the read expression of every property, or null
+     * @param setters the write prefix of every property, or null
+     * @param types the type information of every property
+     * @param imports the qualified names to import
+     * @param record whether the entity is a record
+     * @param instantiable whether the entity can be created from the DTO package
+     */
+    JsonEntity(String typeName, String[] names, String[] getters, String[] setters, FieldInfo[] types,
+               Set<String> imports, boolean record, boolean instantiable) {
+        this.typeName = typeName;
+        this.names = names;
+        this.getters = getters;
+        this.setters = setters;
+        this.types = types;
+        this.imports = imports;
+        this.record = record;
+        this.instantiable = instantiable;
+    }
+}
@@ -0,0 +1,328 @@
+package com.AutoGenClass.generator;
+
+import javax.annotation.processing.Messager;
+import javax.lang.model.element.*;
+import javax.lang.model.type.ArrayType;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.ExecutableType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.type.WildcardType;
+import javax.lang.model.util.ElementFilter;
+import javax.lang.model.util.Elements;
+import javax.lang.model.util.Types;
+import javax.tools.Diagnostic;
+import java.util.*;
+
+/**
+ * Resolves the entity types a DTO writes as JSON objects, with their properties.
+ *
+ * <p>Starting from the DTO fields, every entity type reachable through fields, collection
+ * elements, map values and entity properties is resolved once per compilation. Properties are
+ * found like Jackson's default bean introspection: public getters ({@code getX()}, and
+ * {@code isX()} returning {@code boolean}) and setters ({@code setX(..)}) named with Jackson's
+ * default name mangling, and public non-transient fields, ordered by the declaration of the
+ * fields of the class hierarchy first and the accessors second. Records use their components.
+ * Jackson annotations on the entity are not evaluated.</p>
+ *
+ * <p>Types from {@code java.*} and {@code javax.*}, enums and entities that cannot be
+ * referenced from the DTO package are not resolved; the generated writer handles them by
+ * their runtime type. A resolver must only be used from the compiler thread.</p>
+ *
+ * @author Mohammed-Salameh
+ * @since 2.0
+ */
+class JsonEntityResolver {
+
+    /** Type utilities of the current compilation */
+    private final Types types;
+
+    /** Element utilities of the current compilation */
+    private final Elements elements;
+
+    /** Analyzer classifying field and property types */
+    private final TypeAnalyzer typeAnalyzer;
+
+    /** Messager reporting entities that are written by their runtime type */
+    private final Messager messager;
+
+    /** Resolved entities by canonical type name, null for types that are not resolved */
+    private final Map<String, Resolved> cache = new HashMap<>();
+
+    /**
+     * Creates a resolver for the current compilation.
+     *
+     * @param types the type utilities of the processing environment
+     * @param elements the element utilities of the processing environment
+     * @param typeAnalyzer the field type analyzer
+     * @param messager the messager of the processing environment
+     */
+    JsonEntityResolver(Types types, Elements elements, TypeAnalyzer typeAnalyzer, Messager messager) {
+        this.types = types;
+        this.elements = elements;
+        this.typeAnalyzer = typeAnalyzer;
+        this.messager = messager;
+    }
+
+    /**
+     * Resolves the entity types used by the fields of a DTO.
+     *
+     * @param source the annotated entity class
+     * @param fieldNames the DTO field names
+     * @return the entities by their type as written in the DTO source, in discovery order
+     */
+    Map<String, JsonEntity> resolve(TypeElement source, String[] fieldNames) {
+        Map<String, VariableElement> fields = new HashMap<>();
+        for (VariableElement field : ElementFilter.fieldsIn(source.getEnclosedElements())) {
+            fields.put(field.getSimpleName().toString(), field);
+        }
+        Map<String, JsonEntity> entities = new LinkedHashMap<>();
+        for (String fieldName : fieldNames) {
+            VariableElement field = fields.get(fieldName);
+            if (field != null) {
+                collect(field.asType(), entities);
+            }
+        }
+        return entities;
+    }
+
+    /**
+     * Adds the entities reachable from a type, following the types {@link TypeAnalyzer} uses
+     * for the declaration in the DTO.
+     */
+    private void collect(TypeMirror type, Map<String, JsonEntity> entities) {
+        switch (type.getKind()) {
+            case ARRAY:
+                collect(((ArrayType) type).getComponentType(), entities);
+                return;
+            case WILDCARD:
+                TypeMirror bound = ((WildcardType) type).getExtendsBound();
+                if (bound != null) {
+                    collect(bound, entities);
+                }
+                return;
+            case TYPEVAR:
+                collect(types.erasure(type), entities);
+                return;
+            case DECLARED:
+                break;
+            default:
+                return;
+        }
+
+        DeclaredType declared = (DeclaredType) type;
+        FieldInfo info = typeAnalyzer.analyze(declared);
+        if (info.isCollection) {
+            for (TypeMirror component : typeAnalyzer.componentTypesOf(declared)) {
+                collect(component, entities);
+            }
+            return;
+        }
+        if (!info.isEntity || info.isEnum || entities.containsKey(info.declaredType)) {
+            return;
+        }
+
+        String key = declared.toString();
+        Resolved resolved;
+        if (cache.containsKey(key)) {
+            resolved = cache.get(key);
+        } else {
+            resolved = resolveEntity(declared, info);
+            cache.put(key, resolved);
+        }
+        if (resolved != null) {
+            entities.put(info.declaredType, resolved.entity);
+            for (TypeMirror propertyType : resolved.propertyTypes) {
+                collect(propertyType, entities);
+            }
+        }
+    }
+
+    /**
+     * Resolves the properties of an entity type, or returns null if it is not written as a bean.
+     */
+    private Resolved resolveEntity(DeclaredType type, FieldInfo info) {
+        TypeElement element = (TypeElement) type.asElement();
+        PackageElement packageElement = elements.getPackageOf(element);
+        String packageName = packageElement.getQualifiedName().toString();
+        if (packageName.startsWith("java.") || packageName.startsWith("javax.")) {
+            return null;
+        }
+        if (!EntityMappingResolver.isPublic(element) || packageElement.isUnnamed()) {
+            messager.printMessage(Diagnostic.Kind.NOTE, element.getSimpleName()
+                + " is not a public class in a named package, its JSON is written with toString()", element);
+            return null;
+        }
+
+        // Properties by name, in Jackson's order: fields of the hierarchy first, then accessors;
+        // every property holds its getter, public field and setter
+        Map<String, Element[]> properties = new LinkedHashMap<>();
+        boolean record = element.getKind() == ElementKind.RECORD;
+        if (record) {
+            for (RecordComponentElement component : element.getRecordComponents()) {
+                properties.put(component.getSimpleName().toString(), new Element[] {component.getAccessor(), null, null});
+            }
+        } else {
+            List<TypeElement> hierarchy = hierarchyOf(element);
+            for (TypeElement member : hierarchy) {
+                for (VariableElement field : ElementFilter.fieldsIn(member.getEnclosedElements())) {
+                    Set<Modifier> modifiers = field.getModifiers();
+                    if (modifiers.contains(Modifier.STATIC) || modifiers.contains(Modifier.TRANSIENT)) {
+                        continue;
+                    }
+                    Element[] property = properties.computeIfAbsent(field.getSimpleName().toString(), name -> new Element[3]);
+                    if (modifiers.contains(Modifier.PUBLIC)) {
+                        property[1] = field;
+                    }
+                }
+            }
+            for (TypeElement member : hierarchy) {
+                for (ExecutableElement method : ElementFilter.methodsIn(member.getEnclosedElements())) {
+                    String name = propertyNameOf(method);
+                    if (name != null) {
+                        properties.computeIfAbsent(name, key -> new Element[3])[0] = method;
+                    }
+                    name = setterPropertyNameOf(method);
+                    if (name != null) {
+                        properties.computeIfAbsent(name, key -> new Element[3])[2] = method;
+                    }
+                }
+            }
+        }
+
+        List<String> names = new ArrayList<>();
+        List<String> getters = new ArrayList<>();
+        List<String> setters = new ArrayList<>();
+        List<FieldInfo> propertyInfos = new ArrayList<>();
+        List<TypeMirror> propertyTypes = new ArrayList<>();
+        Set<String> imports = new TreeSet<>(info.imports);
+        boolean allExact = true;
+        for (Map.Entry<String, Element[]> property : properties.entrySet()) {
+            Element getter = property.getValue()[0];
+            Element field = property.getValue()[1];
+            Element setter = property.getValue()[2];
+            TypeMirror propertyType;
+            String getterExpression = null;
+            if (getter != null) {
+                propertyType = ((ExecutableType) types.asMemberOf(type, getter)).getReturnType();
+                getterExpression = getter.getSimpleName() + "()";
+            } else if (field != null) {
+                propertyType = types.asMemberOf(type, field);
+                getterExpression = field.getSimpleName().toString();
+            } else if (setter != null) {
+                propertyType = ((ExecutableType) types.asMemberOf(type, setter)).getParameterTypes().get(0);
+            } else {
+                continue;
+            }
+            // Setters must take the property type, read-only public fields are not written, and
+            // values are only assigned to properties of types declared the same way in the DTO
+            boolean exact = typeAnalyzer.isDeclaredExactly(propertyType);
+            allExact &= exact;
+            String setterName = null;
+            if (exact && setter != null
+                && types.isSameType(((ExecutableType) types.asMemberOf(type, setter)).getParameterTypes().get(0), propertyType)) {
+                setterName = setter.getSimpleName() + "(";
+            } else if (exact && field != null && !field.getModifiers().contains(Modifier.FINAL)
+                && types.isSameType(types.asMemberOf(type, field), propertyType)) {
+                setterName = field.getSimpleName() + " = ";
+            }
+            FieldInfo propertyInfo = exact ? typeAnalyzer.analyze(propertyType) : FieldInfo.OBJECT;
+            names.add(property.getKey());
+            getters.add(getterExpression);
+            setters.add(setterName);
+            propertyInfos.add(propertyInfo);
+            propertyTypes.add(propertyType);
+            imports.addAll(propertyInfo.imports);
+        }
+
+        boolean instantiable = record ? allExact : EntityMappingResolver.isInstantiable(element);
+        if (!instantiable) {
+            messager.printMessage(Diagnostic.Kind.NOTE, element.getSimpleName() + (record
+                ? " has components of types the DTO does not declare exactly" : " has no public no-arg constructor")
+                + ", it cannot be read from JSON", element);
+        }
+        JsonEntity entity = new JsonEntity(info.declaredType, names.toArray(new String[0]),
+            getters.toArray(new String[0]), setters.toArray(new String[0]),
+            propertyInfos.toArray(new FieldInfo[0]), imports, record, instantiable);
+        return new Resolved(entity, propertyTypes);
+    }
+
+    /**
+     * Returns a class and its superclasses up to, excluding, {@code Object}, topmost first.
+     */
+    private List<TypeElement> hierarchyOf(TypeElement element) {
+        Deque<TypeElement> hierarchy = new ArrayDeque<>();
+        TypeElement current = element;
+        while (current != null && !current.getQualifiedName().contentEquals("java.lang.Object")) {
+            hierarchy.addFirst(current);
+            TypeMirror superclass = current.getSuperclass();
+            current = superclass.getKind() == TypeKind.DECLARED ? (TypeElement) types.asElement(superclass) : null;
+        }
+        return new ArrayList<>(hierarchy);
+    }
+
+    /**
+     * Returns the property name of a public getter as Jackson derives it, or null if the
+     * method is not a getter.
+     */
+    private static String propertyNameOf(ExecutableElement method) {
+        Set<Modifier> modifiers = method.getModifiers();
+        if (!modifiers.contains(Modifier.PUBLIC) || modifiers.contains(Modifier.STATIC)
+            || !method.getParameters().isEmpty() || method.getReturnType().getKind() == TypeKind.VOID) {
+            return null;
+        }
+        String name = method.getSimpleName().toString();
+        if (name.startsWith("get") && name.length() > 3) {
+            return mangle(name, 3);
+        }
+        if (name.startsWith("is") && name.length() > 2 && method.getReturnType().getKind() == TypeKind.BOOLEAN) {
+            return mangle(name, 2);
+        }
+        return null;
+    }
+
+    /**
+     * Returns the property name of a public setter as Jackson derives it, or null if the
+     * method is not a setter.
+     */
+    private static String setterPropertyNameOf(ExecutableElement method) {
+        Set<Modifier> modifiers = method.getModifiers();
+        if (!modifiers.contains(Modifier.PUBLIC) || modifiers.contains(Modifier.STATIC)
+            || method.getParameters().size() != 1) {
+            return null;
+        }
+        String name = method.getSimpleName().toString();
+        return name.startsWith("set") && name.length() > 3 ? mangle(name, 3) : null;
+    }
+
+    /**
+     * Lower-cases the leading upper-case characters of an accessor name after its prefix, like
+     * Jackson's default naming ({@code getURL} becomes {@code url}).
+     */
+    private static String mangle(String name, int offset) {
+        StringBuilder property = new StringBuilder(name.length() - offset);
+        int i = offset;
+        for (; i < name.length(); i++) {
+            char c = name.charAt(i);
+            char lower = Character.toLowerCase(c);
+            if (c == lower) {
+                break;
+            }
+            property.append(lower);
+        }
+        return property.append(name, i, name.length()).toString();
+    }
+
+    /**
+     * A resolved entity with the types of its properties, to follow nested entities.
+     */
+    private static final class Resolved {
+        final JsonEntity entity;
+        final List<TypeMirror> propertyTypes;
+
+        Resolved(JsonEntity entity, List<TypeMirror> propertyTypes) {
+            this.entity = entity;
+            this.propertyTypes = propertyTypes;
+        }
+    }
+}
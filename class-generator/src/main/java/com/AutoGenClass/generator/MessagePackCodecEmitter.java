@@ -0,0 +1,746 @@
+package com.AutoGenClass.generator;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Generates {@code messagePackSize()}, {@code writeMessagePackTo(ByteBuffer)} and
+ * {@code readMessagePackFrom(ByteBuffer)} and the methods of the entity types, which read and
+ * write MessagePack without a Jackson tree or the msgpack runtime.
+ *
+ * <p>A DTO is written like Jackson writes it to MessagePack: a map from the field names to
+ * the values, including nil for null values. Integers take their smallest MessagePack format,
+ * {@code float} and {@code double} are float 32 and float 64, {@code char}, {@code char[]},
+ * enums (by name), {@code UUID} and {@code BigDecimal} are strings, {@code byte[]} is binary,
+ * {@code Date} is epoch milliseconds and {@code BigInteger} an integer, or a string beyond 64
+ * bits. Arrays and collections are arrays, maps are maps with string keys, and entity types
+ * resolved by {@link JsonEntityResolver} are maps of their readable properties. Names are
+ * precomputed constants holding their MessagePack encoding; fields are read by name in any
+ * order, and unknown names and keys that are not strings are skipped. DTOs with more than
+ * {@code autogen.methodChunkSize} fields size, write and read their fields with a helper per
+ * chunk ({@code messagePackSize0}, {@code writeMessagePackTo0}, {@code readMessagePackFrom0},
+ * ...), and hold their name constants in an array. The codec is not generated for DTOs
+ * holding other types, such as {@code Object}, see {@link #unsupportedValueOf(DtoModel)}. The
+ * values are encoded and decoded by {@code com.AutoGenClass.runtime.MessagePackCodec}, which is
+ * shared by all DTOs.</p>
+ *
+ * @author Mohammed-Salameh
+ * @since 2.0
+ */
+final class MessagePackCodecEmitter extends CodecEmitter {
+
+    /** Qualified names of the types written as a single value, besides enums and byte and char arrays */
+    private static final Set<String> SCALAR_TYPES = Set.of("boolean", "byte", "char", "short", "int", "long",
+        "float", "double", "java.lang.Boolean", "java.lang.Byte", "java.lang.Character", "java.lang.Short",
+        "java.lang.Integer", "java.lang.Long", "java.lang.Float", "java.lang.Double", "java.lang.String",
+        "java.math.BigInteger", "java.math.BigDecimal", "java.util.Date", "java.util.UUID");
+
+    /** Simple names of the map key types read back from their string form, besides enums and {@code UUID} */
+    private static final Set<String> KEY_TYPES = Set.of("String", "Object", "Character", "Integer", "Long", "Short",
+        "Byte", "Double", "Float", "Boolean");
+
+    /**
+     * Creates a MessagePack codec emitter.
+     *
+     * @param source the emitter of the DTO class receiving the generated methods
+     * @param methodChunkSize the number of fields handled per helper method once a DTO has more fields
+     */
+    MessagePackCodecEmitter(DtoSourceEmitter source, int methodChunkSize) {
+        super(source, methodChunkSize);
+    }
+
+    /**
+     * Describes the first value of a DTO that the MessagePack codec cannot write and read back,
+     * or returns null if it supports every field.
+     *
+     * @param model the DTO model
+     * @return a description such as "field payload of type Object", or null
+     */
+    static String unsupportedValueOf(DtoModel model) {
+        return unsupportedValueOf(model, MessagePackCodecEmitter::isMessagePackScalar,
+            keyInfo -> keyInfo.isEnum || KEY_TYPES.contains(keyInfo.typeName) || "java.util.UUID".equals(keyInfo.fullTypeName));
+    }
+
+    @Override
+    void addImports(DtoModel model, Set<String> importSet) {
+        importSet.add("com.AutoGenClass.runtime.MessagePackCodec");
+        importSet.add("java.nio.ByteBuffer");
+        importSet.add("java.util.ArrayList");
+        importSet.add("java.util.LinkedHashMap");
+        importSet.add("java.util.Map");
+        for (FieldInfo fieldInfo : model.fieldInfoMap.values()) {
+            if (containsSet(fieldInfo)) {
+                importSet.add("java.util.LinkedHashSet");
+            }
+        }
+        for (JsonEntity entity : model.jsonEntities.values()) {
+            importSet.addAll(entity.imports);
+            for (FieldInfo propertyInfo : entity.types) {
+                if (containsSet(propertyInfo)) {
+                    importSet.add("java.util.LinkedHashSet");
+                }
+            }
+        }
+    }
+
+    @Override
+    void emit(DtoModel model) throws IOException {
+        String className = model.className;
+        String[] allFields = model.allFields();
+        boolean split = isSplit(model);
+        FieldInfo[] fieldInfos = new FieldInfo[allFields.length];
+        String[] names = new String[allFields.length];
+        String[] targets = new String[allFields.length];
+        String[] parameters = new String[allFields.length];
+        for (int i = 0; i < allFields.length; i++) {
+            fieldInfos[i] = model.fieldInfo(allFields[i]);
+            names[i] = "MessagePackCodec.name(\"" + allFields[i] + "\")";
+            parameters[i] = "p" + i;
+            if (split) {
+                targets[i] = (model.immutable ? "builder." : "dto.") + allFields[i] + " = ";
+            } else {
+                targets[i] = model.immutable ? parameters[i] + " = " : "dto." + allFields[i] + " = ";
+            }
+        }
+
+        append("\n");
+        String[] constants = emitFieldConstants(model, "byte[]", "MSGPACK_", "MSGPACK_NAMES", names, "    ");
+        boolean entityNames = false;
+        for (JsonEntity entity : model.jsonEntities.values()) {
+            for (int i = 0; i < entity.names.length; i++) {
+                if (entity.getters[i] != null || entity.instantiable && (entity.record || entity.setters[i] != null)) {
+                    append("    private static final byte[] MSGPACK_").append(identifierOf(entity.typeName)).append("_")
+                        .append(entity.names[i]).append(" = MessagePackCodec.name(\"").append(entity.names[i]).append("\");\n");
+                    entityNames = true;
+                }
+            }
+        }
+        if (split) {
+            append(entityNames ? "\n" : "");
+        } else {
+            append(allFields.length > 0 || !model.jsonEntities.isEmpty() ? "\n" : "");
+        }
+
+        variableCount = 0;
+        append("    public int messagePackSize() {\n");
+        append("        int size = ").append(Integer.toString(messagePackMapSize(allFields))).append(";\n");
+        if (split) {
+            for (int chunk = 0; chunk < chunkCount(model); chunk++) {
+                append("        size += messagePackSize").append(Integer.toString(chunk)).append("();\n");
+            }
+        } else {
+            for (int i = 0; i < allFields.length; i++) {
+                emitMessagePackValue(model, "this." + allFields[i], fieldInfos[i], "size", "        ");
+            }
+        }
+        append("        return size;\n");
+        append("    }\n\n");
+        for (int chunk = 0; split && chunk < chunkCount(model); chunk++) {
+            variableCount = 0;
+            append("    private int messagePackSize").append(Integer.toString(chunk)).append("() {\n");
+            append("        int size = 0;\n");
+            for (int i = chunk * methodChunkSize; i < chunkEnd(model, chunk); i++) {
+                emitMessagePackValue(model, "this." + allFields[i], fieldInfos[i], "size", "        ");
+            }
+            append("        return size;\n");
+            append("    }\n\n");
+        }
+
+        variableCount = 0;
+        append("    public void writeMessagePackTo(ByteBuffer buf) {\n");
+        append("        MessagePackCodec.putMapHeader(buf, ").append(Integer.toString(allFields.length)).append(");\n");
+        if (split) {
+            for (int chunk = 0; chunk < chunkCount(model); chunk++) {
+                append("        writeMessagePackTo").append(Integer.toString(chunk)).append("(buf);\n");
+            }
+        } else {
+            emitMessagePackFieldWrites(model, constants, fieldInfos, 0, allFields.length);
+        }
+        append("    }\n\n");
+        for (int chunk = 0; split && chunk < chunkCount(model); chunk++) {
+            variableCount = 0;
+            append("    private void writeMessagePackTo").append(Integer.toString(chunk)).append("(ByteBuffer buf) {\n");
+            emitMessagePackFieldWrites(model, constants, fieldInfos, chunk * methodChunkSize, chunkEnd(model, chunk));
+            append("    }\n\n");
+        }
+
+        variableCount = 0;
+        append("    public static ").append(className).append(" readMessagePackFrom(ByteBuffer buf) {\n");
+        append("        if (MessagePackCodec.nil(buf)) {\n");
+        append("            return null;\n");
+        append("        }\n");
+        if (split) {
+            String target = model.immutable ? "builder" : "dto";
+            append("        ").append(readTargetOf(model)).append(" = new ").append(model.immutable ? "Builder" : className)
+                .append("();\n");
+            append("        for (int count = MessagePackCodec.getMapHeader(buf); count > 0; count--) {\n");
+            append("            int length = MessagePackCodec.getName(buf);\n");
+            append("            if (");
+            for (int chunk = 0; chunk < chunkCount(model); chunk++) {
+                append(chunk > 0 ? "\n                    && " : "").append("!readMessagePackFrom").append(Integer.toString(chunk))
+                    .append("(buf, length, ").append(target).append(")");
+            }
+            append(") {\n");
+            append("                MessagePackCodec.skip(buf);\n");
+            append("            }\n");
+            append("        }\n");
+            append("        return ").append(model.immutable ? "builder.build()" : "dto").append(";\n");
+        } else {
+            if (model.immutable) {
+                // Immutable DTOs are created once all fields are read
+                for (int i = 0; i < allFields.length; i++) {
+                    append("        ").append(fieldInfos[i].declaredType).append(" ").append(parameters[i]).append(" = ")
+                        .append(defaultValue(fieldInfos[i])).append(";\n");
+                }
+            } else {
+                append("        ").append(className).append(" dto = new ").append(className).append("();\n");
+            }
+            emitMessagePackFieldLoop(model, allFields, constants, targets, fieldInfos, "        ");
+            if (!model.immutable) {
+                append("        return dto;\n");
+            } else if (model.wide()) {
+                append("        return ");
+                source.emitBuilderChain(model, parameters, "        ");
+                append(";\n");
+            } else {
+                append("        return new ").append(className).append("(").append(String.join(", ", parameters)).append(");\n");
+            }
+        }
+        append("    }\n");
+
+        for (int chunk = 0; split && chunk < chunkCount(model); chunk++) {
+            variableCount = 0;
+            append("\n");
+            append("    private static boolean readMessagePackFrom").append(Integer.toString(chunk))
+                .append("(ByteBuffer buf, int length, ").append(readTargetOf(model)).append(") {\n");
+            emitMessagePackNameSwitch(model, "length", allFields, constants, targets, fieldInfos,
+                chunk * methodChunkSize, chunkEnd(model, chunk), "return true;", "        ");
+            append("        return false;\n");
+            append("    }\n");
+        }
+
+        for (JsonEntity entity : model.jsonEntities.values()) {
+            emitMessagePackEntityCodec(model, entity);
+        }
+
+    }
+
+    /**
+     * Generates the statements writing the names and values of a range of the fields.
+     */
+    private void emitMessagePackFieldWrites(DtoModel model, String[] constants, FieldInfo[] fieldInfos, int from, int to)
+            throws IOException {
+        String[] allFields = model.allFields();
+        for (int i = from; i < to; i++) {
+            append("        buf.put(").append(constants[i]).append(");\n");
+            emitMessagePackValue(model, "this." + allFields[i], fieldInfos[i], null, "        ");
+        }
+    }
+
+    /**
+     * Generates the static MessagePack size, write and read methods of an entity, written as a map
+     * of its readable properties and read like the JSON reader reads it: records through their
+     * canonical constructor, other entities through their setters.
+     */
+    private void emitMessagePackEntityCodec(DtoModel model, JsonEntity entity) throws IOException {
+        String identifier = identifierOf(entity.typeName);
+        List<Integer> readable = ProtoSchemaEmitter.readablePropertiesOf(entity);
+        String[] values = new String[readable.size()];
+        String[] readableNames = new String[readable.size()];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = "v" + i;
+            readableNames[i] = entity.names[readable.get(i)];
+        }
+
+        variableCount = values.length;
+        append("\n");
+        append("    private static int messagePackSize").append(identifier).append("(").append(entity.typeName).append(" value) {\n");
+        emitEntityGetters(entity, readable, values);
+        append("        int size = ").append(Integer.toString(messagePackMapSize(readableNames))).append(";\n");
+        for (int i = 0; i < values.length; i++) {
+            emitMessagePackValue(model, values[i], entity.types[readable.get(i)], "size", "        ");
+        }
+        append("        return size;\n");
+        append("    }\n\n");
+
+        variableCount = values.length;
+        append("    private static void writeMessagePack").append(identifier).append("(ByteBuffer buf, ")
+            .append(entity.typeName).append(" value) {\n");
+        emitEntityGetters(entity, readable, values);
+        append("        MessagePackCodec.putMapHeader(buf, ").append(Integer.toString(values.length)).append(");\n");
+        for (int i = 0; i < values.length; i++) {
+            append("        buf.put(MSGPACK_").append(identifier).append("_").append(readableNames[i]).append(");\n");
+            emitMessagePackValue(model, values[i], entity.types[readable.get(i)], null, "        ");
+        }
+        append("    }\n\n");
+
+        variableCount = 0;
+        append("    private static ").append(entity.typeName).append(" readMessagePack").append(identifier).append("(ByteBuffer buf) {\n");
+        int count = entity.names.length;
+        String[] constants = new String[count];
+        String[] targets = new String[count];
+        String[] components = new String[count];
+        for (int i = 0; i < count; i++) {
+            if (entity.record) {
+                components[i] = nextVariable("p");
+                targets[i] = components[i] + " = ";
+                append("        ").append(entity.types[i].declaredType).append(" ").append(components[i])
+                    .append(" = ").append(defaultValue(entity.types[i])).append(";\n");
+            } else if (entity.setters[i] != null) {
+                targets[i] = "value." + entity.setters[i];
+            }
+            if (targets[i] != null) {
+                constants[i] = "MSGPACK_" + identifier + "_" + entity.names[i];
+            }
+        }
+        if (!entity.record) {
+            append("        ").append(entity.typeName).append(" value = new ").append(constructed(entity.typeName)).append("();\n");
+        }
+        emitMessagePackFieldLoop(model, entity.names, constants, targets, entity.types, "        ");
+        if (entity.record) {
+            append("        return new ").append(constructed(entity.typeName)).append("(").append(String.join(", ", components)).append(");\n");
+        } else {
+            append("        return value;\n");
+        }
+        append("    }\n");
+    }
+
+    /**
+     * Generates the loop reading the entries of a MessagePack map into the given targets, such as
+     * {@code "dto.id = "} or {@code "value.setId("}. A name selects its candidates by its UTF-8
+     * length first; the values of unknown names and of names without a target are skipped.
+     */
+    private void emitMessagePackFieldLoop(DtoModel model, String[] names, String[] constants, String[] targets,
+                                          FieldInfo[] fieldInfos, String indent) throws IOException {
+        Map<Integer, List<Integer>> byLength = new TreeMap<>();
+        for (int i = 0; i < targets.length; i++) {
+            if (targets[i] != null) {
+                byLength.computeIfAbsent(names[i].getBytes(StandardCharsets.UTF_8).length, length -> new ArrayList<>()).add(i);
+            }
+        }
+
+        append(indent).append("for (int count = MessagePackCodec.getMapHeader(buf); count > 0; count--) {\n");
+        if (byLength.isEmpty()) {
+            append(indent).append("    MessagePackCodec.getName(buf);\n");
+        } else {
+            emitMessagePackNameSwitch(model, "MessagePackCodec.getName(buf)", names, constants, targets, fieldInfos, 0,
+                targets.length, "continue;", indent + "    ");
+        }
+        append(indent).append("    MessagePackCodec.skip(buf);\n");
+        append(indent).append("}\n");
+    }
+
+    /**
+     * Generates the {@code switch} selecting the candidates of a range of the names by the UTF-8
+     * length of the current name and reading the value of the matching one, which ends with the
+     * given statement.
+     */
+    private void emitMessagePackNameSwitch(DtoModel model, String selector, String[] names, String[] constants,
+                                           String[] targets, FieldInfo[] fieldInfos, int from, int to, String matched,
+                                           String indent) throws IOException {
+        Map<Integer, List<Integer>> byLength = new TreeMap<>();
+        for (int i = from; i < to; i++) {
+            if (targets[i] != null) {
+                byLength.computeIfAbsent(names[i].getBytes(StandardCharsets.UTF_8).length, length -> new ArrayList<>()).add(i);
+            }
+        }
+
+        append(indent).append("switch (").append(selector).append(") {\n");
+        for (Map.Entry<Integer, List<Integer>> group : byLength.entrySet()) {
+            String length = Integer.toString(group.getKey());
+            append(indent).append("    case ").append(length).append(":\n");
+            for (int i : group.getValue()) {
+                String inner = indent + "            ";
+                append(indent).append("        if (MessagePackCodec.nameEquals(buf, ").append(length).append(", ")
+                    .append(constants[i]).append(")) {\n");
+                String value = emitMessagePackRead(model, fieldInfos[i], inner);
+                append(inner).append(targets[i]).append(value).append(targets[i].endsWith("(") ? ");\n" : ";\n");
+                append(inner).append(matched).append("\n");
+                append(indent).append("        }\n");
+            }
+            append(indent).append("        break;\n");
+        }
+        append(indent).append("    default:\n");
+        append(indent).append("        break;\n");
+        append(indent).append("}\n");
+    }
+
+    /**
+     * Generates the statements adding the MessagePack size of a value to the given size variable,
+     * or writing it to {@code buf} if the size variable is null. Null values are written as nil.
+     * The value must be an expression without side effects.
+     */
+    private void emitMessagePackValue(DtoModel model, String value, FieldInfo fieldInfo, String size, String indent)
+            throws IOException {
+        if (fieldInfo.isPrimitive) {
+            emitMessagePackNonNull(model, value, fieldInfo, size, indent);
+            return;
+        }
+        if (!isMessagePackStructure(fieldInfo) && size != null) {
+            append(indent).append(size).append(" += ").append(value).append(" == null ? 1 : ")
+                .append(messagePackSizeOf(model, value, fieldInfo)).append(";\n");
+            return;
+        }
+        append(indent).append("if (").append(value).append(" == null) {\n");
+        append(indent).append(size != null ? "    " + size + "++;\n" : "    MessagePackCodec.putNil(buf);\n");
+        append(indent).append("} else {\n");
+        emitMessagePackNonNull(model, value, fieldInfo, size, indent + "    ");
+        append(indent).append("}\n");
+    }
+
+    /**
+     * Generates the statements sizing or writing a value that is not null, with a header followed
+     * by the elements for arrays, collections and maps.
+     */
+    private void emitMessagePackNonNull(DtoModel model, String value, FieldInfo fieldInfo, String size, String indent)
+            throws IOException {
+        if (!isMessagePackStructure(fieldInfo)) {
+            if (size != null) {
+                append(indent).append(size).append(" += ").append(messagePackSizeOf(model, value, fieldInfo)).append(";\n");
+            } else {
+                append(indent).append(messagePackWriteOf(model, value, fieldInfo)).append(";\n");
+            }
+            return;
+        }
+
+        String count = value + (fieldInfo.isArray ? ".length" : ".size()");
+        if (size != null) {
+            append(indent).append(size).append(" += MessagePackCodec.headerSize(").append(count).append(");\n");
+            String fixedSize = fieldInfo.isArray ? fixedMessagePackSizeOf(fieldInfo.elementInfo) : null;
+            if (fixedSize != null) {
+                // Elements of a fixed size need no loop
+                append(indent).append(size).append(" += ").append(count).append(" * ").append(fixedSize).append(";\n");
+                return;
+            }
+        } else {
+            append(indent).append("MessagePackCodec.put").append(fieldInfo.isMap ? "Map" : "Array").append("Header(buf, ")
+                .append(count).append(");\n");
+        }
+        String inner = indent + "    ";
+        if (fieldInfo.isMap) {
+            String entry = nextVariable("e");
+            String key = nextVariable("k");
+            String entryValue = nextVariable("v");
+            append(indent).append("for (Map.Entry<").append(fieldInfo.keyInfo.declaredType).append(", ")
+                .append(fieldInfo.valueInfo.declaredType).append("> ").append(entry).append(" : ")
+                .append(value).append(".entrySet()) {\n");
+            append(inner).append(fieldInfo.keyInfo.declaredType).append(" ").append(key).append(" = ").append(entry)
+                .append(".getKey();\n");
+            append(inner).append(fieldInfo.valueInfo.declaredType).append(" ").append(entryValue).append(" = ")
+                .append(entry).append(".getValue();\n");
+            // Keys are strings, as Jackson writes them
+            String keyString = fieldInfo.keyInfo.isEnum ? key + ".name()"
+                : "java.lang.String".equals(fieldInfo.keyInfo.fullTypeName) ? key : key + ".toString()";
+            if (size != null) {
+                append(inner).append(size).append(" += ").append(key).append(" == null ? 1 : MessagePackCodec.stringSize(")
+                    .append(keyString).append(");\n");
+            } else {
+                append(inner).append("if (").append(key).append(" == null) {\n");
+                append(inner).append("    MessagePackCodec.putNil(buf);\n");
+                append(inner).append("} else {\n");
+                append(inner).append("    MessagePackCodec.putString(buf, ").append(keyString).append(");\n");
+                append(inner).append("}\n");
+            }
+            emitMessagePackValue(model, entryValue, fieldInfo.valueInfo, size, inner);
+        } else {
+            String element = nextVariable("e");
+            append(indent).append("for (").append(fieldInfo.elementInfo.declaredType).append(" ").append(element)
+                .append(" : ").append(value).append(") {\n");
+            emitMessagePackValue(model, element, fieldInfo.elementInfo, size, inner);
+        }
+        append(indent).append("}\n");
+    }
+
+    /**
+     * Generates the statements reading one value from {@code buf}, if the type needs any, and
+     * returns the expression of the value. Nil is read as null, or as the default value of a
+     * primitive like Jackson does.
+     */
+    private String emitMessagePackRead(DtoModel model, FieldInfo fieldInfo, String indent) throws IOException {
+        if (!isMessagePackStructure(fieldInfo)) {
+            return "MessagePackCodec.nil(buf) ? " + defaultValue(fieldInfo) + " : " + messagePackReadOf(model, fieldInfo);
+        }
+
+        String variable = nextVariable("v");
+        String count = nextVariable("n");
+        String index = nextVariable("i");
+        String inner = indent + "    ";
+        append(indent).append(fieldInfo.declaredType).append(" ").append(variable).append(" = null;\n");
+        append(indent).append("if (!MessagePackCodec.nil(buf)) {\n");
+        append(inner).append("int ").append(count).append(" = MessagePackCodec.get").append(fieldInfo.isMap ? "Map" : "Array")
+            .append("Header(buf);\n");
+        if (fieldInfo.isArray) {
+            append(inner).append(variable).append(" = new ").append(arrayCreation(fieldInfo.elementInfo, count)).append(";\n");
+        } else if (fieldInfo.isMap) {
+            append(inner).append(variable).append(" = new LinkedHashMap<>();\n");
+        } else if ("Set".equals(fieldInfo.typeName)) {
+            append(inner).append(variable).append(" = new LinkedHashSet<>();\n");
+        } else {
+            append(inner).append(variable).append(" = new ArrayList<>(").append(count).append(");\n");
+        }
+        append(inner).append("for (int ").append(index).append(" = 0; ").append(index).append(" < ").append(count)
+            .append("; ").append(index).append("++) {\n");
+        String loopIndent = inner + "    ";
+        if (fieldInfo.isMap) {
+            // The key is read into a local first, as the value may need statements of its own
+            String key = nextVariable("k");
+            append(loopIndent).append(fieldInfo.keyInfo.declaredType).append(" ").append(key)
+                .append(" = MessagePackCodec.nil(buf) ? null : ").append(messagePackKeyRead(fieldInfo.keyInfo)).append(";\n");
+            String entryValue = emitMessagePackRead(model, fieldInfo.valueInfo, loopIndent);
+            append(loopIndent).append(variable).append(".put(").append(key).append(", ").append(entryValue).append(");\n");
+        } else {
+            String element = emitMessagePackRead(model, fieldInfo.elementInfo, loopIndent);
+            append(loopIndent).append(variable).append(fieldInfo.isArray ? "[" + index + "] = " : ".add(").append(element)
+                .append(fieldInfo.isArray ? ";\n" : ");\n");
+        }
+        append(inner).append("}\n");
+        append(indent).append("}\n");
+        return variable;
+    }
+
+    /**
+     * Checks whether a type is written as a single value: a scalar, an enum, or a byte or char
+     * array.
+     */
+    private static boolean isMessagePackScalar(FieldInfo fieldInfo) {
+        if (fieldInfo.isArray) {
+            return !isMessagePackStructure(fieldInfo);
+        }
+        return fieldInfo.isEnum || SCALAR_TYPES.contains(fieldInfo.fullTypeName);
+    }
+
+    /**
+     * Checks whether a type is written as a MessagePack array or map of its elements. Byte arrays
+     * are binary and char arrays strings, as Jackson writes them.
+     */
+    private static boolean isMessagePackStructure(FieldInfo fieldInfo) {
+        if (fieldInfo.isArray) {
+            return !"byte".equals(fieldInfo.elementInfo.typeName) && !"char".equals(fieldInfo.elementInfo.typeName);
+        }
+        return fieldInfo.isCollection;
+    }
+
+    /**
+     * Returns the size of a MessagePack map header followed by the given names as strings, which
+     * is known when the DTO is generated.
+     */
+    private static int messagePackMapSize(String[] names) {
+        int size = names.length < 16 ? 1 : names.length < 0x10000 ? 3 : 5;
+        for (String name : names) {
+            int length = name.getBytes(StandardCharsets.UTF_8).length;
+            size += (length < 32 ? 1 : length < 0x100 ? 2 : length < 0x10000 ? 3 : 5) + length;
+        }
+        return size;
+    }
+
+    /**
+     * Returns the MessagePack size of a type whose values always take the same number of bytes,
+     * or null if the size depends on the value.
+     */
+    private static String fixedMessagePackSizeOf(FieldInfo fieldInfo) {
+        switch (fieldInfo.typeName) {
+            case "boolean":
+                return "1";
+            case "float":
+                return "5";
+            case "double":
+                return "9";
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * Returns the expression of the MessagePack size of a scalar value that is not null.
+     */
+    private static String messagePackSizeOf(DtoModel model, String value, FieldInfo fieldInfo) {
+        if (fieldInfo.isEnum) {
+            return "MessagePackCodec.stringSize(" + value + ".name())";
+        }
+        if (fieldInfo.isArray) {
+            return "byte".equals(fieldInfo.elementInfo.typeName) ? "MessagePackCodec.binarySize(" + value + ".length)"
+                : "MessagePackCodec.stringSize(String.valueOf(" + value + "))";
+        }
+        switch (fieldInfo.fullTypeName) {
+            case "boolean":
+            case "java.lang.Boolean":
+                return "1";
+            case "float":
+            case "java.lang.Float":
+                return "5";
+            case "double":
+            case "java.lang.Double":
+                return "9";
+            case "byte":
+            case "short":
+            case "int":
+            case "long":
+            case "java.lang.Byte":
+            case "java.lang.Short":
+            case "java.lang.Integer":
+            case "java.lang.Long":
+                return "MessagePackCodec.intSize(" + value + ")";
+            case "char":
+            case "java.lang.Character":
+                return "MessagePackCodec.stringSize(String.valueOf(" + value + "))";
+            case "java.lang.String":
+                return "MessagePackCodec.stringSize(" + value + ")";
+            case "java.util.UUID":
+            case "java.math.BigDecimal":
+                return "MessagePackCodec.stringSize(" + value + ".toString())";
+            case "java.math.BigInteger":
+                return "MessagePackCodec.bigIntegerSize(" + value + ")";
+            case "java.util.Date":
+                return "MessagePackCodec.intSize(" + value + ".getTime())";
+            default:
+                JsonEntity entity = model.jsonEntities.get(fieldInfo.declaredType);
+                if (entity != null) {
+                    return "messagePackSize" + identifierOf(entity.typeName) + "(" + value + ")";
+                }
+                throw new IllegalArgumentException(fieldInfo.declaredType + " has no MessagePack representation");
+        }
+    }
+
+    /**
+     * Returns the statement writing a scalar value that is not null.
+     */
+    private static String messagePackWriteOf(DtoModel model, String value, FieldInfo fieldInfo) {
+        if (fieldInfo.isEnum) {
+            return "MessagePackCodec.putString(buf, " + value + ".name())";
+        }
+        if (fieldInfo.isArray) {
+            return "byte".equals(fieldInfo.elementInfo.typeName) ? "MessagePackCodec.putBinary(buf, " + value + ")"
+                : "MessagePackCodec.putString(buf, String.valueOf(" + value + "))";
+        }
+        switch (fieldInfo.fullTypeName) {
+            case "boolean":
+            case "java.lang.Boolean":
+                return "MessagePackCodec.putBoolean(buf, " + value + ")";
+            case "float":
+            case "java.lang.Float":
+                return "MessagePackCodec.putFloat(buf, " + value + ")";
+            case "double":
+            case "java.lang.Double":
+                return "MessagePackCodec.putDouble(buf, " + value + ")";
+            case "byte":
+            case "short":
+            case "int":
+            case "long":
+            case "java.lang.Byte":
+            case "java.lang.Short":
+            case "java.lang.Integer":
+            case "java.lang.Long":
+                return "MessagePackCodec.putInt(buf, " + value + ")";
+            case "char":
+            case "java.lang.Character":
+                return "MessagePackCodec.putString(buf, String.valueOf(" + value + "))";
+            case "java.lang.String":
+                return "MessagePackCodec.putString(buf, " + value + ")";
+            case "java.util.UUID":
+            case "java.math.BigDecimal":
+                return "MessagePackCodec.putString(buf, " + value + ".toString())";
+            case "java.math.BigInteger":
+                return "MessagePackCodec.putBigInteger(buf, " + value + ")";
+            case "java.util.Date":
+                return "MessagePackCodec.putInt(buf, " + value + ".getTime())";
+            default:
+                JsonEntity entity = model.jsonEntities.get(fieldInfo.declaredType);
+                if (entity != null) {
+                    return "writeMessagePack" + identifierOf(entity.typeName) + "(buf, " + value + ")";
+                }
+                throw new IllegalArgumentException(fieldInfo.declaredType + " has no MessagePack representation");
+        }
+    }
+
+    /**
+     * Returns the expression reading a scalar value written by {@link #messagePackWriteOf}, after
+     * its nil check. Integers are checked against the range of their type, and numbers of any
+     * MessagePack format are accepted for {@code float} and {@code double}.
+     */
+    private static String messagePackReadOf(DtoModel model, FieldInfo fieldInfo) {
+        if (fieldInfo.isEnum) {
+            return fieldInfo.declaredType + ".valueOf(MessagePackCodec.getString(buf))";
+        }
+        if (fieldInfo.isArray) {
+            return "byte".equals(fieldInfo.elementInfo.typeName) ? "MessagePackCodec.getBinary(buf)"
+                : "MessagePackCodec.getString(buf).toCharArray()";
+        }
+        switch (fieldInfo.fullTypeName) {
+            case "boolean":
+            case "java.lang.Boolean":
+                return "MessagePackCodec.getBoolean(buf)";
+            case "byte":
+            case "java.lang.Byte":
+                return "(byte) MessagePackCodec.getLong(buf, Byte.MIN_VALUE, Byte.MAX_VALUE)";
+            case "short":
+            case "java.lang.Short":
+                return "(short) MessagePackCodec.getLong(buf, Short.MIN_VALUE, Short.MAX_VALUE)";
+            case "int":
+            case "java.lang.Integer":
+                return "(int) MessagePackCodec.getLong(buf, Integer.MIN_VALUE, Integer.MAX_VALUE)";
+            case "long":
+            case "java.lang.Long":
+                return "MessagePackCodec.getLong(buf, Long.MIN_VALUE, Long.MAX_VALUE)";
+            case "float":
+            case "java.lang.Float":
+                return "(float) MessagePackCodec.getDouble(buf)";
+            case "double":
+            case "java.lang.Double":
+                return "MessagePackCodec.getDouble(buf)";
+            case "char":
+            case "java.lang.Character":
+                return "MessagePackCodec.getChar(buf)";
+            case "java.lang.String":
+                return "MessagePackCodec.getString(buf)";
+            case "java.util.UUID":
+                return fieldInfo.declaredType + ".fromString(MessagePackCodec.getString(buf))";
+            case "java.math.BigInteger":
+                return "MessagePackCodec.getBigInteger(buf)";
+            case "java.math.BigDecimal":
+                return "MessagePackCodec.getBigDecimal(buf)";
+            case "java.util.Date":
+                return "new " + fieldInfo.declaredType + "(MessagePackCodec.getLong(buf, Long.MIN_VALUE, Long.MAX_VALUE))";
+            default:
+                JsonEntity entity = model.jsonEntities.get(fieldInfo.declaredType);
+                if (entity != null) {
+                    return "readMessagePack" + identifierOf(entity.typeName) + "(buf)";
+                }
+                throw new IllegalArgumentException(fieldInfo.declaredType + " has no MessagePack representation");
+        }
+    }
+
+    /**
+     * Returns the expression converting a map key read as a string back to the key type, after
+     * its nil check, for the same key types as the JSON reader.
+     */
+    private static String messagePackKeyRead(FieldInfo keyInfo) {
+        if (keyInfo.isEnum) {
+            return keyInfo.declaredType + ".valueOf(MessagePackCodec.getString(buf))";
+        }
+        switch (keyInfo.typeName) {
+            case "String":
+            case "Object":
+                return "MessagePackCodec.getString(buf)";
+            case "Character":
+                return "MessagePackCodec.getChar(buf)";
+            case "Integer":
+            case "Long":
+            case "Short":
+            case "Byte":
+            case "Double":
+            case "Float":
+            case "Boolean":
+                return keyInfo.typeName + ".valueOf(MessagePackCodec.getString(buf))";
+            default:
+                if ("java.util.UUID".equals(keyInfo.fullTypeName)) {
+                    return keyInfo.declaredType + ".fromString(MessagePackCodec.getString(buf))";
+                }
+                throw new IllegalArgumentException(keyInfo.declaredType + " cannot be read as a MessagePack map key");
+        }
+    }
+}
@@ -0,0 +1,242 @@
+package com.AutoGenClass.generator;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Collects per-class and per-phase statistics of a compilation.
+ *
+ * <p>Every processed class gets an {@link Entry} recording the time spent in each phase
+ * (field analysis, source rendering, source directory resolution and writing), its field
+ * count, the number of bytes written and whether the DTO was written, skipped because it
+ * was unchanged, or failed. The statistics are always collected and summarized in a single
+ * compiler note; with {@code -Aautogen.report=path} they are also written to a JSON file,
+ * or to a CSV file if the path ends with {@code .csv}.</p>
+ *
+ * @author Mohammed-Salameh
+ * @since 2.0
+ */
+class ProcessorReport {
+
+    /** Outcome of writing a DTO */
+    enum Status {
+        /** The DTO was rendered but not written yet */
+        PENDING,
+        /** The DTO source file was written */
+        WRITTEN,
+        /** The DTO source file already had the same content and was left untouched */
+        SKIPPED,
+        /** The DTO could not be rendered or written */
+        FAILED
+    }
+
+    /**
+     * Statistics of one processed class.
+     *
+     * <p>Phase timings are recorded in nanoseconds. The rendering time is set on a rendering
+     * thread; it is read only after the rendering task completed.</p>
+     */
+    static class Entry {
+        /** Qualified name of the annotated class */
+        final String sourceClassName;
+
+        /** Qualified name of the generated DTO */
+        final String dtoClassName;
+
+        /** Number of DTO fields */
+        final int fieldCount;
+
+        /** Time spent analyzing the field types */
+        long analysisNanos;
+
+        /** Time spent rendering the source code */
+        long renderNanos;
+
+        /** Time spent resolving the output source directory */
+        long resolveNanos;
+
+        /** Time spent comparing and writing the source file */
+        long writeNanos;
+
+        /** Size of the rendered source in bytes */
+        long bytes;
+
+        /** Outcome of writing the DTO */
+        Status status = Status.PENDING;
+
+        Entry(String sourceClassName, String dtoClassName, int fieldCount) {
+            this.sourceClassName = sourceClassName;
+            this.dtoClassName = dtoClassName;
+            this.fieldCount = fieldCount;
+        }
+    }
+
+    /** Entries in processing order */
+    private final List<Entry> entries = new ArrayList<>();
+
+    /** Number of processing rounds that handled at least one class */
+    private int rounds;
+
+    /**
+     * Creates and registers the entry of a processed class.
+     *
+     * @param sourceClassName the qualified name of the annotated class
+     * @param dtoClassName the qualified name of the DTO
+     * @param fieldCount the number of DTO fields
+     * @return the new entry
+     */
+    Entry addEntry(String sourceClassName, String dtoClassName, int fieldCount) {
+        Entry entry = new Entry(sourceClassName, dtoClassName, fieldCount);
+        entries.add(entry);
+        return entry;
+    }
+
+    /**
+     * Records that a processing round handled annotated classes.
+     */
+    void roundCompleted() {
+        rounds++;
+    }
+
+    /**
+     * Checks whether any class was processed.
+     *
+     * @return true if no class was processed
+     */
+    boolean isEmpty() {
+        return entries.isEmpty();
+    }
+
+    /**
+     * Returns a one-line summary of the compilation.
+     *
+     * @return the summary message
+     */
+    String summary() {
+        return "AutoGen: " + entries.size() + " class(es) processed in " + rounds + " round(s): "
+            + count(Status.WRITTEN) + " DTO(s) written, "
+            + count(Status.SKIPPED) + " unchanged DTO(s) skipped, "
+            + count(Status.FAILED) + " failed"
+            + " (analysis " + millis(total(Phase.ANALYSIS)) + " ms"
+            + ", render " + millis(total(Phase.RENDER)) + " ms"
+            + ", resolve " + millis(total(Phase.RESOLVE)) + " ms"
+            + ", write " + millis(total(Phase.WRITE)) + " ms"
+            + ", " + totalBytesWritten() + " bytes written)";
+    }
+
+    /**
+     * Writes the report to a file, as CSV if the path ends with {@code .csv}, JSON otherwise.
+     *
+     * @param path the report file path
+     * @throws IOException if the report cannot be written
+     */
+    void writeTo(Path path) throws IOException {
+        Path parent = path.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        try (Writer out = Files.newBufferedWriter(path, StandardCharsets.UTF_8)) {
+            if (path.getFileName().toString().toLowerCase().endsWith(".csv")) {
+                writeCsv(out);
+            } else {
+                writeJson(out);
+            }
+        }
+    }
+
+    /**
+     * Writes one CSV row per class.
+     */
+    private void writeCsv(Writer out) throws IOException {
+        out.write("sourceClass,dtoClass,fields,analysisMicros,renderMicros,resolveMicros,writeMicros,bytes,status\n");
+        for (Entry entry : entries) {
+            out.write(entry.sourceClassName + "," + entry.dtoClassName + "," + entry.fieldCount + ","
+                + micros(entry.analysisNanos) + "," + micros(entry.renderNanos) + ","
+                + micros(entry.resolveNanos) + "," + micros(entry.writeNanos) + ","
+                + entry.bytes + "," + entry.status.name().toLowerCase() + "\n");
+        }
+    }
+
+    /**
+     * Writes the summary and all class entries as a JSON document.
+     */
+    private void writeJson(Writer out) throws IOException {
+        out.write("{\n");
+        out.write("  \"summary\": {\n");
+        out.write("    \"classes\": " + entries.size() + ",\n");
+        out.write("    \"rounds\": " + rounds + ",\n");
+        out.write("    \"written\": " + count(Status.WRITTEN) + ",\n");
+        out.write("    \"skippedUnchanged\": " + count(Status.SKIPPED) + ",\n");
+        out.write("    \"failed\": " + count(Status.FAILED) + ",\n");
+        out.write("    \"fields\": " + entries.stream().mapToLong(entry -> entry.fieldCount).sum() + ",\n");
+        out.write("    \"bytesWritten\": " + totalBytesWritten() + ",\n");
+        out.write("    \"analysisMicros\": " + micros(total(Phase.ANALYSIS)) + ",\n");
+        out.write("    \"renderMicros\": " + micros(total(Phase.RENDER)) + ",\n");
+        out.write("    \"resolveMicros\": " + micros(total(Phase.RESOLVE)) + ",\n");
+        out.write("    \"writeMicros\": " + micros(total(Phase.WRITE)) + "\n");
+        out.write("  },\n");
+        out.write("  \"classes\": [");
+        for (int i = 0; i < entries.size(); i++) {
+            Entry entry = entries.get(i);
+            out.write(i == 0 ? "\n" : ",\n");
+            out.write("    {\"sourceClass\": \"" + entry.sourceClassName + "\""
+                + ", \"dtoClass\": \"" + entry.dtoClassName + "\""
+                + ", \"fields\": " + entry.fieldCount
+                + ", \"analysisMicros\": " + micros(entry.analysisNanos)
+                + ", \"renderMicros\": " + micros(entry.renderNanos)
+                + ", \"resolveMicros\": " + micros(entry.resolveNanos)
+                + ", \"writeMicros\": " + micros(entry.writeNanos)
+                + ", \"bytes\": " + entry.bytes
+                + ", \"status\": \"" + entry.status.name().toLowerCase() + "\"}");
+        }
+        out.write(entries.isEmpty() ? "]\n" : "\n  ]\n");
+        out.write("}\n");
+    }
+
+    /** Processing phases timed for every class */
+    private enum Phase { ANALYSIS, RENDER, RESOLVE, WRITE }
+
+    /**
+     * Sums the time spent in a phase over all classes.
+     */
+    private long total(Phase phase) {
+        long total = 0;
+        for (Entry entry : entries) {
+            switch (phase) {
+                case ANALYSIS: total += entry.analysisNanos; break;
+                case RENDER: total += entry.renderNanos; break;
+                case RESOLVE: total += entry.resolveNanos; break;
+                default: total += entry.writeNanos; break;
+            }
+        }
+        return total;
+    }
+
+    /**
+     * Counts the entries with the given status.
+     */
+    private long count(Status status) {
+        return entries.stream().filter(entry -> entry.status == status).count();
+    }
+
+    /**
+     * Sums the size of all written DTOs.
+     */
+    private long totalBytesWritten() {
+        return entries.stream().filter(entry -> entry.status == Status.WRITTEN).mapToLong(entry -> entry.bytes).sum();
+    }
+
+    private static long micros(long nanos) {
+        return TimeUnit.NANOSECONDS.toMicros(nanos);
+    }
+
+    private static long millis(long nanos) {
+        return TimeUnit.NANOSECONDS.toMillis(nanos);
+    }
+}
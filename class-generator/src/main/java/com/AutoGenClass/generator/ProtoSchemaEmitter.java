@@ -0,0 +1,275 @@
+package com.AutoGenClass.generator;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Maps DTO fields to protocol buffers types and renders the {@code .proto} schema of a DTO
+ * generated with {@code protobuf = true}.
+ *
+ * <p>The mapping only uses the {@link FieldInfo} of the fields and the entities resolved by
+ * {@link JsonEntityResolver}. Signed integers are {@code sint32} and {@code sint64} (zigzag
+ * varints), {@code char} is {@code uint32}, enums, {@code UUID}, {@code BigInteger} and
+ * {@code BigDecimal} are strings, {@code Date} is {@code sint64} milliseconds, arrays and
+ * collections are {@code repeated}, maps are {@code map<>} and entities are messages nested in
+ * the DTO message. Fields that are not primitive are declared {@code optional}, so that null
+ * and the default value stay distinct. Types without such a mapping, like {@code Object},
+ * nested collections, or map keys that are not integers or strings, are not written and their
+ * field numbers are declared {@code reserved}.</p>
+ *
+ * @author Mohammed-Salameh
+ * @since 2.0
+ */
+final class ProtoSchemaEmitter {
+
+    /** File extension of the schema files */
+    static final String EXTENSION = ".proto";
+
+    private ProtoSchemaEmitter() {
+    }
+
+    /**
+     * Returns the type of a field in the schema: a scalar type or a message name, preceded by
+     * {@code optional} or {@code repeated}, or a {@code map<>} type.
+     *
+     * @param model the DTO model
+     * @param fieldInfo the type of the field
+     * @return the field type, or null if the field has no protobuf representation
+     */
+    static String fieldTypeOf(DtoModel model, FieldInfo fieldInfo) {
+        FieldInfo elementInfo = repeatedElementOf(fieldInfo);
+        if (elementInfo != null) {
+            String elementType = valueTypeOf(model, elementInfo);
+            return elementType == null ? null : "repeated " + elementType;
+        }
+        if (fieldInfo.isMap) {
+            String keyType = valueTypeOf(model, fieldInfo.keyInfo);
+            String valueType = valueTypeOf(model, fieldInfo.valueInfo);
+            if (keyType == null || valueType == null || !isMapKeyType(keyType)) {
+                return null;
+            }
+            return "map<" + keyType + ", " + valueType + ">";
+        }
+        String type = valueTypeOf(model, fieldInfo);
+        if (type == null || fieldInfo.isPrimitive || isMessage(model, fieldInfo)) {
+            // Message fields always track their presence
+            return type;
+        }
+        return "optional " + type;
+    }
+
+    /**
+     * Returns the first entity a field holds as a message, directly or through the messages it
+     * holds, that cannot be instantiated when the message is read.
+     *
+     * @param model the DTO model
+     * @param fieldInfo the type of the field
+     * @return the entity type, or null if every message of the field can be read
+     */
+    static String unreadableMessageOf(DtoModel model, FieldInfo fieldInfo) {
+        return unreadableMessageOf(model, fieldInfo, new HashSet<>());
+    }
+
+    private static String unreadableMessageOf(DtoModel model, FieldInfo fieldInfo, Set<String> checked) {
+        if (fieldTypeOf(model, fieldInfo) == null) {
+            return null;
+        }
+        FieldInfo valueInfo = fieldInfo.isMap ? fieldInfo.valueInfo
+            : repeatedElementOf(fieldInfo) != null ? repeatedElementOf(fieldInfo) : fieldInfo;
+        if (!isMessage(model, valueInfo) || !checked.add(valueInfo.declaredType)) {
+            return null;
+        }
+        JsonEntity entity = model.jsonEntities.get(valueInfo.declaredType);
+        if (!entity.instantiable) {
+            return entity.typeName;
+        }
+        for (int property : readablePropertiesOf(entity)) {
+            String unreadable = unreadableMessageOf(model, entity.types[property], checked);
+            if (unreadable != null) {
+                return unreadable;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Returns the protobuf type of a single value: a scalar type, or the message name of an entity.
+     *
+     * @param model the DTO model
+     * @param fieldInfo the type of the value
+     * @return the protobuf type, or null for arrays, collections, maps and unsupported types
+     */
+    static String valueTypeOf(DtoModel model, FieldInfo fieldInfo) {
+        if (fieldInfo.isEnum) {
+            return "string";
+        }
+        if (fieldInfo.isArray) {
+            return "byte".equals(fieldInfo.elementInfo.typeName) ? "bytes" : null;
+        }
+        switch (fieldInfo.fullTypeName) {
+            case "boolean":
+            case "java.lang.Boolean":
+                return "bool";
+            case "byte":
+            case "short":
+            case "int":
+            case "java.lang.Byte":
+            case "java.lang.Short":
+            case "java.lang.Integer":
+                return "sint32";
+            case "long":
+            case "java.lang.Long":
+            case "java.util.Date":
+                return "sint64";
+            case "char":
+            case "java.lang.Character":
+                return "uint32";
+            case "float":
+            case "java.lang.Float":
+                return "float";
+            case "double":
+            case "java.lang.Double":
+                return "double";
+            case "java.lang.String":
+            case "java.util.UUID":
+            case "java.math.BigInteger":
+            case "java.math.BigDecimal":
+                return "string";
+            default:
+                return isMessage(model, fieldInfo) ? messageNameOf(fieldInfo.declaredType) : null;
+        }
+    }
+
+    /**
+     * Returns the element of an array or collection written as a repeated field, or null for
+     * other types. Byte arrays are a single {@code bytes} value.
+     *
+     * @param fieldInfo the type of the field
+     * @return the element type, or null
+     */
+    static FieldInfo repeatedElementOf(FieldInfo fieldInfo) {
+        if (fieldInfo.isArray) {
+            return "byte".equals(fieldInfo.elementInfo.typeName) ? null : fieldInfo.elementInfo;
+        }
+        return fieldInfo.isCollection && !fieldInfo.isMap ? fieldInfo.elementInfo : null;
+    }
+
+    /**
+     * Checks whether a value is an entity written as a nested message.
+     *
+     * @param model the DTO model
+     * @param fieldInfo the type of the value
+     * @return true for entities
+     */
+    static boolean isMessage(DtoModel model, FieldInfo fieldInfo) {
+        return !fieldInfo.isCollection && !fieldInfo.isArray && model.jsonEntities.containsKey(fieldInfo.declaredType);
+    }
+
+    /**
+     * Returns the wire type of a protobuf type: 0 for varints, 1 and 5 for values of 8 and 4
+     * bytes, 2 for length-delimited values.
+     *
+     * @param protoType a type returned by {@link #valueTypeOf}
+     * @return the wire type
+     */
+    static int wireTypeOf(String protoType) {
+        switch (protoType) {
+            case "bool":
+            case "sint32":
+            case "sint64":
+            case "uint32":
+                return 0;
+            case "double":
+                return 1;
+            case "float":
+                return 5;
+            default:
+                return 2;
+        }
+    }
+
+    /**
+     * Checks whether a protobuf type can be a map key, which must be an integer, a bool or a string.
+     *
+     * @param protoType a type returned by {@link #valueTypeOf}
+     * @return true for key types
+     */
+    static boolean isMapKeyType(String protoType) {
+        return wireTypeOf(protoType) == 0 || "string".equals(protoType);
+    }
+
+    /**
+     * Returns the name of the message of an entity, nested in the DTO message
+     * (e.g., "Outer_Inner" for "Outer.Inner").
+     *
+     * @param typeName the entity type as written in the DTO source
+     * @return the message name
+     */
+    static String messageNameOf(String typeName) {
+        return CodecEmitter.identifierOf(typeName);
+    }
+
+    /**
+     * Renders the schema of a DTO: the DTO message, with the messages of its entities nested in it.
+     *
+     * @param model the DTO model
+     * @return the UTF-8 encoded schema
+     */
+    static byte[] render(DtoModel model) {
+        String[] allFields = model.allFields();
+        StringBuilder schema = new StringBuilder(256 + 48 * allFields.length);
+        schema.append("// Protocol buffers schema of ").append(model.packageName).append('.').append(model.className)
+            .append(", generated by AutoGen from ").append(model.sourceClassName).append(". Do not edit.\n");
+        schema.append("syntax = \"proto3\";\n\n");
+        if (!model.packageName.isEmpty()) {
+            schema.append("package ").append(model.packageName).append(";\n\n");
+        }
+        schema.append("message ").append(model.className).append(" {\n");
+        for (int i = 0; i < allFields.length; i++) {
+            appendField(schema, model, allFields[i], model.fieldInfo(allFields[i]), model.tags[i]);
+        }
+        for (JsonEntity entity : model.jsonEntities.values()) {
+            schema.append("\n  message ").append(messageNameOf(entity.typeName)).append(" {\n");
+            List<Integer> readable = readablePropertiesOf(entity);
+            for (int i = 0; i < readable.size(); i++) {
+                int property = readable.get(i);
+                schema.append("  ");
+                appendField(schema, model, entity.names[property], entity.types[property], i + 1);
+            }
+            schema.append("  }\n");
+        }
+        schema.append("}\n");
+        return schema.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Returns the indexes of the properties of an entity that can be read, which are numbered
+     * from 1 in this order in its message.
+     *
+     * @param entity the entity
+     * @return the property indexes
+     */
+    static List<Integer> readablePropertiesOf(JsonEntity entity) {
+        List<Integer> readable = new ArrayList<>();
+        for (int i = 0; i < entity.names.length; i++) {
+            if (entity.getters[i] != null) {
+                readable.add(i);
+            }
+        }
+        return readable;
+    }
+
+    private static void appendField(StringBuilder schema, DtoModel model, String name, FieldInfo fieldInfo, int number) {
+        String type = fieldTypeOf(model, fieldInfo);
+        if (type == null) {
+            schema.append("  reserved ").append(number).append("; // ").append(name).append(": ")
+                .append(fieldInfo.declaredType).append(" has no protobuf type\n");
+        } else {
+            schema.append("  ").append(type).append(' ').append(CodecEmitter.identifierOf(name)).append(" = ")
+                .append(number).append(";\n");
+        }
+    }
+}
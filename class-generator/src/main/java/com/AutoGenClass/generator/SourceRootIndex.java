@@ -0,0 +1,229 @@
+package com.AutoGenClass.generator;
+
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.Node;
+import org.w3c.dom.NodeList;
+
+import javax.annotation.processing.Messager;
+import javax.tools.Diagnostic;
+import javax.xml.parsers.DocumentBuilderFactory;
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.stream.Stream;
+
+/**
+ * Index of the module source roots of the project being compiled.
+ *
+ * <p>The index is built once per compilation: the {@code <modules>} of the root {@code pom.xml}
+ * (and of nested aggregator poms) are parsed, every module's source roots are walked a single time,
+ * and each package that contains original (non-DTO) sources is mapped to its source root.
+ * Resolving the output directory of an annotated class is then a constant-time map lookup instead
+ * of probing the file system for every class.</p>
+ *
+ * <p>When the root directory has no {@code pom.xml} modules (e.g. a Gradle build), a list of
+ * commonly used module directory names is indexed instead.</p>
+ *
+ * @author Mohammed-Salameh
+ * @since 2.0
+ */
+class SourceRootIndex {
+
+    /** Module directories probed when the root pom declares no modules */
+    private static final List<String> DEFAULT_MODULES = Arrays.asList(
+        "Main", "app", "core", "api", "service", "web", "client", "server");
+
+    /** Module name to main source root (e.g. "Main" -> "/project/Main/src/main/java") */
+    private final Map<String, String> moduleSourceRoots = new LinkedHashMap<>();
+
+    /** Package name to the source root containing its original sources */
+    private final Map<String, String> packageSourceRoots = new HashMap<>();
+
+    /** Source root used when neither the module nor the package is known */
+    private final String fallbackSourceRoot;
+
+    /** Messager for reporting problems while building the index */
+    private final Messager messager;
+
+    /**
+     * Builds the index for the project rooted at the given directory.
+     *
+     * @param rootDir the project root directory (usually the build's working directory)
+     * @param messager messager for reporting problems while reading the project layout
+     */
+    SourceRootIndex(String rootDir, Messager messager) {
+        this.messager = messager;
+        File root = new File(rootDir);
+
+        // Collect the modules declared by the root pom, or fall back to well-known names
+        List<String> modules = new ArrayList<>();
+        collectModules(root, "", modules);
+        if (modules.isEmpty()) {
+            modules.addAll(DEFAULT_MODULES);
+        }
+
+        // Module source roots first (in declaration order), then the root project itself
+        List<String> sourceRoots = new ArrayList<>();
+        for (String module : modules) {
+            File moduleSourceDir = new File(root, module + "/src/main/java");
+            if (moduleSourceDir.isDirectory()) {
+                String path = moduleSourceDir.getAbsolutePath();
+                moduleSourceRoots.put(module, path);
+                // Nested modules can also be referenced by their directory name
+                String simpleName = new File(module).getName();
+                moduleSourceRoots.putIfAbsent(simpleName, path);
+                sourceRoots.add(path);
+            }
+        }
+        sourceRoots.add(new File(root, "src/main/java").getAbsolutePath());
+        sourceRoots.add(new File(root, "src/test/java").getAbsolutePath());
+
+        for (String sourceRoot : sourceRoots) {
+            indexPackages(sourceRoot);
+        }
+
+        this.fallbackSourceRoot = findFallbackSourceRoot(root);
+    }
+
+    /**
+     * Returns the main source root of a module.
+     *
+     * @param moduleName the module name as given in {@link AutoGen#module()}
+     * @return the source root path, or null if the module is unknown
+     */
+    String getModuleSourceRoot(String moduleName) {
+        return moduleSourceRoots.get(moduleName);
+    }
+
+    /**
+     * Returns the source root containing the original sources of a package.
+     *
+     * @param packageName the package name
+     * @return the source root path, or null if no indexed source root contains the package
+     */
+    String getPackageSourceRoot(String packageName) {
+        return packageSourceRoots.get(packageName);
+    }
+
+    /**
+     * Returns the source root used when no module or package match is found.
+     *
+     * @return the fallback source root path
+     */
+    String getFallbackSourceRoot() {
+        return fallbackSourceRoot;
+    }
+
+    /**
+     * Reads the modules declared in a pom and recurses into aggregator modules.
+     *
+     * @param dir directory containing the pom
+     * @param prefix module path prefix relative to the project root
+     * @param modules list receiving the module paths
+     */
+    private void collectModules(File dir, String prefix, List<String> modules) {
+        File pom = new File(dir, "pom.xml");
+        if (!pom.isFile()) {
+            return;
+        }
+        try {
+            DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
+            factory.setFeature("http://apache.org/xml/features/disallow-doctype-decl", true);
+            Document document = factory.newDocumentBuilder().parse(pom);
+            // Only project/modules/module: <module> elements of profiles or plugin configurations
+            // are not modules of the default build
+            for (Element modulesElement : childElements(document.getDocumentElement(), "modules")) {
+                for (Element moduleElement : childElements(modulesElement, "module")) {
+                    String module = moduleElement.getTextContent().trim();
+                    if (module.isEmpty()) {
+                        continue;
+                    }
+                    String modulePath = prefix + module;
+                    if (!modules.contains(modulePath)) {
+                        modules.add(modulePath);
+                        collectModules(new File(dir, module), modulePath + "/", modules);
+                    }
+                }
+            }
+        } catch (Exception e) {
+            messager.printMessage(Diagnostic.Kind.WARNING,
+                "Could not read modules from " + pom.getAbsolutePath() + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * Returns the direct child elements of an element with the given name.
+     *
+     * @param parent the parent element
+     * @param name the element name
+     * @return the matching children, in document order
+     */
+    private static List<Element> childElements(Element parent, String name) {
+        List<Element> children = new ArrayList<>();
+        NodeList nodes = parent.getChildNodes();
+        for (int i = 0; i < nodes.getLength(); i++) {
+            Node node = nodes.item(i);
+            if (node.getNodeType() == Node.ELEMENT_NODE && name.equals(node.getNodeName())) {
+                children.add((Element) node);
+            }
+        }
+        return children;
+    }
+
+    /**
+     * Walks a source root once and maps every package holding original sources to it.
+     *
+     * <p>Packages already mapped by an earlier source root are kept, so module order decides
+     * which root wins for packages split across modules.</p>
+     *
+     * @param sourceRoot the source root to index
+     */
+    private void indexPackages(String sourceRoot) {
+        Path rootPath = Path.of(sourceRoot);
+        if (!Files.isDirectory(rootPath)) {
+            return;
+        }
+        try (Stream<Path> files = Files.walk(rootPath)) {
+            files.filter(SourceRootIndex::isOriginalSource)
+                .map(file -> rootPath.relativize(file.getParent()))
+                .map(packagePath -> packagePath.toString().replace(File.separatorChar, '.'))
+                .forEach(packageName -> packageSourceRoots.putIfAbsent(packageName, sourceRoot));
+        } catch (IOException | UncheckedIOException e) {
+            messager.printMessage(Diagnostic.Kind.WARNING,
+                "Could not index source root " + sourceRoot + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * Checks whether a path is a hand-written Java source (not a generated DTO).
+     *
+     * @param file the path to check
+     * @return true if the file is an original Java source file
+     */
+    private static boolean isOriginalSource(Path file) {
+        String name = file.getFileName().toString();
+        return name.endsWith(".java") && !name.endsWith("DTO.java") && Files.isRegularFile(file);
+    }
+
+    /**
+     * Finds the nearest {@code src/main/java} directory walking up from the root.
+     *
+     * @param root the project root directory
+     * @return the fallback source root path
+     */
+    private static String findFallbackSourceRoot(File root) {
+        File current = root.getAbsoluteFile();
+        while (current != null) {
+            File srcMainJava = new File(current, "src/main/java");
+            if (srcMainJava.isDirectory()) {
+                return srcMainJava.getAbsolutePath();
+            }
+            current = current.getParentFile();
+        }
+        return root.getAbsolutePath() + "/src/main/java";
+    }
+}
@@ -0,0 +1,137 @@
+package com.AutoGenClass.generator;
+
+import java.io.IOException;
+import java.util.*;
+
+/**
+ * The field tags of a DTO written in the tagged binary or protobuf format, persisted in a
+ * {@code .tags} file.
+ *
+ * <p>A tag identifies a field in tagged messages, so it must never change while messages written
+ * with it may still be read. Tags are therefore assigned once, in declaration order from the
+ * highest tag ever assigned, and kept in the registry file next to the generated sources. Tags of
+ * removed fields stay in the file, so that they are never reused for another field and old
+ * messages keep being skipped instead of being read into the wrong field.</p>
+ *
+ * <p>The file has one {@code name=tag} line per field, ordered by tag; blank lines and lines
+ * starting with {@code #} are ignored.</p>
+ *
+ * @author Mohammed-Salameh
+ * @since 2.0
+ */
+class TagRegistry {
+
+    /** File extension of the registry files */
+    static final String EXTENSION = ".tags";
+
+    /** Highest tag, which keeps the field key ({@code tag << 3 | wire type}) a positive int */
+    static final int MAX_TAG = (1 << 28) - 1;
+
+    /** First tag of the range that protobuf reserves for its own implementation */
+    private static final int FIRST_RESERVED_TAG = 19000;
+
+    /** Last tag of the range that protobuf reserves for its own implementation */
+    private static final int LAST_RESERVED_TAG = 19999;
+
+    /** Tag of every field ever registered, by field name */
+    private final Map<String, Integer> tags = new HashMap<>();
+
+    /** Whether tags were assigned since the registry was read */
+    private boolean changed;
+
+    /**
+     * Reads a registry from the content of its file.
+     *
+     * @param content the file content, or null for a new registry
+     * @return the registry
+     * @throws IOException if a line is malformed or a tag is duplicated or out of range
+     */
+    static TagRegistry parse(String content) throws IOException {
+        TagRegistry registry = new TagRegistry();
+        if (content == null) {
+            return registry;
+        }
+        Set<Integer> used = new HashSet<>();
+        int lineNumber = 0;
+        for (String line : content.split("\r?\n")) {
+            lineNumber++;
+            line = line.trim();
+            if (line.isEmpty() || line.startsWith("#")) {
+                continue;
+            }
+            int separator = line.indexOf('=');
+            int tag;
+            try {
+                tag = separator > 0 ? Integer.parseInt(line.substring(separator + 1).trim()) : 0;
+            } catch (NumberFormatException e) {
+                tag = 0;
+            }
+            String name = separator > 0 ? line.substring(0, separator).trim() : "";
+            if (tag < 1 || tag > MAX_TAG || name.isEmpty()) {
+                throw new IOException("line " + lineNumber + " is not a field name and a tag from 1 to " + MAX_TAG + ": " + line);
+            }
+            if (!used.add(tag) || registry.tags.put(name, tag) != null) {
+                throw new IOException("line " + lineNumber + " registers a field or a tag twice: " + line);
+            }
+        }
+        return registry;
+    }
+
+    /**
+     * Returns the tags of the given fields, assigning new tags to the fields not registered yet.
+     *
+     * @param fields the DTO fields in declaration order
+     * @return the tag of every field, aligned with the fields
+     * @throws IOException if no tag is left for a new field
+     */
+    int[] assign(String[] fields) throws IOException {
+        int next = 1;
+        for (int tag : tags.values()) {
+            next = Math.max(next, tag + 1);
+        }
+        int[] result = new int[fields.length];
+        for (int i = 0; i < fields.length; i++) {
+            Integer tag = tags.get(fields[i]);
+            if (tag == null) {
+                if (next > MAX_TAG) {
+                    throw new IOException("no tag left for field " + fields[i]);
+                }
+                if (next >= FIRST_RESERVED_TAG && next <= LAST_RESERVED_TAG) {
+                    next = LAST_RESERVED_TAG + 1;
+                }
+                tag = next++;
+                tags.put(fields[i], tag);
+                changed = true;
+            }
+            result[i] = tag;
+        }
+        return result;
+    }
+
+    /**
+     * Checks whether tags were assigned since the registry was read, so its file must be written.
+     *
+     * @return true if the registry changed
+     */
+    boolean isChanged() {
+        return changed;
+    }
+
+    /**
+     * Renders the content of the registry file.
+     *
+     * @param dtoName the qualified name of the DTO, mentioned in the header
+     * @return the file content
+     */
+    String render(String dtoName) {
+        List<Map.Entry<String, Integer>> entries = new ArrayList<>(tags.entrySet());
+        entries.sort(Map.Entry.comparingByValue());
+        StringBuilder content = new StringBuilder(64 + 24 * entries.size());
+        content.append("# Field tags of ").append(dtoName).append(" in the tagged binary and protobuf formats, assigned by AutoGen.\n");
+        content.append("# Commit this file. A tag must never change or be reused once messages were written with it.\n");
+        for (Map.Entry<String, Integer> entry : entries) {
+            content.append(entry.getKey()).append('=').append(entry.getValue()).append('\n');
+        }
+        return content.toString();
+    }
+}
@@ -0,0 +1,385 @@
+package com.AutoGenClass.generator;
+
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.*;
+import javax.lang.model.util.Elements;
+import javax.lang.model.util.SimpleTypeVisitor14;
+import javax.lang.model.util.Types;
+import java.util.*;
+
+/**
+ * Analyzes field types and creates {@link FieldInfo} objects.
+ *
+ * <p>Types are classified with a {@link javax.lang.model.type.TypeVisitor}: collections and maps
+ * are recognized with {@link Types#isAssignable} against the erasures of {@code Collection},
+ * {@code List}, {@code Set} and {@code Map}, and their type arguments are resolved through the
+ * supertype hierarchy, so nested generics such as {@code Map<String, List<UserProfile>>} and
+ * concrete collection classes such as {@code ArrayList<String>} are handled correctly.</p>
+ *
+ * <p>Results are memoized for the whole compilation: primitives by kind, non-generic declared
+ * types by their element, and all other types by their canonical name. An entity type such as
+ * {@code UserProfile} is therefore analyzed once, no matter how many fields use it.</p>
+ *
+ * <p>An analyzer is bound to the {@link Types} and {@link Elements} of one compilation and must
+ * only be used from the compiler thread.</p>
+ *
+ * @author Mohammed-Salameh
+ * @since 2.0
+ */
+class TypeAnalyzer {
+
+    /** Qualified names of the java.lang types handled as wrapper types */
+    private static final Set<String> WRAPPER_TYPES = new HashSet<>(Arrays.asList(
+        "java.lang.Integer", "java.lang.Long", "java.lang.Double", "java.lang.Float",
+        "java.lang.Boolean", "java.lang.Character", "java.lang.Byte", "java.lang.Short",
+        "java.lang.String", "java.lang.Object"));
+
+    /** Type utilities of the current compilation */
+    private final Types types;
+
+    /** Erasure of java.util.Collection */
+    private final TypeMirror collectionType;
+
+    /** Erasure of java.util.List */
+    private final TypeMirror listType;
+
+    /** Erasure of java.util.Set */
+    private final TypeMirror setType;
+
+    /** Erasure of java.util.Map */
+    private final TypeMirror mapType;
+
+    /** Memoized results for primitive types */
+    private final Map<TypeKind, FieldInfo> primitiveCache = new EnumMap<>(TypeKind.class);
+
+    /** Memoized results for declared types without type arguments */
+    private final Map<TypeElement, FieldInfo> elementCache = new HashMap<>();
+
+    /** Memoized results for parameterized types, arrays and other types, by canonical name */
+    private final Map<String, FieldInfo> typeCache = new HashMap<>();
+
+    /** Visitor classifying a single type */
+    private final AnalyzingVisitor visitor = new AnalyzingVisitor();
+
+    /**
+     * Creates an analyzer for the current compilation.
+     *
+     * @param types the type utilities of the processing environment
+     * @param elements the element utilities of the processing environment
+     */
+    TypeAnalyzer(Types types, Elements elements) {
+        this.types = types;
+        this.collectionType = erasureOf(elements, "java.util.Collection");
+        this.listType = erasureOf(elements, "java.util.List");
+        this.setType = erasureOf(elements, "java.util.Set");
+        this.mapType = erasureOf(elements, "java.util.Map");
+    }
+
+    /**
+     * Analyzes a field type and returns its (possibly shared) FieldInfo.
+     *
+     * @param type the type mirror representing the field type
+     * @return a FieldInfo object with comprehensive type information
+     */
+    FieldInfo analyze(TypeMirror type) {
+        if (type.getKind().isPrimitive()) {
+            FieldInfo info = primitiveCache.get(type.getKind());
+            if (info == null) {
+                info = type.accept(visitor, null);
+                primitiveCache.put(type.getKind(), info);
+            }
+            return info;
+        }
+
+        if (type.getKind() == TypeKind.DECLARED && ((DeclaredType) type).getTypeArguments().isEmpty()) {
+            TypeElement element = (TypeElement) ((DeclaredType) type).asElement();
+            FieldInfo info = elementCache.get(element);
+            if (info == null) {
+                info = type.accept(visitor, null);
+                elementCache.put(element, info);
+            }
+            return info;
+        }
+
+        String key = type.toString();
+        FieldInfo info = typeCache.get(key);
+        if (info == null) {
+            info = type.accept(visitor, null);
+            typeCache.put(key, info);
+        }
+        return info;
+    }
+
+    /**
+     * Checks whether the type declared in the DTO for a type is the type itself.
+     *
+     * <p>This is not the case for concrete collection classes (declared as their interface),
+     * wildcards (declared by their bound) and type variables (declared by their erasure).
+     * Values of exactly declared types can be copied between an entity and its DTO without
+     * conversion.</p>
+     *
+     * @param type the type to check
+     * @return true if the DTO declares exactly this type
+     */
+    boolean isDeclaredExactly(TypeMirror type) {
+        switch (type.getKind()) {
+            case ARRAY:
+                return isDeclaredExactly(((ArrayType) type).getComponentType());
+            case DECLARED:
+                DeclaredType declared = (DeclaredType) type;
+                TypeMirror erasure = types.erasure(declared);
+                List<? extends TypeMirror> arguments = declared.getTypeArguments();
+                if (isAssignableTo(declared, mapType)) {
+                    return types.isSameType(erasure, mapType) && arguments.size() == 2 && allDeclaredExactly(arguments);
+                }
+                if (isAssignableTo(declared, collectionType)) {
+                    boolean isInterface = types.isSameType(erasure, listType) || types.isSameType(erasure, setType)
+                        || types.isSameType(erasure, collectionType);
+                    return isInterface && arguments.size() == 1 && allDeclaredExactly(arguments);
+                }
+                return allDeclaredExactly(arguments);
+            case WILDCARD:
+            case TYPEVAR:
+                return false;
+            default:
+                return true;
+        }
+    }
+
+    /**
+     * Returns the element types of a collection, or the key and value types of a map, as
+     * classified by {@link #analyze}.
+     *
+     * @param type the collection or map type
+     * @return the element type, the key and value types, or an empty list for raw types and other types
+     */
+    List<? extends TypeMirror> componentTypesOf(DeclaredType type) {
+        if (isAssignableTo(type, mapType)) {
+            return typeArgumentsOf(type, mapType);
+        }
+        if (isAssignableTo(type, listType)) {
+            return typeArgumentsOf(type, listType);
+        }
+        if (isAssignableTo(type, setType)) {
+            return typeArgumentsOf(type, setType);
+        }
+        if (isAssignableTo(type, collectionType)) {
+            return typeArgumentsOf(type, collectionType);
+        }
+        return Collections.emptyList();
+    }
+
+    private boolean allDeclaredExactly(List<? extends TypeMirror> arguments) {
+        for (TypeMirror type : arguments) {
+            if (!isDeclaredExactly(type)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns the erasure of a type, or null if it is not available.
+     *
+     * @param elements the element utilities
+     * @param qualifiedName the qualified type name
+     * @return the erased type mirror, or null
+     */
+    private TypeMirror erasureOf(Elements elements, String qualifiedName) {
+        TypeElement element = elements.getTypeElement(qualifiedName);
+        return element == null ? null : types.erasure(element.asType());
+    }
+
+    /**
+     * Checks whether a type is assignable to a (possibly unavailable) erased type.
+     *
+     * @param type the type to check
+     * @param target the erased target type
+     * @return true if the type is assignable to the target
+     */
+    private boolean isAssignableTo(TypeMirror type, TypeMirror target) {
+        return target != null && types.isAssignable(types.erasure(type), target);
+    }
+
+    /**
+     * Resolves the type arguments a declared type passes to one of its supertypes.
+     *
+     * <p>For example, {@code ArrayList<String>} resolved against {@code List} yields
+     * {@code [String]}. An empty list is returned for raw types.</p>
+     *
+     * @param type the declared type
+     * @param target the erased supertype
+     * @return the type arguments of the supertype
+     */
+    private List<? extends TypeMirror> typeArgumentsOf(DeclaredType type, TypeMirror target) {
+        if (types.isSameType(types.erasure(type), target)) {
+            return type.getTypeArguments();
+        }
+        for (TypeMirror supertype : types.directSupertypes(type)) {
+            if (supertype.getKind() == TypeKind.DECLARED && isAssignableTo(supertype, target)) {
+                return typeArgumentsOf((DeclaredType) supertype, target);
+            }
+        }
+        return Collections.emptyList();
+    }
+
+    /**
+     * Returns the simple name of a type element, including enclosing classes for nested types.
+     *
+     * @param element the type element
+     * @return the simple name (e.g., "Outer.Inner" for nested classes)
+     */
+    static String simpleNameOf(TypeElement element) {
+        Element enclosing = element.getEnclosingElement();
+        if (enclosing instanceof TypeElement) {
+            return simpleNameOf((TypeElement) enclosing) + "." + element.getSimpleName();
+        }
+        return element.getSimpleName().toString();
+    }
+
+    /**
+     * Returns the top-level type to import for a type element.
+     *
+     * @param element the type element
+     * @return the top-level type element
+     */
+    static TypeElement topLevelOf(TypeElement element) {
+        Element enclosing = element.getEnclosingElement();
+        while (enclosing instanceof TypeElement) {
+            element = (TypeElement) enclosing;
+            enclosing = element.getEnclosingElement();
+        }
+        return element;
+    }
+
+    /**
+     * Type visitor building the FieldInfo of a single type.
+     */
+    private class AnalyzingVisitor extends SimpleTypeVisitor14<FieldInfo, Void> {
+
+        @Override
+        public FieldInfo visitPrimitive(PrimitiveType type, Void unused) {
+            String name = type.toString();
+            return new FieldInfo(name, name, name, false, null, false, null, null,
+                                 false, true, false, false, false, Collections.emptySet());
+        }
+
+        @Override
+        public FieldInfo visitArray(ArrayType type, Void unused) {
+            FieldInfo component = analyze(type.getComponentType());
+            String declaredType = component.declaredType + "[]";
+            return new FieldInfo(declaredType, type.toString(), declaredType, true, component, false, null, null,
+                                 false, false, false, true, false, component.imports);
+        }
+
+        @Override
+        public FieldInfo visitDeclared(DeclaredType type, Void unused) {
+            TypeElement element = (TypeElement) type.asElement();
+            String qualifiedName = element.getQualifiedName().toString();
+
+            // Handle wrapper types (Integer, Long, String, etc.)
+            if (WRAPPER_TYPES.contains(qualifiedName)) {
+                String simpleName = element.getSimpleName().toString();
+                return new FieldInfo(simpleName, qualifiedName, simpleName, false, null, false, null, null,
+                                     false, false, true, false, false, Collections.emptySet());
+            }
+
+            // Handle maps (Map, HashMap, LinkedHashMap, etc.)
+            if (isAssignableTo(type, mapType)) {
+                List<? extends TypeMirror> arguments = typeArgumentsOf(type, mapType);
+                FieldInfo keyInfo = arguments.size() == 2 ? analyze(arguments.get(0)) : FieldInfo.OBJECT;
+                FieldInfo valueInfo = arguments.size() == 2 ? analyze(arguments.get(1)) : FieldInfo.OBJECT;
+                Set<String> imports = new TreeSet<>();
+                imports.add("java.util.Map");
+                imports.addAll(keyInfo.imports);
+                imports.addAll(valueInfo.imports);
+                return new FieldInfo("Map", type.toString(),
+                                     "Map<" + keyInfo.declaredType + ", " + valueInfo.declaredType + ">",
+                                     true, null, true, keyInfo, valueInfo,
+                                     false, false, false, false, false, imports);
+            }
+
+            // Handle collections (List, Set, Collection and their implementations)
+            if (isAssignableTo(type, collectionType)) {
+                TypeMirror target;
+                String typeName;
+                if (isAssignableTo(type, listType)) {
+                    target = listType;
+                    typeName = "List";
+                } else if (isAssignableTo(type, setType)) {
+                    target = setType;
+                    typeName = "Set";
+                } else {
+                    target = collectionType;
+                    typeName = "Collection";
+                }
+                List<? extends TypeMirror> arguments = typeArgumentsOf(type, target);
+                FieldInfo elementInfo = arguments.size() == 1 ? analyze(arguments.get(0)) : FieldInfo.OBJECT;
+                Set<String> imports = new TreeSet<>();
+                imports.add("java.util." + typeName);
+                imports.addAll(elementInfo.imports);
+                return new FieldInfo(typeName, type.toString(), typeName + "<" + elementInfo.declaredType + ">",
+                                     true, elementInfo, false, null, null,
+                                     false, false, false, false, false, imports);
+            }
+
+            // Handle other types (potentially entities from external JARs)
+            String simpleName = simpleNameOf(element);
+            StringBuilder declaredType = new StringBuilder(simpleName);
+            Set<String> imports = new TreeSet<>();
+            TypeElement topLevel = topLevelOf(element);
+            Element enclosing = topLevel.getEnclosingElement();
+            boolean isJavaLang = enclosing instanceof PackageElement
+                && ((PackageElement) enclosing).getQualifiedName().contentEquals("java.lang");
+            if (!isJavaLang && enclosing instanceof PackageElement && !((PackageElement) enclosing).isUnnamed()) {
+                imports.add(topLevel.getQualifiedName().toString());
+            }
+            List<? extends TypeMirror> arguments = type.getTypeArguments();
+            if (!arguments.isEmpty()) {
+                declaredType.append('<');
+                for (int i = 0; i < arguments.size(); i++) {
+                    FieldInfo argument = analyze(arguments.get(i));
+                    if (i > 0) {
+                        declaredType.append(", ");
+                    }
+                    declaredType.append(argument.declaredType);
+                    imports.addAll(argument.imports);
+                }
+                declaredType.append('>');
+            }
+            return new FieldInfo(simpleName, qualifiedName, declaredType.toString(), false, null, false, null, null,
+                                 !isJavaLang, false, false, false, element.getKind() == ElementKind.ENUM, imports);
+        }
+
+        @Override
+        public FieldInfo visitWildcard(WildcardType type, Void unused) {
+            // Wildcards are declared by their bound (List<? extends User> -> List<User>)
+            TypeMirror bound = type.getExtendsBound();
+            return bound == null ? FieldInfo.OBJECT : analyze(bound);
+        }
+
+        @Override
+        public FieldInfo visitTypeVariable(TypeVariable type, Void unused) {
+            // The DTO is not generic, so type variables are declared by their erasure
+            return analyze(types.erasure(type));
+        }
+
+        @Override
+        public FieldInfo visitError(ErrorType type, Void unused) {
+            // Unresolved types (e.g. generated in a later round) keep their written name
+            String name = type.toString();
+            String simpleName = name.substring(name.lastIndexOf('.') + 1);
+            Set<String> imports = name.contains(".") ? Collections.singleton(name) : Collections.emptySet();
+            return new FieldInfo(simpleName, name, simpleName, false, null, false, null, null,
+                                 true, false, false, false, false, imports);
+        }
+
+        @Override
+        protected FieldInfo defaultAction(TypeMirror type, Void unused) {
+            return FieldInfo.OBJECT;
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package com.AutoGenClass.generator;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import javax.tools.Diagnostic;
+import javax.tools.JavaFileObject;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Checks that {@code @AutoGen} annotations the processor cannot generate a DTO for are reported
+ * as compile errors on the annotated class, instead of failing the processor.
+ *
+ * @author Mohammed-Salameh
+ * @since 2.0
+ */
+class AnnotationValidationTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void rejectsMoreSerializedFieldsThanSerializersInRecords() throws IOException {
+        assertRejected(entity("serializedFields = {\"name\"}, serializers = {}, record = true"),
+            "BadDTO has 1 serialized field(s) but 0 serializer(s)");
+    }
+
+    @Test
+    void rejectsMoreSerializedFieldsThanSerializersInJsonCodecs() throws IOException {
+        assertRejected(entity("serializedFields = {\"name\"}, serializers = {}, json = true"),
+            "BadDTO has 1 serialized field(s) but 0 serializer(s)");
+    }
+
+    @Test
+    void rejectsJsonCodecsOfStructuredValuesSerializedWithToString() throws IOException {
+        assertRejected(entity("serializedFields = {\"tags\"}, "
+                + "serializers = {\"com.fasterxml.jackson.databind.ser.std.ToStringSerializer\"}, json = true",
+                "java.util.List<String> tags"),
+            "field tags of type List<String> serialized with ToStringSerializer, which the JSON codec cannot write and read back");
+    }
+
+    @Test
+    void rejectsJsonCodecsOfMapsWithUnreadableKeys() throws IOException {
+        assertRejected(entity("simpleFields = {\"id\", \"byDay\"}, serializedFields = {}, serializers = {}, json = true",
+                "java.util.Map<java.time.LocalDate, String> byDay"),
+            "field byDay of type LocalDate, which the JSON codec cannot write and read back");
+    }
+
+    @Test
+    void rejectsJsonCodecsOfNonInstantiableEntities() throws IOException {
+        Map<String, String> sources = new LinkedHashMap<>();
+        sources.put("bad.Point", "package bad;\n\n"
+            + "public class Point {\n"
+            + "    private final int x;\n\n"
+            + "    public Point(int x) {\n"
+            + "        this.x = x;\n"
+            + "    }\n\n"
+            + "    public int getX() {\n"
+            + "        return x;\n"
+            + "    }\n"
+            + "}\n");
+        sources.put("bad.Bad", entity("simpleFields = {\"id\", \"origin\"}, serializedFields = {}, serializers = {}, json = true",
+            "Point origin"));
+        assertRejected(sources, "non-instantiable entity Point, which the JSON codec cannot write and read back");
+    }
+
+    private void assertRejected(String source, String message) throws IOException {
+        assertRejected(Map.of("bad.Bad", source), message);
+    }
+
+    /**
+     * Compiles entities and checks that the only error is reported on {@code Bad} and holds a message.
+     */
+    private void assertRejected(Map<String, String> sources, String message) throws IOException {
+        TestCompilation compilation = TestCompilation.compile(dir, sources);
+        assertFalse(compilation.success);
+        List<Diagnostic<? extends JavaFileObject>> errors = compilation.diagnostics.stream()
+            .filter(diagnostic -> diagnostic.getKind() == Diagnostic.Kind.ERROR)
+            .collect(Collectors.toList());
+        assertEquals(1, errors.size(), () -> String.join("\n", compilation.messages(Diagnostic.Kind.ERROR)));
+        Diagnostic<? extends JavaFileObject> error = errors.get(0);
+        assertTrue(error.getSource() != null && error.getSource().getName().endsWith("Bad.java"), error::toString);
+        assertTrue(error.getMessage(null).contains(message), error::toString);
+    }
+
+    /**
+     * Returns the source of an entity {@code bad.Bad} of a long {@code id}, a string {@code name}
+     * and the given fields, each declared as "type name", with getters and setters, annotated with
+     * the given elements besides its name, and its simple fields unless given.
+     */
+    private static String entity(String elements, String... fields) {
+        List<String> declarations = new ArrayList<>(List.of("long id", "String name"));
+        declarations.addAll(List.of(fields));
+        StringBuilder source = new StringBuilder("package bad;\n\n")
+            .append("import com.AutoGenClass.generator.AutoGen;\n\n")
+            .append("@AutoGen(").append(elements.contains("simpleFields") ? "" : "simpleFields = {\"id\"}, ")
+            .append("name = \"BadDTO\", ").append(elements).append(")\n")
+            .append("public class Bad {\n");
+        for (String declaration : declarations) {
+            source.append("    private ").append(declaration).append(";\n");
+        }
+        for (String declaration : declarations) {
+            int space = declaration.lastIndexOf(' ');
+            String type = declaration.substring(0, space);
+            String name = declaration.substring(space + 1);
+            String property = Character.toUpperCase(name.charAt(0)) + name.substring(1);
+            source.append("\n    public ").append(type).append(" get").append(property).append("() {\n")
+                .append("        return ").append(name).append(";\n")
+                .append("    }\n\n")
+                .append("    public void set").append(property).append("(").append(type).append(" ").append(name).append(") {\n")
+                .append("        this.").append(name).append(" = ").append(name).append(";\n")
+                .append("    }\n");
+        }
+        return source.append("}\n").toString();
+    }
+}
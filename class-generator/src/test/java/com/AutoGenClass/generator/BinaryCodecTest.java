@@ -0,0 +1,57 @@
+package com.AutoGenClass.generator;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.Arrays;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the generated {@code serializedSize()}, {@code writeTo(ByteBuffer)} and
+ * {@code readFrom(ByteBuffer)} of the compact binary codec.
+ *
+ * @author Mohammed-Salameh
+ * @since 2.0
+ */
+class BinaryCodecTest extends CodecTest {
+
+    /** Offset of the first field written after {@code id}, {@code count}, {@code ratio} and {@code active} */
+    private static final int NULLABLE_FIELDS_OFFSET = 13;
+
+    @Override
+    byte[] write(Object dto) throws Exception {
+        return writeToBuffer(dto, "serializedSize", "writeTo");
+    }
+
+    @Override
+    Object read(Class<?> dtoClass, byte[] bytes) throws Exception {
+        return readFromBuffer(dtoClass, "readFrom", bytes);
+    }
+
+    @Test
+    void rejectsMalformedVarints() throws Exception {
+        // Null bitmap, then an id of 11 bytes
+        byte[] bytes = new byte[24];
+        Arrays.fill(bytes, 2, bytes.length, (byte) 0xFF);
+        Class<?> dtoClass = sample("Sample").getClass();
+        assertThrows(IllegalArgumentException.class, () -> read(dtoClass, bytes));
+    }
+
+    @Test
+    void rejectsLengthsBeyondTheInput() throws Exception {
+        Object dto = dtoOf(entity("Sample", "data", new byte[] {1, 2, 3}));
+        byte[] bytes = write(dto);
+        assertEquals(3, bytes[NULLABLE_FIELDS_OFFSET]);
+        bytes[NULLABLE_FIELDS_OFFSET] = 4;
+        assertThrows(IllegalArgumentException.class, () -> read(dto.getClass(), bytes));
+    }
+
+    @Test
+    void rejectsEnumOrdinalsOutOfRange() throws Exception {
+        Object dto = dtoOf(entity("Sample", "kind", kind("BLUE")));
+        byte[] bytes = write(dto);
+        assertEquals(2, bytes[NULLABLE_FIELDS_OFFSET]);
+        bytes[NULLABLE_FIELDS_OFFSET] = 3;
+        assertThrows(IllegalArgumentException.class, () -> read(dto.getClass(), bytes));
+    }
+}
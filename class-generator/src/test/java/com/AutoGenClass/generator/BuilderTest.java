@@ -0,0 +1,143 @@
+package com.AutoGenClass.generator;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.reflect.Method;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import javax.tools.Diagnostic;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Tests the generated {@code Builder} of the mutable {@code WideEntity} DTO of
+ * {@link WideFixture}, whose fields are recorded in two words of the builder bitmask.
+ *
+ * @author Mohammed-Salameh
+ * @since 2.0
+ */
+class BuilderTest {
+
+    /** Number of fields of the wide DTO, more than a word of the bitmask holds */
+    private static final int FIELD_COUNT = 70;
+
+    @TempDir
+    static Path dir;
+
+    private static Class<?> dtoClass;
+
+    @BeforeAll
+    static void compile() throws Exception {
+        TestCompilation compilation = TestCompilation.compile(dir, WideFixture.sources(FIELD_COUNT));
+        assertTrue(compilation.success, () -> String.join("\n", compilation.messages(Diagnostic.Kind.ERROR)));
+        dtoClass = compilation.load(WideFixture.DTO_PACKAGE + ".WideEntityDTO");
+    }
+
+    @Test
+    void resetRestoresTheDefaultsOfTheAssignedFields() throws Exception {
+        Object builder = builder();
+        set(builder, 0, -1);
+        set(builder, 4, "first");
+        set(builder, 65, List.of("a"));
+        Object first = build(builder);
+        assertEquals(-1, get(first, 0));
+        assertEquals("first", get(first, 4));
+        assertEquals(List.of("a"), get(first, 65));
+
+        call(builder, "reset");
+        set(builder, 5, 7);
+        Object second = build(builder);
+        assertEquals(0, get(second, 0));
+        assertNull(get(second, 4));
+        assertNull(get(second, 65));
+        assertEquals(7, get(second, 5));
+
+        call(builder, "reset");
+        Object empty = build(builder);
+        for (int i = 0; i < FIELD_COUNT; i++) {
+            assertEquals(get(dtoClass.getConstructor().newInstance(), i), get(empty, i), WideFixture.fieldName(i));
+        }
+    }
+
+    @Test
+    void resetIsANoOpOnAFreshBuilder() throws Exception {
+        Object builder = builder();
+        assertSame(builder, call(builder, "reset"));
+        assertEquals(0, get(build(builder), 0));
+    }
+
+    @Test
+    void applyToCopiesOnlyTheAssignedFields() throws Exception {
+        Object dto = dtoClass.getConstructor().newInstance();
+        Object builder = builder();
+        set(builder, 0, -1);
+        set(builder, 4, "first");
+        set(builder, 65, List.of("a"));
+        set(builder, 67, Map.of("k", 1L));
+        call(builder, "applyTo", dto);
+
+        Object updates = builder();
+        set(updates, 4, null);
+        set(updates, 65, List.of("b"));
+        assertSame(dto, call(updates, "applyTo", dto));
+        assertEquals(-1, get(dto, 0));
+        assertNull(get(dto, 4));
+        assertEquals(List.of("b"), get(dto, 65));
+        assertEquals(Map.of("k", 1L), get(dto, 67));
+    }
+
+    @Test
+    void applyToLeavesEveryFieldUntouchedAfterReset() throws Exception {
+        Object dto = dtoClass.getConstructor().newInstance();
+        Object builder = builder();
+        set(builder, 0, -1);
+        set(builder, 65, List.of("a"));
+        call(builder, "applyTo", dto);
+
+        call(call(builder, "reset"), "applyTo", dto);
+        assertEquals(-1, get(dto, 0));
+        assertEquals(List.of("a"), get(dto, 65));
+    }
+
+    private static Object builder() throws Exception {
+        return call(null, "builder");
+    }
+
+    private static Object build(Object builder) throws Exception {
+        return call(builder, "build");
+    }
+
+    /**
+     * Sets a field on a builder with its fluent method.
+     */
+    private static void set(Object builder, int index, Object value) throws Exception {
+        call(builder, WideFixture.fieldName(index), value);
+    }
+
+    /**
+     * Returns a field of a DTO with its getter.
+     */
+    private static Object get(Object dto, int index) throws Exception {
+        String name = WideFixture.fieldName(index);
+        return call(dto, "get" + Character.toUpperCase(name.charAt(0)) + name.substring(1));
+    }
+
+    /**
+     * Invokes the only public method of a name and arity of a DTO, a builder, or the DTO class
+     * when the target is null.
+     */
+    private static Object call(Object target, String name, Object... arguments) throws Exception {
+        Class<?> type = target == null ? dtoClass : target.getClass();
+        for (Method method : type.getMethods()) {
+            if (method.getName().equals(name) && method.getParameterCount() == arguments.length) {
+                return CodecTest.invoke(method, target, arguments);
+            }
+        }
+        throw new NoSuchMethodException(type.getName() + "." + name);
+    }
+}
@@ -0,0 +1,120 @@
+package com.AutoGenClass.generator;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Reads the bytecode size of the methods of a class file, without a bytecode library.
+ *
+ * <p>Only the constant pool, the names of the methods and the length of their {@code Code}
+ * attributes are decoded; everything else is skipped by its length, as the class file format
+ * allows.</p>
+ *
+ * @author Mohammed-Salameh
+ * @since 2.0
+ */
+final class ClassFileMethods {
+
+    private ClassFileMethods() {
+    }
+
+    /**
+     * Returns the bytecode size of every method of a class file that has code.
+     *
+     * @param classFile the class file
+     * @return the size in bytes of the code of every method, by name and descriptor
+     * @throws IOException if the file cannot be read or is malformed
+     */
+    static Map<String, Integer> codeSizes(Path classFile) throws IOException {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(Files.readAllBytes(classFile)));
+        if (in.readInt() != 0xCAFEBABE) {
+            throw new IOException("Not a class file: " + classFile);
+        }
+        in.skipBytes(4);
+        String[] utf8 = readConstantPool(in);
+        // Access flags, this class and super class
+        in.skipBytes(6);
+        in.skipBytes(2 * in.readUnsignedShort());
+        int fieldCount = in.readUnsignedShort();
+        for (int i = 0; i < fieldCount; i++) {
+            in.skipBytes(6);
+            skipAttributes(in);
+        }
+
+        Map<String, Integer> sizes = new LinkedHashMap<>();
+        int methodCount = in.readUnsignedShort();
+        for (int i = 0; i < methodCount; i++) {
+            in.skipBytes(2);
+            String name = utf8[in.readUnsignedShort()] + utf8[in.readUnsignedShort()];
+            int attributeCount = in.readUnsignedShort();
+            for (int j = 0; j < attributeCount; j++) {
+                String attribute = utf8[in.readUnsignedShort()];
+                int length = in.readInt();
+                if (attribute.equals("Code")) {
+                    // max_stack and max_locals precede the code length
+                    in.skipBytes(4);
+                    sizes.put(name, in.readInt());
+                    in.skipBytes(length - 8);
+                } else {
+                    in.skipBytes(length);
+                }
+            }
+        }
+        return sizes;
+    }
+
+    private static String[] readConstantPool(DataInputStream in) throws IOException {
+        int count = in.readUnsignedShort();
+        String[] utf8 = new String[count];
+        for (int i = 1; i < count; i++) {
+            int tag = in.readUnsignedByte();
+            switch (tag) {
+                case 1:
+                    utf8[i] = in.readUTF();
+                    break;
+                case 7:
+                case 8:
+                case 16:
+                case 19:
+                case 20:
+                    in.skipBytes(2);
+                    break;
+                case 15:
+                    in.skipBytes(3);
+                    break;
+                case 3:
+                case 4:
+                case 9:
+                case 10:
+                case 11:
+                case 12:
+                case 17:
+                case 18:
+                    in.skipBytes(4);
+                    break;
+                case 5:
+                case 6:
+                    // Long and double constants take two entries
+                    in.skipBytes(8);
+                    i++;
+                    break;
+                default:
+                    throw new IOException("Unknown constant pool tag " + tag);
+            }
+        }
+        return utf8;
+    }
+
+    private static void skipAttributes(DataInputStream in) throws IOException {
+        int count = in.readUnsignedShort();
+        for (int i = 0; i < count; i++) {
+            in.skipBytes(2);
+            in.skipBytes(in.readInt());
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package com.AutoGenClass.generator;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Sources of entities with every codec enabled, whose fields cover the kinds of values the
+ * codecs handle differently.
+ *
+ * <p>{@code Sample} is a mutable DTO and {@code SampleValue} an immutable one, with the same
+ * fields: primitives, a string, a wrapper, an enum, byte and int arrays, a list, a set and a map
+ * of scalars, an {@code Address} entity and a list of entities. Their tag registries are new, so
+ * the tags, and the protobuf field numbers, follow the order of {@link #FIELDS} from 1.</p>
+ *
+ * @author Mohammed-Salameh
+ * @since 2.0
+ */
+final class CodecFixture {
+
+    /** Package of the entities */
+    static final String PACKAGE = "codec";
+
+    /** Package of the generated DTOs */
+    static final String DTO_PACKAGE = PACKAGE + ".autogendto";
+
+    /** Names of the fields of the sample entities */
+    static final String[] FIELDS = {
+        "id", "name", "count", "ratio", "active", "score", "kind", "data", "values", "tags", "codes", "attributes",
+        "address", "history"
+    };
+
+    /** Types of the fields of the sample entities, aligned with {@link #FIELDS} */
+    static final String[] TYPES = {
+        "long", "String", "int", "double", "boolean", "Integer", "Kind", "byte[]", "int[]", "java.util.List<String>",
+        "java.util.Set<Integer>", "java.util.Map<String, Long>", "Address", "java.util.List<Address>"
+    };
+
+    private CodecFixture() {
+    }
+
+    /**
+     * Returns the sources of the sample entities and the types they use.
+     *
+     * @return the source of every class by its qualified name
+     */
+    static Map<String, String> sources() {
+        Map<String, String> sources = new LinkedHashMap<>();
+        sources.put(PACKAGE + ".Kind", "package " + PACKAGE + ";\n\npublic enum Kind { RED, GREEN, BLUE }\n");
+        sources.put(PACKAGE + ".Address", "package " + PACKAGE + ";\n\n"
+            + "public class Address {\n"
+            + "    private String street;\n"
+            + "    private int number;\n\n"
+            + "    public String getStreet() {\n"
+            + "        return street;\n"
+            + "    }\n\n"
+            + "    public void setStreet(String street) {\n"
+            + "        this.street = street;\n"
+            + "    }\n\n"
+            + "    public int getNumber() {\n"
+            + "        return number;\n"
+            + "    }\n\n"
+            + "    public void setNumber(int number) {\n"
+            + "        this.number = number;\n"
+            + "    }\n"
+            + "}\n");
+        sources.put(PACKAGE + ".Sample", entity("Sample", ""));
+        sources.put(PACKAGE + ".SampleValue", entity("SampleValue", "immutable = true, "));
+        return sources;
+    }
+
+    private static String entity(String className, String options) {
+        StringBuilder fields = new StringBuilder();
+        StringBuilder names = new StringBuilder();
+        for (int i = 0; i < FIELDS.length; i++) {
+            fields.append("    public ").append(TYPES[i]).append(' ').append(FIELDS[i]).append(";\n");
+            names.append(i > 0 ? ", " : "").append('"').append(FIELDS[i]).append('"');
+        }
+        return "package " + PACKAGE + ";\n\n"
+            + "import com.AutoGenClass.generator.AutoGen;\n\n"
+            + "@AutoGen(name = \"" + className + "DTO\", simpleFields = {" + names + "}, serializedFields = {}, serializers = {},\n"
+            + "    " + options + "jackson = true, json = true, binary = true, tagged = true, protobuf = true,\n"
+            + "    messagePack = true)\n"
+            + "public class " + className + " {\n"
+            + fields
+            + "}\n";
+    }
+}
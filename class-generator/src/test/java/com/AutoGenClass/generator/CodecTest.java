@@ -0,0 +1,458 @@
+package com.AutoGenClass.generator;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.math.BigDecimal;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import javax.tools.Diagnostic;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+/**
+ * Round trips of the DTOs of {@link CodecFixture} and {@link WideFixture} through a codec, and
+ * reads of truncated and corrupted input, which must fail with the exceptions documented for the
+ * codec: {@link BufferUnderflowException} or {@link IllegalArgumentException} of the runtime
+ * unless {@link #isDocumented(Exception)} is overridden.
+ *
+ * <p>The fixtures are compiled once per codec, with the Jackson module of their package. The DTOs
+ * are created from entities with their {@code from} mapper and compared field by field, arrays
+ * and entities included, as their {@code equals} compares arrays and entities by reference.</p>
+ *
+ * @author Mohammed-Salameh
+ * @since 2.0
+ */
+abstract class CodecTest {
+
+    /** Number of fields of the wide DTOs, split into several chunks of helpers */
+    static final int WIDE_FIELD_COUNT = 70;
+
+    /** Bytes replacing each byte of the input in turn, to corrupt it */
+    private static final byte[] CORRUPTIONS = {0x00, 0x01, 0x7F, (byte) 0x80, (byte) 0xC1, (byte) 0xFF};
+
+    @TempDir
+    static Path dir;
+
+    static TestCompilation compilation;
+
+    @BeforeAll
+    static void compile() throws Exception {
+        Map<String, String> sources = new LinkedHashMap<>(CodecFixture.sources());
+        sources.putAll(WideFixture.sources(WIDE_FIELD_COUNT));
+        compilation = TestCompilation.compile(dir, sources, "-A" + ClassAutoGenerator.OPTION_JACKSON_MODULE + "=true");
+        assertTrue(compilation.success, () -> String.join("\n", compilation.messages(Diagnostic.Kind.ERROR)));
+    }
+
+    /**
+     * Writes a DTO with the codec under test.
+     *
+     * @param dto the DTO
+     * @return the encoded DTO
+     * @throws Exception if the DTO cannot be written
+     */
+    abstract byte[] write(Object dto) throws Exception;
+
+    /**
+     * Reads a DTO with the codec under test.
+     *
+     * @param dtoClass the class of the DTO
+     * @param bytes the encoded DTO
+     * @return the DTO
+     * @throws Exception if the input is rejected
+     */
+    abstract Object read(Class<?> dtoClass, byte[] bytes) throws Exception;
+
+    @ParameterizedTest
+    @ValueSource(strings = {"Sample", "SampleValue"})
+    void roundTripsEveryKindOfField(String entity) throws Exception {
+        Object dto = sample(entity);
+        assertDeepEquals(dto, read(dto.getClass(), write(dto)));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"Sample", "SampleValue"})
+    void roundTripsNullFields(String entity) throws Exception {
+        Object dto = dtoOf(entity(entity));
+        assertDeepEquals(dto, read(dto.getClass(), write(dto)));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"Sample", "SampleValue"})
+    void roundTripsEmptyValues(String entity) throws Exception {
+        Object dto = dtoOf(entity(entity,
+            "name", "",
+            "data", new byte[0],
+            "values", new int[0],
+            "tags", List.of(),
+            "codes", Set.of(),
+            "attributes", Map.of(),
+            "address", address(null, 0),
+            "history", List.of()));
+        assertDeepEquals(dto, read(dto.getClass(), write(dto)));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"WideEntity", "WideValue"})
+    void roundTripsWideDtos(String entity) throws Exception {
+        Object dto = wide(entity);
+        assertDeepEquals(dto, read(dto.getClass(), write(dto)));
+    }
+
+    @Test
+    void rejectsTruncatedInput() throws Exception {
+        Object dto = sample("Sample");
+        byte[] bytes = write(dto);
+        for (int length = 0; length < bytes.length; length++) {
+            byte[] truncated = Arrays.copyOf(bytes, length);
+            assertRejected(() -> read(dto.getClass(), truncated), "input truncated to " + length + " bytes");
+        }
+    }
+
+    @Test
+    void rejectsCorruptedInputOnlyWithDocumentedExceptions() throws Exception {
+        Object dto = sample("Sample");
+        byte[] bytes = write(dto);
+        for (int i = 0; i < bytes.length; i++) {
+            for (byte corruption : CORRUPTIONS) {
+                byte[] corrupted = bytes.clone();
+                corrupted[i] = corruption;
+                try {
+                    read(dto.getClass(), corrupted);
+                } catch (Exception e) {
+                    // Corrupted input may also be read as other values
+                    if (!isDocumented(e)) {
+                        throw new AssertionError("byte " + i + " set to " + corruption + " failed with " + e, e);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Asserts that a read fails with an exception documented for malformed input.
+     *
+     * @param read the read
+     * @param message the description of the input
+     */
+    void assertRejected(ThrowingRead read, String message) {
+        Exception e = assertThrows(Exception.class, read::run, message);
+        if (!isDocumented(e)) {
+            fail(message + " failed with " + e, e);
+        }
+    }
+
+    /**
+     * Returns whether the codec under test documents an exception for malformed input: those of
+     * the runtime by default.
+     *
+     * @param e the exception a read failed with
+     * @return whether the exception is documented
+     */
+    boolean isDocumented(Exception e) {
+        return e instanceof BufferUnderflowException || e instanceof IllegalArgumentException;
+    }
+
+    /**
+     * A read that may fail.
+     */
+    @FunctionalInterface
+    interface ThrowingRead {
+
+        /**
+         * Runs the read.
+         *
+         * @throws Exception if the read fails
+         */
+        void run() throws Exception;
+    }
+
+    /**
+     * Returns a DTO of a sample entity with every field set to a value other than its default.
+     *
+     * @param entity the simple name of the entity, {@code Sample} or {@code SampleValue}
+     * @return the DTO
+     * @throws Exception if the DTO cannot be created
+     */
+    static Object sample(String entity) throws Exception {
+        Map<String, Long> attributes = new LinkedHashMap<>();
+        attributes.put("x", Long.MIN_VALUE);
+        attributes.put("é€😀", 0L);
+        return dtoOf(entity(entity,
+            "id", -75L,
+            "name", "Café \"quoted\" \\ \n€😀",
+            "count", Integer.MAX_VALUE,
+            "ratio", -2.5e-300,
+            "active", true,
+            "score", 150,
+            "kind", kind("GREEN"),
+            "data", new byte[] {0, -1, 127, -128},
+            "values", new int[] {3, 270, -86942, Integer.MIN_VALUE},
+            "tags", List.of("a", "", "é"),
+            "codes", new LinkedHashSet<>(List.of(1, -1, 1 << 20)),
+            "attributes", attributes,
+            "address", address("Main Street", 12),
+            "history", List.of(address("Old Road", 1), address("", -3))));
+    }
+
+    /**
+     * Returns the DTO of a wide entity with every field set to a value other than its default.
+     *
+     * @param entity the simple name of the entity, {@code WideEntity} or {@code WideValue}
+     * @return the DTO
+     * @throws Exception if the DTO cannot be created
+     */
+    static Object wide(String entity) throws Exception {
+        Class<?> entityClass = compilation.load(WideFixture.PACKAGE + "." + entity);
+        Object value = entityClass.getConstructor().newInstance();
+        for (int i = 0; i < WIDE_FIELD_COUNT; i++) {
+            entityClass.getField(WideFixture.fieldName(i)).set(value, wideValueOf(i));
+        }
+        return dtoOf(value);
+    }
+
+    private static Object wideValueOf(int index) throws Exception {
+        switch (WideFixture.typeOf(index)) {
+            case "int":
+                return -index;
+            case "long":
+                return index * 1_000_000_007L;
+            case "double":
+                return index + 0.25;
+            case "boolean":
+                return true;
+            case "String":
+                return "s" + index;
+            case "Integer":
+                return index;
+            case "java.math.BigDecimal":
+                return new BigDecimal(index + ".50");
+            case "byte[]":
+                return new byte[] {(byte) index, -1};
+            case "Kind":
+                Class<?> kind = compilation.load(WideFixture.PACKAGE + ".Kind");
+                return kind.getEnumConstants()[index % kind.getEnumConstants().length];
+            case "java.util.List<String>":
+                return List.of("e" + index, "");
+            case "java.util.Set<Integer>":
+                return Set.of(index);
+            case "java.util.Map<String, Long>":
+                return Map.of("k" + index, (long) -index);
+            case "Item":
+                return item(index);
+            case "java.util.List<Item>":
+                return List.of(item(index), item(-index));
+            default:
+                throw new IllegalArgumentException(WideFixture.typeOf(index));
+        }
+    }
+
+    private static Object item(int id) throws Exception {
+        Class<?> itemClass = compilation.load(WideFixture.PACKAGE + ".Item");
+        Object item = itemClass.getConstructor().newInstance();
+        itemClass.getField("id").set(item, id);
+        itemClass.getField("name").set(item, "item " + id);
+        return item;
+    }
+
+    /**
+     * Creates a sample entity with the given fields set.
+     *
+     * @param entity the simple name of the entity
+     * @param fieldsAndValues the names of the fields, each followed by its value
+     * @return the entity
+     * @throws Exception if the entity cannot be created
+     */
+    static Object entity(String entity, Object... fieldsAndValues) throws Exception {
+        Class<?> entityClass = compilation.load(CodecFixture.PACKAGE + "." + entity);
+        Object value = entityClass.getConstructor().newInstance();
+        for (int i = 0; i < fieldsAndValues.length; i += 2) {
+            entityClass.getField((String) fieldsAndValues[i]).set(value, fieldsAndValues[i + 1]);
+        }
+        return value;
+    }
+
+    /**
+     * Creates an address entity.
+     *
+     * @param street the street
+     * @param number the number
+     * @return the address
+     * @throws Exception if the address cannot be created
+     */
+    static Object address(String street, int number) throws Exception {
+        Class<?> addressClass = compilation.load(CodecFixture.PACKAGE + ".Address");
+        Object address = addressClass.getConstructor().newInstance();
+        addressClass.getMethod("setStreet", String.class).invoke(address, street);
+        addressClass.getMethod("setNumber", int.class).invoke(address, number);
+        return address;
+    }
+
+    /**
+     * Returns a constant of the sample enum.
+     *
+     * @param name the name of the constant
+     * @return the constant
+     * @throws Exception if the enum cannot be loaded
+     */
+    static Object kind(String name) throws Exception {
+        for (Object constant : compilation.load(CodecFixture.PACKAGE + ".Kind").getEnumConstants()) {
+            if (((Enum<?>) constant).name().equals(name)) {
+                return constant;
+            }
+        }
+        throw new IllegalArgumentException(name);
+    }
+
+    /**
+     * Maps an entity to its DTO with the generated {@code from} mapper.
+     *
+     * @param entity the entity
+     * @return the DTO
+     * @throws Exception if the DTO cannot be created
+     */
+    static Object dtoOf(Object entity) throws Exception {
+        Class<?> entityClass = entity.getClass();
+        Class<?> dtoClass = compilation.load(entityClass.getPackageName() + ".autogendto." + entityClass.getSimpleName() + "DTO");
+        return invoke(dtoClass.getMethod("from", entityClass), null, entity);
+    }
+
+    /**
+     * Invokes a generated method, rethrowing what it throws.
+     *
+     * @param method the method
+     * @param target the DTO, or null for a static method
+     * @param arguments the arguments
+     * @return the result
+     * @throws Exception what the method throws
+     */
+    static Object invoke(Method method, Object target, Object... arguments) throws Exception {
+        try {
+            return method.invoke(target, arguments);
+        } catch (InvocationTargetException e) {
+            if (e.getCause() instanceof Exception) {
+                throw (Exception) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Writes a DTO into a buffer of the size it reports, with the given method, and checks that
+     * the size is exact.
+     *
+     * @param dto the DTO
+     * @param sizeMethod the name of the size method
+     * @param writeMethod the name of the method writing into a {@code ByteBuffer}
+     * @return the written bytes
+     * @throws Exception if the DTO cannot be written
+     */
+    static byte[] writeToBuffer(Object dto, String sizeMethod, String writeMethod) throws Exception {
+        int size = (Integer) invoke(dto.getClass().getMethod(sizeMethod), dto);
+        ByteBuffer buf = ByteBuffer.allocate(size);
+        invoke(dto.getClass().getMethod(writeMethod, ByteBuffer.class), dto, buf);
+        assertEquals(0, buf.remaining(), () -> sizeMethod + " is not the written size");
+        return buf.array();
+    }
+
+    /**
+     * Returns bytes given as ints, to write bytes above 0x7F without casts.
+     *
+     * @param values the values of the bytes
+     * @return the bytes
+     */
+    static byte[] bytes(int... values) {
+        byte[] bytes = new byte[values.length];
+        for (int i = 0; i < values.length; i++) {
+            bytes[i] = (byte) values[i];
+        }
+        return bytes;
+    }
+
+    /**
+     * Reads a DTO from a buffer with the given static method.
+     *
+     * @param dtoClass the class of the DTO
+     * @param readMethod the name of the method reading from a {@code ByteBuffer}
+     * @param bytes the encoded DTO
+     * @return the DTO
+     * @throws Exception if the input is rejected
+     */
+    static Object readFromBuffer(Class<?> dtoClass, String readMethod, byte[] bytes) throws Exception {
+        return invoke(dtoClass.getMethod(readMethod, ByteBuffer.class), null, ByteBuffer.wrap(bytes));
+    }
+
+    /**
+     * Asserts that two values are equal, comparing arrays, lists and maps element by element and
+     * the classes of the fixtures field by field.
+     *
+     * @param expected the expected value
+     * @param actual the actual value
+     */
+    static void assertDeepEquals(Object expected, Object actual) {
+        assertDeepEquals(expected, actual, "dto");
+    }
+
+    private static void assertDeepEquals(Object expected, Object actual, String path) {
+        if (expected == null || actual == null) {
+            assertEquals(expected, actual, path);
+        } else if (expected.getClass().isArray()) {
+            assertEquals(expected.getClass(), actual.getClass(), path);
+            assertEquals(Array.getLength(expected), Array.getLength(actual), path + ".length");
+            for (int i = 0; i < Array.getLength(expected); i++) {
+                assertDeepEquals(Array.get(expected, i), Array.get(actual, i), path + "[" + i + "]");
+            }
+        } else if (expected instanceof List) {
+            List<?> expectedList = (List<?>) expected;
+            List<?> actualList = (List<?>) actual;
+            assertEquals(expectedList.size(), actualList.size(), path + ".size()");
+            for (int i = 0; i < expectedList.size(); i++) {
+                assertDeepEquals(expectedList.get(i), actualList.get(i), path + "[" + i + "]");
+            }
+        } else if (expected instanceof Map) {
+            Map<?, ?> expectedMap = (Map<?, ?>) expected;
+            Map<?, ?> actualMap = (Map<?, ?>) actual;
+            assertEquals(expectedMap.keySet(), actualMap.keySet(), path + ".keySet()");
+            for (Map.Entry<?, ?> entry : expectedMap.entrySet()) {
+                assertDeepEquals(entry.getValue(), actualMap.get(entry.getKey()), path + "[" + entry.getKey() + "]");
+            }
+        } else if (isFixtureClass(expected.getClass())) {
+            assertEquals(expected.getClass(), actual.getClass(), path);
+            for (Field field : expected.getClass().getDeclaredFields()) {
+                if (Modifier.isStatic(field.getModifiers()) || Modifier.isTransient(field.getModifiers())) {
+                    continue;
+                }
+                field.setAccessible(true);
+                try {
+                    assertDeepEquals(field.get(expected), field.get(actual), path + "." + field.getName());
+                } catch (IllegalAccessException e) {
+                    throw new AssertionError(e);
+                }
+            }
+        } else {
+            assertEquals(expected, actual, path);
+        }
+    }
+
+    private static boolean isFixtureClass(Class<?> type) {
+        String packageName = type.getPackageName();
+        return !type.isEnum() && (packageName.startsWith(CodecFixture.PACKAGE) || packageName.startsWith(WideFixture.PACKAGE));
+    }
+}
@@ -0,0 +1,211 @@
+package com.AutoGenClass.generator;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Externalizable;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.ObjectStreamClass;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import javax.tools.Diagnostic;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+/**
+ * Round trips of the DTOs generated with {@code externalizable = true} through
+ * {@link ObjectOutputStream} and {@link ObjectInputStream}: the mutable {@code Row} DTO
+ * implements {@link Externalizable}, the immutable {@code RowValue} DTO and the {@code RowRecord}
+ * record are written as their nested {@code ExternalForm}.
+ *
+ * @author Mohammed-Salameh
+ * @since 2.0
+ */
+class ExternalizableTest {
+
+    /** Package of the entities */
+    private static final String PACKAGE = "external";
+
+    /** Names of the fields of the entities */
+    private static final String[] FIELDS = {"id", "active", "ratio", "code", "name", "score", "kind", "tags", "counts", "values"};
+
+    /** Types of the fields of the entities, aligned with {@link #FIELDS} */
+    private static final String[] TYPES = {
+        "long", "boolean", "double", "char", "String", "Integer", "Kind", "java.util.List<String>",
+        "java.util.Map<String, Integer>", "int[]"
+    };
+
+    @TempDir
+    static Path dir;
+
+    private static TestCompilation compilation;
+
+    @BeforeAll
+    static void compile() throws Exception {
+        Map<String, String> sources = new LinkedHashMap<>();
+        sources.put(PACKAGE + ".Kind", "package " + PACKAGE + ";\n\npublic enum Kind { RED, GREEN, BLUE }\n");
+        sources.put(PACKAGE + ".Row", entity("Row", ""));
+        sources.put(PACKAGE + ".RowValue", entity("RowValue", "immutable = true, "));
+        sources.put(PACKAGE + ".RowRecord", entity("RowRecord", "record = true, "));
+        compilation = TestCompilation.compile(dir, sources);
+        assertTrue(compilation.success, () -> String.join("\n", compilation.messages(Diagnostic.Kind.ERROR)));
+    }
+
+    @Test
+    void mutableDtosImplementExternalizable() throws Exception {
+        assertTrue(Externalizable.class.isAssignableFrom(dtoClass("Row")));
+        assertFalse(Externalizable.class.isAssignableFrom(dtoClass("RowValue")));
+        assertFalse(Externalizable.class.isAssignableFrom(dtoClass("RowRecord")));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"Row", "RowValue", "RowRecord"})
+    void roundTripsEveryKindOfField(String entity) throws Exception {
+        Map<String, Integer> counts = new LinkedHashMap<>();
+        counts.put("z", 1);
+        counts.put("a", null);
+        Object dto = dtoOf(entity,
+            "id", -75L,
+            "active", true,
+            "ratio", -2.5e-300,
+            "code", 'é',
+            "name", "Café",
+            "score", 150,
+            "kind", kind("GREEN"),
+            "tags", List.of("a", "", "é"),
+            "counts", counts,
+            "values", new int[] {3, Integer.MIN_VALUE});
+        assertFieldsEqual(dto, roundTrip(dto));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"Row", "RowValue", "RowRecord"})
+    void roundTripsNullValues(String entity) throws Exception {
+        Object dto = dtoOf(entity);
+        assertFieldsEqual(dto, roundTrip(dto));
+    }
+
+    /**
+     * The external form resolves to the DTO it read, created through the constructor of the DTO,
+     * which copies the collections again.
+     */
+    @ParameterizedTest
+    @ValueSource(strings = {"RowValue", "RowRecord"})
+    void writesImmutableDtosAsTheirExternalForm(String entity) throws Exception {
+        Object dto = dtoOf(entity, "tags", List.of("a"));
+        byte[] bytes = serialize(dto);
+        assertTrue(new String(bytes, StandardCharsets.ISO_8859_1).contains(dtoClass(entity).getName() + "$ExternalForm"));
+
+        Object read = deserialize(bytes);
+        assertSame(dto.getClass(), read.getClass());
+        assertFieldsEqual(dto, read);
+        List<?> tags = (List<?>) fieldOf(read, "tags");
+        assertThrows(UnsupportedOperationException.class, tags::clear);
+    }
+
+    private static Object roundTrip(Object dto) throws Exception {
+        return deserialize(serialize(dto));
+    }
+
+    private static byte[] serialize(Object value) throws Exception {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(value);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Reads an object, resolving the generated classes with the class loader of the compilation.
+     */
+    private static Object deserialize(byte[] bytes) throws Exception {
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes)) {
+            @Override
+            protected Class<?> resolveClass(ObjectStreamClass desc) throws IOException, ClassNotFoundException {
+                try {
+                    return compilation.load(desc.getName());
+                } catch (ClassNotFoundException e) {
+                    return super.resolveClass(desc);
+                }
+            }
+        }) {
+            return in.readObject();
+        }
+    }
+
+    /**
+     * Asserts that two DTOs are of the same class and hold equal values in every field, arrays
+     * included.
+     */
+    private static void assertFieldsEqual(Object expected, Object actual) throws Exception {
+        assertSame(expected.getClass(), actual.getClass());
+        for (Field field : expected.getClass().getDeclaredFields()) {
+            if (!Modifier.isStatic(field.getModifiers()) && !Modifier.isTransient(field.getModifiers())) {
+                field.setAccessible(true);
+                assertTrue(Objects.deepEquals(field.get(expected), field.get(actual)), field.getName());
+            }
+        }
+    }
+
+    private static Object fieldOf(Object dto, String name) throws Exception {
+        Field field = dto.getClass().getDeclaredField(name);
+        field.setAccessible(true);
+        return field.get(dto);
+    }
+
+    /**
+     * Maps an entity with the given fields set to its DTO with the generated {@code from} mapper.
+     */
+    private static Object dtoOf(String entity, Object... fieldsAndValues) throws Exception {
+        Class<?> entityClass = compilation.load(PACKAGE + "." + entity);
+        Object value = entityClass.getConstructor().newInstance();
+        for (int i = 0; i < fieldsAndValues.length; i += 2) {
+            entityClass.getField((String) fieldsAndValues[i]).set(value, fieldsAndValues[i + 1]);
+        }
+        return CodecTest.invoke(dtoClass(entity).getMethod("from", entityClass), null, value);
+    }
+
+    private static Class<?> dtoClass(String entity) throws Exception {
+        return compilation.load(PACKAGE + ".autogendto." + entity + "DTO");
+    }
+
+    private static Object kind(String name) throws Exception {
+        for (Object constant : compilation.load(PACKAGE + ".Kind").getEnumConstants()) {
+            if (((Enum<?>) constant).name().equals(name)) {
+                return constant;
+            }
+        }
+        throw new IllegalArgumentException(name);
+    }
+
+    private static String entity(String className, String options) {
+        StringBuilder fields = new StringBuilder();
+        StringBuilder names = new StringBuilder();
+        for (int i = 0; i < FIELDS.length; i++) {
+            fields.append("    public ").append(TYPES[i]).append(' ').append(FIELDS[i]).append(";\n");
+            names.append(i > 0 ? ", " : "").append('"').append(FIELDS[i]).append('"');
+        }
+        return "package " + PACKAGE + ";\n\n"
+            + "import com.AutoGenClass.generator.AutoGen;\n\n"
+            + "@AutoGen(name = \"" + className + "DTO\", simpleFields = {" + names + "}, serializedFields = {}, serializers = {},\n"
+            + "    " + options + "externalizable = true)\n"
+            + "public class " + className + " {\n"
+            + fields
+            + "}\n";
+    }
+}
@@ -0,0 +1,128 @@
+package com.AutoGenClass.generator;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import javax.tools.Diagnostic;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Tests the immutable DTOs generated with {@code immutable = true}: the unmodifiable copies of
+ * their collections and the cached hash code {@code equals} compares first.
+ *
+ * @author Mohammed-Salameh
+ * @since 2.0
+ */
+class ImmutableDtoTest {
+
+    /** Source of the entity, whose groups are lists the shallow copies of the DTO share */
+    private static final String ENTITY = "package immutable;\n\n"
+        + "import com.AutoGenClass.generator.AutoGen;\n\n"
+        + "@AutoGen(name = \"KeyDTO\", simpleFields = {\"id\", \"groups\", \"roles\", \"counts\", \"values\"},\n"
+        + "    serializedFields = {}, serializers = {}, immutable = true)\n"
+        + "public class Key {\n"
+        + "    public long id;\n"
+        + "    public java.util.List<java.util.List<String>> groups;\n"
+        + "    public java.util.Set<String> roles;\n"
+        + "    public java.util.Map<String, Integer> counts;\n"
+        + "    public int[] values;\n"
+        + "}\n";
+
+    @TempDir
+    static Path dir;
+
+    private static Class<?> dtoClass;
+
+    @BeforeAll
+    static void compile() throws Exception {
+        TestCompilation compilation = TestCompilation.compile(dir, Map.of("immutable.Key", ENTITY));
+        assertTrue(compilation.success, () -> String.join("\n", compilation.messages(Diagnostic.Kind.ERROR)));
+        dtoClass = compilation.load("immutable.autogendto.KeyDTO");
+    }
+
+    @Test
+    void copiesCollectionsIntoUnmodifiableCollections() throws Exception {
+        List<List<String>> groups = new ArrayList<>(Arrays.asList(List.of("b"), null, List.of("a")));
+        Set<String> roles = new LinkedHashSet<>(Arrays.asList("z", null, "a"));
+        Map<String, Integer> counts = new LinkedHashMap<>();
+        counts.put("z", 1);
+        counts.put("a", null);
+        int[] values = {1, 2};
+        Object dto = key(1L, groups, roles, counts, values);
+        groups.clear();
+        roles.clear();
+        counts.clear();
+
+        assertEquals(Arrays.asList(List.of("b"), null, List.of("a")), get(dto, "groups"));
+        assertEquals(Arrays.asList("z", null, "a"), new ArrayList<>((Collection<?>) get(dto, "roles")));
+        assertEquals(Arrays.asList("z", "a"), new ArrayList<>(((Map<?, ?>) get(dto, "counts")).keySet()));
+        assertNull(((Map<?, ?>) get(dto, "counts")).get("a"));
+        assertSame(values, get(dto, "values"));
+        assertThrows(UnsupportedOperationException.class, () -> ((List<?>) get(dto, "groups")).clear());
+        assertThrows(UnsupportedOperationException.class, () -> ((Set<?>) get(dto, "roles")).clear());
+        assertThrows(UnsupportedOperationException.class, () -> ((Map<?, ?>) get(dto, "counts")).clear());
+    }
+
+    @Test
+    void keepsNullCollections() throws Exception {
+        Object dto = key(1L, null, null, null, null);
+        assertNull(get(dto, "groups"));
+        assertNull(get(dto, "roles"));
+        assertNull(get(dto, "counts"));
+    }
+
+    @Test
+    void equalDtosHaveEqualCachedHashCodes() throws Exception {
+        Object dto = key(1L, List.of(List.of("a")), Set.of("r"), Map.of("k", 1), null);
+        Object other = key(1L, List.of(List.of("a")), Set.of("r"), Map.of("k", 1), null);
+        assertEquals(dto.hashCode(), other.hashCode());
+        assertEquals(dto.hashCode(), dto.hashCode());
+        assertEquals(dto, other);
+        assertNotEquals(dto, key(2L, List.of(List.of("a")), Set.of("r"), Map.of("k", 1), null));
+    }
+
+    /**
+     * The copies are shallow, so a list of the groups may change after the hash code of a DTO is
+     * cached; equals then compares the fields only while either hash code is not cached.
+     */
+    @Test
+    void equalsReturnsFalseWhenBothCachedHashCodesDiffer() throws Exception {
+        List<String> group = new ArrayList<>(List.of("a"));
+        Object dto = key(1L, List.of(group), null, null, null);
+        int cached = dto.hashCode();
+        group.add("b");
+        Object other = key(1L, List.of(List.of("a", "b")), null, null, null);
+
+        assertTrue(dto.equals(other));
+        assertNotEquals(cached, other.hashCode());
+        assertFalse(dto.equals(other));
+        assertEquals(cached, dto.hashCode());
+    }
+
+    private static Object key(long id, List<List<String>> groups, Set<String> roles, Map<String, Integer> counts,
+                              int[] values) throws Exception {
+        return dtoClass.getConstructor(long.class, List.class, Set.class, Map.class, int[].class)
+            .newInstance(id, groups, roles, counts, values);
+    }
+
+    private static Object get(Object dto, String field) throws Exception {
+        return CodecTest.invoke(dtoClass.getMethod("get" + Character.toUpperCase(field.charAt(0)) + field.substring(1)),
+            dto);
+    }
+}
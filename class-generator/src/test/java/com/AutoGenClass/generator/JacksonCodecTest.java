@@ -0,0 +1,132 @@
+package com.AutoGenClass.generator;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.Module;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.exc.UnrecognizedPropertyException;
+import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import javax.tools.Diagnostic;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+/**
+ * Tests the generated {@code JacksonSerializer} and {@code JacksonDeserializer} of the DTOs,
+ * through an {@link ObjectMapper} they are registered with by the generated
+ * {@code AutoGenJacksonModule} of their package. Null and empty collections, arrays and maps are
+ * round-tripped by the shared codec tests; unknown fields fail the read unless
+ * {@link DeserializationFeature#FAIL_ON_UNKNOWN_PROPERTIES} is disabled.
+ *
+ * @author Mohammed-Salameh
+ * @since 2.0
+ */
+class JacksonCodecTest extends CodecTest {
+
+    /** Number of fields of the helpers of the split DTOs, fewer than the fields of the samples */
+    private static final int METHOD_CHUNK_SIZE = 4;
+
+    @TempDir
+    Path splitDir;
+
+    @Override
+    byte[] write(Object dto) throws Exception {
+        return mapperOf(compilation).writeValueAsBytes(dto);
+    }
+
+    @Override
+    Object read(Class<?> dtoClass, byte[] bytes) throws Exception {
+        return mapperOf(compilation).readValue(bytes, dtoClass);
+    }
+
+    /**
+     * Jackson reports malformed JSON, and values its deserializers reject, as
+     * {@link JsonProcessingException}.
+     */
+    @Override
+    boolean isDocumented(Exception e) {
+        return e instanceof JsonProcessingException;
+    }
+
+    @Test
+    void writesEveryFieldInDeclarationOrder() throws Exception {
+        Object dto = dtoOf(entity("Sample", "id", 7L, "name", "ab", "tags", List.of(), "attributes", Map.of()));
+        assertEquals("{\"id\":7,\"name\":\"ab\",\"count\":0,\"ratio\":0.0,\"active\":false,\"score\":null,\"kind\":null,"
+                + "\"data\":null,\"values\":null,\"tags\":[],\"codes\":null,\"attributes\":{},\"address\":null,"
+                + "\"history\":null}",
+            new String(write(dto), StandardCharsets.UTF_8));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"Sample", "SampleValue"})
+    void rejectsUnknownFieldsWhileFailOnUnknownPropertiesIsEnabled(String entity) throws Exception {
+        Class<?> dtoClass = dtoOf(entity(entity)).getClass();
+        byte[] json = "{\"id\":7,\"unknown\":[1,{\"b\":null}]}".getBytes(StandardCharsets.UTF_8);
+        assertThrows(UnrecognizedPropertyException.class, () -> read(dtoClass, json));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"Sample", "SampleValue"})
+    void skipsUnknownFieldsWhileFailOnUnknownPropertiesIsDisabled(String entity) throws Exception {
+        Object dto = dtoOf(entity(entity, "id", 7L, "name", "x"));
+        byte[] json = "{\"unknown\":[1,{\"b\":null}],\"name\":\"x\",\"id\":7}".getBytes(StandardCharsets.UTF_8);
+        ObjectMapper mapper = mapperOf(compilation).disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+        assertDeepEquals(dto, mapper.readValue(json, dto.getClass()));
+    }
+
+    /**
+     * Split DTOs write and read their fields in helpers of a few fields each, and fall back from
+     * one helper to the next to find the field of a name.
+     */
+    @ParameterizedTest
+    @ValueSource(strings = {"Sample", "SampleValue"})
+    void roundTripsSplitDtos(String entity) throws Exception {
+        TestCompilation split = TestCompilation.compile(splitDir, CodecFixture.sources(),
+            "-A" + ClassAutoGenerator.OPTION_JACKSON_MODULE + "=true",
+            "-A" + ClassAutoGenerator.OPTION_METHOD_CHUNK_SIZE + "=" + METHOD_CHUNK_SIZE);
+        assertTrue(split.success, () -> String.join("\n", split.messages(Diagnostic.Kind.ERROR)));
+        assertTrue(Files.readString(split.generatedDir.resolve("codec/autogendto/" + entity + "DTO.java"))
+            .contains("deserialize3("));
+        Class<?> entityClass = split.load(CodecFixture.PACKAGE + "." + entity);
+        Method from = split.load(CodecFixture.DTO_PACKAGE + "." + entity + "DTO").getMethod("from", entityClass);
+        ObjectMapper mapper = mapperOf(split);
+
+        Object value = entityClass.getConstructor().newInstance();
+        entityClass.getField("id").set(value, -75L);
+        entityClass.getField("name").set(value, "split");
+        entityClass.getField("active").set(value, true);
+        entityClass.getField("values").set(value, new int[] {3, -1});
+        entityClass.getField("tags").set(value, List.of("a", ""));
+        entityClass.getField("attributes").set(value, Map.of("k", 1L));
+        Object dto = invoke(from, null, value);
+        assertDeepEquals(dto, mapper.readValue(mapper.writeValueAsBytes(dto), dto.getClass()));
+
+        // history is read by the last helper, after every other helper declined the unknown field
+        Object history = entityClass.getConstructor().newInstance();
+        entityClass.getField("history").set(history, List.of());
+        Object expected = invoke(from, null, history);
+        byte[] json = "{\"unknown\":0,\"history\":[]}".getBytes(StandardCharsets.UTF_8);
+        assertThrows(UnrecognizedPropertyException.class, () -> mapper.readValue(json, expected.getClass()));
+        assertDeepEquals(expected,
+            mapper.disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES).readValue(json, expected.getClass()));
+    }
+
+    /**
+     * Returns a mapper with the generated module of the sample DTOs registered.
+     */
+    private static ObjectMapper mapperOf(TestCompilation compilation) throws Exception {
+        Module module = (Module) compilation.load(CodecFixture.DTO_PACKAGE + ".AutoGenJacksonModule")
+            .getConstructor().newInstance();
+        return new ObjectMapper().registerModule(module);
+    }
+}
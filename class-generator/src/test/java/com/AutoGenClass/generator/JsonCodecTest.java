@@ -0,0 +1,53 @@
+package com.AutoGenClass.generator;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the generated {@code toJson()} writer and {@code readJson(byte[])} reader.
+ *
+ * @author Mohammed-Salameh
+ * @since 2.0
+ */
+class JsonCodecTest extends CodecTest {
+
+    @Override
+    byte[] write(Object dto) throws Exception {
+        return (byte[]) invoke(dto.getClass().getMethod("toJson"), dto);
+    }
+
+    @Override
+    Object read(Class<?> dtoClass, byte[] bytes) throws Exception {
+        return invoke(dtoClass.getMethod("readJson", byte[].class), null, (Object) bytes);
+    }
+
+    @Test
+    void writesFieldsInDeclarationOrder() throws Exception {
+        Object dto = dtoOf(entity("Sample", "id", 7L, "name", "a\"b", "kind", kind("RED"), "values", new int[] {1, 2}));
+        assertEquals("{\"id\":7,\"name\":\"a\\\"b\",\"count\":0,\"ratio\":0.0,\"active\":false,\"score\":null,"
+                + "\"kind\":\"RED\",\"data\":null,\"values\":[1,2],\"tags\":null,\"codes\":null,\"attributes\":null,"
+                + "\"address\":null,\"history\":null}",
+            new String(write(dto), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void readsFieldsInAnyOrderAndSkipsUnknownOnes() throws Exception {
+        Object dto = dtoOf(entity("Sample", "id", 7L, "name", "x", "tags", List.of("t")));
+        String json = "{\"unknown\":{\"a\":[1,{\"b\":null}]},\"tags\":[\"t\"],\"name\":\"x\",\"id\":7}";
+        assertDeepEquals(dto, read(dto.getClass(), json.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    @Test
+    void rejectsMalformedJson() throws Exception {
+        Class<?> dtoClass = sample("Sample").getClass();
+        for (String json : new String[] {
+            "[]", "{\"id\":true}", "{\"count\":2147483648}", "{\"kind\":\"PURPLE\"}", "{\"id\":7,}", "{\"id\":7} {}", "{\"name\":\"\\x\"}"
+        }) {
+            assertThrows(IllegalArgumentException.class, () -> read(dtoClass, json.getBytes(StandardCharsets.UTF_8)), json);
+        }
+    }
+}
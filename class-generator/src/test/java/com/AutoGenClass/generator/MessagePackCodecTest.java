@@ -0,0 +1,88 @@
+package com.AutoGenClass.generator;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.HexFormat;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the generated {@code messagePackSize()}, {@code writeMessagePackTo(ByteBuffer)} and
+ * {@code readMessagePackFrom(ByteBuffer)} of the MessagePack codec.
+ *
+ * @author Mohammed-Salameh
+ * @since 2.0
+ */
+class MessagePackCodecTest extends CodecTest {
+
+    @Override
+    byte[] write(Object dto) throws Exception {
+        return writeToBuffer(dto, "messagePackSize", "writeMessagePackTo");
+    }
+
+    @Override
+    Object read(Class<?> dtoClass, byte[] bytes) throws Exception {
+        return readFromBuffer(dtoClass, "readMessagePackFrom", bytes);
+    }
+
+    @Test
+    void writesAMapOfEveryFieldInDeclarationOrder() throws Exception {
+        Object dto = dtoOf(entity("Sample", "id", 7L, "name", "ab"));
+        assertEquals(String.join("",
+                // Map of 14 entries
+                "8e",
+                "a26964" + "07",
+                "a46e616d65" + "a26162",
+                "a5636f756e74" + "00",
+                "a5726174696f" + "cb0000000000000000",
+                "a6616374697665" + "c2",
+                "a573636f7265" + "c0",
+                "a46b696e64" + "c0",
+                "a464617461" + "c0",
+                "a676616c756573" + "c0",
+                "a474616773" + "c0",
+                "a5636f646573" + "c0",
+                "aa61747472696275746573" + "c0",
+                "a761646472657373" + "c0",
+                "a7686973746f7279" + "c0"),
+            HexFormat.of().formatHex(write(dto)));
+    }
+
+    @Test
+    void readsFieldsInAnyOrderAndSkipsUnknownOnes() throws Exception {
+        byte[] bytes = bytes(0x84,
+            // "unknown": [1, {"b": nil}]
+            0xA7, 'u', 'n', 'k', 'n', 'o', 'w', 'n', 0x92, 0x01, 0x81, 0xA1, 'b', 0xC0,
+            // "count": 300 as an int 32 instead of a uint 16
+            0xA5, 'c', 'o', 'u', 'n', 't', 0xD2, 0x00, 0x00, 0x01, 0x2C,
+            // "name": "x" as a str 8
+            0xA4, 'n', 'a', 'm', 'e', 0xD9, 0x01, 'x',
+            0xA2, 'i', 'd', 0x07);
+        Object dto = dtoOf(entity("Sample", "id", 7L, "name", "x", "count", 300));
+        assertDeepEquals(dto, read(dto.getClass(), bytes));
+    }
+
+    @Test
+    void readsNilAsNull() throws Exception {
+        assertNull(read(sample("Sample").getClass(), bytes(0xC0)));
+    }
+
+    @Test
+    void rejectsMalformedValues() throws Exception {
+        Class<?> dtoClass = sample("Sample").getClass();
+        // Never used format
+        assertThrows(IllegalArgumentException.class, () -> read(dtoClass, bytes(0xC1)));
+        // A map of more entries than the input holds
+        assertThrows(IllegalArgumentException.class, () -> read(dtoClass, bytes(0xDF, 0x7F, 0xFF, 0xFF, 0xFF)));
+        // "count": "x"
+        assertThrows(IllegalArgumentException.class,
+            () -> read(dtoClass, bytes(0x81, 0xA5, 'c', 'o', 'u', 'n', 't', 0xA1, 'x')));
+        // "count": 2^31
+        assertThrows(IllegalArgumentException.class,
+            () -> read(dtoClass, bytes(0x81, 0xA5, 'c', 'o', 'u', 'n', 't', 0xCE, 0x80, 0x00, 0x00, 0x00)));
+        // "kind": "PURPLE"
+        assertThrows(IllegalArgumentException.class,
+            () -> read(dtoClass, bytes(0x81, 0xA4, 'k', 'i', 'n', 'd', 0xA6, 'P', 'U', 'R', 'P', 'L', 'E')));
+    }
+}
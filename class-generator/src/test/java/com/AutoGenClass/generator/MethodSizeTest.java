@@ -0,0 +1,49 @@
+package com.AutoGenClass.generator;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import javax.tools.Diagnostic;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Checks that the methods generated for wide DTOs stay below HotSpot's {@code HugeMethodLimit},
+ * above which a method is never JIT-compiled.
+ *
+ * @author Mohammed-Salameh
+ * @since 2.0
+ */
+class MethodSizeTest {
+
+    /** Bytecode size from which HotSpot does not compile a method (-XX:HugeMethodLimit) */
+    private static final int HUGE_METHOD_LIMIT = 8000;
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void everyMethodOfWideDtosIsBelowTheHugeMethodLimit() throws IOException {
+        TestCompilation compilation = TestCompilation.compile(dir, WideFixture.sources(300),
+            "-A" + ClassAutoGenerator.OPTION_JACKSON_MODULE + "=true");
+        assertTrue(compilation.success, () -> String.join("\n", compilation.messages(Diagnostic.Kind.ERROR)));
+
+        List<Path> classFiles = compilation.classFiles(WideFixture.DTO_PACKAGE);
+        assertFalse(classFiles.isEmpty());
+        List<String> hugeMethods = new ArrayList<>();
+        for (Path classFile : classFiles) {
+            for (Map.Entry<String, Integer> method : ClassFileMethods.codeSizes(classFile).entrySet()) {
+                if (method.getValue() >= HUGE_METHOD_LIMIT) {
+                    hugeMethods.add(classFile.getFileName() + " " + method.getKey() + ": " + method.getValue() + " bytes");
+                }
+            }
+        }
+        assertEquals(List.of(), hugeMethods);
+    }
+}
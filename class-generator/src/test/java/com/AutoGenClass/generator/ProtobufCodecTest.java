@@ -0,0 +1,192 @@
+package com.AutoGenClass.generator;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+/**
+ * Tests the generated {@code protobufSize()}, {@code writeProtobufTo(ByteBuffer)} and
+ * {@code readProtobufFrom(ByteBuffer)} against bytes encoded by hand from the protobuf
+ * encoding rules, and the generated schema they follow.
+ *
+ * @author Mohammed-Salameh
+ * @since 2.0
+ */
+class ProtobufCodecTest extends CodecTest {
+
+    /** Encoding of {@link #golden(String)}, field by field */
+    private static final String[] GOLDEN_FIELDS = {
+        // id = 75, ZigZag-encoded as 150
+        "089601",
+        "120774657374696e67",
+        // count = 0 is not written
+        "21000000000000f03f",
+        "2801",
+        // score = 0 is written, as it is not null
+        "3000",
+        "3a04424c5545",
+        "4202" + "0102",
+        // Packed 3, 270 and 86942
+        "4a06" + "06" + "9c04" + "bcce0a",
+        "5201" + "61",
+        "5a01" + "02",
+        // Entry of key 1 and value 2
+        "6205" + "0a016b" + "1002",
+        "6a05" + "0a0178" + "1002",
+        // Entity whose number 0 is not written
+        "7202" + "0a00"
+    };
+
+    @Override
+    byte[] write(Object dto) throws Exception {
+        return writeToBuffer(dto, "protobufSize", "writeProtobufTo");
+    }
+
+    @Override
+    Object read(Class<?> dtoClass, byte[] bytes) throws Exception {
+        return readFromBuffer(dtoClass, "readProtobufFrom", bytes);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"Sample", "SampleValue"})
+    void writesGoldenBytes(String entity) throws Exception {
+        assertEquals(String.join("", GOLDEN_FIELDS), HexFormat.of().formatHex(write(golden(entity))));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"Sample", "SampleValue"})
+    void readsGoldenBytes(String entity) throws Exception {
+        Object dto = golden(entity);
+        assertDeepEquals(dto, read(dto.getClass(), HexFormat.of().parseHex(String.join("", GOLDEN_FIELDS))));
+    }
+
+    @Test
+    void followsTheGeneratedSchema() throws Exception {
+        String schema = new String(Files.readAllBytes(compilation.generatedDir.resolve("codec/autogendto/SampleDTO.proto")),
+            StandardCharsets.UTF_8);
+        assertEquals("// Protocol buffers schema of codec.autogendto.SampleDTO, generated by AutoGen from codec.Sample. Do not edit.\n"
+                + "syntax = \"proto3\";\n\n"
+                + "package codec.autogendto;\n\n"
+                + "message SampleDTO {\n"
+                + "  sint64 id = 1;\n"
+                + "  optional string name = 2;\n"
+                + "  sint32 count = 3;\n"
+                + "  double ratio = 4;\n"
+                + "  bool active = 5;\n"
+                + "  optional sint32 score = 6;\n"
+                + "  optional string kind = 7;\n"
+                + "  optional bytes data = 8;\n"
+                + "  repeated sint32 values = 9;\n"
+                + "  repeated string tags = 10;\n"
+                + "  repeated sint32 codes = 11;\n"
+                + "  map<string, sint64> attributes = 12;\n"
+                + "  Address address = 13;\n"
+                + "  repeated Address history = 14;\n\n"
+                + "  message Address {\n"
+                + "    optional string street = 1;\n"
+                + "    sint32 number = 2;\n"
+                + "  }\n"
+                + "}\n",
+            schema);
+    }
+
+    @Test
+    void readsUnpackedRepeatedScalarsAndSkipsUnknownFields() throws Exception {
+        byte[] bytes = bytes(
+            // values 1 unpacked, then 2 and 3 packed
+            0x48, 0x02, 0x4A, 0x02, 0x04, 0x06,
+            // Unknown fields 20 to 23 of every wire type
+            0xA0, 0x01, 0x05, 0xA9, 0x01, 1, 2, 3, 4, 5, 6, 7, 8, 0xB2, 0x01, 0x01, 0x61, 0xBD, 0x01, 1, 2, 3, 4,
+            // The last of repeated scalars wins
+            0x18, 0x02, 0x18, 0x04);
+        Object dto = dtoOf(entity("Sample",
+            "count", 2,
+            "values", new int[] {1, 2, 3},
+            "tags", List.of(),
+            "codes", Set.of(),
+            "attributes", Map.of(),
+            "history", List.of()));
+        assertDeepEquals(dto, read(dto.getClass(), bytes));
+    }
+
+    /**
+     * Null collections, arrays and maps are not written, like empty ones, and are read back empty.
+     */
+    @Override
+    @ParameterizedTest
+    @ValueSource(strings = {"Sample", "SampleValue"})
+    void roundTripsNullFields(String entity) throws Exception {
+        Object dto = dtoOf(entity(entity));
+        assertDeepEquals(dtoOf(entity(entity,
+            "values", new int[0],
+            "tags", List.of(),
+            "codes", Set.of(),
+            "attributes", Map.of(),
+            "history", List.of())), read(dto.getClass(), write(dto)));
+    }
+
+    /**
+     * A message has no length of its own, so a message truncated between two fields is read as
+     * the fields it holds; it is rejected when truncated within a field.
+     */
+    @Override
+    @Test
+    void rejectsTruncatedInput() throws Exception {
+        Object dto = golden("Sample");
+        byte[] bytes = write(dto);
+        int fieldEnd = 0;
+        int fields = 0;
+        for (int length = 0; length < bytes.length; length++) {
+            byte[] truncated = Arrays.copyOf(bytes, length);
+            if (length == fieldEnd) {
+                read(dto.getClass(), truncated);
+                fieldEnd += GOLDEN_FIELDS[fields++].length() / 2;
+            } else {
+                assertRejected(() -> read(dto.getClass(), truncated), "input truncated to " + length + " bytes");
+            }
+        }
+    }
+
+    @Test
+    void rejectsMalformedFields() throws Exception {
+        Class<?> dtoClass = golden("Sample").getClass();
+        // Field number 0
+        assertThrows(IllegalArgumentException.class, () -> read(dtoClass, bytes(0x00)));
+        // Wire type 7
+        assertThrows(IllegalArgumentException.class, () -> read(dtoClass, bytes(0x0F)));
+        // A name longer than the input
+        assertThrows(IllegalArgumentException.class, () -> read(dtoClass, bytes(0x12, 0x03, 'a', 'b')));
+        // An address whose street runs past the address
+        assertThrows(IllegalArgumentException.class, () -> read(dtoClass, bytes(0x6A, 0x02, 0x0A, 0x02, 'a', 'b')));
+    }
+
+    private static Object golden(String entity) throws Exception {
+        Map<String, Long> attributes = new LinkedHashMap<>();
+        attributes.put("k", 1L);
+        return dtoOf(entity(entity,
+            "id", 75L,
+            "name", "testing",
+            "ratio", 1.0,
+            "active", true,
+            "score", 0,
+            "kind", kind("BLUE"),
+            "data", new byte[] {1, 2},
+            "values", new int[] {3, 270, 86942},
+            "tags", List.of("a"),
+            "codes", Set.of(1),
+            "attributes", attributes,
+            "address", address("x", 1),
+            "history", List.of(address("", 0))));
+    }
+}
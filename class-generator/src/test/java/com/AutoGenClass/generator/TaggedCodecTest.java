@@ -0,0 +1,69 @@
+package com.AutoGenClass.generator;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the generated {@code taggedSize()}, {@code writeTaggedTo(ByteBuffer)} and
+ * {@code readTaggedFrom(ByteBuffer)} of the tagged binary codec.
+ *
+ * @author Mohammed-Salameh
+ * @since 2.0
+ */
+class TaggedCodecTest extends CodecTest {
+
+    @Override
+    byte[] write(Object dto) throws Exception {
+        return writeToBuffer(dto, "taggedSize", "writeTaggedTo");
+    }
+
+    @Override
+    Object read(Class<?> dtoClass, byte[] bytes) throws Exception {
+        return readFromBuffer(dtoClass, "readTaggedFrom", bytes);
+    }
+
+    @Test
+    void readsConsecutiveMessages() throws Exception {
+        Object first = sample("Sample");
+        Object second = dtoOf(entity("Sample", "id", 2L));
+        byte[] firstBytes = write(first);
+        byte[] secondBytes = write(second);
+        ByteBuffer buf = ByteBuffer.allocate(firstBytes.length + secondBytes.length).put(firstBytes).put(secondBytes).flip();
+        Method readTaggedFrom = first.getClass().getMethod("readTaggedFrom", ByteBuffer.class);
+        assertDeepEquals(first, invoke(readTaggedFrom, null, buf));
+        assertDeepEquals(second, invoke(readTaggedFrom, null, buf));
+        assertEquals(0, buf.remaining());
+    }
+
+    @Test
+    void skipsUnknownFieldsAndFieldsOfAnotherWireType() throws Exception {
+        byte[] bytes = bytes(16,
+            // Unknown field 20 as a varint
+            0xA0, 0x01, 0x05,
+            // id as a fixed 64-bit value instead of a varint
+            0x09, 1, 2, 3, 4, 5, 6, 7, 8,
+            // name as a varint instead of a string
+            0x10, 0x07,
+            // count = 2
+            0x18, 0x04);
+        Object dto = dtoOf(entity("Sample", "count", 2));
+        assertDeepEquals(dto, read(dto.getClass(), bytes));
+    }
+
+    @Test
+    void rejectsMalformedFields() throws Exception {
+        Class<?> dtoClass = sample("Sample").getClass();
+        // Field number 0
+        assertThrows(IllegalArgumentException.class, () -> read(dtoClass, bytes(1, 0x00)));
+        // Wire type 7
+        assertThrows(IllegalArgumentException.class, () -> read(dtoClass, bytes(1, 0x0F)));
+        // A name of 2 bytes in a message of 3 bytes
+        assertThrows(IllegalArgumentException.class, () -> read(dtoClass, bytes(3, 0x12, 0x02, 'a', 'b')));
+        // A message longer than the input
+        assertThrows(IllegalArgumentException.class, () -> read(dtoClass, bytes(4, 0x18, 0x04)));
+    }
+}
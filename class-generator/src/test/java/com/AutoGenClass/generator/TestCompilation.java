@@ -0,0 +1,140 @@
+package com.AutoGenClass.generator;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import javax.tools.Diagnostic;
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+
+/**
+ * Compiles entity sources with the {@link ClassAutoGenerator} processor, for the tests of the
+ * generated DTOs.
+ *
+ * <p>The sources are written into a directory of their own and compiled in incremental mode, so
+ * the DTO sources, tag registries and schemas are created in the generated-sources directory and
+ * compiled with the entities. The test classpath, which holds the runtime and Jackson, is the
+ * classpath of the compilation and of the class loader of the result.</p>
+ *
+ * @author Mohammed-Salameh
+ * @since 2.0
+ */
+final class TestCompilation {
+
+    /** Directory of the generated sources and resources */
+    final Path generatedDir;
+
+    /** Directory of the compiled classes */
+    final Path classesDir;
+
+    /** Diagnostics reported by the compiler and the processor */
+    final List<Diagnostic<? extends JavaFileObject>> diagnostics;
+
+    /** Whether the compilation succeeded */
+    final boolean success;
+
+    private ClassLoader classLoader;
+
+    private TestCompilation(Path generatedDir, Path classesDir, List<Diagnostic<? extends JavaFileObject>> diagnostics,
+                            boolean success) {
+        this.generatedDir = generatedDir;
+        this.classesDir = classesDir;
+        this.diagnostics = diagnostics;
+        this.success = success;
+    }
+
+    /**
+     * Compiles sources with the processor.
+     *
+     * @param dir the empty directory receiving the sources, generated sources and classes
+     * @param sources the source of every class by its qualified name
+     * @param options additional compiler and processor options (e.g. "-Aautogen.methodChunkSize=8")
+     * @return the result of the compilation
+     * @throws IOException if the files cannot be written
+     */
+    static TestCompilation compile(Path dir, Map<String, String> sources, String... options) throws IOException {
+        Path sourceDir = Files.createDirectories(dir.resolve("src"));
+        Path generatedDir = Files.createDirectories(dir.resolve("generated"));
+        Path classesDir = Files.createDirectories(dir.resolve("classes"));
+        List<Path> files = new ArrayList<>();
+        for (Map.Entry<String, String> source : sources.entrySet()) {
+            Path file = sourceDir.resolve(source.getKey().replace('.', '/') + ".java");
+            Files.createDirectories(file.getParent());
+            Files.write(file, source.getValue().getBytes(StandardCharsets.UTF_8));
+            files.add(file);
+        }
+
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+        List<String> arguments = new ArrayList<>(List.of(
+            "-classpath", System.getProperty("java.class.path"),
+            "-d", classesDir.toString(),
+            "-s", generatedDir.toString(),
+            "-A" + ClassAutoGenerator.OPTION_INCREMENTAL + "=true"));
+        arguments.addAll(List.of(options));
+        try (StandardJavaFileManager fileManager = compiler.getStandardFileManager(diagnostics, null, StandardCharsets.UTF_8)) {
+            JavaCompiler.CompilationTask task = compiler.getTask(null, fileManager, diagnostics, arguments, null,
+                fileManager.getJavaFileObjectsFromPaths(files));
+            task.setProcessors(List.of(new ClassAutoGenerator()));
+            boolean success = task.call();
+            return new TestCompilation(generatedDir, classesDir, diagnostics.getDiagnostics(), success);
+        }
+    }
+
+    /**
+     * Returns the messages of the diagnostics of a kind.
+     *
+     * @param kind the kind of diagnostics
+     * @return the messages, in the order they were reported
+     */
+    List<String> messages(Diagnostic.Kind kind) {
+        return diagnostics.stream()
+            .filter(diagnostic -> diagnostic.getKind() == kind)
+            .map(diagnostic -> diagnostic.getMessage(null))
+            .collect(Collectors.toList());
+    }
+
+    /**
+     * Returns the compiled class files below a package.
+     *
+     * @param packageName the package name
+     * @return the class files, including those of nested classes
+     * @throws IOException if the directory cannot be listed
+     */
+    List<Path> classFiles(String packageName) throws IOException {
+        try (Stream<Path> files = Files.walk(classesDir.resolve(packageName.replace('.', '/')))) {
+            return files.filter(file -> file.toString().endsWith(".class")).sorted().collect(Collectors.toList());
+        }
+    }
+
+    /**
+     * Loads a compiled class.
+     *
+     * @param className the qualified class name
+     * @return the class
+     * @throws ClassNotFoundException if the class was not compiled
+     */
+    Class<?> load(String className) throws ClassNotFoundException {
+        if (classLoader == null) {
+            try {
+                classLoader = new URLClassLoader(new URL[] {classesDir.toUri().toURL()}, getClass().getClassLoader());
+            } catch (MalformedURLException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        return Class.forName(className, true, classLoader);
+    }
+}
@@ -0,0 +1,90 @@
+package com.AutoGenClass.generator;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Sources of entities with many fields of every kind and every codec enabled, which generate
+ * the largest methods.
+ *
+ * <p>{@code WideEntity} is a mutable DTO and {@code WideValue} an immutable one, both too wide
+ * for an all-args constructor. Their fields cycle through primitives, wrappers, strings,
+ * {@code BigDecimal}, byte arrays, an enum, lists, sets and maps of scalars, an entity and a
+ * list of entities.</p>
+ *
+ * @author Mohammed-Salameh
+ * @since 2.0
+ */
+final class WideFixture {
+
+    /** Package of the entities */
+    static final String PACKAGE = "wide";
+
+    /** Package of the generated DTOs */
+    static final String DTO_PACKAGE = PACKAGE + ".autogendto";
+
+    /** Types the fields cycle through */
+    static final String[] TYPES = {
+        "int", "long", "double", "boolean", "String", "Integer", "java.math.BigDecimal", "byte[]", "Kind",
+        "java.util.List<String>", "java.util.Set<Integer>", "java.util.Map<String, Long>", "Item", "java.util.List<Item>"
+    };
+
+    private WideFixture() {
+    }
+
+    /**
+     * Returns the sources of the wide entities and the types they use.
+     *
+     * @param fieldCount the number of fields of every entity
+     * @return the source of every class by its qualified name
+     */
+    static Map<String, String> sources(int fieldCount) {
+        Map<String, String> sources = new LinkedHashMap<>();
+        sources.put(PACKAGE + ".Kind", "package " + PACKAGE + ";\n\npublic enum Kind { RED, GREEN, BLUE }\n");
+        sources.put(PACKAGE + ".Item", "package " + PACKAGE + ";\n\n"
+            + "public class Item {\n"
+            + "    public int id;\n"
+            + "    public String name;\n"
+            + "}\n");
+        sources.put(PACKAGE + ".WideEntity", entity("WideEntity", fieldCount, "builder = true, externalizable = true"));
+        sources.put(PACKAGE + ".WideValue", entity("WideValue", fieldCount, "immutable = true, externalizable = true"));
+        return sources;
+    }
+
+    /**
+     * Returns the name of a field of the wide entities.
+     *
+     * @param index the index of the field
+     * @return the field name
+     */
+    static String fieldName(int index) {
+        return "f" + index;
+    }
+
+    /**
+     * Returns the type of a field of the wide entities.
+     *
+     * @param index the index of the field
+     * @return the type as written in the entity source
+     */
+    static String typeOf(int index) {
+        return TYPES[index % TYPES.length];
+    }
+
+    private static String entity(String className, int fieldCount, String options) {
+        StringBuilder fields = new StringBuilder();
+        StringBuilder names = new StringBuilder();
+        for (int i = 0; i < fieldCount; i++) {
+            fields.append("    public ").append(typeOf(i)).append(' ').append(fieldName(i)).append(";\n");
+            names.append(i > 0 ? ", " : "").append('"').append(fieldName(i)).append('"');
+        }
+        return "package " + PACKAGE + ";\n\n"
+            + "import com.AutoGenClass.generator.AutoGen;\n\n"
+            + "@AutoGen(name = \"" + className + "DTO\", simpleFields = {" + names + "}, serializedFields = {}, serializers = {},\n"
+            + "    " + options + ", jackson = true, json = true, binary = true, tagged = true, protobuf = true,\n"
+            + "    messagePack = true)\n"
+            + "public class " + className + " {\n"
+            + fields
+            + "}\n";
+    }
+}
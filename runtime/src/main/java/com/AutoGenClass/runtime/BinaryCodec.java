@@ -0,0 +1,369 @@
+package com.AutoGenClass.runtime;
+
+import java.math.BigInteger;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Encodes and decodes the values of the binary, tagged and protobuf codecs of DTOs generated
+ * with {@code binary}, {@code tagged} or {@code protobuf}.
+ *
+ * <p>Integers are varints, ZigZag-encoded when signed, strings and byte arrays are prefixed with
+ * their length, and fixed-size values are little-endian like in protocol buffers. Reads check
+ * counts and lengths against the remaining bytes instead of allocating large arrays, so
+ * truncated input fails with a {@link java.nio.BufferUnderflowException}, or with an
+ * {@link IllegalArgumentException} when it ends within a counted value, and malformed input
+ * with an {@link IllegalArgumentException}.</p>
+ *
+ * @author Mohammed-Salameh
+ * @since 2.0
+ */
+public final class BinaryCodec {
+
+    private BinaryCodec() {
+    }
+
+    /**
+     * Returns the number of bytes of an unsigned varint.
+     *
+     * @param value the value
+     * @return the size in bytes, 1 to 10
+     */
+    public static int varintSize(long value) {
+        return (70 - Long.numberOfLeadingZeros(value | 1)) / 7;
+    }
+
+    /**
+     * ZigZag-encodes a signed value, so that small negative values make small varints.
+     *
+     * @param value the value
+     * @return the encoded value
+     */
+    public static long zigZag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    /**
+     * Writes an unsigned varint: 7 bits per byte, least significant group first.
+     *
+     * @param buf the buffer
+     * @param value the value
+     */
+    public static void putVarint(ByteBuffer buf, long value) {
+        while ((value & ~0x7FL) != 0) {
+            buf.put((byte) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        buf.put((byte) value);
+    }
+
+    /**
+     * Reads an unsigned varint.
+     *
+     * @param buf the buffer
+     * @return the value
+     * @throws IllegalArgumentException if the varint is longer than 10 bytes
+     */
+    public static long getVarint(ByteBuffer buf) {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            byte b = buf.get();
+            value |= (long) (b & 0x7F) << shift;
+            if (b >= 0) {
+                return value;
+            }
+        }
+        throw new IllegalArgumentException("Malformed varint at offset " + (buf.position() - 1));
+    }
+
+    /**
+     * Reads a ZigZag-encoded varint.
+     *
+     * @param buf the buffer
+     * @return the value
+     */
+    public static long getSignedVarint(ByteBuffer buf) {
+        long value = getVarint(buf);
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    /**
+     * Reads the count of a string, array, collection or map.
+     *
+     * @param buf the buffer
+     * @return the count
+     * @throws IllegalArgumentException if the count exceeds the remaining bytes
+     */
+    public static int getCount(ByteBuffer buf) {
+        long count = getVarint(buf);
+        // Every element takes at least one byte, so larger counts cannot be valid
+        if (count < 0 || count > buf.remaining()) {
+            throw new IllegalArgumentException("Invalid count " + count + " at offset " + buf.position());
+        }
+        return (int) count;
+    }
+
+    /**
+     * Reads the length of a length-delimited value.
+     *
+     * @param buf the buffer
+     * @return the offset after the value
+     */
+    public static int getEnd(ByteBuffer buf) {
+        int length = getCount(buf);
+        return buf.position() + length;
+    }
+
+    /**
+     * Checks that a length-delimited value was read to its end.
+     *
+     * @param buf the buffer
+     * @param end the offset after the value
+     * @throws IllegalArgumentException if the value was not read to its end
+     */
+    public static void checkEnd(ByteBuffer buf, int end) {
+        if (buf.position() != end) {
+            throw new IllegalArgumentException("Value ends at offset " + buf.position() + " instead of " + end);
+        }
+    }
+
+    /**
+     * Reads the key of a tagged or protobuf field: its number and wire type.
+     *
+     * @param buf the buffer
+     * @return the key
+     * @throws IllegalArgumentException if the field number is 0 or too large
+     */
+    public static int getKey(ByteBuffer buf) {
+        long key = getVarint(buf);
+        if (key >>> 3 == 0 || key > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Invalid field key " + key + " at offset " + buf.position());
+        }
+        return (int) key;
+    }
+
+    /**
+     * Skips the value of a tagged or protobuf field of an unknown number.
+     *
+     * @param buf the buffer
+     * @param key the key of the field
+     * @throws IllegalArgumentException if the wire type is unknown
+     */
+    public static void skip(ByteBuffer buf, int key) {
+        switch (key & 7) {
+            case 0:
+                getVarint(buf);
+                break;
+            case 1:
+                buf.position(buf.position() + 8);
+                break;
+            case 2:
+                buf.position(getEnd(buf));
+                break;
+            case 5:
+                buf.position(buf.position() + 4);
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown wire type of field key " + key + " at offset " + buf.position());
+        }
+    }
+
+    /**
+     * Writes 4 bytes in little-endian order, whatever the order of the buffer.
+     *
+     * @param buf the buffer
+     * @param value the value
+     */
+    public static void putFixed32(ByteBuffer buf, int value) {
+        buf.putInt(buf.order() == ByteOrder.LITTLE_ENDIAN ? value : Integer.reverseBytes(value));
+    }
+
+    /**
+     * Writes 8 bytes in little-endian order, whatever the order of the buffer.
+     *
+     * @param buf the buffer
+     * @param value the value
+     */
+    public static void putFixed64(ByteBuffer buf, long value) {
+        buf.putLong(buf.order() == ByteOrder.LITTLE_ENDIAN ? value : Long.reverseBytes(value));
+    }
+
+    /**
+     * Reads 4 bytes in little-endian order.
+     *
+     * @param buf the buffer
+     * @return the value
+     */
+    public static int getFixed32(ByteBuffer buf) {
+        int value = buf.getInt();
+        return buf.order() == ByteOrder.LITTLE_ENDIAN ? value : Integer.reverseBytes(value);
+    }
+
+    /**
+     * Reads 8 bytes in little-endian order.
+     *
+     * @param buf the buffer
+     * @return the value
+     */
+    public static long getFixed64(ByteBuffer buf) {
+        long value = buf.getLong();
+        return buf.order() == ByteOrder.LITTLE_ENDIAN ? value : Long.reverseBytes(value);
+    }
+
+    /**
+     * Returns the size of a string written by {@link #putString}.
+     *
+     * @param value the string
+     * @return the size in bytes
+     */
+    public static int stringSize(String value) {
+        int length = utf8Length(value);
+        return varintSize(length) + length;
+    }
+
+    /**
+     * Returns the UTF-8 length of a string, counting unpaired surrogates as one byte.
+     *
+     * @param value the string
+     * @return the length in bytes
+     */
+    public static int utf8Length(String value) {
+        int length = value.length();
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c < 0x80) {
+                continue;
+            }
+            if (c < 0x800) {
+                length++;
+            } else if (!Character.isSurrogate(c)) {
+                length += 2;
+            } else if (Character.isHighSurrogate(c) && i + 1 < value.length() && Character.isLowSurrogate(value.charAt(i + 1))) {
+                // A pair of chars is written as 4 bytes
+                length += 2;
+                i++;
+            }
+            // Unpaired surrogates are written as '?' like String.getBytes does
+        }
+        return length;
+    }
+
+    /**
+     * Writes a string as its UTF-8 length and bytes. ASCII strings are copied directly into
+     * the array of the buffer.
+     *
+     * @param buf the buffer
+     * @param value the string
+     */
+    public static void putString(ByteBuffer buf, String value) {
+        int length = utf8Length(value);
+        putVarint(buf, length);
+        if (length == value.length() && buf.hasArray()) {
+            if (buf.remaining() < length) {
+                throw new BufferOverflowException();
+            }
+            byte[] array = buf.array();
+            int offset = buf.arrayOffset() + buf.position();
+            for (int i = 0; i < length; i++) {
+                // Only unpaired surrogates are not ASCII here, written as '?' like String.getBytes does
+                char c = value.charAt(i);
+                array[offset + i] = (byte) (c < 0x80 ? c : '?');
+            }
+            buf.position(buf.position() + length);
+        } else {
+            buf.put(value.getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    /**
+     * Reads a string written by {@link #putString}.
+     *
+     * @param buf the buffer
+     * @return the string
+     */
+    public static String getString(ByteBuffer buf) {
+        int length = getCount(buf);
+        if (buf.hasArray()) {
+            String value = new String(buf.array(), buf.arrayOffset() + buf.position(), length, StandardCharsets.UTF_8);
+            buf.position(buf.position() + length);
+            return value;
+        }
+        byte[] bytes = new byte[length];
+        buf.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Writes a byte array as its length and bytes.
+     *
+     * @param buf the buffer
+     * @param value the bytes
+     */
+    public static void putBytes(ByteBuffer buf, byte[] value) {
+        putVarint(buf, value.length);
+        buf.put(value);
+    }
+
+    /**
+     * Reads a byte array written by {@link #putBytes}.
+     *
+     * @param buf the buffer
+     * @return the bytes
+     */
+    public static byte[] getBytes(ByteBuffer buf) {
+        byte[] value = new byte[getCount(buf)];
+        buf.get(value);
+        return value;
+    }
+
+    /**
+     * Returns the size of a {@code BigInteger} written by {@link #putBigInteger}.
+     *
+     * @param value the value
+     * @return the size in bytes
+     */
+    public static int bigIntegerSize(BigInteger value) {
+        int length = value.bitLength() / 8 + 1;
+        return varintSize(length) + length;
+    }
+
+    /**
+     * Writes a {@code BigInteger} as its two's-complement bytes.
+     *
+     * @param buf the buffer
+     * @param value the value
+     */
+    public static void putBigInteger(ByteBuffer buf, BigInteger value) {
+        putBytes(buf, value.toByteArray());
+    }
+
+    /**
+     * Reads a {@code BigInteger} written by {@link #putBigInteger}.
+     *
+     * @param buf the buffer
+     * @return the value
+     */
+    public static BigInteger getBigInteger(ByteBuffer buf) {
+        byte[] value = getBytes(buf);
+        return value.length == 0 ? BigInteger.ZERO : new BigInteger(value);
+    }
+
+    /**
+     * Reads an enum constant written as its ordinal.
+     *
+     * @param <E> the enum type
+     * @param buf the buffer
+     * @param values the constants of the enum
+     * @return the constant
+     * @throws IllegalArgumentException if the ordinal is out of range
+     */
+    public static <E extends Enum<E>> E getEnum(ByteBuffer buf, E[] values) {
+        long ordinal = getVarint(buf);
+        if (ordinal < 0 || ordinal >= values.length) {
+            throw new IllegalArgumentException("Invalid ordinal " + ordinal + " at offset " + buf.position());
+        }
+        return values[(int) ordinal];
+    }
+}
@@ -0,0 +1,519 @@
+package com.AutoGenClass.runtime;
+
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reads UTF-8 JSON from a byte array, for the {@code readJson} methods of DTOs generated with
+ * {@code json = true}.
+ *
+ * <p>There is no token stream: the generated methods call the method reading the value they
+ * expect next. Names are kept as byte ranges of the input and matched against precomputed UTF-8
+ * names, strings are decoded directly from the input unless they contain escapes, and skipped
+ * values are only scanned for their end. Malformed input fails with an
+ * {@link IllegalArgumentException} giving the offset of the error.</p>
+ *
+ * @author Mohammed-Salameh
+ * @since 2.0
+ */
+public final class JsonInput {
+
+    private final byte[] buffer;
+    private final int limit;
+    private int position;
+    private byte[] nameBuffer;
+    private int nameStart;
+    private int nameLength;
+
+    /**
+     * Creates an input reading a range of an array.
+     *
+     * @param buffer the array holding UTF-8 JSON
+     * @param position the index of the first byte to read
+     * @param limit the index after the last byte to read
+     */
+    public JsonInput(byte[] buffer, int position, int limit) {
+        this.buffer = buffer;
+        this.position = position;
+        this.limit = limit;
+    }
+
+    /**
+     * Reads the literal {@code null} if it is the next value.
+     *
+     * @return whether the next value was null
+     */
+    public boolean nullValue() {
+        if (peek() != 'n') {
+            return false;
+        }
+        literal("null");
+        return true;
+    }
+
+    /**
+     * Reads the start of an object.
+     *
+     * @return whether the object has a first member
+     * @throws IllegalArgumentException if the next value is not an object
+     */
+    public boolean startObject() {
+        expect('{');
+        if (peek() == '}') {
+            position++;
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Reads the separator after an object member.
+     *
+     * @return whether another member follows, false at the end of the object
+     */
+    public boolean nextField() {
+        return next('}');
+    }
+
+    /**
+     * Reads the start of an array.
+     *
+     * @return whether the array has a first element
+     * @throws IllegalArgumentException if the next value is not an array
+     */
+    public boolean startArray() {
+        expect('[');
+        if (peek() == ']') {
+            position++;
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Reads the separator after an array element.
+     *
+     * @return whether another element follows, false at the end of the array
+     */
+    public boolean nextElement() {
+        return next(']');
+    }
+
+    /**
+     * Reads the name of an object member and the colon after it, without decoding the name.
+     *
+     * @return the UTF-8 length of the name
+     */
+    public int name() {
+        expect('"');
+        int start = position;
+        while (position < limit) {
+            byte b = buffer[position];
+            if (b == '"') {
+                nameBuffer = buffer;
+                nameStart = start;
+                nameLength = position++ - start;
+                expect(':');
+                return nameLength;
+            }
+            if (b == '\\') {
+                nameBuffer = decode(start).getBytes(StandardCharsets.UTF_8);
+                nameStart = 0;
+                nameLength = nameBuffer.length;
+                expect(':');
+                return nameLength;
+            }
+            position++;
+        }
+        throw error("Unterminated string");
+    }
+
+    /**
+     * Compares the name read last with a precomputed UTF-8 name.
+     *
+     * @param name the UTF-8 bytes of the name
+     * @return whether the names are equal
+     */
+    public boolean nameEquals(byte[] name) {
+        return Arrays.equals(nameBuffer, nameStart, nameStart + nameLength, name, 0, name.length);
+    }
+
+    /**
+     * Returns the name read last as a string.
+     *
+     * @return the decoded name
+     */
+    public String nameString() {
+        return new String(nameBuffer, nameStart, nameLength, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Reads a string value.
+     *
+     * @return the decoded string
+     */
+    public String readString() {
+        expect('"');
+        int start = position;
+        while (position < limit) {
+            byte b = buffer[position];
+            if (b == '"') {
+                return new String(buffer, start, position++ - start, StandardCharsets.UTF_8);
+            }
+            if (b == '\\') {
+                return decode(start);
+            }
+            position++;
+        }
+        throw error("Unterminated string");
+    }
+
+    /**
+     * Reads a boolean, given as a literal or as a string.
+     *
+     * @return the value
+     */
+    public boolean readBoolean() {
+        int b = peek();
+        if (b == 't') {
+            literal("true");
+            return true;
+        }
+        if (b == 'f') {
+            literal("false");
+            return false;
+        }
+        if (b == '"') {
+            String text = readString();
+            if (text.equals("true") || text.equals("false")) {
+                return text.equals("true");
+            }
+        }
+        throw error("Expected a boolean");
+    }
+
+    /**
+     * Reads a string of a single character.
+     *
+     * @return the character
+     */
+    public char readChar() {
+        String text = readString();
+        if (text.length() != 1) {
+            throw error("Expected a single character");
+        }
+        return text.charAt(0);
+    }
+
+    /**
+     * Reads an int, given as a number or a string. Fractions are truncated.
+     *
+     * @return the value
+     * @throws IllegalArgumentException if the value does not fit an int
+     */
+    public int readInt() {
+        long value = readLong();
+        if (value != (int) value) {
+            throw error("Number out of int range");
+        }
+        return (int) value;
+    }
+
+    /**
+     * Reads a long, given as a number or a string. Fractions are truncated.
+     *
+     * @return the value
+     */
+    public long readLong() {
+        int b = peek();
+        if (b == '"') {
+            return parseLong(readString().trim());
+        }
+        int start = position;
+        boolean negative = b == '-';
+        if (negative) {
+            position++;
+        }
+        long value = 0;
+        int digits = 0;
+        while (position < limit) {
+            int digit = buffer[position] - '0';
+            if (digit < 0 || digit > 9) {
+                break;
+            }
+            value = value * 10 + digit;
+            digits++;
+            position++;
+        }
+        if (digits == 0 || digits > 18 || position < limit && isNumberPart(buffer[position])) {
+            position = start;
+            return parseLong(numberText());
+        }
+        return negative ? -value : value;
+    }
+
+    /**
+     * Reads a double, given as a number or a string.
+     *
+     * @return the value
+     */
+    public double readDouble() {
+        return Double.parseDouble(numberText());
+    }
+
+    /**
+     * Reads a float, given as a number or a string.
+     *
+     * @return the value
+     */
+    public float readFloat() {
+        return Float.parseFloat(numberText());
+    }
+
+    /**
+     * Reads the text of a number, given as a number or a string.
+     *
+     * @return the text of the number
+     */
+    public String numberText() {
+        if (peek() == '"') {
+            return readString().trim();
+        }
+        int start = position;
+        while (position < limit && isNumberPart(buffer[position])) {
+            position++;
+        }
+        if (position == start) {
+            throw error("Expected a number");
+        }
+        return new String(buffer, start, position - start, StandardCharsets.ISO_8859_1);
+    }
+
+    /**
+     * Reads any value the way Jackson reads {@code Object}: objects as {@code LinkedHashMap},
+     * arrays as {@code ArrayList}, and numbers as the smallest of {@code Integer}, {@code Long} and
+     * {@code BigInteger}, or {@code Double} for fractions.
+     *
+     * @return the value, may be null
+     */
+    public Object readValue() {
+        int b = peek();
+        if (b == '{') {
+            Map<String, Object> map = new LinkedHashMap<>();
+            for (boolean more = startObject(); more; more = nextField()) {
+                name();
+                String key = nameString();
+                map.put(key, readValue());
+            }
+            return map;
+        }
+        if (b == '[') {
+            List<Object> list = new ArrayList<>();
+            for (boolean more = startArray(); more; more = nextElement()) {
+                list.add(readValue());
+            }
+            return list;
+        }
+        if (b == '"') {
+            return readString();
+        }
+        if (b == 't' || b == 'f') {
+            return readBoolean();
+        }
+        if (nullValue()) {
+            return null;
+        }
+        String text = numberText();
+        if (isFraction(text)) {
+            return Double.valueOf(text);
+        }
+        if (text.length() <= 18) {
+            long value = Long.parseLong(text);
+            if (value == (int) value) {
+                return (int) value;
+            }
+            return value;
+        }
+        BigInteger value = new BigInteger(text);
+        if (value.bitLength() < 64) {
+            return value.longValue();
+        }
+        return value;
+    }
+
+    /**
+     * Skips the next value, only scanning it for its end.
+     */
+    public void skipValue() {
+        int b = peek();
+        if (b == '{' || b == '[') {
+            int depth = 0;
+            while (position < limit) {
+                b = buffer[position++];
+                if (b == '"') {
+                    skipString();
+                } else if (b == '{' || b == '[') {
+                    depth++;
+                } else if ((b == '}' || b == ']') && --depth == 0) {
+                    return;
+                }
+            }
+            throw error("Unterminated value");
+        }
+        if (b == '"') {
+            position++;
+            skipString();
+            return;
+        }
+        int start = position;
+        while (position < limit && (isNumberPart(buffer[position]) || buffer[position] >= 'a' && buffer[position] <= 'z')) {
+            position++;
+        }
+        if (position == start) {
+            throw error("Expected a value");
+        }
+    }
+
+    /**
+     * Checks that only whitespace follows the value read.
+     *
+     * @throws IllegalArgumentException if there is more content
+     */
+    public void end() {
+        if (peek() != -1) {
+            throw error("Unexpected content after the JSON value");
+        }
+    }
+
+    private IllegalArgumentException error(String message) {
+        return new IllegalArgumentException(message + " at offset " + position);
+    }
+
+    private int peek() {
+        while (position < limit) {
+            int b = buffer[position] & 0xFF;
+            if (b != ' ' && b != '\n' && b != '\r' && b != '\t') {
+                return b;
+            }
+            position++;
+        }
+        return -1;
+    }
+
+    private void expect(char c) {
+        if (peek() != c) {
+            throw error("Expected '" + c + "'");
+        }
+        position++;
+    }
+
+    private boolean next(char end) {
+        int b = peek();
+        if (b != ',' && b != end) {
+            throw error("Expected ',' or '" + end + "'");
+        }
+        position++;
+        return b == ',';
+    }
+
+    private void literal(String text) {
+        int length = text.length();
+        if (limit - position < length) {
+            throw error("Expected " + text);
+        }
+        for (int i = 0; i < length; i++) {
+            if (buffer[position + i] != text.charAt(i)) {
+                throw error("Expected " + text);
+            }
+        }
+        position += length;
+    }
+
+    private String decode(int start) {
+        StringBuilder text = new StringBuilder(position - start + 16);
+        text.append(new String(buffer, start, position - start, StandardCharsets.UTF_8));
+        int segment = position;
+        while (position < limit) {
+            byte b = buffer[position];
+            if (b == '"' || b == '\\') {
+                text.append(new String(buffer, segment, position - segment, StandardCharsets.UTF_8));
+                position++;
+                if (b == '"') {
+                    return text.toString();
+                }
+                text.append(unescape());
+                segment = position;
+            } else {
+                position++;
+            }
+        }
+        throw error("Unterminated string");
+    }
+
+    private char unescape() {
+        if (position == limit) {
+            throw error("Unterminated string");
+        }
+        byte b = buffer[position++];
+        switch (b) {
+            case '"':
+            case '\\':
+            case '/':
+                return (char) b;
+            case 'b':
+                return '\b';
+            case 'f':
+                return '\f';
+            case 'n':
+                return '\n';
+            case 'r':
+                return '\r';
+            case 't':
+                return '\t';
+            case 'u':
+                if (limit - position < 4) {
+                    throw error("Invalid escape");
+                }
+                int c = 0;
+                for (int i = 0; i < 4; i++) {
+                    int digit = Character.digit(buffer[position++], 16);
+                    if (digit < 0) {
+                        throw error("Invalid escape");
+                    }
+                    c = c << 4 | digit;
+                }
+                return (char) c;
+            default:
+                throw error("Invalid escape");
+        }
+    }
+
+    private void skipString() {
+        while (position < limit) {
+            byte b = buffer[position++];
+            if (b == '\\') {
+                position++;
+            } else if (b == '"') {
+                return;
+            }
+        }
+        throw error("Unterminated string");
+    }
+
+    private static long parseLong(String text) {
+        return isFraction(text) ? (long) Double.parseDouble(text) : Long.parseLong(text);
+    }
+
+    private static boolean isFraction(String text) {
+        return text.indexOf('.') >= 0 || text.indexOf('e') >= 0 || text.indexOf('E') >= 0;
+    }
+
+    private static boolean isNumberPart(byte b) {
+        return b >= '0' && b <= '9' || b == '-' || b == '+' || b == '.' || b == 'e' || b == 'E';
+    }
+}
@@ -0,0 +1,361 @@
+package com.AutoGenClass.runtime;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.lang.reflect.Array;
+import java.nio.BufferOverflowException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Date;
+import java.util.Map;
+
+/**
+ * Writes UTF-8 JSON into a byte array, for the {@code writeJson} methods of DTOs generated
+ * with {@code json = true}.
+ *
+ * <p>The generated methods write the precomputed names of the fields with {@link #bytes(byte[])}
+ * and their values with the typed methods. Strings are escaped through a table like Jackson
+ * escapes them, and non-finite floating point values are written as strings. The array is
+ * flushed to the stream, if any, whenever it is full, grown if the output is growable, and
+ * otherwise the write fails with a {@link BufferOverflowException}.</p>
+ *
+ * @author Mohammed-Salameh
+ * @since 2.0
+ */
+public final class JsonOutput {
+
+    /** Upper case hexadecimal digits of {@code \}{@code u} escapes */
+    private static final byte[] HEX = "0123456789ABCDEF".getBytes(StandardCharsets.US_ASCII);
+
+    /** Escape character of every ASCII character, 0 for characters written as they are */
+    private static final byte[] ESCAPES = new byte[128];
+
+    static {
+        for (int c = 0; c < 0x20; c++) {
+            ESCAPES[c] = 'u';
+        }
+        ESCAPES['"'] = '"';
+        ESCAPES['\\'] = '\\';
+        ESCAPES['\b'] = 'b';
+        ESCAPES['\f'] = 'f';
+        ESCAPES['\n'] = 'n';
+        ESCAPES['\r'] = 'r';
+        ESCAPES['\t'] = 't';
+    }
+
+    private final OutputStream stream;
+    private final boolean growable;
+    private byte[] buffer;
+    private int position;
+    private int limit;
+
+    /**
+     * Creates an output writing into an array.
+     *
+     * @param buffer the array to write into
+     * @param position the index of the first byte to write
+     * @param limit the index after the last byte that may be written
+     * @param stream the stream receiving the array whenever it is full, or null
+     * @param growable whether the array is replaced by a larger one when it is full
+     */
+    public JsonOutput(byte[] buffer, int position, int limit, OutputStream stream, boolean growable) {
+        this.buffer = buffer;
+        this.position = position;
+        this.limit = limit;
+        this.stream = stream;
+        this.growable = growable;
+    }
+
+    /**
+     * Returns the index of the next byte to write in the current array.
+     *
+     * @return the write position
+     */
+    public int position() {
+        return position;
+    }
+
+    /**
+     * Returns a copy of the bytes written so far into the current array.
+     *
+     * @return the written bytes
+     */
+    public byte[] toByteArray() {
+        return Arrays.copyOf(buffer, position);
+    }
+
+    /**
+     * Writes bytes that need no escaping, such as a precomputed field name.
+     *
+     * @param bytes the bytes to write
+     */
+    public void bytes(byte[] bytes) {
+        require(bytes.length);
+        System.arraycopy(bytes, 0, buffer, position, bytes.length);
+        position += bytes.length;
+    }
+
+    /**
+     * Writes an ASCII character that needs no escaping.
+     *
+     * @param c the character
+     */
+    public void ascii(char c) {
+        require(1);
+        buffer[position++] = (byte) c;
+    }
+
+    /**
+     * Writes ASCII text that needs no escaping.
+     *
+     * @param s the text
+     */
+    public void ascii(String s) {
+        int length = s.length();
+        require(length);
+        for (int i = 0; i < length; i++) {
+            buffer[position++] = (byte) s.charAt(i);
+        }
+    }
+
+    /**
+     * Writes the literal {@code null}.
+     */
+    public void nullValue() {
+        ascii("null");
+    }
+
+    /**
+     * Writes a boolean literal.
+     *
+     * @param value the value
+     */
+    public void bool(boolean value) {
+        ascii(value ? "true" : "false");
+    }
+
+    /**
+     * Writes an integer number.
+     *
+     * @param value the value
+     */
+    public void number(long value) {
+        if (value == Long.MIN_VALUE) {
+            ascii("-9223372036854775808");
+            return;
+        }
+        require(20);
+        if (value < 0) {
+            buffer[position++] = '-';
+            value = -value;
+        }
+        int digits = 1;
+        for (long rest = value / 10; rest != 0; rest /= 10) {
+            digits++;
+        }
+        for (int i = position + digits - 1; i >= position; i--) {
+            buffer[i] = (byte) ('0' + value % 10);
+            value /= 10;
+        }
+        position += digits;
+    }
+
+    /**
+     * Writes a float number, or a string for NaN and infinities.
+     *
+     * @param value the value
+     */
+    public void number(float value) {
+        if (Float.isFinite(value)) {
+            ascii(Float.toString(value));
+        } else {
+            string(Float.toString(value));
+        }
+    }
+
+    /**
+     * Writes a double number, or a string for NaN and infinities.
+     *
+     * @param value the value
+     */
+    public void number(double value) {
+        if (Double.isFinite(value)) {
+            ascii(Double.toString(value));
+        } else {
+            string(Double.toString(value));
+        }
+    }
+
+    /**
+     * Writes a quoted string, escaping it and encoding it as UTF-8.
+     *
+     * @param value the string
+     */
+    public void string(String value) {
+        int length = value.length();
+        ascii('"');
+        for (int i = 0; i < length; i++) {
+            char c = value.charAt(i);
+            if (c < 0x80 && ESCAPES[c] == 0) {
+                if (position == limit) {
+                    require(1);
+                }
+                buffer[position++] = (byte) c;
+            } else {
+                i = escapeOrEncode(value, i, c);
+            }
+        }
+        ascii('"');
+    }
+
+    private int escapeOrEncode(String value, int i, char c) {
+        if (c < 0x80) {
+            byte escape = ESCAPES[c];
+            require(escape == 'u' ? 6 : 2);
+            buffer[position++] = '\\';
+            buffer[position++] = escape;
+            if (escape == 'u') {
+                buffer[position++] = '0';
+                buffer[position++] = '0';
+                buffer[position++] = HEX[c >> 4];
+                buffer[position++] = HEX[c & 0xF];
+            }
+        } else if (c < 0x800) {
+            require(2);
+            buffer[position++] = (byte) (0xC0 | c >> 6);
+            buffer[position++] = (byte) (0x80 | c & 0x3F);
+        } else if (Character.isHighSurrogate(c) && i + 1 < value.length() && Character.isLowSurrogate(value.charAt(i + 1))) {
+            int codePoint = Character.toCodePoint(c, value.charAt(++i));
+            require(4);
+            buffer[position++] = (byte) (0xF0 | codePoint >> 18);
+            buffer[position++] = (byte) (0x80 | codePoint >> 12 & 0x3F);
+            buffer[position++] = (byte) (0x80 | codePoint >> 6 & 0x3F);
+            buffer[position++] = (byte) (0x80 | codePoint & 0x3F);
+        } else {
+            require(3);
+            buffer[position++] = (byte) (0xE0 | c >> 12);
+            buffer[position++] = (byte) (0x80 | c >> 6 & 0x3F);
+            buffer[position++] = (byte) (0x80 | c & 0x3F);
+        }
+        return i;
+    }
+
+    /**
+     * Writes bytes as a quoted Base64 string.
+     *
+     * @param value the bytes
+     */
+    public void base64(byte[] value) {
+        ascii('"');
+        bytes(Base64.getEncoder().encode(value));
+        ascii('"');
+    }
+
+    /**
+     * Writes a map key as a string: enums by name, other keys with {@code String.valueOf}.
+     *
+     * @param key the key
+     */
+    public void key(Object key) {
+        string(key instanceof Enum ? ((Enum<?>) key).name() : String.valueOf(key));
+    }
+
+    /**
+     * Writes a value by its runtime type: scalars, maps, iterables and arrays as JSON values,
+     * {@code Date} as epoch milliseconds, and anything else with {@code toString()}.
+     *
+     * @param value the value, may be null
+     */
+    public void value(Object value) {
+        if (value == null) {
+            nullValue();
+        } else if (value instanceof String) {
+            string((String) value);
+        } else if (value instanceof Boolean) {
+            bool((Boolean) value);
+        } else if (value instanceof Integer || value instanceof Long || value instanceof Short || value instanceof Byte) {
+            number(((Number) value).longValue());
+        } else if (value instanceof Double) {
+            number((double) (Double) value);
+        } else if (value instanceof Float) {
+            number((float) (Float) value);
+        } else if (value instanceof Number) {
+            ascii(value.toString());
+        } else if (value instanceof Enum) {
+            string(((Enum<?>) value).name());
+        } else if (value instanceof Map) {
+            ascii('{');
+            int i = 0;
+            for (Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+                if (i++ != 0) {
+                    ascii(',');
+                }
+                key(entry.getKey());
+                ascii(':');
+                value(entry.getValue());
+            }
+            ascii('}');
+        } else if (value instanceof Iterable) {
+            ascii('[');
+            int i = 0;
+            for (Object element : (Iterable<?>) value) {
+                if (i++ != 0) {
+                    ascii(',');
+                }
+                value(element);
+            }
+            ascii(']');
+        } else if (value instanceof byte[]) {
+            base64((byte[]) value);
+        } else if (value instanceof char[]) {
+            string(new String((char[]) value));
+        } else if (value.getClass().isArray()) {
+            ascii('[');
+            int length = Array.getLength(value);
+            for (int i = 0; i < length; i++) {
+                if (i != 0) {
+                    ascii(',');
+                }
+                value(Array.get(value, i));
+            }
+            ascii(']');
+        } else if (value instanceof Date) {
+            number(((Date) value).getTime());
+        } else {
+            string(value.toString());
+        }
+    }
+
+    /**
+     * Writes the bytes of the array to the stream, if any, and starts over at the beginning of
+     * the array.
+     *
+     * @throws UncheckedIOException if the stream fails
+     */
+    public void flush() {
+        if (stream != null && position > 0) {
+            try {
+                stream.write(buffer, 0, position);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            position = 0;
+        }
+    }
+
+    private void require(int length) {
+        if (limit - position >= length) {
+            return;
+        }
+        flush();
+        if (limit - position < length) {
+            if (!growable) {
+                throw new BufferOverflowException();
+            }
+            buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, position + length));
+            limit = buffer.length;
+        }
+    }
+}
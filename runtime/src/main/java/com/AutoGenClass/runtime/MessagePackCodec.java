@@ -0,0 +1,742 @@
+package com.AutoGenClass.runtime;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.BufferOverflowException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Encodes and decodes the MessagePack values of the codecs of DTOs generated with
+ * {@code messagePack = true}.
+ *
+ * <p>Values are written in the formats Jackson's MessagePack backend picks for them, and
+ * multi-byte values are big-endian whatever the byte order of the buffer. Reads accept every
+ * format of the expected family, and check lengths and counts against the remaining bytes instead
+ * of allocating large arrays, so truncated input fails with a {@link BufferUnderflowException}, or
+ * with an {@link IllegalArgumentException} when it ends within a counted value, and malformed input
+ * with an {@link IllegalArgumentException}.</p>
+ *
+ * @author Mohammed-Salameh
+ * @since 2.0
+ */
+public final class MessagePackCodec {
+
+    private MessagePackCodec() {
+    }
+
+    /**
+     * Encodes a field name as a MessagePack string, header included, for a name constant.
+     *
+     * @param name the field name
+     * @return the encoded name
+     */
+    public static byte[] name(String name) {
+        ByteBuffer buf = ByteBuffer.allocate(stringSize(name));
+        putString(buf, name);
+        return buf.array();
+    }
+
+    /**
+     * Writes {@code nil}.
+     *
+     * @param buf the buffer
+     */
+    public static void putNil(ByteBuffer buf) {
+        buf.put((byte) 0xc0);
+    }
+
+    /**
+     * Writes a boolean.
+     *
+     * @param buf the buffer
+     * @param value the value
+     */
+    public static void putBoolean(ByteBuffer buf, boolean value) {
+        buf.put(value ? (byte) 0xc3 : (byte) 0xc2);
+    }
+
+    /**
+     * Returns the size of an integer written by {@link #putInt}.
+     *
+     * @param value the value
+     * @return the size in bytes, 1 to 9
+     */
+    public static int intSize(long value) {
+        if (value >= -32 && value < 0x80) {
+            return 1;
+        }
+        if (value >= 0) {
+            return value < 0x100 ? 2 : value < 0x10000 ? 3 : value < 0x100000000L ? 5 : 9;
+        }
+        return value >= Byte.MIN_VALUE ? 2 : value >= Short.MIN_VALUE ? 3 : value >= Integer.MIN_VALUE ? 5 : 9;
+    }
+
+    /**
+     * Writes an integer in the smallest format holding it, unsigned formats for positive values
+     * like Jackson.
+     *
+     * @param buf the buffer
+     * @param value the value
+     */
+    public static void putInt(ByteBuffer buf, long value) {
+        if (value >= -32 && value < 0x80) {
+            buf.put((byte) value);
+        } else if (value >= 0) {
+            // Like Jackson, positive values use the unsigned formats
+            if (value < 0x100) {
+                buf.put((byte) 0xcc).put((byte) value);
+            } else if (value < 0x10000) {
+                buf.put((byte) 0xcd);
+                put16(buf, (short) value);
+            } else if (value < 0x100000000L) {
+                buf.put((byte) 0xce);
+                put32(buf, (int) value);
+            } else {
+                buf.put((byte) 0xcf);
+                put64(buf, value);
+            }
+        } else if (value >= Byte.MIN_VALUE) {
+            buf.put((byte) 0xd0).put((byte) value);
+        } else if (value >= Short.MIN_VALUE) {
+            buf.put((byte) 0xd1);
+            put16(buf, (short) value);
+        } else if (value >= Integer.MIN_VALUE) {
+            buf.put((byte) 0xd2);
+            put32(buf, (int) value);
+        } else {
+            buf.put((byte) 0xd3);
+            put64(buf, value);
+        }
+    }
+
+    /**
+     * Writes a float 32.
+     *
+     * @param buf the buffer
+     * @param value the value
+     */
+    public static void putFloat(ByteBuffer buf, float value) {
+        buf.put((byte) 0xca);
+        put32(buf, Float.floatToRawIntBits(value));
+    }
+
+    /**
+     * Writes a float 64.
+     *
+     * @param buf the buffer
+     * @param value the value
+     */
+    public static void putDouble(ByteBuffer buf, double value) {
+        buf.put((byte) 0xcb);
+        put64(buf, Double.doubleToRawLongBits(value));
+    }
+
+    /**
+     * Returns the size of a string written by {@link #putString}.
+     *
+     * @param value the string
+     * @return the size in bytes
+     */
+    public static int stringSize(String value) {
+        int length = utf8Length(value);
+        return (length < 32 ? 1 : length < 0x100 ? 2 : length < 0x10000 ? 3 : 5) + length;
+    }
+
+    /**
+     * Returns the UTF-8 length of a string, counting unpaired surrogates as one byte.
+     *
+     * @param value the string
+     * @return the length in bytes
+     */
+    public static int utf8Length(String value) {
+        int length = value.length();
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c < 0x80) {
+                continue;
+            }
+            if (c < 0x800) {
+                length++;
+            } else if (!Character.isSurrogate(c)) {
+                length += 2;
+            } else if (Character.isHighSurrogate(c) && i + 1 < value.length() && Character.isLowSurrogate(value.charAt(i + 1))) {
+                // A pair of chars is written as 4 bytes
+                length += 2;
+                i++;
+            }
+            // Unpaired surrogates are written as '?' like String.getBytes does
+        }
+        return length;
+    }
+
+    /**
+     * Writes a string as UTF-8 in the smallest str format. ASCII strings are copied directly into
+     * the array of the buffer.
+     *
+     * @param buf the buffer
+     * @param value the string
+     */
+    public static void putString(ByteBuffer buf, String value) {
+        int length = utf8Length(value);
+        if (length < 32) {
+            buf.put((byte) (0xa0 | length));
+        } else if (length < 0x100) {
+            buf.put((byte) 0xd9).put((byte) length);
+        } else if (length < 0x10000) {
+            buf.put((byte) 0xda);
+            put16(buf, (short) length);
+        } else {
+            buf.put((byte) 0xdb);
+            put32(buf, length);
+        }
+        if (length == value.length() && buf.hasArray()) {
+            if (buf.remaining() < length) {
+                throw new BufferOverflowException();
+            }
+            byte[] array = buf.array();
+            int offset = buf.arrayOffset() + buf.position();
+            for (int i = 0; i < length; i++) {
+                // Only unpaired surrogates are not ASCII here, written as '?' like String.getBytes does
+                char c = value.charAt(i);
+                array[offset + i] = (byte) (c < 0x80 ? c : '?');
+            }
+            buf.position(buf.position() + length);
+        } else {
+            buf.put(value.getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    /**
+     * Returns the size of a byte array written by {@link #putBinary}.
+     *
+     * @param length the length of the array
+     * @return the size in bytes
+     */
+    public static int binarySize(int length) {
+        return (length < 0x100 ? 2 : length < 0x10000 ? 3 : 5) + length;
+    }
+
+    /**
+     * Writes a byte array in the smallest bin format.
+     *
+     * @param buf the buffer
+     * @param value the bytes
+     */
+    public static void putBinary(ByteBuffer buf, byte[] value) {
+        if (value.length < 0x100) {
+            buf.put((byte) 0xc4).put((byte) value.length);
+        } else if (value.length < 0x10000) {
+            buf.put((byte) 0xc5);
+            put16(buf, (short) value.length);
+        } else {
+            buf.put((byte) 0xc6);
+            put32(buf, value.length);
+        }
+        buf.put(value);
+    }
+
+    /**
+     * Returns the size of a {@code BigInteger} written by {@link #putBigInteger}.
+     *
+     * @param value the value
+     * @return the size in bytes
+     */
+    public static int bigIntegerSize(BigInteger value) {
+        return value.bitLength() < 64 ? intSize(value.longValue()) : stringSize(value.toString());
+    }
+
+    /**
+     * Writes a {@code BigInteger} as an integer when it fits 64 bits, as a string otherwise.
+     *
+     * @param buf the buffer
+     * @param value the value
+     */
+    public static void putBigInteger(ByteBuffer buf, BigInteger value) {
+        if (value.bitLength() < 64) {
+            putInt(buf, value.longValue());
+        } else {
+            putString(buf, value.toString());
+        }
+    }
+
+    /**
+     * Returns the size of an array or map header.
+     *
+     * @param count the number of elements or entries
+     * @return the size in bytes
+     */
+    public static int headerSize(int count) {
+        return count < 16 ? 1 : count < 0x10000 ? 3 : 5;
+    }
+
+    /**
+     * Writes the header of an array.
+     *
+     * @param buf the buffer
+     * @param count the number of elements
+     */
+    public static void putArrayHeader(ByteBuffer buf, int count) {
+        putHeader(buf, count, 0x90, 0xdc);
+    }
+
+    /**
+     * Writes the header of a map.
+     *
+     * @param buf the buffer
+     * @param count the number of entries
+     */
+    public static void putMapHeader(ByteBuffer buf, int count) {
+        putHeader(buf, count, 0x80, 0xde);
+    }
+
+    private static void putHeader(ByteBuffer buf, int count, int fixFormat, int format16) {
+        if (count < 16) {
+            buf.put((byte) (fixFormat | count));
+        } else if (count < 0x10000) {
+            buf.put((byte) format16);
+            put16(buf, (short) count);
+        } else {
+            buf.put((byte) (format16 + 1));
+            put32(buf, count);
+        }
+    }
+
+    /**
+     * Reads {@code nil} if it is the next value.
+     *
+     * @param buf the buffer
+     * @return whether the next value was nil
+     */
+    public static boolean nil(ByteBuffer buf) {
+        if (buf.hasRemaining() && buf.get(buf.position()) == (byte) 0xc0) {
+            buf.position(buf.position() + 1);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Reads a boolean.
+     *
+     * @param buf the buffer
+     * @return the value
+     * @throws IllegalArgumentException if the next value is not a boolean
+     */
+    public static boolean getBoolean(ByteBuffer buf) {
+        byte format = buf.get();
+        if (format != (byte) 0xc2 && format != (byte) 0xc3) {
+            throw mismatch(buf, "boolean");
+        }
+        return format == (byte) 0xc3;
+    }
+
+    /**
+     * Reads an integer of any format.
+     *
+     * @param buf the buffer
+     * @param min the smallest value of the target type
+     * @param max the largest value of the target type
+     * @return the value
+     * @throws IllegalArgumentException if the next value is not an integer or is out of range
+     */
+    public static long getLong(ByteBuffer buf, long min, long max) {
+        byte format = buf.get();
+        long value;
+        switch (format & 0xFF) {
+            case 0xcc:
+                value = buf.get() & 0xFF;
+                break;
+            case 0xcd:
+                value = get16(buf) & 0xFFFF;
+                break;
+            case 0xce:
+                value = get32(buf) & 0xFFFFFFFFL;
+                break;
+            case 0xcf:
+                value = get64(buf);
+                if (value < 0) {
+                    throw new IllegalArgumentException("Integer " + Long.toUnsignedString(value) + " out of range at offset " + buf.position());
+                }
+                break;
+            case 0xd0:
+                value = buf.get();
+                break;
+            case 0xd1:
+                value = get16(buf);
+                break;
+            case 0xd2:
+                value = get32(buf);
+                break;
+            case 0xd3:
+                value = get64(buf);
+                break;
+            default:
+                // Positive and negative fixints are the value itself
+                if (format < -32) {
+                    throw mismatch(buf, "integer");
+                }
+                value = format;
+                break;
+        }
+        if (value < min || value > max) {
+            throw new IllegalArgumentException("Integer " + value + " out of range at offset " + buf.position());
+        }
+        return value;
+    }
+
+    /**
+     * Reads a float 32, a float 64 or an integer.
+     *
+     * @param buf the buffer
+     * @return the value
+     * @throws IllegalArgumentException if the next value is not a number
+     */
+    public static double getDouble(ByteBuffer buf) {
+        byte format = buf.get();
+        if (format == (byte) 0xcb) {
+            return Double.longBitsToDouble(get64(buf));
+        }
+        if (format == (byte) 0xca) {
+            return Float.intBitsToFloat(get32(buf));
+        }
+        buf.position(buf.position() - 1);
+        return getLong(buf, Long.MIN_VALUE, Long.MAX_VALUE);
+    }
+
+    /**
+     * Reads a string of a single char.
+     *
+     * @param buf the buffer
+     * @return the char
+     * @throws IllegalArgumentException if the next value is not a string of a single char
+     */
+    public static char getChar(ByteBuffer buf) {
+        String value = getString(buf);
+        if (value.length() != 1) {
+            throw new IllegalArgumentException("Expected a single char but found " + value.length() + " at offset " + buf.position());
+        }
+        return value.charAt(0);
+    }
+
+    /**
+     * Reads a string.
+     *
+     * @param buf the buffer
+     * @return the string
+     * @throws IllegalArgumentException if the next value is not a string
+     */
+    public static String getString(ByteBuffer buf) {
+        int length = getStringLength(buf);
+        if (buf.hasArray()) {
+            String value = new String(buf.array(), buf.arrayOffset() + buf.position(), length, StandardCharsets.UTF_8);
+            buf.position(buf.position() + length);
+            return value;
+        }
+        byte[] bytes = new byte[length];
+        buf.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static int getStringLength(ByteBuffer buf) {
+        byte format = buf.get();
+        if ((format & 0xE0) == 0xA0) {
+            return checkLength(buf, format & 0x1F);
+        }
+        switch (format & 0xFF) {
+            case 0xd9:
+                return checkLength(buf, buf.get() & 0xFF);
+            case 0xda:
+                return checkLength(buf, get16(buf) & 0xFFFF);
+            case 0xdb:
+                return checkLength(buf, get32(buf) & 0xFFFFFFFFL);
+            default:
+                throw mismatch(buf, "string");
+        }
+    }
+
+    /**
+     * Reads a map key for a field name, without decoding it. Keys that are not strings are
+     * skipped.
+     *
+     * @param buf the buffer
+     * @return the UTF-8 length of the name, or -1 if the key is not a string
+     */
+    public static int getName(ByteBuffer buf) {
+        if (!isString(buf)) {
+            skip(buf);
+            return -1;
+        }
+        int length = getStringLength(buf);
+        buf.position(buf.position() + length);
+        return length;
+    }
+
+    /**
+     * Compares the name read last by {@link #getName} with a name constant.
+     *
+     * @param buf the buffer
+     * @param length the length returned by {@link #getName}
+     * @param name the name constant, as returned by {@link #name}
+     * @return whether the names are equal
+     */
+    public static boolean nameEquals(ByteBuffer buf, int length, byte[] name) {
+        // The name constants start with their string header
+        int start = buf.position() - length;
+        int offset = name.length - length;
+        for (int i = 0; i < length; i++) {
+            if (buf.get(start + i) != name[offset + i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isString(ByteBuffer buf) {
+        if (!buf.hasRemaining()) {
+            throw new BufferUnderflowException();
+        }
+        int format = buf.get(buf.position()) & 0xFF;
+        return (format & 0xE0) == 0xA0 || format >= 0xd9 && format <= 0xdb;
+    }
+
+    /**
+     * Reads a byte array.
+     *
+     * @param buf the buffer
+     * @return the bytes
+     * @throws IllegalArgumentException if the next value is not a bin
+     */
+    public static byte[] getBinary(ByteBuffer buf) {
+        byte format = buf.get();
+        int length;
+        switch (format & 0xFF) {
+            case 0xc4:
+                length = checkLength(buf, buf.get() & 0xFF);
+                break;
+            case 0xc5:
+                length = checkLength(buf, get16(buf) & 0xFFFF);
+                break;
+            case 0xc6:
+                length = checkLength(buf, get32(buf) & 0xFFFFFFFFL);
+                break;
+            default:
+                throw mismatch(buf, "binary");
+        }
+        byte[] value = new byte[length];
+        buf.get(value);
+        return value;
+    }
+
+    /**
+     * Reads a {@code BigInteger} from an integer or a string.
+     *
+     * @param buf the buffer
+     * @return the value
+     */
+    public static BigInteger getBigInteger(ByteBuffer buf) {
+        if (isString(buf)) {
+            return new BigInteger(getString(buf));
+        }
+        if (buf.get(buf.position()) == (byte) 0xcf) {
+            buf.get();
+            return new BigInteger(Long.toUnsignedString(get64(buf)));
+        }
+        return BigInteger.valueOf(getLong(buf, Long.MIN_VALUE, Long.MAX_VALUE));
+    }
+
+    /**
+     * Reads a {@code BigDecimal} from a number or a string.
+     *
+     * @param buf the buffer
+     * @return the value
+     */
+    public static BigDecimal getBigDecimal(ByteBuffer buf) {
+        if (isString(buf)) {
+            return new BigDecimal(getString(buf));
+        }
+        byte format = buf.get(buf.position());
+        if (format == (byte) 0xca || format == (byte) 0xcb) {
+            return BigDecimal.valueOf(getDouble(buf));
+        }
+        return new BigDecimal(getBigInteger(buf));
+    }
+
+    /**
+     * Reads the header of an array.
+     *
+     * @param buf the buffer
+     * @return the number of elements
+     * @throws IllegalArgumentException if the next value is not an array or the count exceeds the
+     *         remaining bytes
+     */
+    public static int getArrayHeader(ByteBuffer buf) {
+        // Every element takes at least one byte, so larger counts cannot be valid
+        long count = getHeader(buf, 0x90, 0xdc, "array");
+        return checkLength(buf, count);
+    }
+
+    /**
+     * Reads the header of a map.
+     *
+     * @param buf the buffer
+     * @return the number of entries
+     * @throws IllegalArgumentException if the next value is not a map or the count exceeds the
+     *         remaining bytes
+     */
+    public static int getMapHeader(ByteBuffer buf) {
+        long count = getHeader(buf, 0x80, 0xde, "map");
+        checkLength(buf, count * 2);
+        return (int) count;
+    }
+
+    private static long getHeader(ByteBuffer buf, int fixFormat, int format16, String expected) {
+        int format = buf.get() & 0xFF;
+        if ((format & 0xF0) == fixFormat) {
+            return format & 0x0F;
+        }
+        if (format == format16) {
+            return get16(buf) & 0xFFFF;
+        }
+        if (format == format16 + 1) {
+            return get32(buf) & 0xFFFFFFFFL;
+        }
+        throw mismatch(buf, expected);
+    }
+
+    /**
+     * Skips the next value, including the values nested in it.
+     *
+     * @param buf the buffer
+     * @throws IllegalArgumentException if the value is malformed
+     */
+    public static void skip(ByteBuffer buf) {
+        // Arrays and maps add their elements to the values left to skip, so nesting needs no recursion
+        for (long count = 1; count > 0; count--) {
+            int format = buf.get() & 0xFF;
+            if (format <= 0x7f || format >= 0xe0) {
+                continue;
+            }
+            if (format <= 0x8f) {
+                count += 2 * (format & 0x0F);
+                continue;
+            }
+            if (format <= 0x9f) {
+                count += format & 0x0F;
+                continue;
+            }
+            long length;
+            switch (format) {
+                case 0xc0:
+                case 0xc2:
+                case 0xc3:
+                    length = 0;
+                    break;
+                case 0xc4:
+                case 0xd9:
+                    length = buf.get() & 0xFF;
+                    break;
+                case 0xc5:
+                case 0xda:
+                    length = get16(buf) & 0xFFFF;
+                    break;
+                case 0xc6:
+                case 0xdb:
+                    length = get32(buf) & 0xFFFFFFFFL;
+                    break;
+                case 0xc7:
+                    // Extensions have a type byte after their length
+                    length = (buf.get() & 0xFF) + 1;
+                    break;
+                case 0xc8:
+                    length = (get16(buf) & 0xFFFF) + 1;
+                    break;
+                case 0xc9:
+                    length = (get32(buf) & 0xFFFFFFFFL) + 1;
+                    break;
+                case 0xcc:
+                case 0xd0:
+                    length = 1;
+                    break;
+                case 0xcd:
+                case 0xd1:
+                    length = 2;
+                    break;
+                case 0xca:
+                case 0xce:
+                case 0xd2:
+                    length = 4;
+                    break;
+                case 0xcb:
+                case 0xcf:
+                case 0xd3:
+                    length = 8;
+                    break;
+                case 0xd4:
+                case 0xd5:
+                case 0xd6:
+                case 0xd7:
+                case 0xd8:
+                    length = (1 << format - 0xd4) + 1;
+                    break;
+                case 0xdc:
+                case 0xdd:
+                case 0xde:
+                case 0xdf:
+                    buf.position(buf.position() - 1);
+                    count += format <= 0xdd ? getArrayHeader(buf) : 2L * getMapHeader(buf);
+                    continue;
+                default:
+                    if (format < 0xc0) {
+                        // fixstr
+                        length = format & 0x1F;
+                        break;
+                    }
+                    throw mismatch(buf, "a MessagePack value");
+            }
+            buf.position(buf.position() + checkLength(buf, length));
+        }
+    }
+
+    private static int checkLength(ByteBuffer buf, long length) {
+        if (length > buf.remaining()) {
+            throw new IllegalArgumentException("Invalid length " + length + " at offset " + buf.position());
+        }
+        return (int) length;
+    }
+
+    private static IllegalArgumentException mismatch(ByteBuffer buf, String expected) {
+        int offset = buf.position() - 1;
+        return new IllegalArgumentException("Expected " + expected + " but found format 0x"
+            + Integer.toHexString(buf.get(offset) & 0xFF) + " at offset " + offset);
+    }
+
+    private static void put16(ByteBuffer buf, short value) {
+        buf.putShort(buf.order() == ByteOrder.BIG_ENDIAN ? value : Short.reverseBytes(value));
+    }
+
+    private static void put32(ByteBuffer buf, int value) {
+        buf.putInt(buf.order() == ByteOrder.BIG_ENDIAN ? value : Integer.reverseBytes(value));
+    }
+
+    private static void put64(ByteBuffer buf, long value) {
+        buf.putLong(buf.order() == ByteOrder.BIG_ENDIAN ? value : Long.reverseBytes(value));
+    }
+
+    private static short get16(ByteBuffer buf) {
+        short value = buf.getShort();
+        return buf.order() == ByteOrder.BIG_ENDIAN ? value : Short.reverseBytes(value);
+    }
+
+    private static int get32(ByteBuffer buf) {
+        int value = buf.getInt();
+        return buf.order() == ByteOrder.BIG_ENDIAN ? value : Integer.reverseBytes(value);
+    }
+
+    private static long get64(ByteBuffer buf) {
+        long value = buf.getLong();
+        return buf.order() == ByteOrder.BIG_ENDIAN ? value : Long.reverseBytes(value);
+    }
+}